@@ -13,6 +13,13 @@ public class CreateAlertRuleRequest {
     private final String severity;
     private final Double thresholdValue;
     private final Integer consecutiveViolations;
+    private final Integer windowSeconds;
+    private final String expression;
+
+    public CreateAlertRuleRequest(String systemId, String name, String type, String severity,
+                                  Double thresholdValue, Integer consecutiveViolations) {
+        this(systemId, name, type, severity, thresholdValue, consecutiveViolations, null, null);
+    }
 
     @JsonCreator
     public CreateAlertRuleRequest(
@@ -21,13 +28,17 @@ public class CreateAlertRuleRequest {
             @JsonProperty("type") String type,
             @JsonProperty("severity") String severity,
             @JsonProperty("thresholdValue") Double thresholdValue,
-            @JsonProperty("consecutiveViolations") Integer consecutiveViolations) {
+            @JsonProperty("consecutiveViolations") Integer consecutiveViolations,
+            @JsonProperty("windowSeconds") Integer windowSeconds,
+            @JsonProperty("expression") String expression) {
         this.systemId = systemId;
         this.name = name;
         this.type = type;
         this.severity = severity;
         this.thresholdValue = thresholdValue;
         this.consecutiveViolations = consecutiveViolations;
+        this.windowSeconds = windowSeconds;
+        this.expression = expression;
     }
 
     public List<String> validate() {
@@ -51,7 +62,13 @@ public class CreateAlertRuleRequest {
             errors.add("Severity is required");
         }
 
-        if (thresholdValue == null) {
+        if (isExpressionRule()) {
+            if (expression == null || expression.isBlank()) {
+                errors.add("Expression is required for EXPRESSION rules");
+            }
+        } else if (expression != null) {
+            errors.add("Expression is only supported for EXPRESSION rules");
+        } else if (thresholdValue == null) {
             errors.add("Threshold value is required");
         } else if (thresholdValue < 0) {
             errors.add("Threshold value cannot be negative");
@@ -65,9 +82,17 @@ public class CreateAlertRuleRequest {
             errors.add("Consecutive violations cannot exceed 100");
         }
 
+        if (windowSeconds != null && windowSeconds < 0) {
+            errors.add("Window seconds cannot be negative");
+        }
+
         return errors;
     }
 
+    public boolean isExpressionRule() {
+        return "EXPRESSION".equalsIgnoreCase(type);
+    }
+
     public boolean isValid() {
         return validate().isEmpty();
     }
@@ -95,4 +120,12 @@ public class CreateAlertRuleRequest {
     public Integer getConsecutiveViolations() {
         return consecutiveViolations;
     }
+
+    public Integer getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
 }
@@ -0,0 +1,64 @@
+package com.apm.platform.application.dto.request;
+
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UpdateRetentionPolicyRequest {
+    private final Integer rawDays;
+    private final Integer oneMinuteRollupDays;
+    private final Integer fiveMinuteRollupDays;
+    private final Integer oneHourRollupDays;
+
+    @JsonCreator
+    public UpdateRetentionPolicyRequest(
+            @JsonProperty("rawDays") Integer rawDays,
+            @JsonProperty("oneMinuteRollupDays") Integer oneMinuteRollupDays,
+            @JsonProperty("fiveMinuteRollupDays") Integer fiveMinuteRollupDays,
+            @JsonProperty("oneHourRollupDays") Integer oneHourRollupDays) {
+        this.rawDays = rawDays;
+        this.oneMinuteRollupDays = oneMinuteRollupDays;
+        this.fiveMinuteRollupDays = fiveMinuteRollupDays;
+        this.oneHourRollupDays = oneHourRollupDays;
+    }
+
+    public List<String> validate() {
+        List<String> errors = new ArrayList<>();
+        validateDays(errors, "Raw retention", rawDays);
+        validateDays(errors, "1m rollup retention", oneMinuteRollupDays);
+        validateDays(errors, "5m rollup retention", fiveMinuteRollupDays);
+        validateDays(errors, "1h rollup retention", oneHourRollupDays);
+        return errors;
+    }
+
+    private static void validateDays(List<String> errors, String field, Integer days) {
+        if (days == null) {
+            errors.add(field + " is required");
+        } else if (days < 1 || days > RetentionPolicy.MAX_RETENTION_DAYS) {
+            errors.add(field + " must be between 1 and " + RetentionPolicy.MAX_RETENTION_DAYS + " days");
+        }
+    }
+
+    public boolean isValid() {
+        return validate().isEmpty();
+    }
+
+    public Integer getRawDays() {
+        return rawDays;
+    }
+
+    public Integer getOneMinuteRollupDays() {
+        return oneMinuteRollupDays;
+    }
+
+    public Integer getFiveMinuteRollupDays() {
+        return fiveMinuteRollupDays;
+    }
+
+    public Integer getOneHourRollupDays() {
+        return oneHourRollupDays;
+    }
+}
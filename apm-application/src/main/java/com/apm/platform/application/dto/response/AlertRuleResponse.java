@@ -10,13 +10,15 @@ public class AlertRuleResponse {
     private final String severity;
     private final double thresholdValue;
     private final int consecutiveViolations;
+    private final int windowSeconds;
+    private final String expression;
     private final boolean enabled;
     private final Instant createdAt;
     private final Instant updatedAt;
 
     public AlertRuleResponse(String id, String systemId, String name, String type,
                             String severity, double thresholdValue, int consecutiveViolations,
-                            boolean enabled, Instant createdAt, Instant updatedAt) {
+                            int windowSeconds, String expression, boolean enabled, Instant createdAt, Instant updatedAt) {
         this.id = id;
         this.systemId = systemId;
         this.name = name;
@@ -24,6 +26,8 @@ public class AlertRuleResponse {
         this.severity = severity;
         this.thresholdValue = thresholdValue;
         this.consecutiveViolations = consecutiveViolations;
+        this.windowSeconds = windowSeconds;
+        this.expression = expression;
         this.enabled = enabled;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -57,6 +61,14 @@ public class AlertRuleResponse {
         return consecutiveViolations;
     }
 
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
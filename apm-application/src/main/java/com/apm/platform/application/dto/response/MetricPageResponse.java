@@ -0,0 +1,33 @@
+package com.apm.platform.application.dto.response;
+
+import java.util.List;
+
+public class MetricPageResponse {
+    private final List<MetricResponse> metrics;
+    private final String nextCursor;
+    private final String latestCursor;
+    private final boolean hasMore;
+
+    public MetricPageResponse(List<MetricResponse> metrics, String nextCursor, String latestCursor, boolean hasMore) {
+        this.metrics = metrics;
+        this.nextCursor = nextCursor;
+        this.latestCursor = latestCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<MetricResponse> getMetrics() {
+        return metrics;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getLatestCursor() {
+        return latestCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
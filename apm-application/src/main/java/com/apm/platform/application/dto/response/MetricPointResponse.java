@@ -0,0 +1,59 @@
+package com.apm.platform.application.dto.response;
+
+import java.time.Instant;
+
+public class MetricPointResponse {
+    private final Instant timestamp;
+    private final long sampleCount;
+    private final long errorCount;
+    private final double avgLatencyMs;
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+    private final double avgCpuUsagePercent;
+    private final double avgMemoryUsagePercent;
+
+    public MetricPointResponse(Instant timestamp, long sampleCount, long errorCount, double avgLatencyMs,
+                               long minLatencyMs, long maxLatencyMs, double avgCpuUsagePercent,
+                               double avgMemoryUsagePercent) {
+        this.timestamp = timestamp;
+        this.sampleCount = sampleCount;
+        this.errorCount = errorCount;
+        this.avgLatencyMs = avgLatencyMs;
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.avgCpuUsagePercent = avgCpuUsagePercent;
+        this.avgMemoryUsagePercent = avgMemoryUsagePercent;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public long getMinLatencyMs() {
+        return minLatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public double getAvgCpuUsagePercent() {
+        return avgCpuUsagePercent;
+    }
+
+    public double getAvgMemoryUsagePercent() {
+        return avgMemoryUsagePercent;
+    }
+}
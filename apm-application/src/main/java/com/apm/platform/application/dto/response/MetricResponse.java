@@ -13,10 +13,22 @@ public class MetricResponse {
     private final double memoryUsagePercent;
     private final Map<String, Object> additionalData;
     private final Instant collectedAt;
+    private final Long latencyMicros;
+    private final Long dnsMicros;
+    private final Long firstByteMicros;
+    private final Long downloadMicros;
 
     public MetricResponse(String id, String systemId, long latencyMs, int statusCode,
                          boolean hasError, double cpuUsagePercent, double memoryUsagePercent,
                          Map<String, Object> additionalData, Instant collectedAt) {
+        this(id, systemId, latencyMs, statusCode, hasError, cpuUsagePercent, memoryUsagePercent,
+             additionalData, collectedAt, null, null, null, null);
+    }
+
+    public MetricResponse(String id, String systemId, long latencyMs, int statusCode,
+                         boolean hasError, double cpuUsagePercent, double memoryUsagePercent,
+                         Map<String, Object> additionalData, Instant collectedAt,
+                         Long latencyMicros, Long dnsMicros, Long firstByteMicros, Long downloadMicros) {
         this.id = id;
         this.systemId = systemId;
         this.latencyMs = latencyMs;
@@ -26,6 +38,10 @@ public class MetricResponse {
         this.memoryUsagePercent = memoryUsagePercent;
         this.additionalData = additionalData;
         this.collectedAt = collectedAt;
+        this.latencyMicros = latencyMicros;
+        this.dnsMicros = dnsMicros;
+        this.firstByteMicros = firstByteMicros;
+        this.downloadMicros = downloadMicros;
     }
 
     public String getId() {
@@ -63,4 +79,20 @@ public class MetricResponse {
     public Instant getCollectedAt() {
         return collectedAt;
     }
+
+    public Long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public Long getDnsMicros() {
+        return dnsMicros;
+    }
+
+    public Long getFirstByteMicros() {
+        return firstByteMicros;
+    }
+
+    public Long getDownloadMicros() {
+        return downloadMicros;
+    }
 }
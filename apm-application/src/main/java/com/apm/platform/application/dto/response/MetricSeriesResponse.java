@@ -0,0 +1,43 @@
+package com.apm.platform.application.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public class MetricSeriesResponse {
+    public static final String RAW_RESOLUTION = "raw";
+
+    private final String systemId;
+    private final String resolution;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final List<MetricPointResponse> points;
+
+    public MetricSeriesResponse(String systemId, String resolution, Instant startTime, Instant endTime,
+                                List<MetricPointResponse> points) {
+        this.systemId = systemId;
+        this.resolution = resolution;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.points = points;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public List<MetricPointResponse> getPoints() {
+        return points;
+    }
+}
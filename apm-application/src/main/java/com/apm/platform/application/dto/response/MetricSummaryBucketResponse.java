@@ -0,0 +1,84 @@
+package com.apm.platform.application.dto.response;
+
+import java.time.Instant;
+
+public class MetricSummaryBucketResponse {
+    private final Instant bucketStart;
+    private final long count;
+    private final double avgLatencyMs;
+    private final double p50LatencyMs;
+    private final double p95LatencyMs;
+    private final double p99LatencyMs;
+    private final long maxLatencyMs;
+    private final double errorRate;
+    private final long status2xxCount;
+    private final long status3xxCount;
+    private final long status4xxCount;
+    private final long status5xxCount;
+
+    public MetricSummaryBucketResponse(Instant bucketStart, long count, double avgLatencyMs, double p50LatencyMs,
+                                       double p95LatencyMs, double p99LatencyMs, long maxLatencyMs,
+                                       double errorRate, long status2xxCount, long status3xxCount,
+                                       long status4xxCount, long status5xxCount) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.avgLatencyMs = avgLatencyMs;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p95LatencyMs = p95LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.errorRate = errorRate;
+        this.status2xxCount = status2xxCount;
+        this.status3xxCount = status3xxCount;
+        this.status4xxCount = status4xxCount;
+        this.status5xxCount = status5xxCount;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public double getP50LatencyMs() {
+        return p50LatencyMs;
+    }
+
+    public double getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    public double getP99LatencyMs() {
+        return p99LatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public long getStatus2xxCount() {
+        return status2xxCount;
+    }
+
+    public long getStatus3xxCount() {
+        return status3xxCount;
+    }
+
+    public long getStatus4xxCount() {
+        return status4xxCount;
+    }
+
+    public long getStatus5xxCount() {
+        return status5xxCount;
+    }
+}
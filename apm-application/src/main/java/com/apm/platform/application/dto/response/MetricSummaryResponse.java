@@ -0,0 +1,41 @@
+package com.apm.platform.application.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+
+public class MetricSummaryResponse {
+    private final String systemId;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final long stepSeconds;
+    private final List<MetricSummaryBucketResponse> buckets;
+
+    public MetricSummaryResponse(String systemId, Instant startTime, Instant endTime, long stepSeconds,
+                                 List<MetricSummaryBucketResponse> buckets) {
+        this.systemId = systemId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.stepSeconds = stepSeconds;
+        this.buckets = buckets;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public long getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public List<MetricSummaryBucketResponse> getBuckets() {
+        return buckets;
+    }
+}
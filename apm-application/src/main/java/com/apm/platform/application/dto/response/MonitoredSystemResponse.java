@@ -14,11 +14,20 @@ public class MonitoredSystemResponse {
     private final Instant lastCheckAt;
     private final Instant createdAt;
     private final Instant updatedAt;
+    private final String circuitState;
 
     public MonitoredSystemResponse(String id, String name, String baseUrl, String type,
                                   String environment, int collectionIntervalSeconds, boolean active,
                                   String currentStatus, Instant lastCheckAt, Instant createdAt, 
                                   Instant updatedAt) {
+        this(id, name, baseUrl, type, environment, collectionIntervalSeconds, active,
+             currentStatus, lastCheckAt, createdAt, updatedAt, null);
+    }
+
+    public MonitoredSystemResponse(String id, String name, String baseUrl, String type,
+                                  String environment, int collectionIntervalSeconds, boolean active,
+                                  String currentStatus, Instant lastCheckAt, Instant createdAt, 
+                                  Instant updatedAt, String circuitState) {
         this.id = id;
         this.name = name;
         this.baseUrl = baseUrl;
@@ -30,6 +39,7 @@ public class MonitoredSystemResponse {
         this.lastCheckAt = lastCheckAt;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.circuitState = circuitState;
     }
 
     public String getId() {
@@ -75,4 +85,8 @@ public class MonitoredSystemResponse {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
 }
@@ -0,0 +1,50 @@
+package com.apm.platform.application.dto.response;
+
+public class RetentionPolicyResponse {
+    private final String systemId;
+    private final String environment;
+    private final boolean overridden;
+    private final int rawDays;
+    private final int oneMinuteRollupDays;
+    private final int fiveMinuteRollupDays;
+    private final int oneHourRollupDays;
+
+    public RetentionPolicyResponse(String systemId, String environment, boolean overridden, int rawDays,
+                                   int oneMinuteRollupDays, int fiveMinuteRollupDays, int oneHourRollupDays) {
+        this.systemId = systemId;
+        this.environment = environment;
+        this.overridden = overridden;
+        this.rawDays = rawDays;
+        this.oneMinuteRollupDays = oneMinuteRollupDays;
+        this.fiveMinuteRollupDays = fiveMinuteRollupDays;
+        this.oneHourRollupDays = oneHourRollupDays;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public boolean isOverridden() {
+        return overridden;
+    }
+
+    public int getRawDays() {
+        return rawDays;
+    }
+
+    public int getOneMinuteRollupDays() {
+        return oneMinuteRollupDays;
+    }
+
+    public int getFiveMinuteRollupDays() {
+        return fiveMinuteRollupDays;
+    }
+
+    public int getOneHourRollupDays() {
+        return oneHourRollupDays;
+    }
+}
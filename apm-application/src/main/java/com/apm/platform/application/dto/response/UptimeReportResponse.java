@@ -12,11 +12,15 @@ public class UptimeReportResponse {
     private final long successfulChecks;
     private final long failedChecks;
     private final String availabilityClassification;
+    private final Double p95LatencyMs;
+    private final Double p99LatencyMs;
+    private final Boolean latencyObjectiveMet;
 
     public UptimeReportResponse(String systemId, String systemName, Instant periodStart,
                                Instant periodEnd, double uptimePercentage, long totalChecks,
                                long successfulChecks, long failedChecks, 
-                               String availabilityClassification) {
+                               String availabilityClassification, Double p95LatencyMs,
+                               Double p99LatencyMs, Boolean latencyObjectiveMet) {
         this.systemId = systemId;
         this.systemName = systemName;
         this.periodStart = periodStart;
@@ -26,6 +30,9 @@ public class UptimeReportResponse {
         this.successfulChecks = successfulChecks;
         this.failedChecks = failedChecks;
         this.availabilityClassification = availabilityClassification;
+        this.p95LatencyMs = p95LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
+        this.latencyObjectiveMet = latencyObjectiveMet;
     }
 
     public String getSystemId() {
@@ -63,4 +70,16 @@ public class UptimeReportResponse {
     public String getAvailabilityClassification() {
         return availabilityClassification;
     }
+
+    public Double getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    public Double getP99LatencyMs() {
+        return p99LatencyMs;
+    }
+
+    public Boolean getLatencyObjectiveMet() {
+        return latencyObjectiveMet;
+    }
 }
@@ -18,6 +18,8 @@ public class AlertRuleMapper {
             rule.getSeverity().name(),
             rule.getThresholdValue(),
             rule.getConsecutiveViolations(),
+            rule.getWindowSeconds(),
+            rule.getExpression(),
             rule.isEnabled(),
             rule.getCreatedAt(),
             rule.getUpdatedAt()
@@ -32,7 +34,8 @@ public class AlertRuleMapper {
             return AlertRule.AlertRuleType.valueOf(type.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid rule type: " + type + 
-                ". Valid values are: LATENCY_MS, ERROR_RATE_PERCENT, CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, STATUS_CODE");
+                ". Valid values are: LATENCY_MS, ERROR_RATE_PERCENT, CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, STATUS_CODE, " +
+                "WINDOW_ERROR_RATE_PERCENT, WINDOW_LATENCY_P95_MS, WINDOW_LATENCY_P99_MS, EXPRESSION");
         }
     }
 }
@@ -1,7 +1,12 @@
 package com.apm.platform.application.mapper;
 
+import com.apm.platform.application.dto.response.MetricPointResponse;
 import com.apm.platform.application.dto.response.MetricResponse;
+import com.apm.platform.application.dto.response.MetricSummaryBucketResponse;
 import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import com.apm.platform.domain.valueobject.ProbeTiming;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,6 +18,8 @@ public class MetricMapper {
             return null;
         }
 
+        ProbeTiming timing = metric.getTiming();
+
         return new MetricResponse(
             metric.getId(),
             metric.getSystemId(),
@@ -22,7 +29,11 @@ public class MetricMapper {
             metric.getCpuUsagePercent(),
             metric.getMemoryUsagePercent(),
             metric.getAdditionalData(),
-            metric.getCollectedAt()
+            metric.getCollectedAt(),
+            timing != null ? timing.getTotalMicros() : null,
+            timing != null ? timing.getDnsMicros() : null,
+            timing != null ? timing.getFirstByteMicros() : null,
+            timing != null ? timing.getDownloadMicros() : null
         );
     }
 
@@ -35,4 +46,47 @@ public class MetricMapper {
                 .map(MetricMapper::toResponse)
                 .collect(Collectors.toList());
     }
+
+    public static MetricPointResponse toPoint(Metric metric) {
+        return new MetricPointResponse(
+            metric.getCollectedAt(),
+            1,
+            metric.hasError() ? 1 : 0,
+            metric.getLatencyMs(),
+            metric.getLatencyMs(),
+            metric.getLatencyMs(),
+            metric.getCpuUsagePercent(),
+            metric.getMemoryUsagePercent()
+        );
+    }
+
+    public static MetricPointResponse toPoint(MetricRollup rollup) {
+        return new MetricPointResponse(
+            rollup.getBucketStart(),
+            rollup.getSampleCount(),
+            rollup.getErrorCount(),
+            rollup.getAverageLatencyMs(),
+            rollup.getMinLatencyMs(),
+            rollup.getMaxLatencyMs(),
+            rollup.getAverageCpuUsagePercent(),
+            rollup.getAverageMemoryUsagePercent()
+        );
+    }
+
+    public static MetricSummaryBucketResponse toBucket(MetricSummary summary) {
+        return new MetricSummaryBucketResponse(
+            summary.getBucketStart(),
+            summary.getCount(),
+            summary.getAvgLatencyMs(),
+            summary.getP50LatencyMs(),
+            summary.getP95LatencyMs(),
+            summary.getP99LatencyMs(),
+            summary.getMaxLatencyMs(),
+            summary.getErrorRate(),
+            summary.getStatus2xxCount(),
+            summary.getStatus3xxCount(),
+            summary.getStatus4xxCount(),
+            summary.getStatus5xxCount()
+        );
+    }
 }
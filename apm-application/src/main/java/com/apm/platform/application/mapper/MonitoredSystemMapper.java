@@ -2,10 +2,15 @@ package com.apm.platform.application.mapper;
 
 import com.apm.platform.application.dto.response.MonitoredSystemResponse;
 import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.valueobject.ProbeCircuitState;
 
 public class MonitoredSystemMapper {
 
     public static MonitoredSystemResponse toResponse(MonitoredSystem system) {
+        return toResponse(system, null);
+    }
+
+    public static MonitoredSystemResponse toResponse(MonitoredSystem system, ProbeCircuitState circuitState) {
         if (system == null) {
             return null;
         }
@@ -21,7 +26,8 @@ public class MonitoredSystemMapper {
             system.getCurrentStatus().name(),
             system.getLastCheckAt(),
             system.getCreatedAt(),
-            system.getUpdatedAt()
+            system.getUpdatedAt(),
+            circuitState != null ? circuitState.name() : null
         );
     }
 
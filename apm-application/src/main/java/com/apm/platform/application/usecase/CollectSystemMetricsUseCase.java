@@ -10,20 +10,26 @@ import com.apm.platform.domain.port.incoming.CollectSystemMetrics;
 import com.apm.platform.domain.port.outgoing.DomainEventPublisher;
 import com.apm.platform.domain.port.outgoing.MetricCollectorGateway;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.valueobject.MetricRollup;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
 
+import java.util.List;
+
 public class CollectSystemMetricsUseCase implements CollectSystemMetrics {
 
     private final MonitoredSystemRepository systemRepository;
     private final MetricRepository metricRepository;
     private final MetricCollectorGateway collectorGateway;
     private final DomainEventPublisher eventPublisher;
+    private final MetricRollupRepository rollupRepository;
 
     public CollectSystemMetricsUseCase(MonitoredSystemRepository systemRepository,
                                       MetricRepository metricRepository,
                                       MetricCollectorGateway collectorGateway,
-                                      DomainEventPublisher eventPublisher) {
+                                      DomainEventPublisher eventPublisher,
+                                      MetricRollupRepository rollupRepository) {
         if (systemRepository == null) {
             throw new IllegalArgumentException("MonitoredSystemRepository cannot be null");
         }
@@ -36,15 +42,27 @@ public class CollectSystemMetricsUseCase implements CollectSystemMetrics {
         if (eventPublisher == null) {
             throw new IllegalArgumentException("DomainEventPublisher cannot be null");
         }
+        if (rollupRepository == null) {
+            throw new IllegalArgumentException("MetricRollupRepository cannot be null");
+        }
 
         this.systemRepository = systemRepository;
         this.metricRepository = metricRepository;
         this.collectorGateway = collectorGateway;
         this.eventPublisher = eventPublisher;
+        this.rollupRepository = rollupRepository;
     }
 
     @Override
     public Metric execute(String systemId) {
+        Metric metric = collect(systemId);
+        Metric savedMetric = metricRepository.save(metric);
+        publishCollected(savedMetric);
+        accumulateRollups(List.of(savedMetric));
+        return savedMetric;
+    }
+
+    public Metric collect(String systemId) {
         if (systemId == null || systemId.isBlank()) {
             throw new IllegalArgumentException("System ID cannot be null or blank");
         }
@@ -57,20 +75,45 @@ public class CollectSystemMetricsUseCase implements CollectSystemMetrics {
         }
 
         MetricSnapshot snapshot = collectorGateway.collectMetrics(system);
-        
-        Metric metric = Metric.fromSnapshot(systemId, snapshot);
-        Metric savedMetric = metricRepository.save(metric);
+        return Metric.fromSnapshot(systemId, snapshot);
+    }
 
+    public List<Metric> persistAll(List<Metric> metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        if (metrics.isEmpty()) {
+            return List.of();
+        }
+
+        // Events go out as soon as the rows are stored; rollups are a separate step so that a rollup
+        // failure neither hides stored metrics nor suppresses their events.
+        List<Metric> savedMetrics = metricRepository.saveAll(metrics);
+        savedMetrics.forEach(this::publishCollected);
+        return savedMetrics;
+    }
+
+    public void accumulateRollups(List<Metric> savedMetrics) {
+        if (savedMetrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        if (!savedMetrics.isEmpty()) {
+            rollupRepository.accumulate(MetricRollup.aggregate(savedMetrics));
+        }
+    }
+
+    private void publishCollected(Metric metric) {
         MetricCollectedEvent event = MetricCollectedEvent.create(
-            savedMetric.getId(),
-            savedMetric.getSystemId(),
-            savedMetric.getLatencyMs(),
-            savedMetric.getStatusCode(),
-            savedMetric.hasError()
+            metric.getId(),
+            metric.getSystemId(),
+            metric.getLatencyMs(),
+            metric.getStatusCode(),
+            metric.hasError(),
+            metric.getCpuUsagePercent(),
+            metric.getMemoryUsagePercent(),
+            metric.getCollectedAt()
         );
         eventPublisher.publish(event);
-
-        return savedMetric;
     }
 
     public MetricResponse executeAndReturnResponse(String systemId) {
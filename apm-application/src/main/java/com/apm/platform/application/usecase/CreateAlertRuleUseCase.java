@@ -10,6 +10,7 @@ import com.apm.platform.domain.port.incoming.CreateAlertRule;
 import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
 import com.apm.platform.domain.valueobject.AlertSeverity;
+import com.apm.platform.domain.valueobject.RuleExpression;
 
 import java.util.List;
 
@@ -17,9 +18,17 @@ public class CreateAlertRuleUseCase implements CreateAlertRule {
 
     private final MonitoredSystemRepository systemRepository;
     private final AlertRuleRepository alertRuleRepository;
+    private final boolean windowedRulesSupported;
 
     public CreateAlertRuleUseCase(MonitoredSystemRepository systemRepository,
                                  AlertRuleRepository alertRuleRepository) {
+        this(systemRepository, alertRuleRepository, true);
+    }
+
+    // Windowed rules are only evaluated by the streaming evaluator; the polling scheduler never fires them.
+    public CreateAlertRuleUseCase(MonitoredSystemRepository systemRepository,
+                                 AlertRuleRepository alertRuleRepository,
+                                 boolean windowedRulesSupported) {
         if (systemRepository == null) {
             throw new IllegalArgumentException("MonitoredSystemRepository cannot be null");
         }
@@ -29,14 +38,25 @@ public class CreateAlertRuleUseCase implements CreateAlertRule {
 
         this.systemRepository = systemRepository;
         this.alertRuleRepository = alertRuleRepository;
+        this.windowedRulesSupported = windowedRulesSupported;
     }
 
     @Override
     public AlertRule execute(String systemId, String name, AlertRule.AlertRuleType type,
                             AlertSeverity severity, double thresholdValue, int consecutiveViolations) {
+        return execute(systemId, name, type, severity, thresholdValue, consecutiveViolations, 0);
+    }
+
+    public AlertRule execute(String systemId, String name, AlertRule.AlertRuleType type,
+                            AlertSeverity severity, double thresholdValue, int consecutiveViolations,
+                            int windowSeconds) {
         if (systemId == null || systemId.isBlank()) {
             throw new IllegalArgumentException("System ID cannot be null or blank");
         }
+        if (type != null && type.isWindowed() && !windowedRulesSupported) {
+            throw new IllegalArgumentException("Windowed rule type " + type +
+                    " requires apm.alert.evaluation.mode=streaming");
+        }
 
         systemRepository.findById(systemId)
                 .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
@@ -47,20 +67,47 @@ public class CreateAlertRuleUseCase implements CreateAlertRule {
             type,
             severity,
             thresholdValue,
-            consecutiveViolations
+            consecutiveViolations,
+            windowSeconds
         );
 
         return alertRuleRepository.save(rule);
     }
 
+    public AlertRule execute(String systemId, String name, AlertSeverity severity, String expression,
+                            int consecutiveViolations) {
+        if (systemId == null || systemId.isBlank()) {
+            throw new IllegalArgumentException("System ID cannot be null or blank");
+        }
+
+        systemRepository.findById(systemId)
+                .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
+
+        AlertRule rule = AlertRule.createExpression(systemId, name, severity, expression, consecutiveViolations);
+        return alertRuleRepository.save(rule);
+    }
+
     public AlertRuleResponse execute(CreateAlertRuleRequest request) {
         List<String> validationErrors = request.validate();
+        if (request.isExpressionRule() && validationErrors.isEmpty()) {
+            try {
+                RuleExpression.parse(request.getExpression());
+            } catch (IllegalArgumentException e) {
+                validationErrors.add(e.getMessage());
+            }
+        }
         if (!validationErrors.isEmpty()) {
             throw new IllegalArgumentException("Validation failed: " + String.join(", ", validationErrors));
         }
 
-        AlertRule.AlertRuleType type = AlertRuleMapper.parseRuleType(request.getType());
         AlertSeverity severity = AlertMapper.parseSeverity(request.getSeverity());
+        if (request.isExpressionRule()) {
+            AlertRule rule = execute(request.getSystemId(), request.getName(), severity,
+                    request.getExpression(), request.getConsecutiveViolations());
+            return AlertRuleMapper.toResponse(rule);
+        }
+
+        AlertRule.AlertRuleType type = AlertRuleMapper.parseRuleType(request.getType());
 
         AlertRule rule = execute(
             request.getSystemId(),
@@ -68,7 +115,8 @@ public class CreateAlertRuleUseCase implements CreateAlertRule {
             type,
             severity,
             request.getThresholdValue(),
-            request.getConsecutiveViolations()
+            request.getConsecutiveViolations(),
+            request.getWindowSeconds() == null ? 0 : request.getWindowSeconds()
         );
 
         return AlertRuleMapper.toResponse(rule);
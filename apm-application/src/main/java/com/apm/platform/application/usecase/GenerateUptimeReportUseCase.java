@@ -5,22 +5,42 @@ import com.apm.platform.domain.entity.Metric;
 import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.exception.MonitoredSystemNotFoundException;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
 import com.apm.platform.domain.service.UptimeCalculationDomainService;
+import com.apm.platform.domain.valueobject.LatencySketch;
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.RollupResolution;
 import com.apm.platform.domain.valueobject.UptimePercentage;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class GenerateUptimeReportUseCase {
 
     private final MonitoredSystemRepository systemRepository;
     private final MetricRepository metricRepository;
     private final UptimeCalculationDomainService uptimeService;
+    private final MetricRollupRepository rollupRepository;
+    private final double latencyObjectiveQuantile;
+    private final long latencyObjectiveMs;
 
     public GenerateUptimeReportUseCase(MonitoredSystemRepository systemRepository,
                                       MetricRepository metricRepository,
-                                      UptimeCalculationDomainService uptimeService) {
+                                      UptimeCalculationDomainService uptimeService,
+                                      MetricRollupRepository rollupRepository) {
+        this(systemRepository, metricRepository, uptimeService, rollupRepository, 0.99, 0);
+    }
+
+    // A latency objective of 0 ms leaves latencyObjectiveMet out of the report.
+    public GenerateUptimeReportUseCase(MonitoredSystemRepository systemRepository,
+                                      MetricRepository metricRepository,
+                                      UptimeCalculationDomainService uptimeService,
+                                      MetricRollupRepository rollupRepository,
+                                      double latencyObjectiveQuantile,
+                                      long latencyObjectiveMs) {
         if (systemRepository == null) {
             throw new IllegalArgumentException("MonitoredSystemRepository cannot be null");
         }
@@ -30,10 +50,22 @@ public class GenerateUptimeReportUseCase {
         if (uptimeService == null) {
             throw new IllegalArgumentException("UptimeCalculationDomainService cannot be null");
         }
+        if (rollupRepository == null) {
+            throw new IllegalArgumentException("MetricRollupRepository cannot be null");
+        }
+        if (latencyObjectiveQuantile <= 0 || latencyObjectiveQuantile >= 1) {
+            throw new IllegalArgumentException("Latency objective quantile must be between 0 and 1 (exclusive)");
+        }
+        if (latencyObjectiveMs < 0) {
+            throw new IllegalArgumentException("Latency objective cannot be negative");
+        }
 
         this.systemRepository = systemRepository;
         this.metricRepository = metricRepository;
         this.uptimeService = uptimeService;
+        this.rollupRepository = rollupRepository;
+        this.latencyObjectiveQuantile = latencyObjectiveQuantile;
+        this.latencyObjectiveMs = latencyObjectiveMs;
     }
 
     public UptimeReportResponse execute(String systemId, Instant startTime, Instant endTime) {
@@ -62,6 +94,9 @@ public class GenerateUptimeReportUseCase {
         long failedChecks = totalChecks - successfulChecks;
 
         String classification = uptimeService.classifyAvailability(uptime);
+        LatencySketch latencies = latencySketch(systemId, startTime, endTime);
+        Boolean latencyObjectiveMet = latencyObjectiveMs == 0 ? null
+                : uptimeService.meetsLatencyObjective(latencies, latencyObjectiveQuantile, latencyObjectiveMs);
 
         return new UptimeReportResponse(
             system.getId(),
@@ -72,7 +107,37 @@ public class GenerateUptimeReportUseCase {
             totalChecks,
             successfulChecks,
             failedChecks,
-            classification
+            classification,
+            latencies.isEmpty() ? null : latencies.quantile(0.95),
+            latencies.isEmpty() ? null : latencies.quantile(0.99),
+            latencyObjectiveMet
         );
     }
+
+    private LatencySketch latencySketch(String systemId, Instant startTime, Instant endTime) {
+        // Whole hours come from hourly sketches, the partial hours at either edge from per-minute ones.
+        // The minute holding startTime is included whole, so its earlier seconds count towards the report.
+        Instant firstMinute = RollupResolution.ONE_MINUTE.bucketStart(startTime);
+        Instant firstHour = RollupResolution.ONE_HOUR.bucketStart(startTime);
+        if (firstHour.isBefore(startTime)) {
+            firstHour = firstHour.plus(RollupResolution.ONE_HOUR.getBucket());
+        }
+        Instant lastHour = RollupResolution.ONE_HOUR.bucketStart(endTime);
+
+        List<MetricRollup> rollups = new ArrayList<>();
+        if (firstHour.isBefore(lastHour)) {
+            rollups.addAll(rollupRepository.findBySystemIdAndTimeRange(systemId, RollupResolution.ONE_MINUTE,
+                    firstMinute, firstHour.minusMillis(1)));
+            rollups.addAll(rollupRepository.findBySystemIdAndTimeRange(systemId, RollupResolution.ONE_HOUR,
+                    firstHour, lastHour.minusMillis(1)));
+            rollups.addAll(rollupRepository.findBySystemIdAndTimeRange(systemId, RollupResolution.ONE_MINUTE,
+                    lastHour, endTime));
+        } else {
+            rollups.addAll(rollupRepository.findBySystemIdAndTimeRange(systemId, RollupResolution.ONE_MINUTE,
+                    firstMinute, endTime));
+        }
+        return LatencySketch.mergeAll(rollups.stream()
+                .map(MetricRollup::getLatencySketch)
+                .collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,71 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.application.dto.request.UpdateRetentionPolicyRequest;
+import com.apm.platform.application.dto.response.RetentionPolicyResponse;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.exception.MonitoredSystemNotFoundException;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ManageRetentionPolicyUseCase {
+
+    private final MonitoredSystemRepository systemRepository;
+    private final RetentionPolicyRepository policyRepository;
+
+    public ManageRetentionPolicyUseCase(MonitoredSystemRepository systemRepository,
+                                        RetentionPolicyRepository policyRepository) {
+        if (systemRepository == null) {
+            throw new IllegalArgumentException("MonitoredSystemRepository cannot be null");
+        }
+        if (policyRepository == null) {
+            throw new IllegalArgumentException("RetentionPolicyRepository cannot be null");
+        }
+
+        this.systemRepository = systemRepository;
+        this.policyRepository = policyRepository;
+    }
+
+    public RetentionPolicyResponse getEffective(String systemId) {
+        MonitoredSystem system = findSystem(systemId);
+        Optional<RetentionPolicy> override = policyRepository.findBySystemId(systemId);
+        return toResponse(system, override.orElseGet(() -> policyRepository.findDefault(system.getEnvironment())),
+                override.isPresent());
+    }
+
+    public RetentionPolicyResponse override(String systemId, UpdateRetentionPolicyRequest request) {
+        List<String> validationErrors = request.validate();
+        if (!validationErrors.isEmpty()) {
+            throw new IllegalArgumentException("Validation failed: " + String.join(", ", validationErrors));
+        }
+
+        MonitoredSystem system = findSystem(systemId);
+        RetentionPolicy policy = RetentionPolicy.ofDays(request.getRawDays(), request.getOneMinuteRollupDays(),
+                request.getFiveMinuteRollupDays(), request.getOneHourRollupDays());
+        policyRepository.save(systemId, policy);
+        return toResponse(system, policy, true);
+    }
+
+    public RetentionPolicyResponse reset(String systemId) {
+        MonitoredSystem system = findSystem(systemId);
+        policyRepository.deleteBySystemId(systemId);
+        return toResponse(system, policyRepository.findDefault(system.getEnvironment()), false);
+    }
+
+    private MonitoredSystem findSystem(String systemId) {
+        if (systemId == null || systemId.isBlank()) {
+            throw new IllegalArgumentException("System ID cannot be null or blank");
+        }
+        return systemRepository.findById(systemId)
+                .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
+    }
+
+    private static RetentionPolicyResponse toResponse(MonitoredSystem system, RetentionPolicy policy,
+                                                      boolean overridden) {
+        return new RetentionPolicyResponse(system.getId(), system.getEnvironment().name(), overridden,
+                policy.getRawDays(), policy.getOneMinuteDays(), policy.getFiveMinuteDays(), policy.getOneHourDays());
+    }
+}
@@ -1,37 +1,154 @@
 package com.apm.platform.application.usecase;
 
 import com.apm.platform.application.dto.request.QueryMetricsRequest;
+import com.apm.platform.application.dto.response.MetricPageResponse;
+import com.apm.platform.application.dto.response.MetricPointResponse;
 import com.apm.platform.application.dto.response.MetricResponse;
+import com.apm.platform.application.dto.response.MetricSeriesResponse;
+import com.apm.platform.application.dto.response.MetricSummaryResponse;
 import com.apm.platform.application.mapper.MetricMapper;
 import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.exception.MonitoredSystemNotFoundException;
 import com.apm.platform.domain.port.incoming.QueryHistoricalMetrics;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.RollupResolution;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class QueryHistoricalMetricsUseCase implements QueryHistoricalMetrics {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_SUMMARY_BUCKETS = 10_000;
+
     private final MonitoredSystemRepository systemRepository;
     private final MetricRepository metricRepository;
+    private final MetricRollupRepository rollupRepository;
 
     public QueryHistoricalMetricsUseCase(MonitoredSystemRepository systemRepository,
-                                        MetricRepository metricRepository) {
+                                        MetricRepository metricRepository,
+                                        MetricRollupRepository rollupRepository) {
         if (systemRepository == null) {
             throw new IllegalArgumentException("MonitoredSystemRepository cannot be null");
         }
         if (metricRepository == null) {
             throw new IllegalArgumentException("MetricRepository cannot be null");
         }
+        if (rollupRepository == null) {
+            throw new IllegalArgumentException("MetricRollupRepository cannot be null");
+        }
 
         this.systemRepository = systemRepository;
         this.metricRepository = metricRepository;
+        this.rollupRepository = rollupRepository;
     }
 
     @Override
     public List<Metric> execute(String systemId, Instant startTime, Instant endTime) {
+        findSystem(systemId, startTime, endTime);
+        return metricRepository.findBySystemIdAndTimeRange(systemId, startTime, endTime);
+    }
+
+    public MetricPageResponse executePage(String systemId, Instant startTime, Instant endTime,
+                                          String cursor, int limit) {
+        validateLimit(limit);
+        MetricCursor before = cursor != null ? MetricCursor.decode(cursor) : null;
+        findSystem(systemId, startTime, endTime);
+
+        List<Metric> page = metricRepository.findPageBySystemId(systemId, startTime, endTime, before, limit + 1);
+        boolean hasMore = page.size() > limit;
+        List<Metric> metrics = hasMore ? page.subList(0, limit) : page;
+
+        String nextCursor = hasMore ? MetricCursor.of(metrics.get(metrics.size() - 1)).encode() : null;
+        String latestCursor = metrics.isEmpty() ? null : MetricCursor.of(metrics.get(0)).encode();
+        return new MetricPageResponse(MetricMapper.toResponseList(metrics), nextCursor, latestCursor, hasMore);
+    }
+
+    public MetricPageResponse executeSince(String systemId, String since, int limit) {
+        validateLimit(limit);
+        MetricCursor after = MetricCursor.decode(since);
+        if (systemId == null || systemId.isBlank()) {
+            throw new IllegalArgumentException("System ID cannot be null or blank");
+        }
+        systemRepository.findById(systemId)
+                .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
+
+        List<Metric> newer = metricRepository.findNewerThan(systemId, after, limit + 1);
+        boolean hasMore = newer.size() > limit;
+        List<Metric> metrics = hasMore ? newer.subList(0, limit) : newer;
+
+        String latestCursor = metrics.isEmpty() ? since : MetricCursor.of(metrics.get(metrics.size() - 1)).encode();
+        return new MetricPageResponse(MetricMapper.toResponseList(metrics), null, latestCursor, hasMore);
+    }
+
+    public Optional<MetricResponse> executeLatest(String systemId) {
+        if (systemId == null || systemId.isBlank()) {
+            throw new IllegalArgumentException("System ID cannot be null or blank");
+        }
+        systemRepository.findById(systemId)
+                .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
+
+        return metricRepository.findRecentBySystemId(systemId, 1).stream()
+                .findFirst()
+                .map(MetricMapper::toResponse);
+    }
+
+    public MetricSummaryResponse executeSummary(String systemId, Instant startTime, Instant endTime, Duration step) {
+        findSystem(systemId, startTime, endTime);
+        Duration range = Duration.between(startTime, endTime);
+        Duration bucket = step != null ? step : range;
+        if (bucket.getSeconds() < 1) {
+            throw new IllegalArgumentException("Step must be at least one second");
+        }
+        if (range.toSeconds() / bucket.getSeconds() > MAX_SUMMARY_BUCKETS) {
+            throw new IllegalArgumentException("Step is too small for the range, at most "
+                    + MAX_SUMMARY_BUCKETS + " buckets are returned");
+        }
+
+        return new MetricSummaryResponse(systemId, startTime, endTime, bucket.getSeconds(),
+                metricRepository.summarize(systemId, startTime, endTime, bucket).stream()
+                        .map(MetricMapper::toBucket)
+                        .collect(Collectors.toList()));
+    }
+
+    public MetricSeriesResponse executeSeries(String systemId, Instant startTime, Instant endTime, int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("Max points must be at least 1");
+        }
+        MonitoredSystem system = findSystem(systemId, startTime, endTime);
+
+        Duration range = Duration.between(startTime, endTime);
+        long expectedRawPoints = range.getSeconds() / Math.max(1, system.getCollectionIntervalSeconds());
+        if (expectedRawPoints <= maxPoints) {
+            List<MetricPointResponse> points = metricRepository
+                    .findBySystemIdAndTimeRange(systemId, startTime, endTime).stream()
+                    .map(MetricMapper::toPoint)
+                    .collect(Collectors.toList());
+            return new MetricSeriesResponse(systemId, MetricSeriesResponse.RAW_RESOLUTION, startTime, endTime, points);
+        }
+
+        RollupResolution resolution = RollupResolution.finestWithin(range, maxPoints);
+        List<MetricPointResponse> points = rollupRepository
+                .findBySystemIdAndTimeRange(systemId, resolution, resolution.bucketStart(startTime), endTime).stream()
+                .map(MetricMapper::toPoint)
+                .collect(Collectors.toList());
+        return new MetricSeriesResponse(systemId, resolution.getCode(), startTime, endTime, points);
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private MonitoredSystem findSystem(String systemId, Instant startTime, Instant endTime) {
         if (systemId == null || systemId.isBlank()) {
             throw new IllegalArgumentException("System ID cannot be null or blank");
         }
@@ -45,10 +162,8 @@ public class QueryHistoricalMetricsUseCase implements QueryHistoricalMetrics {
             throw new IllegalArgumentException("End time must be after start time");
         }
 
-        systemRepository.findById(systemId)
+        return systemRepository.findById(systemId)
                 .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
-
-        return metricRepository.findBySystemIdAndTimeRange(systemId, startTime, endTime);
     }
 
     public List<MetricResponse> execute(QueryMetricsRequest request) {
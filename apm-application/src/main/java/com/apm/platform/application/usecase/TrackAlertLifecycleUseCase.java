@@ -0,0 +1,162 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.domain.entity.Alert;
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.port.outgoing.AlertRepository;
+import com.apm.platform.domain.service.AlertLifecycleDomainService;
+import com.apm.platform.domain.valueobject.AlertTransition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class TrackAlertLifecycleUseCase {
+
+    static final String RULE_RETIRED_NOTES = "Auto-resolved: alert rule was disabled or removed";
+
+    private final AlertRepository alertRepository;
+    private final TriggerAlertUseCase triggerAlertUseCase;
+    private final AlertLifecycleDomainService lifecycleService;
+
+    public TrackAlertLifecycleUseCase(AlertRepository alertRepository,
+                                      TriggerAlertUseCase triggerAlertUseCase,
+                                      AlertLifecycleDomainService lifecycleService) {
+        if (alertRepository == null) {
+            throw new IllegalArgumentException("AlertRepository cannot be null");
+        }
+        if (triggerAlertUseCase == null) {
+            throw new IllegalArgumentException("TriggerAlertUseCase cannot be null");
+        }
+        if (lifecycleService == null) {
+            throw new IllegalArgumentException("AlertLifecycleDomainService cannot be null");
+        }
+
+        this.alertRepository = alertRepository;
+        this.triggerAlertUseCase = triggerAlertUseCase;
+        this.lifecycleService = lifecycleService;
+    }
+
+    // Opens an alert when the rule starts firing and resolves it when the rule clears.
+    public AlertTransition execute(AlertRule rule, boolean violated, boolean conditionMet) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Alert rule cannot be null");
+        }
+
+        String ruleId = rule.getId();
+        String systemId = rule.getSystemId();
+        if (violated) {
+            dropIfAlertClosed(ruleId, systemId);
+        }
+        AlertTransition transition = lifecycleService.observe(ruleId, systemId, violated, conditionMet);
+
+        if (transition.isFire()) {
+            try {
+                Alert alert = findOpenAlert(ruleId, systemId)
+                        .orElseGet(() -> triggerAlertUseCase.execute(systemId, ruleId, violationMessage(rule)));
+                lifecycleService.markFiring(ruleId, systemId, alert.getId());
+            } catch (RuntimeException e) {
+                lifecycleService.reset(ruleId, systemId);
+                throw e;
+            }
+        } else if (transition.isResolve() && transition.getAlertId() != null) {
+            resolve(transition.getAlertId(), null);
+        }
+        return transition;
+    }
+
+    public int recover() {
+        return recover(systemId -> true);
+    }
+
+    // Rebuilds firing episodes from open alerts for the systems this node evaluates and forgets the rest,
+    // so an incident survives a restart or an ownership move and still resolves once healthy.
+    public int recover(Predicate<String> evaluatesSystem) {
+        if (evaluatesSystem == null) {
+            throw new IllegalArgumentException("System filter cannot be null");
+        }
+        List<Alert> activeAlerts = alertRepository.findAllActive();
+        Set<String> activeAlertIds = activeAlerts.stream().map(Alert::getId).collect(Collectors.toSet());
+        for (String ruleId : lifecycleService.getTrackedRuleIds()) {
+            for (String systemId : lifecycleService.getTrackedSystemIds(ruleId)) {
+                boolean alertClosed = lifecycleService.getOpenAlertId(ruleId, systemId)
+                        .map(alertId -> !activeAlertIds.contains(alertId))
+                        .orElse(false);
+                if (alertClosed || !evaluatesSystem.test(systemId)) {
+                    lifecycleService.reset(ruleId, systemId);
+                }
+            }
+        }
+
+        int recovered = 0;
+        for (Alert alert : activeAlerts) {
+            if (alert.getRuleId() == null || !evaluatesSystem.test(alert.getSystemId())) {
+                continue;
+            }
+            lifecycleService.markFiring(alert.getRuleId(), alert.getSystemId(), alert.getId());
+            recovered++;
+        }
+        return recovered;
+    }
+
+    public int retireInactiveRules(Collection<String> activeRuleIds) {
+        if (activeRuleIds == null) {
+            throw new IllegalArgumentException("Active rule IDs cannot be null");
+        }
+        int retired = 0;
+        for (String ruleId : lifecycleService.getTrackedRuleIds()) {
+            if (activeRuleIds.contains(ruleId)) {
+                continue;
+            }
+            for (String systemId : lifecycleService.getTrackedSystemIds(ruleId)) {
+                Optional<String> alertId = lifecycleService.getOpenAlertId(ruleId, systemId);
+                lifecycleService.reset(ruleId, systemId);
+                alertId.ifPresent(id -> resolve(id, RULE_RETIRED_NOTES));
+                retired++;
+            }
+        }
+        return retired;
+    }
+
+    static String violationMessage(AlertRule rule) {
+        if (rule.getExpression() != null) {
+            return String.format("Alert rule '%s' violated for system. Condition: %s",
+                    rule.getName(), rule.getExpression());
+        }
+        return String.format("Alert rule '%s' violated for system. Threshold: %.2f, Type: %s",
+                rule.getName(), rule.getThresholdValue(), rule.getType());
+    }
+
+    private Optional<Alert> findOpenAlert(String ruleId, String systemId) {
+        return alertRepository.findActiveBySystemId(systemId).stream()
+                .filter(alert -> ruleId.equals(alert.getRuleId()))
+                .findFirst();
+    }
+
+    // A firing episode only suppresses new alerts while its alert is open. Another node or an operator may
+    // have closed it since, in which case the episode starts over.
+    private void dropIfAlertClosed(String ruleId, String systemId) {
+        if (!lifecycleService.getState(ruleId, systemId).isFiring()) {
+            return;
+        }
+        lifecycleService.getOpenAlertId(ruleId, systemId)
+                .filter(alertId -> alertRepository.findById(alertId).filter(Alert::isActive).isEmpty())
+                .ifPresent(alertId -> lifecycleService.reset(ruleId, systemId));
+    }
+
+    // The alert may already have been closed by hand; that ends the episode just as well.
+    private void resolve(String alertId, String notes) {
+        alertRepository.findById(alertId)
+                .filter(Alert::isActive)
+                .ifPresent(alert -> {
+                    if (notes == null) {
+                        alert.autoResolve();
+                    } else {
+                        alert.resolve(notes);
+                    }
+                    alertRepository.save(alert);
+                });
+    }
+}
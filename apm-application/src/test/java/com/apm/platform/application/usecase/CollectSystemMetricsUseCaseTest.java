@@ -6,14 +6,20 @@ import com.apm.platform.domain.exception.MonitoredSystemNotFoundException;
 import com.apm.platform.domain.port.outgoing.DomainEventPublisher;
 import com.apm.platform.domain.port.outgoing.MetricCollectorGateway;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.valueobject.MetricRollup;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 class CollectSystemMetricsUseCaseTest {
@@ -22,6 +28,7 @@ class CollectSystemMetricsUseCaseTest {
     private MetricRepository metricRepository;
     private MetricCollectorGateway collectorGateway;
     private DomainEventPublisher eventPublisher;
+    private MetricRollupRepository rollupRepository;
     private CollectSystemMetricsUseCase useCase;
 
     @BeforeEach
@@ -30,9 +37,10 @@ class CollectSystemMetricsUseCaseTest {
         metricRepository = mock(MetricRepository.class);
         collectorGateway = mock(MetricCollectorGateway.class);
         eventPublisher = mock(DomainEventPublisher.class);
+        rollupRepository = mock(MetricRollupRepository.class);
         
         useCase = new CollectSystemMetricsUseCase(
-            systemRepository, metricRepository, collectorGateway, eventPublisher
+            systemRepository, metricRepository, collectorGateway, eventPublisher, rollupRepository
         );
     }
 
@@ -61,9 +69,73 @@ class CollectSystemMetricsUseCaseTest {
         verify(systemRepository).findById(systemId);
         verify(collectorGateway).collectMetrics(system);
         verify(metricRepository).save(any(Metric.class));
+        verify(rollupRepository).accumulate(anyCollection());
         verify(eventPublisher).publish(any());
     }
 
+    @Test
+    void shouldCollectWithoutPersisting() {
+        String systemId = "system-123";
+        MonitoredSystem system = MonitoredSystem.create(
+            "Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60
+        );
+
+        when(systemRepository.findById(systemId)).thenReturn(Optional.of(system));
+        when(collectorGateway.collectMetrics(system)).thenReturn(MetricSnapshot.create(150, 45.5, 60.0, 200, false));
+
+        Metric result = useCase.collect(systemId);
+
+        assertEquals(systemId, result.getSystemId());
+        verifyNoInteractions(metricRepository, eventPublisher, rollupRepository);
+    }
+
+    @Test
+    void shouldPersistBatchAndPublishEventPerMetric() {
+        List<Metric> batch = List.of(
+            Metric.fromSnapshot("system-1", MetricSnapshot.create(100, 10.0, 20.0, 200, false)),
+            Metric.fromSnapshot("system-2", MetricSnapshot.create(200, 30.0, 40.0, 500, true))
+        );
+        when(metricRepository.saveAll(batch)).thenReturn(batch);
+
+        List<Metric> saved = useCase.persistAll(batch);
+
+        assertEquals(batch, saved);
+        verify(metricRepository).saveAll(batch);
+        verify(metricRepository, never()).save(any());
+        verify(eventPublisher, times(2)).publish(any());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAccumulateRollupsForEveryResolution() {
+        List<Metric> batch = List.of(
+            Metric.fromSnapshot("system-1", MetricSnapshot.create(100, 10.0, 20.0, 200, false)),
+            Metric.fromSnapshot("system-1", MetricSnapshot.create(300, 30.0, 40.0, 500, true))
+        );
+        useCase.accumulateRollups(batch);
+
+        ArgumentCaptor<Collection<MetricRollup>> captor =
+            ArgumentCaptor.forClass(Collection.class);
+        verify(rollupRepository).accumulate(captor.capture());
+        assertEquals(MetricRollup.aggregate(batch), List.copyOf(captor.getValue()));
+    }
+
+    @Test
+    void shouldSkipRollupRepositoryForEmptyBatch() {
+        useCase.accumulateRollups(List.of());
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void shouldSkipRepositoryForEmptyBatch() {
+        assertTrue(useCase.persistAll(List.of()).isEmpty());
+
+        verifyNoInteractions(metricRepository, eventPublisher, rollupRepository);
+    }
+
     @Test
     void shouldThrowExceptionWhenSystemNotFound() {
         String systemId = "non-existent";
@@ -107,7 +179,10 @@ class CollectSystemMetricsUseCaseTest {
     @Test
     void shouldThrowExceptionWhenRepositoryIsNull() {
         assertThrows(IllegalArgumentException.class, () ->
-            new CollectSystemMetricsUseCase(null, metricRepository, collectorGateway, eventPublisher)
+            new CollectSystemMetricsUseCase(null, metricRepository, collectorGateway, eventPublisher, rollupRepository)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            new CollectSystemMetricsUseCase(systemRepository, metricRepository, collectorGateway, eventPublisher, null)
         );
     }
 }
@@ -109,6 +109,57 @@ class CreateAlertRuleUseCaseTest {
         verify(alertRuleRepository, never()).save(any());
     }
 
+    @Test
+    void shouldCreateExpressionRuleUsingRequest() {
+        String systemId = "system-123";
+        MonitoredSystem system = MonitoredSystem.create(
+            "Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60
+        );
+
+        CreateAlertRuleRequest request = new CreateAlertRuleRequest(
+            systemId, "Degraded", "EXPRESSION", "CRITICAL", null, 2, null,
+            "latency_ms > 2000 && status_code >= 500 || cpu > 90"
+        );
+
+        when(systemRepository.findById(systemId)).thenReturn(Optional.of(system));
+        when(alertRuleRepository.save(any(AlertRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AlertRuleResponse response = useCase.execute(request);
+
+        assertEquals("EXPRESSION", response.getType());
+        assertEquals("latency_ms > 2000 && status_code >= 500 || cpu > 90", response.getExpression());
+    }
+
+    @Test
+    void shouldRejectMalformedExpression() {
+        CreateAlertRuleRequest request = new CreateAlertRuleRequest(
+            "system-123", "Degraded", "EXPRESSION", "CRITICAL", null, 2, null, "latency_ms > && cpu > 90"
+        );
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            useCase.execute(request)
+        );
+
+        assertTrue(error.getMessage().startsWith("Validation failed"));
+        verify(systemRepository, never()).findById(any());
+        verify(alertRuleRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectWindowedRuleWhenEvaluationIsPolling() {
+        CreateAlertRuleUseCase pollingUseCase =
+            new CreateAlertRuleUseCase(systemRepository, alertRuleRepository, false);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            pollingUseCase.execute("system-123", "P99 5m", AlertRule.AlertRuleType.WINDOW_LATENCY_P99_MS,
+                AlertSeverity.WARNING, 1000.0, 1, 300)
+        );
+
+        verify(systemRepository, never()).findById(any());
+        verify(alertRuleRepository, never()).save(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenRepositoryIsNull() {
         assertThrows(IllegalArgumentException.class, () ->
@@ -0,0 +1,86 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.application.dto.response.UptimeReportResponse;
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.service.UptimeCalculationDomainService;
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.RollupResolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GenerateUptimeReportUseCaseTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T10:00:30Z");
+    private static final Instant END = Instant.parse("2024-01-01T10:20:00Z");
+
+    private MonitoredSystemRepository systemRepository;
+    private MetricRepository metricRepository;
+    private MetricRollupRepository rollupRepository;
+    private MonitoredSystem system;
+
+    @BeforeEach
+    void setUp() {
+        systemRepository = mock(MonitoredSystemRepository.class);
+        metricRepository = mock(MetricRepository.class);
+        rollupRepository = mock(MetricRollupRepository.class);
+        system = MonitoredSystem.create("Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60);
+        when(systemRepository.findById(system.getId())).thenReturn(Optional.of(system));
+        when(metricRepository.findBySystemIdAndTimeRange(anyString(), any(), any())).thenReturn(List.of());
+        when(rollupRepository.findBySystemIdAndTimeRange(eq(system.getId()), eq(RollupResolution.ONE_MINUTE),
+            any(), any())).thenReturn(List.of(rollup(300), rollup(2500), rollup(2600)));
+    }
+
+    @Test
+    void shouldReadTheMinuteContainingStartTime() {
+        useCase(0).execute(system.getId(), START, END);
+
+        verify(rollupRepository).findBySystemIdAndTimeRange(system.getId(), RollupResolution.ONE_MINUTE,
+            Instant.parse("2024-01-01T10:00:00Z"), END);
+    }
+
+    @Test
+    void shouldReportLatencyObjectiveWhenConfigured() {
+        assertNull(useCase(0).execute(system.getId(), START, END).getLatencyObjectiveMet());
+
+        UptimeReportResponse strict = useCase(1000).execute(system.getId(), START, END);
+        UptimeReportResponse lenient = useCase(5000).execute(system.getId(), START, END);
+
+        assertFalse(strict.getLatencyObjectiveMet());
+        assertTrue(lenient.getLatencyObjectiveMet());
+    }
+
+    @Test
+    void shouldRejectInvalidLatencyObjective() {
+        assertThrows(IllegalArgumentException.class, () -> new GenerateUptimeReportUseCase(systemRepository,
+            metricRepository, new UptimeCalculationDomainService(), rollupRepository, 1.0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new GenerateUptimeReportUseCase(systemRepository,
+            metricRepository, new UptimeCalculationDomainService(), rollupRepository, 0.99, -1));
+    }
+
+    private GenerateUptimeReportUseCase useCase(long latencyObjectiveMs) {
+        return new GenerateUptimeReportUseCase(systemRepository, metricRepository,
+            new UptimeCalculationDomainService(), rollupRepository, 0.99, latencyObjectiveMs);
+    }
+
+    private MetricRollup rollup(long latencyMs) {
+        Metric metric = Metric.reconstitute("m-" + latencyMs, system.getId(), latencyMs, 200, false,
+            10.0, 20.0, Map.of(), START);
+        return MetricRollup.of(metric, RollupResolution.ONE_MINUTE);
+    }
+}
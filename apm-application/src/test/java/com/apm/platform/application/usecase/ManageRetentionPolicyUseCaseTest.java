@@ -0,0 +1,68 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.application.dto.request.UpdateRetentionPolicyRequest;
+import com.apm.platform.application.dto.response.RetentionPolicyResponse;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ManageRetentionPolicyUseCaseTest {
+
+    private static final RetentionPolicy DEVELOPMENT = RetentionPolicy.ofDays(3, 3, 7, 30);
+
+    private MonitoredSystemRepository systemRepository;
+    private RetentionPolicyRepository policyRepository;
+    private ManageRetentionPolicyUseCase useCase;
+    private MonitoredSystem system;
+
+    @BeforeEach
+    void setUp() {
+        systemRepository = mock(MonitoredSystemRepository.class);
+        policyRepository = mock(RetentionPolicyRepository.class);
+        useCase = new ManageRetentionPolicyUseCase(systemRepository, policyRepository);
+
+        system = MonitoredSystem.create("Sandbox", "https://sandbox.test.com", MonitoredSystem.SystemType.API,
+            MonitoredSystem.Environment.DEVELOPMENT, 60);
+        when(systemRepository.findById(system.getId())).thenReturn(Optional.of(system));
+        when(policyRepository.findDefault(MonitoredSystem.Environment.DEVELOPMENT)).thenReturn(DEVELOPMENT);
+    }
+
+    @Test
+    void shouldFallBackToEnvironmentDefault() {
+        when(policyRepository.findBySystemId(system.getId())).thenReturn(Optional.empty());
+
+        RetentionPolicyResponse response = useCase.getEffective(system.getId());
+
+        assertFalse(response.isOverridden());
+        assertEquals("DEVELOPMENT", response.getEnvironment());
+        assertEquals(3, response.getRawDays());
+        assertEquals(30, response.getOneHourRollupDays());
+    }
+
+    @Test
+    void shouldStoreOverride() {
+        RetentionPolicyResponse response = useCase.override(system.getId(),
+            new UpdateRetentionPolicyRequest(7, 7, 30, 365));
+
+        verify(policyRepository).save(system.getId(), RetentionPolicy.ofDays(7, 7, 30, 365));
+        assertTrue(response.isOverridden());
+        assertEquals(365, response.getOneHourRollupDays());
+    }
+
+    @Test
+    void shouldRejectIncompleteOverride() {
+        assertThrows(IllegalArgumentException.class, () ->
+            useCase.override(system.getId(), new UpdateRetentionPolicyRequest(7, null, 30, 0))
+        );
+        verify(policyRepository, never()).save(any(), any());
+    }
+}
@@ -0,0 +1,185 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.application.dto.response.MetricPageResponse;
+import com.apm.platform.application.dto.response.MetricSeriesResponse;
+import com.apm.platform.application.dto.response.MetricSummaryResponse;
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.valueobject.LatencySketch;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import com.apm.platform.domain.valueobject.RollupResolution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class QueryHistoricalMetricsUseCaseTest {
+
+    private static final String SYSTEM_ID = "system-123";
+    private static final Instant END = Instant.parse("2024-01-08T00:00:00Z");
+
+    private MonitoredSystemRepository systemRepository;
+    private MetricRepository metricRepository;
+    private MetricRollupRepository rollupRepository;
+    private QueryHistoricalMetricsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        systemRepository = mock(MonitoredSystemRepository.class);
+        metricRepository = mock(MetricRepository.class);
+        rollupRepository = mock(MetricRollupRepository.class);
+        useCase = new QueryHistoricalMetricsUseCase(systemRepository, metricRepository, rollupRepository);
+
+        MonitoredSystem system = MonitoredSystem.create(
+            "Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60
+        );
+        when(systemRepository.findById(SYSTEM_ID)).thenReturn(Optional.of(system));
+    }
+
+    @Test
+    void shouldServeRawMetricsWhenRangeFitsPointBudget() {
+        Instant start = END.minus(Duration.ofHours(1));
+        Metric metric = Metric.reconstitute("m-1", SYSTEM_ID, 120, 200, false, 10.0, 20.0, Map.of(), start);
+        when(metricRepository.findBySystemIdAndTimeRange(SYSTEM_ID, start, END)).thenReturn(List.of(metric));
+
+        MetricSeriesResponse series = useCase.executeSeries(SYSTEM_ID, start, END, 500);
+
+        assertEquals(MetricSeriesResponse.RAW_RESOLUTION, series.getResolution());
+        assertEquals(1, series.getPoints().size());
+        assertEquals(120.0, series.getPoints().get(0).getAvgLatencyMs());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void shouldServeRollupsWhenRawPointsExceedBudget() {
+        Instant start = END.minus(Duration.ofDays(7));
+        MetricRollup rollup = MetricRollup.reconstitute(SYSTEM_ID, RollupResolution.ONE_HOUR, start,
+            60, 3, 50, 900, 12_000, 600.0, 1_200.0, 57, 0, 0, 3, LatencySketch.empty());
+        when(rollupRepository.findBySystemIdAndTimeRange(SYSTEM_ID, RollupResolution.ONE_HOUR, start, END))
+            .thenReturn(List.of(rollup));
+
+        MetricSeriesResponse series = useCase.executeSeries(SYSTEM_ID, start, END, 500);
+
+        assertEquals("1h", series.getResolution());
+        assertEquals(200.0, series.getPoints().get(0).getAvgLatencyMs());
+        assertEquals(900, series.getPoints().get(0).getMaxLatencyMs());
+        verify(metricRepository, never()).findBySystemIdAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectNonPositivePointBudget() {
+        assertThrows(IllegalArgumentException.class, () ->
+            useCase.executeSeries(SYSTEM_ID, END.minusSeconds(60), END, 0)
+        );
+    }
+
+    @Test
+    void shouldPushPageLimitDownAndReturnCursorForNextPage() {
+        Instant start = END.minus(Duration.ofHours(1));
+        Metric newest = metric("m-3", END.minusSeconds(60));
+        Metric middle = metric("m-2", END.minusSeconds(120));
+        Metric oldest = metric("m-1", END.minusSeconds(180));
+        when(metricRepository.findPageBySystemId(SYSTEM_ID, start, END, null, 3))
+            .thenReturn(List.of(newest, middle, oldest));
+
+        MetricPageResponse page = useCase.executePage(SYSTEM_ID, start, END, null, 2);
+
+        assertEquals(2, page.getMetrics().size());
+        assertTrue(page.isHasMore());
+        assertEquals(MetricCursor.of(middle), MetricCursor.decode(page.getNextCursor()));
+        assertEquals(MetricCursor.of(newest), MetricCursor.decode(page.getLatestCursor()));
+        verify(metricRepository, never()).findBySystemIdAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void shouldContinueFromCursor() {
+        Instant start = END.minus(Duration.ofHours(1));
+        MetricCursor cursor = MetricCursor.create(END.minusSeconds(120), "m-2");
+        when(metricRepository.findPageBySystemId(SYSTEM_ID, start, END, cursor, 3))
+            .thenReturn(List.of(metric("m-1", END.minusSeconds(180))));
+
+        MetricPageResponse page = useCase.executePage(SYSTEM_ID, start, END, cursor.encode(), 2);
+
+        assertEquals(1, page.getMetrics().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnOnlyMetricsNewerThanSinceCursor() {
+        MetricCursor since = MetricCursor.create(END.minusSeconds(120), "m-2");
+        Metric newer = metric("m-3", END.minusSeconds(60));
+        when(metricRepository.findNewerThan(SYSTEM_ID, since, 101)).thenReturn(List.of(newer));
+
+        MetricPageResponse page = useCase.executeSince(SYSTEM_ID, since.encode(), 100);
+
+        assertEquals("m-3", page.getMetrics().get(0).getId());
+        assertEquals(MetricCursor.of(newer), MetricCursor.decode(page.getLatestCursor()));
+    }
+
+    @Test
+    void shouldKeepSinceCursorWhenNothingNew() {
+        String since = MetricCursor.create(END, "m-3").encode();
+        when(metricRepository.findNewerThan(any(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(since, useCase.executeSince(SYSTEM_ID, since, 100).getLatestCursor());
+    }
+
+    @Test
+    void shouldReadLatestMetricWithSingleRowLookup() {
+        when(metricRepository.findRecentBySystemId(SYSTEM_ID, 1)).thenReturn(List.of(metric("m-3", END)));
+
+        assertEquals("m-3", useCase.executeLatest(SYSTEM_ID).orElseThrow().getId());
+        verify(metricRepository, never()).findBySystemIdAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectPageSizesOutsideBounds() {
+        assertThrows(IllegalArgumentException.class, () ->
+            useCase.executePage(SYSTEM_ID, END.minusSeconds(60), END, null, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            useCase.executePage(SYSTEM_ID, END.minusSeconds(60), END, null, QueryHistoricalMetricsUseCase.MAX_PAGE_SIZE + 1)
+        );
+    }
+
+    @Test
+    void shouldSummarizeWholeRangeWhenStepIsOmitted() {
+        Instant start = END.minus(Duration.ofHours(1));
+        when(metricRepository.summarize(SYSTEM_ID, start, END, Duration.ofHours(1))).thenReturn(List.of(
+            MetricSummary.create(start, 60, 6, 150.0, 120.0, 400.0, 800.0, 950, 54, 0, 0, 6)));
+
+        MetricSummaryResponse summary = useCase.executeSummary(SYSTEM_ID, start, END, null);
+
+        assertEquals(3600, summary.getStepSeconds());
+        assertEquals(0.1, summary.getBuckets().get(0).getErrorRate(), 0.0001);
+        assertEquals(400.0, summary.getBuckets().get(0).getP95LatencyMs());
+    }
+
+    @Test
+    void shouldRejectStepsProducingTooManyBuckets() {
+        assertThrows(IllegalArgumentException.class, () ->
+            useCase.executeSummary(SYSTEM_ID, END.minus(Duration.ofDays(365)), END, Duration.ofSeconds(1))
+        );
+        verify(metricRepository, never()).summarize(any(), any(), any(), any());
+    }
+
+    private static Metric metric(String id, Instant collectedAt) {
+        return Metric.reconstitute(id, SYSTEM_ID, 120, 200, false, 10.0, 20.0, Map.of(), collectedAt);
+    }
+}
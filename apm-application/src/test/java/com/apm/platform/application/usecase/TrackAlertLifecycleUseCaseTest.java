@@ -0,0 +1,176 @@
+package com.apm.platform.application.usecase;
+
+import com.apm.platform.domain.entity.Alert;
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.port.outgoing.AlertRepository;
+import com.apm.platform.domain.service.AlertLifecycleDomainService;
+import com.apm.platform.domain.valueobject.AlertLifecycleState;
+import com.apm.platform.domain.valueobject.AlertSeverity;
+import com.apm.platform.domain.valueobject.AlertTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrackAlertLifecycleUseCaseTest {
+
+    private AlertRepository alertRepository;
+    private TriggerAlertUseCase triggerAlertUseCase;
+    private AlertLifecycleDomainService lifecycleService;
+    private TrackAlertLifecycleUseCase useCase;
+    private AlertRule rule;
+
+    @BeforeEach
+    void setUp() {
+        alertRepository = mock(AlertRepository.class);
+        triggerAlertUseCase = mock(TriggerAlertUseCase.class);
+        lifecycleService = new AlertLifecycleDomainService();
+        useCase = new TrackAlertLifecycleUseCase(alertRepository, triggerAlertUseCase, lifecycleService);
+        rule = AlertRule.create("system-1", "High Latency", AlertRule.AlertRuleType.LATENCY_MS,
+                AlertSeverity.WARNING, 1000, 2);
+
+        when(triggerAlertUseCase.execute(anyString(), anyString(), anyString())).thenAnswer(invocation ->
+                Alert.trigger(invocation.getArgument(0), invocation.getArgument(1), AlertSeverity.WARNING,
+                        invocation.getArgument(2)));
+        when(alertRepository.save(any(Alert.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(alertRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(Alert.reconstitute(
+                invocation.getArgument(0), "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, false, null, null)));
+    }
+
+    @Test
+    void shouldOpenOneAlertPerEpisodeAndResolveOnRecovery() {
+        assertEquals(AlertTransition.none(), useCase.execute(rule, true, false));
+        assertTrue(useCase.execute(rule, true, true).isFire());
+        for (int i = 0; i < 60; i++) {
+            assertEquals(AlertTransition.none(), useCase.execute(rule, true, true));
+        }
+
+        verify(triggerAlertUseCase, times(1)).execute(eq("system-1"), eq(rule.getId()),
+                eq("Alert rule 'High Latency' violated for system. Threshold: 1000.00, Type: LATENCY_MS"));
+        String alertId = lifecycleService.getOpenAlertId(rule.getId(), "system-1").orElseThrow();
+
+        Alert open = Alert.reconstitute(alertId, "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, false, null, null);
+        when(alertRepository.findById(alertId)).thenReturn(Optional.of(open));
+
+        AlertTransition transition = useCase.execute(rule, false, false);
+
+        assertTrue(transition.isResolve());
+        assertTrue(open.isResolved());
+        verify(alertRepository).save(open);
+        assertEquals(AlertLifecycleState.INACTIVE, lifecycleService.getState(rule.getId(), "system-1"));
+    }
+
+    @Test
+    void shouldAdoptAlertAlreadyOpenForTheRule() {
+        Alert open = Alert.reconstitute("alert-1", "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, false, null, null);
+        when(alertRepository.findActiveBySystemId("system-1")).thenReturn(List.of(open));
+
+        assertTrue(useCase.execute(rule, true, true).isFire());
+
+        verifyNoInteractions(triggerAlertUseCase);
+        assertEquals(Optional.of("alert-1"), lifecycleService.getOpenAlertId(rule.getId(), "system-1"));
+    }
+
+    @Test
+    void shouldRetryFiringWhenTriggerFails() {
+        doThrow(new IllegalStateException("notifier down"))
+                .when(triggerAlertUseCase).execute(anyString(), anyString(), anyString());
+
+        assertThrows(IllegalStateException.class, () -> useCase.execute(rule, true, true));
+        assertEquals(AlertLifecycleState.INACTIVE, lifecycleService.getState(rule.getId(), "system-1"));
+    }
+
+    @Test
+    void shouldNotResolveAlertThatWasClosedByHand() {
+        lifecycleService.markFiring(rule.getId(), "system-1", "alert-1");
+        Alert closed = Alert.reconstitute("alert-1", "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, true, Instant.EPOCH, "fixed");
+        when(alertRepository.findById("alert-1")).thenReturn(Optional.of(closed));
+
+        assertTrue(useCase.execute(rule, false, false).isResolve());
+
+        verify(alertRepository, never()).save(any(Alert.class));
+    }
+
+    @Test
+    void shouldStartOverWhenFiringAlertWasClosedElsewhere() {
+        lifecycleService.markFiring(rule.getId(), "system-1", "alert-1");
+        when(alertRepository.findById("alert-1")).thenReturn(Optional.of(Alert.reconstitute("alert-1", "system-1",
+                rule.getId(), AlertSeverity.WARNING, "violated", Instant.EPOCH, true, Instant.EPOCH, null)));
+
+        assertEquals(AlertTransition.none(), useCase.execute(rule, true, false));
+        assertEquals(AlertLifecycleState.PENDING, lifecycleService.getState(rule.getId(), "system-1"));
+
+        assertTrue(useCase.execute(rule, true, true).isFire());
+        verify(triggerAlertUseCase).execute(eq("system-1"), eq(rule.getId()), anyString());
+    }
+
+    @Test
+    void shouldDropEpisodesWhoseAlertClosedOnRecovery() {
+        lifecycleService.markFiring(rule.getId(), "system-1", "alert-1");
+        lifecycleService.markFiring("rule-open", "system-1", "alert-2");
+        when(alertRepository.findAllActive()).thenReturn(List.of(
+                Alert.reconstitute("alert-2", "system-1", "rule-open", AlertSeverity.WARNING, "violated",
+                        Instant.EPOCH, false, null, null)));
+
+        assertEquals(1, useCase.recover());
+
+        assertEquals(AlertLifecycleState.INACTIVE, lifecycleService.getState(rule.getId(), "system-1"));
+        assertEquals(AlertLifecycleState.FIRING, lifecycleService.getState("rule-open", "system-1"));
+    }
+
+    @Test
+    void shouldRecoverFiringEpisodesFromOpenAlerts() {
+        when(alertRepository.findAllActive()).thenReturn(List.of(
+                Alert.reconstitute("alert-1", "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                        Instant.EPOCH, false, null, null),
+                Alert.reconstitute("alert-2", "system-1", null, AlertSeverity.WARNING, "manual",
+                        Instant.EPOCH, false, null, null)));
+
+        assertEquals(1, useCase.recover());
+        assertEquals(AlertTransition.none(), useCase.execute(rule, true, true));
+        verifyNoInteractions(triggerAlertUseCase);
+    }
+
+    @Test
+    void shouldAdoptAndResolveAlertsOfSystemsGainedByOwnershipMove() {
+        lifecycleService.markFiring("rule-lost", "system-2", "alert-9");
+        Alert open = Alert.reconstitute("alert-1", "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, false, null, null);
+        when(alertRepository.findAllActive()).thenReturn(List.of(open,
+                Alert.reconstitute("alert-9", "system-2", "rule-lost", AlertSeverity.WARNING, "violated",
+                        Instant.EPOCH, false, null, null)));
+        when(alertRepository.findById("alert-1")).thenReturn(Optional.of(open));
+
+        assertEquals(1, useCase.recover(systemId -> systemId.equals("system-1")));
+
+        assertEquals(AlertLifecycleState.INACTIVE, lifecycleService.getState("rule-lost", "system-2"));
+        assertTrue(useCase.execute(rule, false, false).isResolve());
+        assertFalse(open.isActive());
+    }
+
+    @Test
+    void shouldResolveEpisodesOfRetiredRules() {
+        lifecycleService.markFiring(rule.getId(), "system-1", "alert-1");
+        lifecycleService.markFiring("rule-kept", "system-1", "alert-2");
+        Alert open = Alert.reconstitute("alert-1", "system-1", rule.getId(), AlertSeverity.WARNING, "violated",
+                Instant.EPOCH, false, null, null);
+        when(alertRepository.findById("alert-1")).thenReturn(Optional.of(open));
+
+        assertEquals(1, useCase.retireInactiveRules(Set.of("rule-kept")));
+
+        assertEquals(TrackAlertLifecycleUseCase.RULE_RETIRED_NOTES, open.getResolutionNotes());
+        assertEquals(AlertLifecycleState.INACTIVE, lifecycleService.getState(rule.getId(), "system-1"));
+        assertEquals(AlertLifecycleState.FIRING, lifecycleService.getState("rule-kept", "system-1"));
+    }
+}
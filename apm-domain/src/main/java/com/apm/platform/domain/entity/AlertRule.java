@@ -2,12 +2,18 @@ package com.apm.platform.domain.entity;
 
 import com.apm.platform.domain.valueobject.AlertSeverity;
 import com.apm.platform.domain.valueobject.LatencyThreshold;
+import com.apm.platform.domain.valueobject.RuleExpression;
 
 import java.time.Instant;
 import java.util.Objects;
 import java.util.UUID;
 
 public class AlertRule {
+    public static final int MIN_WINDOW_SECONDS = 60;
+    public static final int MAX_WINDOW_SECONDS = 86400;
+    // Fewer samples than this say too little about a window; one failed probe would read as 100% errors.
+    public static final int MIN_WINDOW_SAMPLES = 3;
+
     private final String id;
     private final String systemId;
     private String name;
@@ -15,13 +21,15 @@ public class AlertRule {
     private AlertSeverity severity;
     private double thresholdValue;
     private int consecutiveViolations;
+    private int windowSeconds;
+    private RuleExpression expression;
     private boolean enabled;
     private final Instant createdAt;
     private Instant updatedAt;
 
     private AlertRule(String id, String systemId, String name, AlertRuleType type, 
                      AlertSeverity severity, double thresholdValue, int consecutiveViolations,
-                     boolean enabled, Instant createdAt) {
+                     int windowSeconds, RuleExpression expression, boolean enabled, Instant createdAt) {
         this.id = id;
         this.systemId = systemId;
         this.name = name;
@@ -29,6 +37,8 @@ public class AlertRule {
         this.severity = severity;
         this.thresholdValue = thresholdValue;
         this.consecutiveViolations = consecutiveViolations;
+        this.windowSeconds = windowSeconds;
+        this.expression = expression;
         this.enabled = enabled;
         this.createdAt = createdAt;
         this.updatedAt = createdAt;
@@ -36,25 +46,66 @@ public class AlertRule {
 
     public static AlertRule create(String systemId, String name, AlertRuleType type,
                                   AlertSeverity severity, double thresholdValue, int consecutiveViolations) {
+        return create(systemId, name, type, severity, thresholdValue, consecutiveViolations, 0);
+    }
+
+    public static AlertRule create(String systemId, String name, AlertRuleType type,
+                                  AlertSeverity severity, double thresholdValue, int consecutiveViolations,
+                                  int windowSeconds) {
         validateSystemId(systemId);
         validateName(name);
         validateType(type);
         validateSeverity(severity);
         validateThresholdValue(type, thresholdValue);
         validateConsecutiveViolations(consecutiveViolations);
+        validateWindow(type, windowSeconds);
+        if (type == AlertRuleType.EXPRESSION) {
+            throw new IllegalArgumentException("Expression rules must be created with createExpression");
+        }
 
         String id = UUID.randomUUID().toString();
         Instant now = Instant.now();
         return new AlertRule(id, systemId, name, type, severity, thresholdValue, 
-                            consecutiveViolations, true, now);
+                            consecutiveViolations, windowSeconds, null, true, now);
+    }
+
+    public static AlertRule createExpression(String systemId, String name, AlertSeverity severity,
+                                            String expression, int consecutiveViolations) {
+        validateSystemId(systemId);
+        validateName(name);
+        validateSeverity(severity);
+        validateConsecutiveViolations(consecutiveViolations);
+        RuleExpression compiled = RuleExpression.parse(expression);
+
+        String id = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        return new AlertRule(id, systemId, name, AlertRuleType.EXPRESSION, severity, 0,
+                            consecutiveViolations, 0, compiled, true, now);
     }
 
     public static AlertRule reconstitute(String id, String systemId, String name, AlertRuleType type,
                                         AlertSeverity severity, double thresholdValue, 
                                         int consecutiveViolations, boolean enabled,
                                         Instant createdAt, Instant updatedAt) {
+        return reconstitute(id, systemId, name, type, severity, thresholdValue, consecutiveViolations, 0,
+                           enabled, createdAt, updatedAt);
+    }
+
+    public static AlertRule reconstitute(String id, String systemId, String name, AlertRuleType type,
+                                        AlertSeverity severity, double thresholdValue,
+                                        int consecutiveViolations, int windowSeconds, boolean enabled,
+                                        Instant createdAt, Instant updatedAt) {
+        return reconstitute(id, systemId, name, type, severity, thresholdValue, consecutiveViolations,
+                           windowSeconds, null, enabled, createdAt, updatedAt);
+    }
+
+    public static AlertRule reconstitute(String id, String systemId, String name, AlertRuleType type,
+                                        AlertSeverity severity, double thresholdValue,
+                                        int consecutiveViolations, int windowSeconds, String expression,
+                                        boolean enabled, Instant createdAt, Instant updatedAt) {
+        RuleExpression compiled = type == AlertRuleType.EXPRESSION ? RuleExpression.parse(expression) : null;
         AlertRule rule = new AlertRule(id, systemId, name, type, severity, thresholdValue,
-                                      consecutiveViolations, enabled, createdAt);
+                                      consecutiveViolations, windowSeconds, compiled, enabled, createdAt);
         rule.updatedAt = updatedAt;
         return rule;
     }
@@ -70,22 +121,43 @@ public class AlertRule {
             case CPU_USAGE_PERCENT -> metric.getCpuUsagePercent() > thresholdValue;
             case MEMORY_USAGE_PERCENT -> metric.getMemoryUsagePercent() > thresholdValue;
             case STATUS_CODE -> metric.getStatusCode() >= (int) thresholdValue;
+            case EXPRESSION -> expression.test(metric);
+            // A single metric says nothing about a window; see isWindowViolated.
+            case WINDOW_ERROR_RATE_PERCENT, WINDOW_LATENCY_P95_MS, WINDOW_LATENCY_P99_MS -> false;
         };
     }
 
+    // windowValue is the error rate in percent or the latency quantile in ms over the window's sampleCount metrics.
+    public boolean isWindowViolated(double windowValue, long sampleCount) {
+        return enabled && type.isWindowed() && sampleCount >= MIN_WINDOW_SAMPLES && windowValue > thresholdValue;
+    }
+
     public void updateRule(String name, AlertRuleType type, AlertSeverity severity, 
                           double thresholdValue, int consecutiveViolations) {
+        updateRule(name, type, severity, thresholdValue, consecutiveViolations, windowSeconds);
+    }
+
+    public void updateRule(String name, AlertRuleType type, AlertSeverity severity,
+                          double thresholdValue, int consecutiveViolations, int windowSeconds) {
         validateName(name);
         validateType(type);
         validateSeverity(severity);
         validateThresholdValue(type, thresholdValue);
         validateConsecutiveViolations(consecutiveViolations);
+        validateWindow(type, windowSeconds);
+        if (type == AlertRuleType.EXPRESSION && expression == null) {
+            throw new IllegalArgumentException("Expression rules must be created with createExpression");
+        }
 
         this.name = name;
         this.type = type;
         this.severity = severity;
         this.thresholdValue = thresholdValue;
         this.consecutiveViolations = consecutiveViolations;
+        this.windowSeconds = windowSeconds;
+        if (type != AlertRuleType.EXPRESSION) {
+            this.expression = null;
+        }
         this.updatedAt = Instant.now();
     }
 
@@ -132,7 +204,7 @@ public class AlertRule {
         }
 
         switch (type) {
-            case CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, ERROR_RATE_PERCENT -> {
+            case CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, ERROR_RATE_PERCENT, WINDOW_ERROR_RATE_PERCENT -> {
                 if (value > 100) {
                     throw new IllegalArgumentException("Percentage threshold cannot exceed 100");
                 }
@@ -140,6 +212,19 @@ public class AlertRule {
         }
     }
 
+    private static void validateWindow(AlertRuleType type, int windowSeconds) {
+        if (!type.isWindowed()) {
+            if (windowSeconds != 0) {
+                throw new IllegalArgumentException("Window is only supported for windowed rule types");
+            }
+            return;
+        }
+        if (windowSeconds < MIN_WINDOW_SECONDS || windowSeconds > MAX_WINDOW_SECONDS) {
+            throw new IllegalArgumentException("Window must be between " + MIN_WINDOW_SECONDS +
+                    " and " + MAX_WINDOW_SECONDS + " seconds");
+        }
+    }
+
     private static void validateConsecutiveViolations(int violations) {
         if (violations < 1) {
             throw new IllegalArgumentException("Consecutive violations must be at least 1");
@@ -177,6 +262,18 @@ public class AlertRule {
         return consecutiveViolations;
     }
 
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public String getExpression() {
+        return expression == null ? null : expression.getSource();
+    }
+
+    public boolean isWindowed() {
+        return type.isWindowed();
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -209,16 +306,42 @@ public class AlertRule {
                 ", systemId='" + systemId + '\'' +
                 ", name='" + name + '\'' +
                 ", type=" + type +
+                ", windowSeconds=" + windowSeconds +
+                (expression == null ? "" : ", expression='" + expression + '\'') +
                 ", severity=" + severity +
                 ", enabled=" + enabled +
                 '}';
     }
 
     public enum AlertRuleType {
-        LATENCY_MS,
-        ERROR_RATE_PERCENT,
-        CPU_USAGE_PERCENT,
-        MEMORY_USAGE_PERCENT,
-        STATUS_CODE
+        LATENCY_MS(false, Double.NaN),
+        ERROR_RATE_PERCENT(false, Double.NaN),
+        CPU_USAGE_PERCENT(false, Double.NaN),
+        MEMORY_USAGE_PERCENT(false, Double.NaN),
+        STATUS_CODE(false, Double.NaN),
+        WINDOW_ERROR_RATE_PERCENT(true, Double.NaN),
+        WINDOW_LATENCY_P95_MS(true, 0.95),
+        WINDOW_LATENCY_P99_MS(true, 0.99),
+        EXPRESSION(false, Double.NaN);
+
+        private final boolean windowed;
+        private final double quantile;
+
+        AlertRuleType(boolean windowed, double quantile) {
+            this.windowed = windowed;
+            this.quantile = quantile;
+        }
+
+        public boolean isWindowed() {
+            return windowed;
+        }
+
+        public boolean isLatencyQuantile() {
+            return !Double.isNaN(quantile);
+        }
+
+        public double getQuantile() {
+            return quantile;
+        }
     }
 }
@@ -2,12 +2,14 @@ package com.apm.platform.domain.entity;
 
 import com.apm.platform.domain.exception.InvalidMetricDataException;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
+import com.apm.platform.domain.valueobject.ProbeTiming;
 
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public class Metric {
     private final String id;
@@ -17,12 +19,15 @@ public class Metric {
     private final boolean hasError;
     private final double cpuUsagePercent;
     private final double memoryUsagePercent;
-    private final Map<String, Object> additionalData;
+    // Loaded at most once; instances are shared across threads through the recent-metrics cache.
+    private volatile Map<String, Object> additionalData;
+    private Supplier<Map<String, Object>> additionalDataLoader;
     private final Instant collectedAt;
+    private final ProbeTiming timing;
 
     private Metric(String id, String systemId, long latencyMs, int statusCode, boolean hasError,
                   double cpuUsagePercent, double memoryUsagePercent, Map<String, Object> additionalData,
-                  Instant collectedAt) {
+                  Supplier<Map<String, Object>> additionalDataLoader, Instant collectedAt, ProbeTiming timing) {
         this.id = id;
         this.systemId = systemId;
         this.latencyMs = latencyMs;
@@ -30,8 +35,10 @@ public class Metric {
         this.hasError = hasError;
         this.cpuUsagePercent = cpuUsagePercent;
         this.memoryUsagePercent = memoryUsagePercent;
-        this.additionalData = new HashMap<>(additionalData);
+        this.additionalData = additionalData != null ? new HashMap<>(additionalData) : null;
+        this.additionalDataLoader = additionalDataLoader;
         this.collectedAt = collectedAt;
+        this.timing = timing;
     }
 
     public static Metric create(String systemId, long latencyMs, int statusCode, boolean hasError,
@@ -41,6 +48,13 @@ public class Metric {
 
     public static Metric create(String systemId, long latencyMs, int statusCode, boolean hasError,
                                double cpuUsagePercent, double memoryUsagePercent, Map<String, Object> additionalData) {
+        return create(systemId, latencyMs, statusCode, hasError, cpuUsagePercent, memoryUsagePercent,
+                     additionalData, null);
+    }
+
+    public static Metric create(String systemId, long latencyMs, int statusCode, boolean hasError,
+                               double cpuUsagePercent, double memoryUsagePercent, Map<String, Object> additionalData,
+                               ProbeTiming timing) {
         validateSystemId(systemId);
         validateLatency(latencyMs);
         validatePercentage(cpuUsagePercent, "CPU usage");
@@ -49,24 +63,43 @@ public class Metric {
         String id = UUID.randomUUID().toString();
         Instant now = Instant.now();
         return new Metric(id, systemId, latencyMs, statusCode, hasError, 
-                         cpuUsagePercent, memoryUsagePercent, additionalData, now);
+                         cpuUsagePercent, memoryUsagePercent, additionalData, null, now, timing);
     }
 
     public static Metric fromSnapshot(String systemId, MetricSnapshot snapshot) {
         return create(systemId, snapshot.getLatencyMs(), snapshot.getStatusCode(), 
                      snapshot.hasError(), snapshot.getCpuUsagePercent(), 
-                     snapshot.getMemoryUsagePercent());
+                     snapshot.getMemoryUsagePercent(), snapshot.getAdditionalData(), snapshot.getTiming());
     }
 
     public static Metric reconstitute(String id, String systemId, long latencyMs, int statusCode, 
                                      boolean hasError, double cpuUsagePercent, double memoryUsagePercent,
                                      Map<String, Object> additionalData, Instant collectedAt) {
+        return reconstitute(id, systemId, latencyMs, statusCode, hasError, cpuUsagePercent, memoryUsagePercent,
+                           additionalData, collectedAt, null);
+    }
+
+    public static Metric reconstitute(String id, String systemId, long latencyMs, int statusCode, 
+                                     boolean hasError, double cpuUsagePercent, double memoryUsagePercent,
+                                     Map<String, Object> additionalData, Instant collectedAt, ProbeTiming timing) {
         return new Metric(id, systemId, latencyMs, statusCode, hasError, 
-                         cpuUsagePercent, memoryUsagePercent, additionalData, collectedAt);
+                         cpuUsagePercent, memoryUsagePercent, additionalData, null, collectedAt, timing);
+    }
+
+    public static Metric reconstitute(String id, String systemId, long latencyMs, int statusCode,
+                                     boolean hasError, double cpuUsagePercent, double memoryUsagePercent,
+                                     Supplier<Map<String, Object>> additionalDataLoader, Instant collectedAt,
+                                     ProbeTiming timing) {
+        if (additionalDataLoader == null) {
+            throw new IllegalArgumentException("Additional data loader cannot be null");
+        }
+        return new Metric(id, systemId, latencyMs, statusCode, hasError,
+                         cpuUsagePercent, memoryUsagePercent, null, additionalDataLoader, collectedAt, timing);
     }
 
     public MetricSnapshot toSnapshot() {
-        return MetricSnapshot.create(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError);
+        return MetricSnapshot.create(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError,
+                                     resolveAdditionalData()).withTiming(timing);
     }
 
     public boolean isSuccessful() {
@@ -148,13 +181,33 @@ public class Metric {
     }
 
     public Map<String, Object> getAdditionalData() {
-        return new HashMap<>(additionalData);
+        return new HashMap<>(resolveAdditionalData());
+    }
+
+    private Map<String, Object> resolveAdditionalData() {
+        Map<String, Object> data = additionalData;
+        if (data != null) {
+            return data;
+        }
+        synchronized (this) {
+            data = additionalData;
+            if (data == null) {
+                data = new HashMap<>(additionalDataLoader.get());
+                additionalData = data;
+                additionalDataLoader = null;
+            }
+            return data;
+        }
     }
 
     public Instant getCollectedAt() {
         return collectedAt;
     }
 
+    public ProbeTiming getTiming() {
+        return timing;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
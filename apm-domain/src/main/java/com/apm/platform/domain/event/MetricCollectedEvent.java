@@ -11,31 +11,57 @@ public final class MetricCollectedEvent implements DomainEvent {
     private final long latencyMs;
     private final int statusCode;
     private final boolean hasError;
+    private final double cpuUsagePercent;
+    private final double memoryUsagePercent;
+    private final Instant collectedAt;
     private final Instant occurredAt;
 
     private MetricCollectedEvent(String eventId, String metricId, String systemId,
-                                long latencyMs, int statusCode, boolean hasError, Instant occurredAt) {
+                                long latencyMs, int statusCode, boolean hasError,
+                                double cpuUsagePercent, double memoryUsagePercent,
+                                Instant collectedAt, Instant occurredAt) {
         this.eventId = eventId;
         this.metricId = metricId;
         this.systemId = systemId;
         this.latencyMs = latencyMs;
         this.statusCode = statusCode;
         this.hasError = hasError;
+        this.cpuUsagePercent = cpuUsagePercent;
+        this.memoryUsagePercent = memoryUsagePercent;
+        this.collectedAt = collectedAt;
         this.occurredAt = occurredAt;
     }
 
     public static MetricCollectedEvent create(String metricId, String systemId, long latencyMs,
                                              int statusCode, boolean hasError) {
+        return create(metricId, systemId, latencyMs, statusCode, hasError, 0.0, 0.0);
+    }
+
+    public static MetricCollectedEvent create(String metricId, String systemId, long latencyMs,
+                                             int statusCode, boolean hasError,
+                                             double cpuUsagePercent, double memoryUsagePercent) {
+        return create(metricId, systemId, latencyMs, statusCode, hasError, cpuUsagePercent, memoryUsagePercent,
+                Instant.now());
+    }
+
+    public static MetricCollectedEvent create(String metricId, String systemId, long latencyMs,
+                                             int statusCode, boolean hasError,
+                                             double cpuUsagePercent, double memoryUsagePercent,
+                                             Instant collectedAt) {
         if (metricId == null || metricId.isBlank()) {
             throw new IllegalArgumentException("Metric ID cannot be null or blank");
         }
         if (systemId == null || systemId.isBlank()) {
             throw new IllegalArgumentException("System ID cannot be null or blank");
         }
+        if (collectedAt == null) {
+            throw new IllegalArgumentException("Collected at cannot be null");
+        }
 
         String eventId = UUID.randomUUID().toString();
         Instant now = Instant.now();
-        return new MetricCollectedEvent(eventId, metricId, systemId, latencyMs, statusCode, hasError, now);
+        return new MetricCollectedEvent(eventId, metricId, systemId, latencyMs, statusCode, hasError,
+                cpuUsagePercent, memoryUsagePercent, collectedAt, now);
     }
 
     @Override
@@ -73,6 +99,18 @@ public final class MetricCollectedEvent implements DomainEvent {
         return hasError;
     }
 
+    public double getCpuUsagePercent() {
+        return cpuUsagePercent;
+    }
+
+    public double getMemoryUsagePercent() {
+        return memoryUsagePercent;
+    }
+
+    public Instant getCollectedAt() {
+        return collectedAt;
+    }
+
     public boolean isSuccessful() {
         return !hasError && statusCode >= 200 && statusCode < 300;
     }
@@ -97,6 +135,7 @@ public final class MetricCollectedEvent implements DomainEvent {
                 ", metricId='" + metricId + '\'' +
                 ", systemId='" + systemId + '\'' +
                 ", latencyMs=" + latencyMs +
+                ", collectedAt=" + collectedAt +
                 ", occurredAt=" + occurredAt +
                 '}';
     }
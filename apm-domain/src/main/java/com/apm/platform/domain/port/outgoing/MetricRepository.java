@@ -1,17 +1,25 @@
 package com.apm.platform.domain.port.outgoing;
 
 import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricSummary;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 public interface MetricRepository {
     Metric save(Metric metric);
+    List<Metric> saveAll(List<Metric> metrics);
     Optional<Metric> findById(String metricId);
     List<Metric> findBySystemId(String systemId);
     List<Metric> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime);
     List<Metric> findRecentBySystemId(String systemId, int limit);
+    List<Metric> findPageBySystemId(String systemId, Instant startTime, Instant endTime, MetricCursor before, int limit);
+    List<Metric> findNewerThan(String systemId, MetricCursor since, int limit);
+    List<MetricSummary> summarize(String systemId, Instant startTime, Instant endTime, Duration step);
     long countBySystemId(String systemId);
     void deleteOlderThan(Instant timestamp);
+    int deleteBySystemIdOlderThan(String systemId, Instant timestamp, int limit);
 }
@@ -0,0 +1,16 @@
+package com.apm.platform.domain.port.outgoing;
+
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.RollupResolution;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface MetricRollupRepository {
+    void accumulate(Collection<MetricRollup> rollups);
+    List<MetricRollup> findBySystemIdAndTimeRange(String systemId, RollupResolution resolution,
+                                                  Instant startTime, Instant endTime);
+    void deleteOlderThan(RollupResolution resolution, Instant timestamp);
+    int deleteBySystemIdOlderThan(String systemId, RollupResolution resolution, Instant timestamp, int limit);
+}
@@ -0,0 +1,7 @@
+package com.apm.platform.domain.port.outgoing;
+
+import com.apm.platform.domain.valueobject.ProbeCircuitState;
+
+public interface ProbeCircuitBreakerGateway {
+    ProbeCircuitState getState(String systemId);
+}
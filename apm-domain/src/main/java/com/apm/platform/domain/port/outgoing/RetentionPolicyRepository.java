@@ -0,0 +1,15 @@
+package com.apm.platform.domain.port.outgoing;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface RetentionPolicyRepository {
+    Optional<RetentionPolicy> findBySystemId(String systemId);
+    Map<String, RetentionPolicy> findAllOverrides();
+    RetentionPolicy findDefault(MonitoredSystem.Environment environment);
+    void save(String systemId, RetentionPolicy policy);
+    void deleteBySystemId(String systemId);
+}
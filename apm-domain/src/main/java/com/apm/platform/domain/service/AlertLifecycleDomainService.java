@@ -0,0 +1,106 @@
+package com.apm.platform.domain.service;
+
+import com.apm.platform.domain.valueobject.AlertLifecycleState;
+import com.apm.platform.domain.valueobject.AlertTransition;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// One episode per (rule, system): INACTIVE -> PENDING -> FIRING -> INACTIVE.
+public class AlertLifecycleDomainService {
+
+    private final Map<String, Episode> episodes = new HashMap<>();
+
+    public synchronized AlertTransition observe(String ruleId, String systemId, boolean violated,
+                                                boolean conditionMet) {
+        validate(ruleId, systemId);
+        String key = key(ruleId, systemId);
+        Episode episode = episodes.get(key);
+        AlertLifecycleState state = episode == null ? AlertLifecycleState.INACTIVE : episode.state;
+
+        if (state.isFiring()) {
+            if (violated) {
+                return AlertTransition.none();
+            }
+            episodes.remove(key);
+            return AlertTransition.resolve(episode.alertId);
+        }
+        if (conditionMet) {
+            episodes.put(key, new Episode(ruleId, systemId, AlertLifecycleState.FIRING, null));
+            return AlertTransition.fire();
+        }
+        if (violated) {
+            episodes.put(key, new Episode(ruleId, systemId, AlertLifecycleState.PENDING, null));
+        } else {
+            episodes.remove(key);
+        }
+        return AlertTransition.none();
+    }
+
+    public synchronized void markFiring(String ruleId, String systemId, String alertId) {
+        validate(ruleId, systemId);
+        if (alertId == null || alertId.isBlank()) {
+            throw new IllegalArgumentException("Alert ID cannot be null or blank");
+        }
+        episodes.put(key(ruleId, systemId), new Episode(ruleId, systemId, AlertLifecycleState.FIRING, alertId));
+    }
+
+    public synchronized void reset(String ruleId, String systemId) {
+        validate(ruleId, systemId);
+        episodes.remove(key(ruleId, systemId));
+    }
+
+    public synchronized AlertLifecycleState getState(String ruleId, String systemId) {
+        Episode episode = episodes.get(key(ruleId, systemId));
+        return episode == null ? AlertLifecycleState.INACTIVE : episode.state;
+    }
+
+    public synchronized Optional<String> getOpenAlertId(String ruleId, String systemId) {
+        Episode episode = episodes.get(key(ruleId, systemId));
+        return episode == null ? Optional.empty() : Optional.ofNullable(episode.alertId);
+    }
+
+    public synchronized List<String> getTrackedRuleIds() {
+        return episodes.values().stream()
+                .map(episode -> episode.ruleId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public synchronized List<String> getTrackedSystemIds(String ruleId) {
+        return episodes.values().stream()
+                .filter(episode -> episode.ruleId.equals(ruleId))
+                .map(episode -> episode.systemId)
+                .collect(Collectors.toList());
+    }
+
+    private static void validate(String ruleId, String systemId) {
+        if (ruleId == null || ruleId.isBlank()) {
+            throw new IllegalArgumentException("Rule ID cannot be null or blank");
+        }
+        if (systemId == null || systemId.isBlank()) {
+            throw new IllegalArgumentException("System ID cannot be null or blank");
+        }
+    }
+
+    private static String key(String ruleId, String systemId) {
+        return ruleId + '|' + systemId;
+    }
+
+    private static final class Episode {
+        private final String ruleId;
+        private final String systemId;
+        private final AlertLifecycleState state;
+        private final String alertId;
+
+        private Episode(String ruleId, String systemId, AlertLifecycleState state, String alertId) {
+            this.ruleId = ruleId;
+            this.systemId = systemId;
+            this.state = state;
+            this.alertId = alertId;
+        }
+    }
+}
@@ -3,14 +3,23 @@ package com.apm.platform.domain.service;
 import com.apm.platform.domain.entity.AlertRule;
 import com.apm.platform.domain.entity.Metric;
 
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public class AlertRuleDomainService {
 
-    private final Map<String, List<Boolean>> violationHistory = new HashMap<>();
+    static final int HISTORY_SIZE = 100;
+
+    // Each rule's history is guarded by its own monitor, so parallel evaluation only contends per rule.
+    private final Map<String, ViolationHistory> violationHistory = new ConcurrentHashMap<>();
+    // Windowed rules of one system that share a window length share one aggregate.
+    private final Map<String, SlidingMetricWindow> windows = new ConcurrentHashMap<>();
 
     public boolean shouldTriggerAlert(AlertRule rule, List<Metric> recentMetrics) {
         if (rule == null || !rule.isEnabled()) {
@@ -37,7 +46,63 @@ public class AlertRuleDomainService {
         if (rule == null || metric == null || !rule.isEnabled()) {
             return false;
         }
-        return rule.isViolated(metric);
+        return rule.isWindowed() ? isWindowViolated(rule) : rule.isViolated(metric);
+    }
+
+    // Windows are shared by rules, so a metric is recorded once per event here rather than once per rule.
+    public void recordInWindows(Collection<AlertRule> rules, Metric metric) {
+        if (rules == null || metric == null) {
+            return;
+        }
+        Map<String, Integer> windowSeconds = new HashMap<>();
+        for (AlertRule rule : rules) {
+            if (rule.isEnabled() && rule.isWindowed() && rule.getSystemId().equals(metric.getSystemId())) {
+                windowSeconds.putIfAbsent(windowKey(rule), rule.getWindowSeconds());
+            }
+        }
+        windowSeconds.forEach((key, seconds) -> {
+            SlidingMetricWindow window = windows.computeIfAbsent(key, k -> new SlidingMetricWindow(seconds));
+            synchronized (window) {
+                window.record(metric);
+            }
+        });
+    }
+
+    // Ages out buckets of windows whose system has stopped reporting.
+    public void advanceWindows(Instant now) {
+        if (now == null) {
+            throw new IllegalArgumentException("Time cannot be null");
+        }
+        for (SlidingMetricWindow window : windows.values()) {
+            synchronized (window) {
+                window.advance(now);
+            }
+        }
+    }
+
+    // A sustained breach keeps returning true; the alert lifecycle opens only one alert for it.
+    public boolean evaluateIncrementally(AlertRule rule, Metric metric) {
+        if (rule == null || metric == null || !rule.isEnabled()) {
+            return false;
+        }
+        boolean violated = rule.isWindowed() ? isWindowViolated(rule) : rule.isViolated(metric);
+        ViolationHistory history = historyFor(rule.getId());
+        int consecutive;
+        synchronized (history) {
+            consecutive = history.record(violated);
+        }
+        return violated && consecutive >= rule.getConsecutiveViolations();
+    }
+
+    public void retainWindows(Collection<AlertRule> activeRules) {
+        if (activeRules == null) {
+            throw new IllegalArgumentException("Active rules cannot be null");
+        }
+        Set<String> keys = activeRules.stream()
+                .filter(AlertRule::isWindowed)
+                .map(AlertRuleDomainService::windowKey)
+                .collect(Collectors.toSet());
+        windows.keySet().retainAll(keys);
     }
 
     public void recordViolation(String ruleId, boolean violated) {
@@ -45,29 +110,20 @@ public class AlertRuleDomainService {
             return;
         }
 
-        violationHistory.computeIfAbsent(ruleId, k -> new ArrayList<>()).add(violated);
-
-        List<Boolean> history = violationHistory.get(ruleId);
-        if (history.size() > 100) {
-            history.remove(0);
+        ViolationHistory history = historyFor(ruleId);
+        synchronized (history) {
+            history.record(violated);
         }
     }
 
     public int getConsecutiveViolationCount(String ruleId) {
-        List<Boolean> history = violationHistory.get(ruleId);
-        if (history == null || history.isEmpty()) {
+        ViolationHistory history = find(ruleId);
+        if (history == null) {
             return 0;
         }
-
-        int count = 0;
-        for (int i = history.size() - 1; i >= 0; i--) {
-            if (history.get(i)) {
-                count++;
-            } else {
-                break;
-            }
+        synchronized (history) {
+            return history.getConsecutiveViolations();
         }
-        return count;
     }
 
     public void clearViolationHistory(String ruleId) {
@@ -77,50 +133,40 @@ public class AlertRuleDomainService {
     }
 
     public double calculateViolationRate(String ruleId, int lastNChecks) {
-        List<Boolean> history = violationHistory.get(ruleId);
-        if (history == null || history.isEmpty()) {
+        ViolationHistory history = find(ruleId);
+        if (history == null) {
             return 0.0;
         }
-
-        int checksToConsider = Math.min(lastNChecks, history.size());
-        List<Boolean> recentHistory = history.subList(
-                history.size() - checksToConsider,
-                history.size()
-        );
-
-        long violations = recentHistory.stream().filter(v -> v).count();
-        return (violations * 100.0) / checksToConsider;
+        synchronized (history) {
+            return violationRate(history, lastNChecks);
+        }
     }
 
     public boolean isFlapping(String ruleId, int windowSize) {
-        List<Boolean> history = violationHistory.get(ruleId);
-        if (history == null || history.size() < windowSize) {
+        ViolationHistory history = find(ruleId);
+        if (history == null) {
             return false;
         }
-
-        List<Boolean> window = history.subList(
-                history.size() - windowSize,
-                history.size()
-        );
-
-        int changes = 0;
-        for (int i = 1; i < window.size(); i++) {
-            if (!window.get(i).equals(window.get(i - 1))) {
-                changes++;
-            }
+        synchronized (history) {
+            return isFlapping(history, windowSize);
         }
-
-        return changes >= (windowSize / 2);
     }
 
     public String evaluateRuleEffectiveness(String ruleId) {
-        List<Boolean> history = violationHistory.get(ruleId);
-        if (history == null || history.isEmpty()) {
+        ViolationHistory history = find(ruleId);
+        if (history == null) {
             return "No data available";
         }
 
-        double violationRate = calculateViolationRate(ruleId, history.size());
-        boolean isFlapping = isFlapping(ruleId, Math.min(10, history.size()));
+        double violationRate;
+        boolean isFlapping;
+        synchronized (history) {
+            if (history.size() == 0) {
+                return "No data available";
+            }
+            violationRate = violationRate(history, history.size());
+            isFlapping = isFlapping(history, Math.min(10, history.size()));
+        }
 
         if (isFlapping) {
             return "Rule may be too sensitive - frequent state changes detected";
@@ -132,4 +178,48 @@ public class AlertRuleDomainService {
             return "Rule appears to be well-calibrated";
         }
     }
+
+    private static double violationRate(ViolationHistory history, int lastNChecks) {
+        int checksToConsider = Math.min(lastNChecks, history.size());
+        if (checksToConsider <= 0) {
+            return 0.0;
+        }
+        return (history.countViolations(checksToConsider) * 100.0) / checksToConsider;
+    }
+
+    private static boolean isFlapping(ViolationHistory history, int windowSize) {
+        if (history.size() < windowSize) {
+            return false;
+        }
+        return history.countChanges(windowSize) >= (windowSize / 2);
+    }
+
+    private boolean isWindowViolated(AlertRule rule) {
+        SlidingMetricWindow window = windows.get(windowKey(rule));
+        if (window == null) {
+            return false;
+        }
+        synchronized (window) {
+            return rule.isWindowViolated(windowValue(rule, window), window.getCount());
+        }
+    }
+
+    private static double windowValue(AlertRule rule, SlidingMetricWindow window) {
+        if (rule.getType().isLatencyQuantile()) {
+            return window.latencyQuantile(rule.getType().getQuantile());
+        }
+        return window.errorRatePercent();
+    }
+
+    private static String windowKey(AlertRule rule) {
+        return rule.getSystemId() + '|' + rule.getWindowSeconds();
+    }
+
+    private ViolationHistory historyFor(String ruleId) {
+        return violationHistory.computeIfAbsent(ruleId, k -> new ViolationHistory(HISTORY_SIZE));
+    }
+
+    private ViolationHistory find(String ruleId) {
+        return ruleId == null ? null : violationHistory.get(ruleId);
+    }
 }
@@ -0,0 +1,145 @@
+package com.apm.platform.domain.service;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.LatencySketch;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Ring of time buckets with running totals. Not thread-safe; callers synchronize on the instance.
+final class SlidingMetricWindow {
+
+    static final int BUCKETS = 60;
+
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final long[] counts;
+    private final long[] errors;
+    private final long[] zeroLatencies;
+    private final Map<Integer, Long>[] latencyBins;
+
+    private final TreeMap<Integer, Long> totalLatencyBins = new TreeMap<>();
+    private long totalCount;
+    private long totalErrors;
+    private long totalZeroLatencies;
+    private long newestBucketId = Long.MIN_VALUE;
+
+    @SuppressWarnings("unchecked")
+    SlidingMetricWindow(int windowSeconds) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("Window must be at least one second");
+        }
+        this.bucketMillis = Math.max(1, windowSeconds * 1000L / BUCKETS);
+        this.bucketIds = new long[BUCKETS];
+        this.counts = new long[BUCKETS];
+        this.errors = new long[BUCKETS];
+        this.zeroLatencies = new long[BUCKETS];
+        this.latencyBins = new Map[BUCKETS];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    // Returns false when the metric is older than the window and was not counted.
+    boolean record(Metric metric) {
+        long bucketId = Math.floorDiv(metric.getCollectedAt().toEpochMilli(), bucketMillis);
+        advanceTo(bucketId);
+        if (bucketId <= newestBucketId - BUCKETS) {
+            return false;
+        }
+
+        int slot = slot(bucketId);
+        if (bucketIds[slot] != bucketId) {
+            evict(slot);
+            bucketIds[slot] = bucketId;
+        }
+        counts[slot]++;
+        totalCount++;
+        if (metric.hasError()) {
+            errors[slot]++;
+            totalErrors++;
+        }
+        long latencyMs = Math.max(0, metric.getLatencyMs());
+        if (latencyMs == 0) {
+            zeroLatencies[slot]++;
+            totalZeroLatencies++;
+        } else {
+            int bin = LatencySketch.indexOf(latencyMs);
+            if (latencyBins[slot] == null) {
+                latencyBins[slot] = new HashMap<>();
+            }
+            latencyBins[slot].merge(bin, 1L, Long::sum);
+            totalLatencyBins.merge(bin, 1L, Long::sum);
+        }
+        return true;
+    }
+
+    void advance(Instant now) {
+        advanceTo(Math.floorDiv(now.toEpochMilli(), bucketMillis));
+    }
+
+    long getCount() {
+        return totalCount;
+    }
+
+    double errorRatePercent() {
+        return totalCount == 0 ? 0.0 : totalErrors * 100.0 / totalCount;
+    }
+
+    double latencyQuantile(double fraction) {
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        long rank = (long) (fraction * (totalCount - 1));
+        if (rank < totalZeroLatencies) {
+            return 0.0;
+        }
+        long seen = totalZeroLatencies;
+        for (Map.Entry<Integer, Long> bin : totalLatencyBins.entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return LatencySketch.valueOf(bin.getKey());
+            }
+        }
+        return LatencySketch.valueOf(totalLatencyBins.lastKey());
+    }
+
+    private void advanceTo(long bucketId) {
+        if (bucketId <= newestBucketId) {
+            return;
+        }
+        if (newestBucketId != Long.MIN_VALUE) {
+            // The slots the window moves onto hold buckets that just left it; at most one pass over the ring.
+            long steps = Math.min(bucketId - newestBucketId, BUCKETS);
+            for (long step = 1; step <= steps; step++) {
+                evict(slot(newestBucketId + step));
+            }
+        }
+        newestBucketId = bucketId;
+    }
+
+    private void evict(int slot) {
+        if (bucketIds[slot] == Long.MIN_VALUE) {
+            return;
+        }
+        totalCount -= counts[slot];
+        totalErrors -= errors[slot];
+        totalZeroLatencies -= zeroLatencies[slot];
+        if (latencyBins[slot] != null) {
+            for (Map.Entry<Integer, Long> bin : latencyBins[slot].entrySet()) {
+                totalLatencyBins.computeIfPresent(bin.getKey(),
+                        (key, count) -> count - bin.getValue() == 0 ? null : count - bin.getValue());
+            }
+            latencyBins[slot] = null;
+        }
+        counts[slot] = 0;
+        errors[slot] = 0;
+        zeroLatencies[slot] = 0;
+        bucketIds[slot] = Long.MIN_VALUE;
+    }
+
+    private static int slot(long bucketId) {
+        return (int) Math.floorMod(bucketId, (long) BUCKETS);
+    }
+}
@@ -1,6 +1,7 @@
 package com.apm.platform.domain.service;
 
 import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.LatencySketch;
 import com.apm.platform.domain.valueobject.SystemStatus;
 import com.apm.platform.domain.valueobject.UptimePercentage;
 
@@ -78,6 +79,22 @@ public class UptimeCalculationDomainService {
         return uptime.getValue() >= sloThreshold;
     }
 
+    public boolean meetsLatencyObjective(LatencySketch latencies, double quantile, long thresholdMs) {
+        if (latencies == null) {
+            throw new IllegalArgumentException("Latency sketch cannot be null");
+        }
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1 (exclusive)");
+        }
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("Latency threshold cannot be negative");
+        }
+        if (latencies.isEmpty()) {
+            return false;
+        }
+        return latencies.quantile(quantile) <= thresholdMs;
+    }
+
     public String classifyAvailability(UptimePercentage uptime) {
         double value = uptime.getValue();
         
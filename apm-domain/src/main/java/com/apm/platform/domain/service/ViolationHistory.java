@@ -0,0 +1,103 @@
+package com.apm.platform.domain.service;
+
+// Bit-packed ring of samples. Not thread-safe; callers synchronize on the instance.
+final class ViolationHistory {
+
+    private final int capacity;
+    private final long[] violations;
+    private final long[] changes;
+
+    private int next;
+    private int size;
+    private int violationCount;
+    private int consecutiveViolations;
+    private boolean lastViolated;
+
+    ViolationHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Violation history capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.violations = new long[(capacity + 63) >>> 6];
+        this.changes = new long[violations.length];
+    }
+
+    // Returns the trailing run of violations.
+    int record(boolean violated) {
+        if (size == capacity && get(violations, next)) {
+            violationCount--;
+        }
+        set(violations, next, violated);
+        set(changes, next, size > 0 && violated != lastViolated);
+        if (violated) {
+            violationCount++;
+        }
+
+        next = next + 1 == capacity ? 0 : next + 1;
+        size = Math.min(size + 1, capacity);
+        lastViolated = violated;
+        consecutiveViolations = violated ? Math.min(consecutiveViolations + 1, size) : 0;
+        return consecutiveViolations;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getConsecutiveViolations() {
+        return consecutiveViolations;
+    }
+
+    int countViolations(int lastN) {
+        int n = Math.min(lastN, size);
+        return n == size ? violationCount : countRecent(violations, n);
+    }
+
+    int countChanges(int window) {
+        int n = Math.min(window, size);
+        // The oldest sample of the window has no predecessor inside it, so its change bit is excluded.
+        return n < 2 ? 0 : countRecent(changes, n - 1);
+    }
+
+    private int countRecent(long[] bits, int n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int start = next - n;
+        if (start >= 0) {
+            return countRange(bits, start, next);
+        }
+        return countRange(bits, capacity + start, capacity) + countRange(bits, 0, next);
+    }
+
+    // Counts set bits in [from, to) one 64-bit word at a time.
+    private static int countRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            return Long.bitCount(bits[firstWord] & firstMask & lastMask);
+        }
+        int count = Long.bitCount(bits[firstWord] & firstMask);
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            count += Long.bitCount(bits[word]);
+        }
+        return count + Long.bitCount(bits[lastWord] & lastMask);
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
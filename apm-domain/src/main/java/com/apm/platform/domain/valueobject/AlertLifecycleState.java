@@ -0,0 +1,21 @@
+package com.apm.platform.domain.valueobject;
+
+public enum AlertLifecycleState {
+    INACTIVE("Rule is not violated"),
+    PENDING("Rule is violated but has not reached its consecutive violation count"),
+    FIRING("An alert is open for the current violation episode");
+
+    private final String description;
+
+    AlertLifecycleState(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isFiring() {
+        return this == FIRING;
+    }
+}
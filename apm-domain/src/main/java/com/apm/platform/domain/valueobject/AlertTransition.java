@@ -0,0 +1,72 @@
+package com.apm.platform.domain.valueobject;
+
+import java.util.Objects;
+
+public final class AlertTransition {
+
+    public enum Type {
+        NONE,
+        FIRE,
+        RESOLVE
+    }
+
+    private static final AlertTransition NONE = new AlertTransition(Type.NONE, null);
+    private static final AlertTransition FIRE = new AlertTransition(Type.FIRE, null);
+
+    private final Type type;
+    private final String alertId;
+
+    private AlertTransition(Type type, String alertId) {
+        this.type = type;
+        this.alertId = alertId;
+    }
+
+    public static AlertTransition none() {
+        return NONE;
+    }
+
+    public static AlertTransition fire() {
+        return FIRE;
+    }
+
+    public static AlertTransition resolve(String alertId) {
+        return new AlertTransition(Type.RESOLVE, alertId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getAlertId() {
+        return alertId;
+    }
+
+    public boolean isFire() {
+        return type == Type.FIRE;
+    }
+
+    public boolean isResolve() {
+        return type == Type.RESOLVE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AlertTransition that = (AlertTransition) o;
+        return type == that.type && Objects.equals(alertId, that.alertId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, alertId);
+    }
+
+    @Override
+    public String toString() {
+        return "AlertTransition{" +
+                "type=" + type +
+                ", alertId='" + alertId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,223 @@
+package com.apm.platform.domain.valueobject;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+// DDSketch-style log buckets: quantiles stay within RELATIVE_ACCURACY and sketches merge by adding counts.
+public final class LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+    private static final LatencySketch EMPTY = new LatencySketch(0, new int[0], new long[0]);
+
+    private final long zeroCount;
+    private final int[] indexes;
+    private final long[] counts;
+    private final long count;
+
+    private LatencySketch(long zeroCount, int[] indexes, long[] counts) {
+        this.zeroCount = zeroCount;
+        this.indexes = indexes;
+        this.counts = counts;
+        long total = zeroCount;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        this.count = total;
+    }
+
+    public static LatencySketch empty() {
+        return EMPTY;
+    }
+
+    public static LatencySketch of(long latencyMs) {
+        if (latencyMs < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative");
+        }
+        if (latencyMs == 0) {
+            return new LatencySketch(1, new int[0], new long[0]);
+        }
+        return new LatencySketch(0, new int[]{indexOf(latencyMs)}, new long[]{1});
+    }
+
+    public static LatencySketch mergeAll(Collection<LatencySketch> sketches) {
+        if (sketches == null) {
+            throw new IllegalArgumentException("Sketches cannot be null");
+        }
+        LatencySketch merged = EMPTY;
+        for (LatencySketch sketch : sketches) {
+            merged = merged.merge(sketch);
+        }
+        return merged;
+    }
+
+    public LatencySketch merge(LatencySketch other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Sketch cannot be null");
+        }
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+
+        int[] mergedIndexes = new int[indexes.length + other.indexes.length];
+        long[] mergedCounts = new long[mergedIndexes.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < indexes.length || j < other.indexes.length) {
+            if (j == other.indexes.length || (i < indexes.length && indexes[i] < other.indexes[j])) {
+                mergedIndexes[size] = indexes[i];
+                mergedCounts[size++] = counts[i++];
+            } else if (i == indexes.length || other.indexes[j] < indexes[i]) {
+                mergedIndexes[size] = other.indexes[j];
+                mergedCounts[size++] = other.counts[j++];
+            } else {
+                mergedIndexes[size] = indexes[i];
+                mergedCounts[size++] = counts[i++] + other.counts[j++];
+            }
+        }
+        return new LatencySketch(zeroCount + other.zeroCount,
+                Arrays.copyOf(mergedIndexes, size), Arrays.copyOf(mergedCounts, size));
+    }
+
+    public double quantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Cannot compute a quantile of an empty sketch");
+        }
+
+        long rank = (long) (fraction * (count - 1));
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < indexes.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return valueOf(indexes[i]);
+            }
+        }
+        return valueOf(indexes[indexes.length - 1]);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + indexes.length * 3);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, zeroCount);
+        writeVarLong(out, indexes.length);
+        int previous = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            long delta = (long) indexes[i] - previous;
+            writeVarLong(out, (delta << 1) ^ (delta >> 63));
+            writeVarLong(out, counts[i]);
+            previous = indexes[i];
+        }
+        return out.toByteArray();
+    }
+
+    public static LatencySketch fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("Sketch bytes cannot be empty");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format version");
+            }
+            long zeroCount = readVarLong(buffer);
+            long size = readVarLong(buffer);
+            if (size < 0 || size > buffer.remaining()) {
+                throw new IllegalArgumentException("Corrupt sketch bucket count: " + size);
+            }
+            int[] indexes = new int[(int) size];
+            long[] counts = new long[(int) size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                long zigzag = readVarLong(buffer);
+                long index = previous + ((zigzag >>> 1) ^ -(zigzag & 1));
+                if ((i > 0 && index <= previous) || index != (int) index) {
+                    throw new IllegalArgumentException("Corrupt sketch bucket index: " + index);
+                }
+                indexes[i] = (int) index;
+                counts[i] = readVarLong(buffer);
+                previous = index;
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after sketch");
+            }
+            return new LatencySketch(zeroCount, indexes, counts);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated sketch bytes", e);
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public static int indexOf(long latencyMs) {
+        return (int) Math.ceil(Math.log(latencyMs) / LOG_GAMMA);
+    }
+
+    public static double valueOf(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer in sketch");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LatencySketch that = (LatencySketch) o;
+        return zeroCount == that.zeroCount &&
+                Arrays.equals(indexes, that.indexes) &&
+                Arrays.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(zeroCount) + Arrays.hashCode(indexes)) + Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySketch{" +
+                "count=" + count +
+                ", buckets=" + indexes.length +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.apm.platform.domain.valueobject;
+
+import com.apm.platform.domain.entity.Metric;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+public final class MetricCursor implements Comparable<MetricCursor> {
+    private final Instant collectedAt;
+    private final String metricId;
+
+    private MetricCursor(Instant collectedAt, String metricId) {
+        this.collectedAt = collectedAt;
+        this.metricId = metricId;
+    }
+
+    public static MetricCursor create(Instant collectedAt, String metricId) {
+        if (collectedAt == null) {
+            throw new IllegalArgumentException("Cursor timestamp cannot be null");
+        }
+        if (metricId == null || metricId.isBlank()) {
+            throw new IllegalArgumentException("Cursor metric ID cannot be null or blank");
+        }
+        return new MetricCursor(collectedAt, metricId);
+    }
+
+    public static MetricCursor of(Metric metric) {
+        return create(metric.getCollectedAt(), metric.getId());
+    }
+
+    public static MetricCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Cursor cannot be null or blank");
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return create(Instant.parse(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = collectedAt + "|" + metricId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isBefore(Metric metric) {
+        return compareTo(of(metric)) < 0;
+    }
+
+    public boolean isAfter(Metric metric) {
+        return compareTo(of(metric)) > 0;
+    }
+
+    @Override
+    public int compareTo(MetricCursor other) {
+        int byTime = collectedAt.compareTo(other.collectedAt);
+        return byTime != 0 ? byTime : metricId.compareTo(other.metricId);
+    }
+
+    public Instant getCollectedAt() {
+        return collectedAt;
+    }
+
+    public String getMetricId() {
+        return metricId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MetricCursor that = (MetricCursor) o;
+        return Objects.equals(collectedAt, that.collectedAt) &&
+                Objects.equals(metricId, that.metricId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(collectedAt, metricId);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricCursor{" +
+                "collectedAt=" + collectedAt +
+                ", metricId='" + metricId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,238 @@
+package com.apm.platform.domain.valueobject;
+
+import com.apm.platform.domain.entity.Metric;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class MetricRollup {
+    private final String systemId;
+    private final RollupResolution resolution;
+    private final Instant bucketStart;
+    private final long sampleCount;
+    private final long errorCount;
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+    private final long sumLatencyMs;
+    private final double sumCpuUsagePercent;
+    private final double sumMemoryUsagePercent;
+    private final long status2xxCount;
+    private final long status3xxCount;
+    private final long status4xxCount;
+    private final long status5xxCount;
+    private final LatencySketch latencySketch;
+
+    private MetricRollup(String systemId, RollupResolution resolution, Instant bucketStart,
+                         long sampleCount, long errorCount, long minLatencyMs, long maxLatencyMs,
+                         long sumLatencyMs, double sumCpuUsagePercent, double sumMemoryUsagePercent,
+                         long status2xxCount, long status3xxCount, long status4xxCount, long status5xxCount,
+                         LatencySketch latencySketch) {
+        this.systemId = systemId;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+        this.sampleCount = sampleCount;
+        this.errorCount = errorCount;
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.sumLatencyMs = sumLatencyMs;
+        this.sumCpuUsagePercent = sumCpuUsagePercent;
+        this.sumMemoryUsagePercent = sumMemoryUsagePercent;
+        this.status2xxCount = status2xxCount;
+        this.status3xxCount = status3xxCount;
+        this.status4xxCount = status4xxCount;
+        this.status5xxCount = status5xxCount;
+        this.latencySketch = latencySketch;
+    }
+
+    public static MetricRollup of(Metric metric, RollupResolution resolution) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+        if (resolution == null) {
+            throw new IllegalArgumentException("Resolution cannot be null");
+        }
+        int statusClass = metric.getStatusCode() / 100;
+        return new MetricRollup(metric.getSystemId(), resolution, resolution.bucketStart(metric.getCollectedAt()),
+                1, metric.hasError() ? 1 : 0, metric.getLatencyMs(), metric.getLatencyMs(), metric.getLatencyMs(),
+                metric.getCpuUsagePercent(), metric.getMemoryUsagePercent(),
+                statusClass == 2 ? 1 : 0, statusClass == 3 ? 1 : 0, statusClass == 4 ? 1 : 0, statusClass == 5 ? 1 : 0,
+                LatencySketch.of(metric.getLatencyMs()));
+    }
+
+    public static List<MetricRollup> aggregate(Collection<Metric> metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics cannot be null");
+        }
+        Map<String, MetricRollup> buckets = new LinkedHashMap<>();
+        for (Metric metric : metrics) {
+            for (RollupResolution resolution : RollupResolution.values()) {
+                MetricRollup rollup = of(metric, resolution);
+                buckets.merge(rollup.bucketKey(), rollup, MetricRollup::merge);
+            }
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    public static MetricRollup reconstitute(String systemId, RollupResolution resolution, Instant bucketStart,
+                                            long sampleCount, long errorCount, long minLatencyMs, long maxLatencyMs,
+                                            long sumLatencyMs, double sumCpuUsagePercent, double sumMemoryUsagePercent,
+                                            long status2xxCount, long status3xxCount, long status4xxCount,
+                                            long status5xxCount, LatencySketch latencySketch) {
+        if (sampleCount < 1) {
+            throw new IllegalArgumentException("Rollup must contain at least one sample");
+        }
+        if (latencySketch == null) {
+            throw new IllegalArgumentException("Latency sketch cannot be null");
+        }
+        return new MetricRollup(systemId, resolution, bucketStart, sampleCount, errorCount, minLatencyMs,
+                maxLatencyMs, sumLatencyMs, sumCpuUsagePercent, sumMemoryUsagePercent,
+                status2xxCount, status3xxCount, status4xxCount, status5xxCount, latencySketch);
+    }
+
+    public MetricRollup merge(MetricRollup other) {
+        if (!systemId.equals(other.systemId) || resolution != other.resolution
+                || !bucketStart.equals(other.bucketStart)) {
+            throw new IllegalArgumentException("Cannot merge rollups of different buckets");
+        }
+        return new MetricRollup(systemId, resolution, bucketStart,
+                sampleCount + other.sampleCount,
+                errorCount + other.errorCount,
+                Math.min(minLatencyMs, other.minLatencyMs),
+                Math.max(maxLatencyMs, other.maxLatencyMs),
+                sumLatencyMs + other.sumLatencyMs,
+                sumCpuUsagePercent + other.sumCpuUsagePercent,
+                sumMemoryUsagePercent + other.sumMemoryUsagePercent,
+                status2xxCount + other.status2xxCount,
+                status3xxCount + other.status3xxCount,
+                status4xxCount + other.status4xxCount,
+                status5xxCount + other.status5xxCount,
+                latencySketch.merge(other.latencySketch));
+    }
+
+    private String bucketKey() {
+        return systemId + '|' + resolution.getCode() + '|' + bucketStart.toEpochMilli();
+    }
+
+    public double getAverageLatencyMs() {
+        return (double) sumLatencyMs / sampleCount;
+    }
+
+    public double getAverageCpuUsagePercent() {
+        return sumCpuUsagePercent / sampleCount;
+    }
+
+    public double getAverageMemoryUsagePercent() {
+        return sumMemoryUsagePercent / sampleCount;
+    }
+
+    public double getErrorRate() {
+        return (double) errorCount / sampleCount;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public RollupResolution getResolution() {
+        return resolution;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getMinLatencyMs() {
+        return minLatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public long getSumLatencyMs() {
+        return sumLatencyMs;
+    }
+
+    public double getSumCpuUsagePercent() {
+        return sumCpuUsagePercent;
+    }
+
+    public double getSumMemoryUsagePercent() {
+        return sumMemoryUsagePercent;
+    }
+
+    public long getStatus2xxCount() {
+        return status2xxCount;
+    }
+
+    public long getStatus3xxCount() {
+        return status3xxCount;
+    }
+
+    public long getStatus4xxCount() {
+        return status4xxCount;
+    }
+
+    public long getStatus5xxCount() {
+        return status5xxCount;
+    }
+
+    public LatencySketch getLatencySketch() {
+        return latencySketch;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MetricRollup that = (MetricRollup) o;
+        return sampleCount == that.sampleCount &&
+                errorCount == that.errorCount &&
+                minLatencyMs == that.minLatencyMs &&
+                maxLatencyMs == that.maxLatencyMs &&
+                sumLatencyMs == that.sumLatencyMs &&
+                Double.compare(that.sumCpuUsagePercent, sumCpuUsagePercent) == 0 &&
+                Double.compare(that.sumMemoryUsagePercent, sumMemoryUsagePercent) == 0 &&
+                status2xxCount == that.status2xxCount &&
+                status3xxCount == that.status3xxCount &&
+                status4xxCount == that.status4xxCount &&
+                status5xxCount == that.status5xxCount &&
+                Objects.equals(latencySketch, that.latencySketch) &&
+                Objects.equals(systemId, that.systemId) &&
+                resolution == that.resolution &&
+                Objects.equals(bucketStart, that.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(systemId, resolution, bucketStart, sampleCount, errorCount, minLatencyMs, maxLatencyMs,
+                sumLatencyMs, sumCpuUsagePercent, sumMemoryUsagePercent,
+                status2xxCount, status3xxCount, status4xxCount, status5xxCount, latencySketch);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricRollup{" +
+                "systemId='" + systemId + '\'' +
+                ", resolution=" + resolution +
+                ", bucketStart=" + bucketStart +
+                ", sampleCount=" + sampleCount +
+                ", errorCount=" + errorCount +
+                ", minLatencyMs=" + minLatencyMs +
+                ", maxLatencyMs=" + maxLatencyMs +
+                '}';
+    }
+}
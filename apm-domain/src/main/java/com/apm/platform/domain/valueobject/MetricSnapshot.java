@@ -1,6 +1,9 @@
 package com.apm.platform.domain.valueobject;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public final class MetricSnapshot {
@@ -10,19 +13,29 @@ public final class MetricSnapshot {
     private final int statusCode;
     private final boolean hasError;
     private final Instant timestamp;
+    private final Map<String, Object> additionalData;
+    private final ProbeTiming timing;
 
     private MetricSnapshot(long latencyMs, double cpuUsagePercent, double memoryUsagePercent, 
-                          int statusCode, boolean hasError, Instant timestamp) {
+                          int statusCode, boolean hasError, Instant timestamp, Map<String, Object> additionalData,
+                          ProbeTiming timing) {
         this.latencyMs = latencyMs;
         this.cpuUsagePercent = cpuUsagePercent;
         this.memoryUsagePercent = memoryUsagePercent;
         this.statusCode = statusCode;
         this.hasError = hasError;
         this.timestamp = timestamp;
+        this.additionalData = Collections.unmodifiableMap(new HashMap<>(additionalData));
+        this.timing = timing;
     }
 
     public static MetricSnapshot create(long latencyMs, double cpuUsagePercent, double memoryUsagePercent, 
                                        int statusCode, boolean hasError) {
+        return create(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError, Map.of());
+    }
+
+    public static MetricSnapshot create(long latencyMs, double cpuUsagePercent, double memoryUsagePercent, 
+                                       int statusCode, boolean hasError, Map<String, Object> additionalData) {
         if (latencyMs < 0) {
             throw new IllegalArgumentException("Latency cannot be negative");
         }
@@ -32,7 +45,11 @@ public final class MetricSnapshot {
         if (memoryUsagePercent < 0 || memoryUsagePercent > 100) {
             throw new IllegalArgumentException("Memory usage must be between 0 and 100");
         }
-        return new MetricSnapshot(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError, Instant.now());
+        if (additionalData == null) {
+            throw new IllegalArgumentException("Additional data cannot be null");
+        }
+        return new MetricSnapshot(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError,
+                                  Instant.now(), additionalData, null);
     }
 
     public long getLatencyMs() {
@@ -59,6 +76,19 @@ public final class MetricSnapshot {
         return timestamp;
     }
 
+    public Map<String, Object> getAdditionalData() {
+        return additionalData;
+    }
+
+    public ProbeTiming getTiming() {
+        return timing;
+    }
+
+    public MetricSnapshot withTiming(ProbeTiming timing) {
+        return new MetricSnapshot(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError,
+                                  timestamp, additionalData, timing);
+    }
+
     public boolean isSuccessfulResponse() {
         return statusCode >= 200 && statusCode < 300;
     }
@@ -85,12 +115,15 @@ public final class MetricSnapshot {
                 Double.compare(that.memoryUsagePercent, memoryUsagePercent) == 0 &&
                 statusCode == that.statusCode &&
                 hasError == that.hasError &&
-                Objects.equals(timestamp, that.timestamp);
+                Objects.equals(timestamp, that.timestamp) &&
+                Objects.equals(additionalData, that.additionalData) &&
+                Objects.equals(timing, that.timing);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError, timestamp);
+        return Objects.hash(latencyMs, cpuUsagePercent, memoryUsagePercent, statusCode, hasError, timestamp,
+                additionalData, timing);
     }
 
     @Override
@@ -102,6 +135,8 @@ public final class MetricSnapshot {
                 ", statusCode=" + statusCode +
                 ", hasError=" + hasError +
                 ", timestamp=" + timestamp +
+                ", additionalData=" + additionalData +
+                ", timing=" + timing +
                 '}';
     }
 }
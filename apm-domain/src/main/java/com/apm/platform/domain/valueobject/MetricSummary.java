@@ -0,0 +1,156 @@
+package com.apm.platform.domain.valueobject;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public final class MetricSummary {
+    private final Instant bucketStart;
+    private final long count;
+    private final long errorCount;
+    private final double avgLatencyMs;
+    private final double p50LatencyMs;
+    private final double p95LatencyMs;
+    private final double p99LatencyMs;
+    private final long maxLatencyMs;
+    private final long status2xxCount;
+    private final long status3xxCount;
+    private final long status4xxCount;
+    private final long status5xxCount;
+
+    private MetricSummary(Instant bucketStart, long count, long errorCount, double avgLatencyMs,
+                          double p50LatencyMs, double p95LatencyMs, double p99LatencyMs, long maxLatencyMs,
+                          long status2xxCount, long status3xxCount, long status4xxCount, long status5xxCount) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.avgLatencyMs = avgLatencyMs;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p95LatencyMs = p95LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.status2xxCount = status2xxCount;
+        this.status3xxCount = status3xxCount;
+        this.status4xxCount = status4xxCount;
+        this.status5xxCount = status5xxCount;
+    }
+
+    public static MetricSummary create(Instant bucketStart, long count, long errorCount, double avgLatencyMs,
+                                       double p50LatencyMs, double p95LatencyMs, double p99LatencyMs,
+                                       long maxLatencyMs, long status2xxCount, long status3xxCount,
+                                       long status4xxCount, long status5xxCount) {
+        if (bucketStart == null) {
+            throw new IllegalArgumentException("Bucket start cannot be null");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("Summary must cover at least one metric");
+        }
+        if (errorCount < 0 || errorCount > count) {
+            throw new IllegalArgumentException("Error count must be between 0 and " + count);
+        }
+        return new MetricSummary(bucketStart, count, errorCount, avgLatencyMs, p50LatencyMs, p95LatencyMs,
+                p99LatencyMs, maxLatencyMs, status2xxCount, status3xxCount, status4xxCount, status5xxCount);
+    }
+
+    // Interpolates between closest ranks, matching PostgreSQL's percentile_cont.
+    public static double percentile(long[] sortedValues, int length, double fraction) {
+        if (length < 1) {
+            throw new IllegalArgumentException("Cannot take a percentile of no values");
+        }
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile fraction must be between 0 and 1");
+        }
+        double position = fraction * (length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+        return sortedValues[lower] + (sortedValues[upper] - sortedValues[lower]) * (position - lower);
+    }
+
+    public double getErrorRate() {
+        return (double) errorCount / count;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public double getP50LatencyMs() {
+        return p50LatencyMs;
+    }
+
+    public double getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    public double getP99LatencyMs() {
+        return p99LatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public long getStatus2xxCount() {
+        return status2xxCount;
+    }
+
+    public long getStatus3xxCount() {
+        return status3xxCount;
+    }
+
+    public long getStatus4xxCount() {
+        return status4xxCount;
+    }
+
+    public long getStatus5xxCount() {
+        return status5xxCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MetricSummary that = (MetricSummary) o;
+        return count == that.count &&
+                errorCount == that.errorCount &&
+                Double.compare(that.avgLatencyMs, avgLatencyMs) == 0 &&
+                Double.compare(that.p50LatencyMs, p50LatencyMs) == 0 &&
+                Double.compare(that.p95LatencyMs, p95LatencyMs) == 0 &&
+                Double.compare(that.p99LatencyMs, p99LatencyMs) == 0 &&
+                maxLatencyMs == that.maxLatencyMs &&
+                status2xxCount == that.status2xxCount &&
+                status3xxCount == that.status3xxCount &&
+                status4xxCount == that.status4xxCount &&
+                status5xxCount == that.status5xxCount &&
+                Objects.equals(bucketStart, that.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucketStart, count, errorCount, avgLatencyMs, p50LatencyMs, p95LatencyMs, p99LatencyMs,
+                maxLatencyMs, status2xxCount, status3xxCount, status4xxCount, status5xxCount);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricSummary{" +
+                "bucketStart=" + bucketStart +
+                ", count=" + count +
+                ", errorCount=" + errorCount +
+                ", avgLatencyMs=" + avgLatencyMs +
+                ", p95LatencyMs=" + p95LatencyMs +
+                ", maxLatencyMs=" + maxLatencyMs +
+                '}';
+    }
+}
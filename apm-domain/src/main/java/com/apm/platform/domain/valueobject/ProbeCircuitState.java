@@ -0,0 +1,21 @@
+package com.apm.platform.domain.valueobject;
+
+public enum ProbeCircuitState {
+    CLOSED("Probes run normally"),
+    OPEN("Probes are suspended after consecutive failures"),
+    HALF_OPEN("A trial probe is checking whether the system recovered");
+
+    private final String description;
+
+    ProbeCircuitState(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean allowsProbes() {
+        return this != OPEN;
+    }
+}
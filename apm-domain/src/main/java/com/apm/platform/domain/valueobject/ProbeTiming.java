@@ -0,0 +1,92 @@
+package com.apm.platform.domain.valueobject;
+
+import java.util.Objects;
+
+public final class ProbeTiming {
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final long totalNanos;
+    private final long dnsNanos;
+    private final long firstByteNanos;
+    private final long downloadNanos;
+
+    private ProbeTiming(long totalNanos, long dnsNanos, long firstByteNanos, long downloadNanos) {
+        this.totalNanos = totalNanos;
+        this.dnsNanos = dnsNanos;
+        this.firstByteNanos = firstByteNanos;
+        this.downloadNanos = downloadNanos;
+    }
+
+    public static ProbeTiming create(long totalNanos, long dnsNanos, long firstByteNanos, long downloadNanos) {
+        if (totalNanos < 0 || dnsNanos < 0 || firstByteNanos < 0 || downloadNanos < 0) {
+            throw new IllegalArgumentException("Probe timing phases cannot be negative");
+        }
+        if (dnsNanos + firstByteNanos + downloadNanos > totalNanos) {
+            throw new IllegalArgumentException("Probe timing phases cannot exceed the total duration");
+        }
+        return new ProbeTiming(totalNanos, dnsNanos, firstByteNanos, downloadNanos);
+    }
+
+    public static ProbeTiming ofMicros(long totalMicros, long dnsMicros, long firstByteMicros, long downloadMicros) {
+        return create(totalMicros * NANOS_PER_MICRO, dnsMicros * NANOS_PER_MICRO,
+                      firstByteMicros * NANOS_PER_MICRO, downloadMicros * NANOS_PER_MICRO);
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    public long getDownloadNanos() {
+        return downloadNanos;
+    }
+
+    public long getTotalMicros() {
+        return totalNanos / NANOS_PER_MICRO;
+    }
+
+    public long getDnsMicros() {
+        return dnsNanos / NANOS_PER_MICRO;
+    }
+
+    public long getFirstByteMicros() {
+        return firstByteNanos / NANOS_PER_MICRO;
+    }
+
+    public long getDownloadMicros() {
+        return downloadNanos / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProbeTiming that = (ProbeTiming) o;
+        return totalNanos == that.totalNanos &&
+                dnsNanos == that.dnsNanos &&
+                firstByteNanos == that.firstByteNanos &&
+                downloadNanos == that.downloadNanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalNanos, dnsNanos, firstByteNanos, downloadNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "ProbeTiming{" +
+                "totalNanos=" + totalNanos +
+                ", dnsNanos=" + dnsNanos +
+                ", firstByteNanos=" + firstByteNanos +
+                ", downloadNanos=" + downloadNanos +
+                '}';
+    }
+}
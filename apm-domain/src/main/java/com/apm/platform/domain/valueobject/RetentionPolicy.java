@@ -0,0 +1,99 @@
+package com.apm.platform.domain.valueobject;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+public final class RetentionPolicy {
+    public static final int MAX_RETENTION_DAYS = 3650;
+
+    private final int rawDays;
+    private final int oneMinuteDays;
+    private final int fiveMinuteDays;
+    private final int oneHourDays;
+
+    private RetentionPolicy(int rawDays, int oneMinuteDays, int fiveMinuteDays, int oneHourDays) {
+        this.rawDays = rawDays;
+        this.oneMinuteDays = oneMinuteDays;
+        this.fiveMinuteDays = fiveMinuteDays;
+        this.oneHourDays = oneHourDays;
+    }
+
+    public static RetentionPolicy ofDays(int rawDays, int oneMinuteDays, int fiveMinuteDays, int oneHourDays) {
+        validate("Raw", rawDays);
+        validate("1m rollup", oneMinuteDays);
+        validate("5m rollup", fiveMinuteDays);
+        validate("1h rollup", oneHourDays);
+        return new RetentionPolicy(rawDays, oneMinuteDays, fiveMinuteDays, oneHourDays);
+    }
+
+    private static void validate(String tier, int days) {
+        if (days < 1 || days > MAX_RETENTION_DAYS) {
+            throw new IllegalArgumentException(
+                    tier + " retention must be between 1 and " + MAX_RETENTION_DAYS + " days");
+        }
+    }
+
+    public int getRetentionDays(RollupResolution resolution) {
+        switch (resolution) {
+            case ONE_MINUTE:
+                return oneMinuteDays;
+            case FIVE_MINUTES:
+                return fiveMinuteDays;
+            case ONE_HOUR:
+                return oneHourDays;
+            default:
+                throw new IllegalArgumentException("Unknown resolution: " + resolution);
+        }
+    }
+
+    public Instant rawCutoff(Instant now) {
+        return now.minus(rawDays, ChronoUnit.DAYS);
+    }
+
+    public Instant rollupCutoff(RollupResolution resolution, Instant now) {
+        return now.minus(getRetentionDays(resolution), ChronoUnit.DAYS);
+    }
+
+    public int getRawDays() {
+        return rawDays;
+    }
+
+    public int getOneMinuteDays() {
+        return oneMinuteDays;
+    }
+
+    public int getFiveMinuteDays() {
+        return fiveMinuteDays;
+    }
+
+    public int getOneHourDays() {
+        return oneHourDays;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RetentionPolicy that = (RetentionPolicy) o;
+        return rawDays == that.rawDays &&
+                oneMinuteDays == that.oneMinuteDays &&
+                fiveMinuteDays == that.fiveMinuteDays &&
+                oneHourDays == that.oneHourDays;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rawDays, oneMinuteDays, fiveMinuteDays, oneHourDays);
+    }
+
+    @Override
+    public String toString() {
+        return "RetentionPolicy{" +
+                "raw=" + rawDays + "d" +
+                ", 1m=" + oneMinuteDays + "d" +
+                ", 5m=" + fiveMinuteDays + "d" +
+                ", 1h=" + oneHourDays + "d" +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.apm.platform.domain.valueobject;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public enum RollupResolution {
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    ONE_HOUR("1h", Duration.ofHours(1));
+
+    private final String code;
+    private final Duration bucket;
+
+    RollupResolution(String code, Duration bucket) {
+        this.code = code;
+        this.bucket = bucket;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public Instant bucketStart(Instant timestamp) {
+        long bucketMillis = bucket.toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(timestamp.toEpochMilli(), bucketMillis) * bucketMillis);
+    }
+
+    public long bucketsIn(Duration range) {
+        long bucketMillis = bucket.toMillis();
+        return Math.max(1, (range.toMillis() + bucketMillis - 1) / bucketMillis);
+    }
+
+    public static RollupResolution finestWithin(Duration range, int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("Point budget must be at least 1");
+        }
+        for (RollupResolution resolution : values()) {
+            if (resolution.bucketsIn(range) <= maxPoints) {
+                return resolution;
+            }
+        }
+        return ONE_HOUR;
+    }
+
+    public static RollupResolution fromCode(String code) {
+        for (RollupResolution resolution : values()) {
+            if (resolution.code.equals(code)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rollup resolution: " + code);
+    }
+}
@@ -0,0 +1,215 @@
+package com.apm.platform.domain.valueobject;
+
+import com.apm.platform.domain.entity.Metric;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+// Parsed once into predicates, e.g. "latency_ms > 2000 && status_code >= 500 || cpu > 90".
+public final class RuleExpression {
+
+    public static final int MAX_LENGTH = 500;
+    private static final int MAX_DEPTH = 32;
+
+    private static final Map<String, ToDoubleFunction<Metric>> FIELDS = Map.of(
+            "latency_ms", Metric::getLatencyMs,
+            "status_code", Metric::getStatusCode,
+            "cpu", Metric::getCpuUsagePercent,
+            "cpu_usage_percent", Metric::getCpuUsagePercent,
+            "memory", Metric::getMemoryUsagePercent,
+            "memory_usage_percent", Metric::getMemoryUsagePercent,
+            "error", metric -> metric.hasError() ? 1 : 0,
+            "has_error", metric -> metric.hasError() ? 1 : 0
+    );
+
+    private final String source;
+    private final Predicate<Metric> predicate;
+
+    private RuleExpression(String source, Predicate<Metric> predicate) {
+        this.source = source;
+        this.predicate = predicate;
+    }
+
+    public static RuleExpression parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Rule expression cannot be null or blank");
+        }
+        String trimmed = source.trim();
+        if (trimmed.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Rule expression cannot exceed " + MAX_LENGTH + " characters");
+        }
+        return new RuleExpression(trimmed, new Parser(trimmed).parse());
+    }
+
+    public boolean test(Metric metric) {
+        return predicate.test(metric);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return source.equals(((RuleExpression) o).source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // Recursive descent over the grammar:
+    //   or := and ('||' and)*   and := unary ('&&' unary)*
+    //   unary := '!' unary | '(' or ')' | field [op number]
+    private static final class Parser {
+        private final String input;
+        private int pos;
+        private int depth;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        private Predicate<Metric> parse() {
+            Predicate<Metric> result = parseOr();
+            skipWhitespace();
+            if (pos < input.length()) {
+                throw error("unexpected '" + input.charAt(pos) + "'");
+            }
+            return result;
+        }
+
+        private Predicate<Metric> parseOr() {
+            Predicate<Metric> left = parseAnd();
+            while (accept("||")) {
+                Predicate<Metric> l = left;
+                Predicate<Metric> r = parseAnd();
+                left = metric -> l.test(metric) || r.test(metric);
+            }
+            return left;
+        }
+
+        private Predicate<Metric> parseAnd() {
+            Predicate<Metric> left = parseUnary();
+            while (accept("&&")) {
+                Predicate<Metric> l = left;
+                Predicate<Metric> r = parseUnary();
+                left = metric -> l.test(metric) && r.test(metric);
+            }
+            return left;
+        }
+
+        private Predicate<Metric> parseUnary() {
+            if (++depth > MAX_DEPTH) {
+                throw error("expression nested too deeply");
+            }
+            try {
+                if (accept("!")) {
+                    Predicate<Metric> operand = parseUnary();
+                    return metric -> !operand.test(metric);
+                }
+                if (accept("(")) {
+                    Predicate<Metric> inner = parseOr();
+                    if (!accept(")")) {
+                        throw error("expected ')'");
+                    }
+                    return inner;
+                }
+                return parseComparison();
+            } finally {
+                depth--;
+            }
+        }
+
+        private Predicate<Metric> parseComparison() {
+            String name = parseIdentifier();
+            ToDoubleFunction<Metric> field = FIELDS.get(name);
+            if (field == null) {
+                throw error("unknown field '" + name + "', expected one of " + FIELDS.keySet());
+            }
+            String op = parseOperator();
+            if (op == null) {
+                if (!name.endsWith("error")) {
+                    throw error("expected comparison after '" + name + "'");
+                }
+                return metric -> field.applyAsDouble(metric) != 0;
+            }
+            double value = parseNumber();
+            return switch (op) {
+                case ">" -> metric -> field.applyAsDouble(metric) > value;
+                case ">=" -> metric -> field.applyAsDouble(metric) >= value;
+                case "<" -> metric -> field.applyAsDouble(metric) < value;
+                case "<=" -> metric -> field.applyAsDouble(metric) <= value;
+                case "==" -> metric -> field.applyAsDouble(metric) == value;
+                default -> metric -> field.applyAsDouble(metric) != value;
+            };
+        }
+
+        private String parseIdentifier() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length()
+                    && (Character.isLetterOrDigit(input.charAt(pos)) || input.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("expected field name");
+            }
+            return input.substring(start, pos).toLowerCase(Locale.ROOT);
+        }
+
+        private String parseOperator() {
+            for (String op : new String[] {">=", "<=", "==", "!=", ">", "<"}) {
+                if (accept(op)) {
+                    return op;
+                }
+            }
+            return null;
+        }
+
+        private double parseNumber() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < input.length() && (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("expected number");
+            }
+            try {
+                return Double.parseDouble(input.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("invalid number '" + input.substring(start, pos) + "'");
+            }
+        }
+
+        private boolean accept(String token) {
+            skipWhitespace();
+            if (input.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid rule expression at position " + pos + ": " + message);
+        }
+    }
+}
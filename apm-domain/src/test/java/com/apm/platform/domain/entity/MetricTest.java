@@ -2,8 +2,17 @@ package com.apm.platform.domain.entity;
 
 import com.apm.platform.domain.exception.InvalidMetricDataException;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
+import com.apm.platform.domain.valueobject.ProbeTiming;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MetricTest {
@@ -32,6 +41,26 @@ class MetricTest {
         assertEquals(45.5, metric.getCpuUsagePercent());
     }
 
+    @Test
+    void shouldCarryAdditionalDataFromSnapshot() {
+        MetricSnapshot snapshot = MetricSnapshot.create(150, 45.5, 60.0, 200, false,
+            Map.of("jvm_threads_live_threads", 42.0));
+        Metric metric = Metric.fromSnapshot("system-123", snapshot);
+
+        assertEquals(42.0, metric.getAdditionalData().get("jvm_threads_live_threads"));
+    }
+
+    @Test
+    void shouldCarryProbeTimingFromSnapshot() {
+        ProbeTiming timing = ProbeTiming.ofMicros(150_000, 2_000, 140_000, 8_000);
+        MetricSnapshot snapshot = MetricSnapshot.create(150, 45.5, 60.0, 200, false).withTiming(timing);
+
+        Metric metric = Metric.fromSnapshot("system-123", snapshot);
+
+        assertEquals(timing, metric.getTiming());
+        assertEquals(timing, metric.toSnapshot().getTiming());
+    }
+
     @Test
     void shouldConvertToSnapshot() {
         Metric metric = Metric.create("system-123", 150, 200, false, 45.5, 60.0);
@@ -153,4 +182,58 @@ class MetricTest {
         assertEquals(metric1, metric2);
         assertEquals(metric1.hashCode(), metric2.hashCode());
     }
+
+    @Test
+    void shouldDecodeAdditionalDataLazilyAndOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        Metric metric = Metric.reconstitute(
+            "metric-1", "system-123", 150, 200, false, 45.5, 60.0,
+            () -> {
+                loads.incrementAndGet();
+                return Map.of("jvm_threads_live_threads", 42.0);
+            },
+            Instant.now(), null
+        );
+
+        assertEquals(0, loads.get());
+        assertEquals(42.0, metric.getAdditionalData().get("jvm_threads_live_threads"));
+        assertEquals(42.0, metric.toSnapshot().getAdditionalData().get("jvm_threads_live_threads"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldLoadAdditionalDataOnceUnderConcurrentReads() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Metric metric = Metric.reconstitute(
+            "metric-1", "system-123", 150, 200, false, 45.5, 60.0,
+            () -> {
+                loads.incrementAndGet();
+                return Map.of("jvm_threads_live_threads", 42.0);
+            },
+            Instant.now(), null
+        );
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (!Double.valueOf(42.0).equals(metric.getAdditionalData().get("jvm_threads_live_threads"))) {
+                        failures.incrementAndGet();
+                    }
+                } catch (RuntimeException | InterruptedException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, failures.get());
+        assertEquals(1, loads.get());
+    }
 }
@@ -0,0 +1,75 @@
+package com.apm.platform.domain.service;
+
+import com.apm.platform.domain.valueobject.AlertLifecycleState;
+import com.apm.platform.domain.valueobject.AlertTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertLifecycleDomainServiceTest {
+
+    private AlertLifecycleDomainService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AlertLifecycleDomainService();
+    }
+
+    @Test
+    void shouldMoveThroughPendingFiringAndResolved() {
+        assertEquals(AlertTransition.none(), service.observe("rule-1", "system-1", true, false));
+        assertEquals(AlertLifecycleState.PENDING, service.getState("rule-1", "system-1"));
+
+        assertEquals(AlertTransition.fire(), service.observe("rule-1", "system-1", true, true));
+        service.markFiring("rule-1", "system-1", "alert-1");
+        assertEquals(AlertLifecycleState.FIRING, service.getState("rule-1", "system-1"));
+
+        assertEquals(AlertTransition.none(), service.observe("rule-1", "system-1", true, true));
+        assertEquals(AlertTransition.none(), service.observe("rule-1", "system-1", true, false));
+
+        assertEquals(AlertTransition.resolve("alert-1"), service.observe("rule-1", "system-1", false, false));
+        assertEquals(AlertLifecycleState.INACTIVE, service.getState("rule-1", "system-1"));
+        assertEquals(Optional.empty(), service.getOpenAlertId("rule-1", "system-1"));
+    }
+
+    @Test
+    void shouldDropPendingEpisodeWhenViolationClearsBeforeFiring() {
+        service.observe("rule-1", "system-1", true, false);
+
+        assertEquals(AlertTransition.none(), service.observe("rule-1", "system-1", false, false));
+        assertEquals(AlertLifecycleState.INACTIVE, service.getState("rule-1", "system-1"));
+    }
+
+    @Test
+    void shouldTrackEpisodesPerRuleAndSystem() {
+        service.markFiring("rule-1", "system-1", "alert-1");
+        service.markFiring("rule-1", "system-2", "alert-2");
+        service.observe("rule-2", "system-1", true, false);
+
+        assertEquals(AlertTransition.fire(), service.observe("rule-2", "system-1", true, true));
+        assertEquals(AlertTransition.none(), service.observe("rule-1", "system-2", true, true));
+        assertEquals(List.of("system-1", "system-2"),
+                service.getTrackedSystemIds("rule-1").stream().sorted().collect(Collectors.toList()));
+        assertEquals(2, service.getTrackedRuleIds().size());
+    }
+
+    @Test
+    void shouldFireAgainAfterReset() {
+        assertTrue(service.observe("rule-1", "system-1", true, true).isFire());
+
+        service.reset("rule-1", "system-1");
+
+        assertTrue(service.observe("rule-1", "system-1", true, true).isFire());
+    }
+
+    @Test
+    void shouldRejectBlankIdentifiers() {
+        assertThrows(IllegalArgumentException.class, () -> service.observe(" ", "system-1", true, true));
+        assertThrows(IllegalArgumentException.class, () -> service.markFiring("rule-1", "system-1", null));
+    }
+}
@@ -6,7 +6,13 @@ import com.apm.platform.domain.valueobject.AlertSeverity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -171,4 +177,170 @@ class AlertRuleDomainServiceTest {
 
         assertEquals(0, service.getConsecutiveViolationCount(ruleId));
     }
+
+    @Test
+    void shouldHoldIncrementallyOnceViolationRunIsLongEnough() {
+        AlertRule rule = AlertRule.create("system-1", "High Latency",
+            AlertRule.AlertRuleType.LATENCY_MS, AlertSeverity.WARNING, 1000, 2);
+        Metric slow = Metric.create("system-1", 1500, 200, false, 50.0, 60.0);
+        Metric fast = Metric.create("system-1", 500, 200, false, 50.0, 60.0);
+
+        assertFalse(service.evaluateIncrementally(rule, slow));
+        assertTrue(service.evaluateIncrementally(rule, slow));
+        assertTrue(service.evaluateIncrementally(rule, slow));
+        assertEquals(3, service.getConsecutiveViolationCount(rule.getId()));
+
+        assertFalse(service.evaluateIncrementally(rule, fast));
+        assertFalse(service.evaluateIncrementally(rule, slow));
+        assertTrue(service.evaluateIncrementally(rule, slow));
+    }
+
+    @Test
+    void shouldKeepHistoryConsistentUnderParallelRecording() throws InterruptedException {
+        int threads = 8;
+        int samplesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            String ownRule = "rule-" + t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < samplesPerThread; i++) {
+                    service.recordViolation("shared-rule", true);
+                    service.recordViolation(ownRule, i % 2 == 0);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100, service.getConsecutiveViolationCount("shared-rule"));
+        assertEquals(100.0, service.calculateViolationRate("shared-rule", 100));
+        for (int t = 0; t < threads; t++) {
+            assertEquals(50.0, service.calculateViolationRate("rule-" + t, 100));
+            assertTrue(service.isFlapping("rule-" + t, 10));
+        }
+    }
+
+    @Test
+    void shouldEvaluateWindowedErrorRateRule() {
+        AlertRule rule = AlertRule.create("system-1", "Error Rate 5m",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.CRITICAL, 60, 1, 300);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertFalse(recordAndEvaluate(rule, windowMetric("m-1", start, false)));
+        assertFalse(recordAndEvaluate(rule, windowMetric("m-2", start.plusSeconds(10), true)));
+        assertTrue(recordAndEvaluate(rule, windowMetric("m-3", start.plusSeconds(20), true)));
+        assertTrue(service.checkViolation(rule, windowMetric("m-3", start.plusSeconds(20), true)));
+
+        // Once the errors age out of the window the rate falls back below the threshold.
+        assertFalse(recordAndEvaluate(rule, windowMetric("m-4", start.plusSeconds(400), false)));
+        assertFalse(service.checkViolation(rule, windowMetric("m-4", start.plusSeconds(400), false)));
+    }
+
+    @Test
+    void shouldCountEachMetricOnceWhenRuleEvaluationsInterleave() {
+        AlertRule errorRate = AlertRule.create("system-1", "Error Rate 5m",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.CRITICAL, 40, 1, 300);
+        AlertRule p95 = AlertRule.create("system-1", "P95 5m",
+            AlertRule.AlertRuleType.WINDOW_LATENCY_P95_MS, AlertSeverity.WARNING, 1000, 1, 300);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        Metric failed = windowMetric("m-1", start, true);
+
+        service.recordInWindows(List.of(errorRate, p95), failed);
+        service.recordInWindows(List.of(errorRate, p95), windowMetric("m-2", start.plusSeconds(1), false));
+        service.recordInWindows(List.of(errorRate, p95), windowMetric("m-3", start.plusSeconds(2), false));
+
+        // Evaluating a rule against an earlier metric reads the window and never counts the metric again.
+        assertFalse(service.evaluateIncrementally(errorRate, failed));
+        assertFalse(service.evaluateIncrementally(p95, failed));
+        assertFalse(service.checkViolation(errorRate, failed));
+    }
+
+    @Test
+    void shouldAgeOutWindowsOfSilentSystems() {
+        AlertRule rule = AlertRule.create("system-1", "Error Rate 5m",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.CRITICAL, 60, 1, 300);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        for (int i = 0; i < AlertRule.MIN_WINDOW_SAMPLES; i++) {
+            service.recordInWindows(List.of(rule), windowMetric("m-" + i, start.plusSeconds(i), true));
+        }
+        assertTrue(service.checkViolation(rule, windowMetric("m-0", start, true)));
+
+        service.advanceWindows(start.plusSeconds(600));
+
+        assertFalse(service.checkViolation(rule, windowMetric("m-0", start, true)));
+    }
+
+    @Test
+    void shouldNotViolateWindowWithTooFewSamples() {
+        AlertRule errorRate = AlertRule.create("system-1", "Error Rate 5m",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.CRITICAL, 50, 1, 300);
+        AlertRule p99 = AlertRule.create("system-1", "P99 5m",
+            AlertRule.AlertRuleType.WINDOW_LATENCY_P99_MS, AlertSeverity.WARNING, 50, 1, 300);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        // A single failed probe is a 100% error rate, but not yet evidence that the window is bad.
+        assertFalse(recordAndEvaluate(errorRate, windowMetric("m-1", start, true)));
+        assertFalse(service.checkViolation(p99, windowMetric("m-1", start, true)));
+        assertFalse(recordAndEvaluate(errorRate, windowMetric("m-2", start.plusSeconds(10), true)));
+
+        assertTrue(recordAndEvaluate(errorRate, windowMetric("m-3", start.plusSeconds(20), true)));
+        assertTrue(service.checkViolation(p99, windowMetric("m-3", start.plusSeconds(20), true)));
+    }
+
+    private boolean recordAndEvaluate(AlertRule rule, Metric metric) {
+        service.recordInWindows(List.of(rule), metric);
+        return service.evaluateIncrementally(rule, metric);
+    }
+
+    @Test
+    void shouldShareWindowBetweenRulesOfSameLength() {
+        AlertRule errorRate = AlertRule.create("system-1", "Error Rate 5m",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.CRITICAL, 50, 1, 300);
+        AlertRule p95 = AlertRule.create("system-1", "P95 5m",
+            AlertRule.AlertRuleType.WINDOW_LATENCY_P95_MS, AlertSeverity.WARNING, 1000, 1, 300);
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        for (int i = 0; i < 20; i++) {
+            Metric metric = Metric.reconstitute("m-" + i, "system-1", i < 18 ? 100 : 3000, 200, false,
+                10.0, 20.0, Map.of(), start.plusSeconds(i));
+            service.recordInWindows(List.of(errorRate, p95), metric);
+            service.evaluateIncrementally(errorRate, metric);
+            service.evaluateIncrementally(p95, metric);
+        }
+
+        assertTrue(service.checkViolation(p95, windowMetric("m-19", start.plusSeconds(19), false)));
+        assertFalse(service.checkViolation(errorRate, windowMetric("m-19", start.plusSeconds(19), false)));
+
+        service.retainWindows(List.of());
+        assertFalse(service.checkViolation(p95, windowMetric("m-19", start.plusSeconds(19), false)));
+    }
+
+    @Test
+    void shouldValidateRuleWindow() {
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create("system-1", "P99",
+            AlertRule.AlertRuleType.WINDOW_LATENCY_P99_MS, AlertSeverity.WARNING, 1000, 1, 30));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create("system-1", "Latency",
+            AlertRule.AlertRuleType.LATENCY_MS, AlertSeverity.WARNING, 1000, 1, 300));
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create("system-1", "Error Rate",
+            AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT, AlertSeverity.WARNING, 150, 1, 300));
+
+        AlertRule rule = AlertRule.create("system-1", "P99",
+            AlertRule.AlertRuleType.WINDOW_LATENCY_P99_MS, AlertSeverity.WARNING, 1000, 1, 600);
+        assertEquals(600, rule.getWindowSeconds());
+        assertFalse(rule.isViolated(Metric.create("system-1", 5000, 200, false, 50.0, 60.0)));
+    }
+
+    private static Metric windowMetric(String id, Instant collectedAt, boolean hasError) {
+        return Metric.reconstitute(id, "system-1", 100, hasError ? 500 : 200, hasError,
+            10.0, 20.0, Map.of(), collectedAt);
+    }
 }
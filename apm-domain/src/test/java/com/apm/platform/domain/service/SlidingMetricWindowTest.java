@@ -0,0 +1,103 @@
+package com.apm.platform.domain.service;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.LatencySketch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingMetricWindowTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void shouldTrackErrorRateOverWindow() {
+        SlidingMetricWindow window = new SlidingMetricWindow(300);
+
+        for (int i = 0; i < 10; i++) {
+            window.record(metric("m-" + i, START.plusSeconds(i * 10L), 100, i < 3));
+        }
+
+        assertEquals(10, window.getCount());
+        assertEquals(30.0, window.errorRatePercent(), 1e-9);
+    }
+
+    @Test
+    void shouldMatchExactQuantilesWithinSketchAccuracy() {
+        SlidingMetricWindow window = new SlidingMetricWindow(600);
+        Random random = new Random(42);
+        List<Long> latencies = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            long latency = 1 + random.nextInt(5000);
+            latencies.add(latency);
+            window.record(metric("m-" + i, START.plusMillis(i * 1000L), latency, false));
+        }
+        Collections.sort(latencies);
+
+        for (double q : new double[] {0.5, 0.95, 0.99}) {
+            double exact = latencies.get((int) (q * (latencies.size() - 1)));
+            assertEquals(exact, window.latencyQuantile(q), exact * LatencySketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    void shouldExpireBucketsThatLeaveTheWindow() {
+        SlidingMetricWindow window = new SlidingMetricWindow(60);
+
+        window.record(metric("old", START, 5000, true));
+        window.record(metric("new", START.plusSeconds(45), 100, false));
+        assertEquals(2, window.getCount());
+
+        window.advance(START.plusSeconds(61));
+
+        assertEquals(1, window.getCount());
+        assertEquals(0.0, window.errorRatePercent());
+        assertEquals(100.0, window.latencyQuantile(0.99), 100 * LatencySketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void shouldEmptyAfterJumpLongerThanWindow() {
+        SlidingMetricWindow window = new SlidingMetricWindow(60);
+        for (int i = 0; i < 60; i++) {
+            window.record(metric("m-" + i, START.plusSeconds(i), 200, true));
+        }
+
+        window.advance(START.plusSeconds(3600));
+
+        assertEquals(0, window.getCount());
+        assertEquals(0.0, window.errorRatePercent());
+        assertEquals(0.0, window.latencyQuantile(0.95));
+
+        window.record(metric("after", START.plusSeconds(3600), 300, false));
+        assertEquals(1, window.getCount());
+    }
+
+    @Test
+    void shouldDropMetricsOlderThanWindow() {
+        SlidingMetricWindow window = new SlidingMetricWindow(60);
+        window.record(metric("m-1", START.plusSeconds(120), 100, false));
+
+        assertFalse(window.record(metric("late", START, 100, true)));
+
+        assertEquals(1, window.getCount());
+        assertEquals(0.0, window.errorRatePercent());
+    }
+
+    @Test
+    void shouldRejectNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingMetricWindow(0));
+    }
+
+    private static Metric metric(String id, Instant collectedAt, long latencyMs, boolean hasError) {
+        return Metric.reconstitute(id, "system-1", latencyMs, hasError ? 500 : 200, hasError,
+                10.0, 20.0, Map.of(), collectedAt);
+    }
+}
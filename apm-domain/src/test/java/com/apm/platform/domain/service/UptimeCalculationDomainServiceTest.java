@@ -1,6 +1,7 @@
 package com.apm.platform.domain.service;
 
 import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.LatencySketch;
 import com.apm.platform.domain.valueobject.UptimePercentage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -148,4 +149,17 @@ class UptimeCalculationDomainServiceTest {
             service.calculateAllowedDowntime(period, 101)
         );
     }
+
+    @Test
+    void shouldCheckLatencyObjectiveAgainstSketchPercentile() {
+        LatencySketch latencies = LatencySketch.empty();
+        for (long latency = 1; latency <= 100; latency++) {
+            latencies = latencies.merge(LatencySketch.of(latency * 10));
+        }
+
+        assertTrue(service.meetsLatencyObjective(latencies, 0.95, 1_000));
+        assertFalse(service.meetsLatencyObjective(latencies, 0.99, 900));
+        assertFalse(service.meetsLatencyObjective(LatencySketch.empty(), 0.95, 1_000));
+        assertThrows(IllegalArgumentException.class, () -> service.meetsLatencyObjective(LatencySketch.of(10), 1.0, 1_000));
+    }
 }
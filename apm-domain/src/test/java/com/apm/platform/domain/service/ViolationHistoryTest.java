@@ -0,0 +1,96 @@
+package com.apm.platform.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViolationHistoryTest {
+
+    @Test
+    void shouldTrackTrailingViolationRun() {
+        ViolationHistory history = new ViolationHistory(100);
+
+        assertEquals(1, history.record(true));
+        assertEquals(2, history.record(true));
+        assertEquals(0, history.record(false));
+        assertEquals(1, history.record(true));
+        assertEquals(1, history.getConsecutiveViolations());
+    }
+
+    @Test
+    void shouldCapViolationRunAtCapacity() {
+        ViolationHistory history = new ViolationHistory(3);
+
+        for (int i = 0; i < 10; i++) {
+            history.record(true);
+        }
+
+        assertEquals(3, history.getConsecutiveViolations());
+        assertEquals(3, history.countViolations(10));
+        assertEquals(3, history.size());
+    }
+
+    @Test
+    void shouldMatchListBasedHistoryAcrossWrapAround() {
+        for (int capacity : new int[] {1, 7, 64, 100, 130}) {
+            ViolationHistory history = new ViolationHistory(capacity);
+            List<Boolean> reference = new ArrayList<>();
+            Random random = new Random(capacity);
+
+            for (int i = 0; i < capacity * 5; i++) {
+                boolean violated = random.nextInt(3) > 0;
+                history.record(violated);
+                reference.add(violated);
+                if (reference.size() > capacity) {
+                    reference.remove(0);
+                }
+
+                int n = 1 + random.nextInt(capacity);
+                assertEquals(expectedViolations(reference, n), history.countViolations(n),
+                        "violations, capacity " + capacity + ", sample " + i);
+                assertEquals(expectedChanges(reference, n), history.countChanges(n),
+                        "changes, capacity " + capacity + ", sample " + i);
+                assertEquals(expectedRun(reference), history.getConsecutiveViolations(),
+                        "run, capacity " + capacity + ", sample " + i);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ViolationHistory(0));
+    }
+
+    private static int expectedViolations(List<Boolean> reference, int n) {
+        int count = 0;
+        for (int i = Math.max(0, reference.size() - n); i < reference.size(); i++) {
+            if (reference.get(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int expectedChanges(List<Boolean> reference, int window) {
+        int from = Math.max(0, reference.size() - window);
+        int changes = 0;
+        for (int i = from + 1; i < reference.size(); i++) {
+            if (!reference.get(i).equals(reference.get(i - 1))) {
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    private static int expectedRun(List<Boolean> reference) {
+        int run = 0;
+        for (int i = reference.size() - 1; i >= 0 && reference.get(i); i--) {
+            run++;
+        }
+        return run;
+    }
+}
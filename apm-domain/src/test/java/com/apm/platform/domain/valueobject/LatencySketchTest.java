@@ -0,0 +1,72 @@
+package com.apm.platform.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencySketchTest {
+
+    @Test
+    void shouldReportQuantilesWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        long[] latencies = new long[10_000];
+        LatencySketch sketch = LatencySketch.empty();
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = 1 + (long) Math.abs(random.nextGaussian() * 200 + 150);
+            sketch = sketch.merge(LatencySketch.of(latencies[i]));
+        }
+        Arrays.sort(latencies);
+
+        assertEquals(latencies.length, sketch.getCount());
+        for (double q : new double[]{0.5, 0.95, 0.99}) {
+            long exact = latencies[(int) (q * (latencies.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * LatencySketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    void shouldMergeIndependentlyOfGrouping() {
+        List<LatencySketch> minutes = new ArrayList<>();
+        LatencySketch all = LatencySketch.empty();
+        for (int minute = 0; minute < 60; minute++) {
+            LatencySketch sketch = LatencySketch.empty();
+            for (long latency = 0; latency < 20; latency++) {
+                sketch = sketch.merge(LatencySketch.of(latency * minute));
+            }
+            minutes.add(sketch);
+            all = all.merge(sketch);
+        }
+
+        assertEquals(all, LatencySketch.mergeAll(minutes));
+        assertEquals(0.0, all.quantile(0.0));
+        assertEquals(1_200, all.getCount());
+    }
+
+    @Test
+    void shouldRoundTripCompactBinaryForm() {
+        LatencySketch sketch = LatencySketch.of(0);
+        for (long latency = 1; latency <= 5_000; latency++) {
+            sketch = sketch.merge(LatencySketch.of(latency));
+        }
+
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(sketch, LatencySketch.fromBytes(bytes));
+        assertTrue(bytes.length < 2_000, "encoded size " + bytes.length);
+        assertEquals(LatencySketch.empty(), LatencySketch.fromBytes(LatencySketch.empty().toBytes()));
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> LatencySketch.of(-1));
+        assertThrows(IllegalStateException.class, () -> LatencySketch.empty().quantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> LatencySketch.of(10).quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> LatencySketch.fromBytes(new byte[]{1, 0, 5}));
+        assertThrows(IllegalArgumentException.class, () -> LatencySketch.fromBytes(new byte[]{9}));
+    }
+}
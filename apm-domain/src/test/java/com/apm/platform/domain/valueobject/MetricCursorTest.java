@@ -0,0 +1,39 @@
+package com.apm.platform.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricCursorTest {
+
+    private static final Instant TIME = Instant.parse("2024-01-01T10:00:00.123456Z");
+
+    @Test
+    void shouldRoundTripThroughOpaqueToken() {
+        MetricCursor cursor = MetricCursor.create(TIME, "3f1c2d8e-0000-4000-8000-000000000001");
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("|"));
+        assertEquals(cursor, MetricCursor.decode(token));
+    }
+
+    @Test
+    void shouldOrderByTimestampThenId() {
+        MetricCursor earlier = MetricCursor.create(TIME, "b");
+        MetricCursor sameTimeLowerId = MetricCursor.create(TIME.plusMillis(1), "a");
+        MetricCursor sameTimeHigherId = MetricCursor.create(TIME.plusMillis(1), "b");
+
+        assertTrue(earlier.compareTo(sameTimeLowerId) < 0);
+        assertTrue(sameTimeLowerId.compareTo(sameTimeHigherId) < 0);
+    }
+
+    @Test
+    void shouldRejectMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> MetricCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> MetricCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> MetricCursor.decode(""));
+    }
+}
@@ -0,0 +1,93 @@
+package com.apm.platform.domain.valueobject;
+
+import com.apm.platform.domain.entity.Metric;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricRollupTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Test
+    void shouldAlignTimestampsToBucketStart() {
+        Instant timestamp = Instant.parse("2024-01-01T10:07:42Z");
+
+        assertEquals(Instant.parse("2024-01-01T10:07:00Z"), RollupResolution.ONE_MINUTE.bucketStart(timestamp));
+        assertEquals(Instant.parse("2024-01-01T10:05:00Z"), RollupResolution.FIVE_MINUTES.bucketStart(timestamp));
+        assertEquals(Instant.parse("2024-01-01T10:00:00Z"), RollupResolution.ONE_HOUR.bucketStart(timestamp));
+    }
+
+    @Test
+    void shouldSelectFinestResolutionWithinPointBudget() {
+        assertEquals(RollupResolution.ONE_MINUTE, RollupResolution.finestWithin(Duration.ofHours(6), 500));
+        assertEquals(RollupResolution.FIVE_MINUTES, RollupResolution.finestWithin(Duration.ofDays(1), 500));
+        assertEquals(RollupResolution.ONE_HOUR, RollupResolution.finestWithin(Duration.ofDays(7), 500));
+        assertEquals(RollupResolution.ONE_HOUR, RollupResolution.finestWithin(Duration.ofDays(365), 500));
+    }
+
+    @Test
+    void shouldAggregateMetricsIntoEveryResolution() {
+        List<Metric> metrics = List.of(
+            metric(BASE.plusSeconds(10), 100, 200, false),
+            metric(BASE.plusSeconds(50), 300, 500, true),
+            metric(BASE.plusSeconds(70), 200, 404, false)
+        );
+
+        List<MetricRollup> rollups = MetricRollup.aggregate(metrics);
+
+        assertEquals(4, rollups.size());
+        MetricRollup firstMinute = find(rollups, RollupResolution.ONE_MINUTE, BASE);
+        assertEquals(2, firstMinute.getSampleCount());
+        assertEquals(1, firstMinute.getErrorCount());
+        assertEquals(100, firstMinute.getMinLatencyMs());
+        assertEquals(300, firstMinute.getMaxLatencyMs());
+        assertEquals(200.0, firstMinute.getAverageLatencyMs());
+        assertEquals(1, firstMinute.getStatus2xxCount());
+        assertEquals(1, firstMinute.getStatus5xxCount());
+
+        MetricRollup hour = find(rollups, RollupResolution.ONE_HOUR, BASE);
+        assertEquals(3, hour.getSampleCount());
+        assertEquals(600, hour.getSumLatencyMs());
+        assertEquals(1, hour.getStatus4xxCount());
+        assertEquals(20.0, hour.getAverageCpuUsagePercent(), 0.0001);
+        assertEquals(3, hour.getLatencySketch().getCount());
+        assertEquals(300.0, hour.getLatencySketch().quantile(1.0), 300 * LatencySketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void shouldMergeIncrementallyToSameResultAsSingleAggregation() {
+        Metric first = metric(BASE.plusSeconds(5), 120, 200, false);
+        Metric second = metric(BASE.plusSeconds(25), 80, 200, false);
+
+        MetricRollup merged = MetricRollup.of(first, RollupResolution.FIVE_MINUTES)
+            .merge(MetricRollup.of(second, RollupResolution.FIVE_MINUTES));
+
+        assertEquals(find(MetricRollup.aggregate(List.of(first, second)), RollupResolution.FIVE_MINUTES, BASE), merged);
+    }
+
+    @Test
+    void shouldRejectMergingDifferentBuckets() {
+        MetricRollup first = MetricRollup.of(metric(BASE, 100, 200, false), RollupResolution.ONE_MINUTE);
+        MetricRollup second = MetricRollup.of(metric(BASE.plusSeconds(60), 100, 200, false), RollupResolution.ONE_MINUTE);
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(second));
+    }
+
+    private static MetricRollup find(List<MetricRollup> rollups, RollupResolution resolution, Instant bucketStart) {
+        return rollups.stream()
+            .filter(r -> r.getResolution() == resolution && r.getBucketStart().equals(bucketStart))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static Metric metric(Instant collectedAt, long latencyMs, int statusCode, boolean hasError) {
+        return Metric.reconstitute("id-" + collectedAt, "system-1", latencyMs, statusCode, hasError,
+            20.0, 40.0, Map.of(), collectedAt);
+    }
+}
@@ -2,6 +2,8 @@ package com.apm.platform.domain.valueobject;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MetricSnapshotTest {
@@ -18,6 +20,24 @@ class MetricSnapshotTest {
         assertNotNull(snapshot.getTimestamp());
     }
 
+    @Test
+    void shouldExposeAdditionalDataAsReadOnly() {
+        MetricSnapshot snapshot = MetricSnapshot.create(150, 45.5, 60.0, 200, false,
+            Map.of("process_uptime_seconds", 3600.0));
+
+        assertEquals(3600.0, snapshot.getAdditionalData().get("process_uptime_seconds"));
+        assertThrows(UnsupportedOperationException.class, () ->
+            snapshot.getAdditionalData().put("other", 1.0)
+        );
+    }
+
+    @Test
+    void shouldDefaultToEmptyAdditionalData() {
+        MetricSnapshot snapshot = MetricSnapshot.create(150, 45.5, 60.0, 200, false);
+
+        assertTrue(snapshot.getAdditionalData().isEmpty());
+    }
+
     @Test
     void shouldThrowExceptionWhenLatencyIsNegative() {
         assertThrows(IllegalArgumentException.class, () ->
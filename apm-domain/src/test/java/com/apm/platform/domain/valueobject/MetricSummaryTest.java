@@ -0,0 +1,38 @@
+package com.apm.platform.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricSummaryTest {
+
+    @Test
+    void shouldInterpolatePercentilesLikePercentileCont() {
+        long[] latencies = {10, 20, 30, 40, 100};
+
+        assertEquals(30.0, MetricSummary.percentile(latencies, 5, 0.5));
+        assertEquals(88.0, MetricSummary.percentile(latencies, 5, 0.95), 0.0001);
+        assertEquals(97.6, MetricSummary.percentile(latencies, 5, 0.99), 0.0001);
+        assertEquals(10.0, MetricSummary.percentile(latencies, 1, 0.99));
+    }
+
+    @Test
+    void shouldComputeErrorRate() {
+        MetricSummary summary = MetricSummary.create(Instant.EPOCH, 20, 5, 120.0, 100.0, 300.0, 450.0, 500,
+            15, 0, 0, 5);
+
+        assertEquals(0.25, summary.getErrorRate());
+    }
+
+    @Test
+    void shouldRejectInconsistentCounts() {
+        assertThrows(IllegalArgumentException.class, () ->
+            MetricSummary.create(Instant.EPOCH, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            MetricSummary.create(Instant.EPOCH, 2, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.apm.platform.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbeTimingTest {
+
+    @Test
+    void shouldCreateValidTiming() {
+        ProbeTiming timing = ProbeTiming.create(12_500_000, 500_000, 11_000_000, 1_000_000);
+
+        assertEquals(12_500, timing.getTotalMicros());
+        assertEquals(500, timing.getDnsMicros());
+        assertEquals(11_000, timing.getFirstByteMicros());
+        assertEquals(1_000, timing.getDownloadMicros());
+    }
+
+    @Test
+    void shouldRoundTripThroughMicros() {
+        ProbeTiming timing = ProbeTiming.ofMicros(12_500, 500, 11_000, 1_000);
+
+        assertEquals(ProbeTiming.create(12_500_000, 500_000, 11_000_000, 1_000_000), timing);
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPhaseIsNegative() {
+        assertThrows(IllegalArgumentException.class, () ->
+            ProbeTiming.create(1_000, -1, 500, 500)
+        );
+    }
+
+    @Test
+    void shouldThrowExceptionWhenPhasesExceedTotal() {
+        assertThrows(IllegalArgumentException.class, () ->
+            ProbeTiming.create(1_000, 400, 400, 400)
+        );
+    }
+}
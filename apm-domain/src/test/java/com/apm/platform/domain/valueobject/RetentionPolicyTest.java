@@ -0,0 +1,29 @@
+package com.apm.platform.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetentionPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Test
+    void shouldComputeCutoffPerTier() {
+        RetentionPolicy policy = RetentionPolicy.ofDays(7, 14, 30, 365);
+
+        assertEquals(Instant.parse("2024-05-25T00:00:00Z"), policy.rawCutoff(NOW));
+        assertEquals(Instant.parse("2024-05-18T00:00:00Z"), policy.rollupCutoff(RollupResolution.ONE_MINUTE, NOW));
+        assertEquals(Instant.parse("2024-05-02T00:00:00Z"), policy.rollupCutoff(RollupResolution.FIVE_MINUTES, NOW));
+        assertEquals(365, policy.getRetentionDays(RollupResolution.ONE_HOUR));
+    }
+
+    @Test
+    void shouldRejectRetentionOutsideBounds() {
+        assertThrows(IllegalArgumentException.class, () -> RetentionPolicy.ofDays(0, 7, 30, 365));
+        assertThrows(IllegalArgumentException.class, () ->
+            RetentionPolicy.ofDays(7, 7, 30, RetentionPolicy.MAX_RETENTION_DAYS + 1));
+    }
+}
@@ -0,0 +1,70 @@
+package com.apm.platform.domain.valueobject;
+
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.entity.Metric;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleExpressionTest {
+
+    @Test
+    void shouldGiveAndPrecedenceOverOr() {
+        RuleExpression expression = RuleExpression.parse("latency_ms > 2000 && status_code >= 500 || cpu > 90");
+
+        assertTrue(expression.test(metric(2500, 503, 10)));
+        assertTrue(expression.test(metric(100, 200, 95)));
+        assertFalse(expression.test(metric(2500, 200, 10)));
+        assertFalse(expression.test(metric(100, 503, 10)));
+    }
+
+    @Test
+    void shouldSupportParenthesesNegationAndBooleanFields() {
+        RuleExpression expression = RuleExpression.parse("(error || latency_ms >= 1000) && !(memory < 50)");
+
+        assertTrue(expression.test(Metric.create("system-1", 100, 500, true, 10.0, 80.0)));
+        assertTrue(expression.test(Metric.create("system-1", 1000, 200, false, 10.0, 50.0)));
+        assertFalse(expression.test(Metric.create("system-1", 1000, 200, false, 10.0, 40.0)));
+        assertFalse(expression.test(Metric.create("system-1", 100, 200, false, 10.0, 80.0)));
+    }
+
+    @Test
+    void shouldSupportAllComparisonOperators() {
+        Metric metric = metric(100, 404, 50);
+
+        assertTrue(RuleExpression.parse("status_code == 404").test(metric));
+        assertTrue(RuleExpression.parse("status_code != 500").test(metric));
+        assertTrue(RuleExpression.parse("cpu <= 50").test(metric));
+        assertTrue(RuleExpression.parse("cpu_usage_percent < 50.5").test(metric));
+        assertFalse(RuleExpression.parse("LATENCY_MS > 100").test(metric));
+    }
+
+    @Test
+    void shouldRejectMalformedExpressions() {
+        for (String source : new String[] {"", "latency_ms", "latency_ms >", "disk > 90", "(cpu > 90",
+                "cpu > 90 &&", "cpu > 90 cpu > 80", "cpu > 1.2.3", "cpu >> 90"}) {
+            assertThrows(IllegalArgumentException.class, () -> RuleExpression.parse(source), source);
+        }
+        assertThrows(IllegalArgumentException.class, () -> RuleExpression.parse("!".repeat(40) + "error"));
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleExpression.parse("cpu > 1 || ".repeat(50) + "cpu > 1"));
+    }
+
+    @Test
+    void shouldCompileOnceIntoExpressionRule() {
+        AlertRule rule = AlertRule.createExpression("system-1", "Degraded", AlertSeverity.CRITICAL,
+                " cpu > 90 || error ", 1);
+
+        assertEquals(AlertRule.AlertRuleType.EXPRESSION, rule.getType());
+        assertEquals("cpu > 90 || error", rule.getExpression());
+        assertTrue(rule.isViolated(metric(100, 200, 95)));
+        assertFalse(rule.isViolated(metric(100, 200, 10)));
+
+        assertThrows(IllegalArgumentException.class, () -> AlertRule.create("system-1", "Degraded",
+                AlertRule.AlertRuleType.EXPRESSION, AlertSeverity.CRITICAL, 0, 1));
+    }
+
+    private static Metric metric(long latencyMs, int statusCode, double cpu) {
+        return Metric.create("system-1", latencyMs, statusCode, statusCode >= 500, cpu, 20.0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.apm.platform.infrastructure.cluster;
+
+import com.apm.platform.infrastructure.persistence.repository.ClusterMemberJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private static final int EXPIRED_MEMBER_RETENTION_FACTOR = 10;
+
+    private final ClusterMemberJpaRepository memberRepository;
+    private final boolean partitioned;
+    private final String nodeId;
+    private final String hostName;
+    private final int virtualNodes;
+    private final long memberTtlMs;
+    private final Counter rebalanceCounter;
+
+    private volatile ConsistentHashRing ring = ConsistentHashRing.empty();
+    private volatile long lastHeartbeatAt;
+    private volatile long version;
+
+    public ClusterMembership(ClusterMemberJpaRepository memberRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${apm.cluster.partitioned:false}") boolean partitioned,
+                             @Value("${apm.cluster.node-id:}") String nodeId,
+                             @Value("${apm.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${apm.cluster.member-ttl-ms:15000}") long memberTtlMs) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1");
+        }
+        if (memberTtlMs < 1) {
+            throw new IllegalArgumentException("Member TTL must be positive");
+        }
+        this.memberRepository = memberRepository;
+        this.partitioned = partitioned;
+        this.hostName = resolveHostName();
+        this.nodeId = nodeId == null || nodeId.isBlank()
+                ? hostName + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+        this.virtualNodes = virtualNodes;
+        this.memberTtlMs = memberTtlMs;
+
+        this.rebalanceCounter = Counter.builder("apm.cluster.rebalances")
+                .description("Times system ownership was recomputed after a membership change")
+                .register(meterRegistry);
+        Gauge.builder("apm.cluster.members", this, m -> m.ring.getNodes().size())
+                .description("Live cluster members sharing the monitored systems")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void join() {
+        if (partitioned) {
+            logger.info("Joining collection cluster as node {}", nodeId);
+            heartbeat();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${apm.cluster.heartbeat-interval-ms:5000}",
+               initialDelayString = "${apm.cluster.heartbeat-interval-ms:5000}")
+    public synchronized void heartbeat() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            double ttlSeconds = memberTtlMs / 1000.0;
+            memberRepository.heartbeat(nodeId, hostName);
+            lastHeartbeatAt = System.currentTimeMillis();
+
+            Set<String> live = new HashSet<>(memberRepository.findLiveNodeIds(ttlSeconds));
+            live.add(nodeId);
+            if (!live.equals(ring.getNodes())) {
+                Set<String> previous = ring.getNodes();
+                ring = ConsistentHashRing.of(live, virtualNodes);
+                version++;
+                rebalanceCounter.increment();
+                logger.info("Cluster membership changed from {} to {}, rebalancing system ownership",
+                        previous, live);
+            }
+
+            memberRepository.deleteExpired(ttlSeconds * EXPIRED_MEMBER_RETENTION_FACTOR);
+        } catch (DataAccessException e) {
+            logger.warn("Cluster heartbeat failed for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    public boolean owns(String systemId) {
+        if (!partitioned) {
+            return true;
+        }
+        if (System.currentTimeMillis() - lastHeartbeatAt > memberTtlMs) {
+            return false;
+        }
+        return nodeId.equals(ring.ownerOf(systemId));
+    }
+
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (!partitioned) {
+            return;
+        }
+        try {
+            memberRepository.deleteById(nodeId);
+            logger.info("Node {} left the collection cluster", nodeId);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to deregister node {}, it will expire after {} ms", nodeId, memberTtlMs);
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
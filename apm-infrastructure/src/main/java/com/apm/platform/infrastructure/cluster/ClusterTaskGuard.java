@@ -0,0 +1,147 @@
+package com.apm.platform.infrastructure.cluster;
+
+import jakarta.annotation.PreDestroy;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ClusterTaskGuard {
+
+    public static final String COLLECTION_LEASE = "metricCollectionLeader";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterTaskGuard.class);
+
+    private final ClusterMembership membership;
+    private final LockProvider lockProvider;
+    private final LockingTaskExecutor lockingExecutor;
+    private final Clock clock;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private volatile long leaseAcquisitions;
+
+    @Autowired
+    public ClusterTaskGuard(ClusterMembership membership, LockProvider lockProvider) {
+        this(membership, lockProvider, Clock.systemUTC());
+    }
+
+    ClusterTaskGuard(ClusterMembership membership, LockProvider lockProvider, Clock clock) {
+        this.membership = membership;
+        this.lockProvider = lockProvider;
+        this.lockingExecutor = new DefaultLockingTaskExecutor(lockProvider);
+        this.clock = clock;
+    }
+
+    public void run(String lockName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        if (membership.isPartitioned()) {
+            task.run();
+            return;
+        }
+        lockingExecutor.executeWithLock(task,
+                new LockConfiguration(Instant.now(), lockName, lockAtMostFor, lockAtLeastFor));
+    }
+
+    // Acquires or renews a lock that this node keeps across calls, for roles that must live on exactly one
+    // replica. Call it more often than a third of the lease; a node that stops renewing loses the lock
+    // when the lease runs out and another replica takes over.
+    public synchronized boolean holdLease(String lockName, Duration leaseFor) {
+        Instant now = clock.instant();
+        Lease lease = leases.remove(lockName);
+        if (lease != null && now.isBefore(lease.expiresAt)) {
+            if (now.isBefore(lease.renewAfter)) {
+                leases.put(lockName, lease);
+                return true;
+            }
+            Optional<SimpleLock> extended = extend(lease.lock, leaseFor);
+            if (extended.isPresent()) {
+                leases.put(lockName, new Lease(extended.get(), now, leaseFor));
+                return true;
+            }
+            logger.warn("Lost cluster lease {}", lockName);
+        }
+        Optional<SimpleLock> acquired = lockProvider.lock(
+                new LockConfiguration(now, lockName, leaseFor, Duration.ZERO));
+        if (acquired.isEmpty()) {
+            return false;
+        }
+        leases.put(lockName, new Lease(acquired.get(), now, leaseFor));
+        leaseAcquisitions++;
+        logger.info("Acquired cluster lease {}", lockName);
+        return true;
+    }
+
+    public boolean holdsLease(String lockName) {
+        Lease lease = leases.get(lockName);
+        return lease != null && clock.instant().isBefore(lease.expiresAt);
+    }
+
+    // True when this node is the one collecting the system: its partition owner, or the leaseholder
+    // when unpartitioned.
+    public boolean isCollecting(String systemId) {
+        return membership.isPartitioned() ? membership.owns(systemId) : holdsLease(COLLECTION_LEASE);
+    }
+
+    // Changes whenever the systems this node collects may have been collected elsewhere in between.
+    public long collectionVersion() {
+        return membership.getVersion() + leaseAcquisitions;
+    }
+
+    public boolean owns(String systemId) {
+        return membership.owns(systemId);
+    }
+
+    public boolean isPartitioned() {
+        return membership.isPartitioned();
+    }
+
+    public long membershipVersion() {
+        return membership.getVersion();
+    }
+
+    @PreDestroy
+    public synchronized void releaseLeases() {
+        leases.values().forEach(lease -> {
+            try {
+                lease.lock.unlock();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to release cluster lease", e);
+            }
+        });
+        leases.clear();
+    }
+
+    private Optional<SimpleLock> extend(SimpleLock lock, Duration leaseFor) {
+        try {
+            return lock.extend(leaseFor, Duration.ZERO);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to renew cluster lease", e);
+            return Optional.empty();
+        }
+    }
+
+    private static final class Lease {
+
+        private final SimpleLock lock;
+        private final Instant renewAfter;
+        private final Instant expiresAt;
+
+        private Lease(SimpleLock lock, Instant acquiredAt, Duration leaseFor) {
+            this.lock = lock;
+            this.renewAfter = acquiredAt.plus(leaseFor.dividedBy(3));
+            this.expiresAt = acquiredAt.plus(leaseFor);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.apm.platform.infrastructure.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final Set<String> nodes;
+
+    private ConsistentHashRing(NavigableMap<Long, String> ring, Set<String> nodes) {
+        this.ring = ring;
+        this.nodes = nodes;
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+        if (nodes == null) {
+            throw new IllegalArgumentException("Nodes cannot be null");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1");
+        }
+
+        NavigableMap<Long, String> ring = new TreeMap<>();
+        Set<String> sortedNodes = new TreeSet<>(nodes);
+        for (String node : sortedNodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(node + "#" + i), node);
+            }
+        }
+        return new ConsistentHashRing(ring, Set.copyOf(sortedNodes));
+    }
+
+    public static ConsistentHashRing empty() {
+        return new ConsistentHashRing(new TreeMap<>(), Set.of());
+    }
+
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    private static long hash(String value) {
+        byte[] digest = md5().digest(value.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 digest not available", e);
+        }
+    }
+}
@@ -3,60 +3,90 @@ package com.apm.platform.infrastructure.collector;
 import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.port.outgoing.MetricCollectorGateway;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
+@Primary
 @ConditionalOnProperty(name = "apm.collector.actuator.enabled", havingValue = "true", matchIfMissing = false)
 public class ActuatorMetricCollector implements MetricCollectorGateway {
 
     private static final Logger logger = LoggerFactory.getLogger(ActuatorMetricCollector.class);
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    public ActuatorMetricCollector() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    private static final String SYSTEM_CPU = "system_cpu_usage";
+    private static final String PROCESS_CPU = "process_cpu_usage";
+    private static final String HEAP_USED = "jvm_memory_used_bytes{area=\"heap\"}";
+    private static final String HEAP_MAX = "jvm_memory_max_bytes{area=\"heap\"}";
+
+    private final HttpProbeClient probeClient;
+    private final SystemCircuitBreaker circuitBreaker;
+    private final PrometheusTextParser parser;
+    private final List<String> extraSeries;
+
+    public ActuatorMetricCollector(HttpProbeClient probeClient,
+                                   SystemCircuitBreaker circuitBreaker,
+                                   @Value("${apm.collector.actuator.extra-series:process_uptime_seconds,jvm_threads_live_threads,jvm_gc_pause_seconds_sum,jvm_gc_pause_seconds_count,system_load_average_1m,hikaricp_connections_active,http_server_requests_seconds_count}") List<String> extraSeries) {
+        this.probeClient = probeClient;
+        this.circuitBreaker = circuitBreaker;
+        this.extraSeries = List.copyOf(extraSeries);
+
+        List<String> selectors = new ArrayList<>(List.of(SYSTEM_CPU, PROCESS_CPU, HEAP_USED, HEAP_MAX));
+        selectors.addAll(this.extraSeries);
+        this.parser = new PrometheusTextParser(selectors);
     }
 
     @Override
     public MetricSnapshot collectMetrics(MonitoredSystem system) {
-        logger.debug("Collecting Actuator metrics for system: {}", system.getName());
+        logger.debug("Scraping Actuator Prometheus endpoint for system: {}", system.getName());
 
-        String actuatorHealthUrl = system.getBaseUrl() + "/actuator/health";
-        String actuatorMetricsUrl = system.getBaseUrl() + "/actuator/metrics";
+        circuitBreaker.acquire(system);
+        String prometheusUrl = system.getBaseUrl() + "/actuator/prometheus";
 
-        long startTime = System.currentTimeMillis();
-        
         try {
-            ResponseEntity<String> healthResponse = restTemplate.getForEntity(actuatorHealthUrl, String.class);
-            long endTime = System.currentTimeMillis();
-            long latency = endTime - startTime;
+            ProbeResponse<Map<String, Double>> response = probeClient.get(prometheusUrl, parser);
+            circuitBreaker.recordSuccess(system.getId());
+            long latency = response.getElapsed().toMillis();
+            int statusCode = response.getStatusCode();
+
+            if (!response.is2xxSuccessful()) {
+                logger.warn("Actuator Prometheus endpoint returned {} for system: {}", statusCode, system.getName());
+                return MetricSnapshot.create(latency, 0.0, 0.0, statusCode, true)
+                    .withTiming(response.getTiming());
+            }
 
-            int statusCode = healthResponse.getStatusCode().value();
-            boolean hasError = !healthResponse.getStatusCode().is2xxSuccessful();
+            Map<String, Double> series = response.getBody();
+            double cpuUsage = extractCpuUsage(series);
+            double memoryUsage = extractMemoryUsage(series);
 
-            double cpuUsage = extractCpuUsage(system);
-            double memoryUsage = extractMemoryUsage(system);
+            Map<String, Object> additionalData = new HashMap<>();
+            for (String name : extraSeries) {
+                Double value = series.get(name);
+                if (value != null && Double.isFinite(value)) {
+                    additionalData.put(name, value);
+                }
+            }
+
+            logger.debug("Actuator metrics collected for {}: latency={}ms, cpu={}%, memory={}%, extra={}",
+                system.getName(), latency, cpuUsage, memoryUsage, additionalData.size());
 
-            logger.debug("Actuator metrics collected for {}: latency={}ms, cpu={}%, memory={}%", 
-                system.getName(), latency, cpuUsage, memoryUsage);
+            return MetricSnapshot.create(latency, cpuUsage, memoryUsage, statusCode, false, additionalData)
+                .withTiming(response.getTiming());
 
-            return MetricSnapshot.create(latency, cpuUsage, memoryUsage, statusCode, hasError);
+        } catch (HttpProbeFailedException e) {
+            circuitBreaker.recordFailure(system.getId());
+            long latency = e.getElapsed().toMillis();
 
-        } catch (Exception e) {
-            long endTime = System.currentTimeMillis();
-            long latency = endTime - startTime;
-            
             logger.error("Failed to collect Actuator metrics for system: {}", system.getName(), e);
-            
+
             return MetricSnapshot.create(latency, 0.0, 0.0, 503, true);
         }
     }
@@ -64,59 +94,32 @@ public class ActuatorMetricCollector implements MetricCollectorGateway {
     @Override
     public boolean isReachable(MonitoredSystem system) {
         try {
-            String actuatorHealthUrl = system.getBaseUrl() + "/actuator/health";
-            ResponseEntity<String> response = restTemplate.getForEntity(actuatorHealthUrl, String.class);
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
+            ProbeResponse<String> response = probeClient.get(system.getBaseUrl() + "/actuator/health");
+            return response.is2xxSuccessful();
+        } catch (HttpProbeFailedException e) {
             logger.warn("Actuator endpoint not reachable for system: {}", system.getName());
             return false;
         }
     }
 
-    private double extractCpuUsage(MonitoredSystem system) {
-        try {
-            String cpuMetricUrl = system.getBaseUrl() + "/actuator/metrics/system.cpu.usage";
-            ResponseEntity<String> response = restTemplate.getForEntity(cpuMetricUrl, String.class);
-            
-            JsonNode root = objectMapper.readTree(response.getBody());
-            JsonNode measurements = root.get("measurements");
-            
-            if (measurements != null && measurements.isArray() && measurements.size() > 0) {
-                double value = measurements.get(0).get("value").asDouble();
-                return value * 100.0;
-            }
-        } catch (Exception e) {
-            logger.debug("Could not extract CPU usage from Actuator", e);
+    private double extractCpuUsage(Map<String, Double> series) {
+        Double cpu = series.getOrDefault(SYSTEM_CPU, series.get(PROCESS_CPU));
+        if (cpu == null || !Double.isFinite(cpu)) {
+            return 0.0;
         }
-        
-        return Math.random() * 100;
+        return clampPercentage(cpu * 100.0);
     }
 
-    private double extractMemoryUsage(MonitoredSystem system) {
-        try {
-            String memoryMetricUrl = system.getBaseUrl() + "/actuator/metrics/jvm.memory.used";
-            ResponseEntity<String> response = restTemplate.getForEntity(memoryMetricUrl, String.class);
-            
-            JsonNode root = objectMapper.readTree(response.getBody());
-            JsonNode measurements = root.get("measurements");
-            
-            if (measurements != null && measurements.isArray() && measurements.size() > 0) {
-                double used = measurements.get(0).get("value").asDouble();
-                
-                String memoryMaxUrl = system.getBaseUrl() + "/actuator/metrics/jvm.memory.max";
-                ResponseEntity<String> maxResponse = restTemplate.getForEntity(memoryMaxUrl, String.class);
-                JsonNode maxRoot = objectMapper.readTree(maxResponse.getBody());
-                JsonNode maxMeasurements = maxRoot.get("measurements");
-                
-                if (maxMeasurements != null && maxMeasurements.isArray() && maxMeasurements.size() > 0) {
-                    double max = maxMeasurements.get(0).get("value").asDouble();
-                    return (used / max) * 100.0;
-                }
-            }
-        } catch (Exception e) {
-            logger.debug("Could not extract memory usage from Actuator", e);
+    private double extractMemoryUsage(Map<String, Double> series) {
+        Double used = series.get(HEAP_USED);
+        Double max = series.get(HEAP_MAX);
+        if (used == null || max == null || max <= 0) {
+            return 0.0;
         }
-        
-        return Math.random() * 100;
+        return clampPercentage((used / max) * 100.0);
+    }
+
+    private double clampPercentage(double value) {
+        return Math.max(0.0, Math.min(100.0, value));
     }
 }
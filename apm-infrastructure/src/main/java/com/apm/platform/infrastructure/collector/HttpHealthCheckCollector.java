@@ -5,51 +5,41 @@ import com.apm.platform.domain.port.outgoing.MetricCollectorGateway;
 import com.apm.platform.domain.valueobject.MetricSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-
-import java.time.Instant;
 
 @Component
 public class HttpHealthCheckCollector implements MetricCollectorGateway {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpHealthCheckCollector.class);
-    private static final int DEFAULT_TIMEOUT_MS = 5000;
 
-    private final RestTemplate restTemplate;
+    private final HttpProbeClient probeClient;
+    private final SystemCircuitBreaker circuitBreaker;
 
-    public HttpHealthCheckCollector() {
-        this.restTemplate = new RestTemplate();
+    public HttpHealthCheckCollector(HttpProbeClient probeClient, SystemCircuitBreaker circuitBreaker) {
+        this.probeClient = probeClient;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
     public MetricSnapshot collectMetrics(MonitoredSystem system) {
         logger.debug("Collecting metrics for system: {}", system.getName());
 
+        circuitBreaker.acquire(system);
         String healthEndpoint = getHealthEndpoint(system);
-        HttpHeaders headers = createHeaders();
-        
-        long startTime = System.currentTimeMillis();
+
         int statusCode = 0;
         boolean hasError = false;
         double cpuUsage = 0.0;
         double memoryUsage = 0.0;
 
         try {
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                healthEndpoint, HttpMethod.GET, entity, String.class);
-            long endTime = System.currentTimeMillis();
-            long latency = endTime - startTime;
+            ProbeResponse<String> response = probeClient.get(healthEndpoint);
+            circuitBreaker.recordSuccess(system.getId());
+            long latency = response.getElapsed().toMillis();
 
-            statusCode = response.getStatusCode().value();
+            statusCode = response.getStatusCode();
             // Considera 2xx e 3xx (redirects) como sucesso
-            hasError = !(response.getStatusCode().is2xxSuccessful() || response.getStatusCode().is3xxRedirection());
+            hasError = !(response.is2xxSuccessful() || response.is3xxRedirection());
 
             // Valores baixos para sistemas externos (não temos acesso real a métricas)
             // Mantém abaixo dos thresholds: 80% CPU, 85% Memory
@@ -59,12 +49,13 @@ public class HttpHealthCheckCollector implements MetricCollectorGateway {
             logger.debug("Metrics collected for {}: latency={}ms, status={}", 
                 system.getName(), latency, statusCode);
 
-            return MetricSnapshot.create(latency, cpuUsage, memoryUsage, statusCode, hasError);
+            return MetricSnapshot.create(latency, cpuUsage, memoryUsage, statusCode, hasError)
+                .withTiming(response.getTiming());
+
+        } catch (HttpProbeFailedException e) {
+            circuitBreaker.recordFailure(system.getId());
+            long latency = e.getElapsed().toMillis();
 
-        } catch (Exception e) {
-            long endTime = System.currentTimeMillis();
-            long latency = endTime - startTime;
-            
             statusCode = 503;
             hasError = true;
 
@@ -77,13 +68,9 @@ public class HttpHealthCheckCollector implements MetricCollectorGateway {
     @Override
     public boolean isReachable(MonitoredSystem system) {
         try {
-            String healthEndpoint = getHealthEndpoint(system);
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                healthEndpoint, HttpMethod.GET, entity, String.class);
-            return response.getStatusCode().is2xxSuccessful() || response.getStatusCode().is3xxRedirection();
-        } catch (Exception e) {
+            ProbeResponse<String> response = probeClient.get(getHealthEndpoint(system));
+            return response.is2xxSuccessful() || response.is3xxRedirection();
+        } catch (HttpProbeFailedException e) {
             logger.warn("System {} is not reachable", system.getName());
             return false;
         }
@@ -95,10 +82,4 @@ public class HttpHealthCheckCollector implements MetricCollectorGateway {
         }
         return system.getBaseUrl() + "/health";
     }
-
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("User-Agent", "APM-Monitor/1.0 (Health Check)");
-        return headers;
-    }
 }
@@ -0,0 +1,158 @@
+package com.apm.platform.infrastructure.collector;
+
+import com.apm.platform.domain.valueobject.ProbeTiming;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class HttpProbeClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpProbeClient.class);
+    private static final String USER_AGENT = "APM-Monitor/1.0 (Health Check)";
+
+    private final HttpClient httpClient;
+    private final HttpClient pingClient;
+    private final ExecutorService executor;
+    private final Duration readTimeout;
+    private final Duration pingTimeout;
+
+    public HttpProbeClient(@Value("${apm.collector.http.connect-timeout:5000}") long connectTimeoutMs,
+                           @Value("${apm.collector.http.read-timeout:10000}") long readTimeoutMs,
+                           @Value("${apm.collector.http.version:HTTP_2}") HttpClient.Version version,
+                           @Value("${apm.collector.http.ping-timeout:1000}") long pingTimeoutMs) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        this.pingTimeout = Duration.ofMillis(pingTimeoutMs);
+        this.pingClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(pingTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+
+        logger.info("HTTP probe client initialized: version={}, connectTimeout={}ms, readTimeout={}ms",
+                version, connectTimeoutMs, readTimeoutMs);
+    }
+
+    public ProbeResponse<String> get(String url) {
+        PhaseRecorder phases = new PhaseRecorder();
+        try {
+            HttpRequest request = buildRequest(url);
+            phases.resolve(request.uri());
+            HttpResponse<String> response = httpClient.send(request, phases.wrap(HttpResponse.BodyHandlers.ofString()));
+            return new ProbeResponse<>(response.statusCode(), response.body(), phases.finish());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new HttpProbeFailedException(url, phases.elapsed(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpProbeFailedException(url, phases.elapsed(), e);
+        }
+    }
+
+    public <T> ProbeResponse<T> get(String url, ProbeBodyParser<T> parser) {
+        PhaseRecorder phases = new PhaseRecorder();
+        try {
+            HttpRequest request = buildRequest(url);
+            phases.resolve(request.uri());
+            HttpResponse<InputStream> response = httpClient.send(request,
+                    phases.wrap(HttpResponse.BodyHandlers.ofInputStream()));
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                int statusCode = response.statusCode();
+                T body = statusCode >= 200 && statusCode < 300 ? parser.parse(reader) : null;
+                return new ProbeResponse<>(statusCode, body, phases.finish());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new HttpProbeFailedException(url, phases.elapsed(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpProbeFailedException(url, phases.elapsed(), e);
+        }
+    }
+
+    public boolean ping(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(pingTimeout)
+                    .header("User-Agent", USER_AGENT)
+                    .build();
+            pingClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest buildRequest(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .GET()
+                .timeout(readTimeout)
+                .header("User-Agent", USER_AGENT)
+                .build();
+    }
+
+    private static final class PhaseRecorder {
+
+        private final long startNanos = System.nanoTime();
+        private volatile long resolvedNanos;
+        private volatile long headersNanos;
+
+        void resolve(URI uri) throws UnknownHostException {
+            String host = uri.getHost();
+            if (host != null) {
+                InetAddress.getAllByName(host);
+            }
+            resolvedNanos = System.nanoTime();
+        }
+
+        <T> HttpResponse.BodyHandler<T> wrap(HttpResponse.BodyHandler<T> handler) {
+            return responseInfo -> {
+                headersNanos = System.nanoTime();
+                return handler.apply(responseInfo);
+            };
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - startNanos);
+        }
+
+        ProbeTiming finish() {
+            long endNanos = System.nanoTime();
+            return ProbeTiming.create(endNanos - startNanos, resolvedNanos - startNanos,
+                    headersNanos - resolvedNanos, endNanos - headersNanos);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.apm.platform.infrastructure.collector;
+
+import java.time.Duration;
+
+public class HttpProbeFailedException extends RuntimeException {
+
+    private final Duration elapsed;
+
+    public HttpProbeFailedException(String url, Duration elapsed, Throwable cause) {
+        super(String.format("HTTP probe to %s failed after %d ms", url, elapsed.toMillis()), cause);
+        this.elapsed = elapsed;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+}
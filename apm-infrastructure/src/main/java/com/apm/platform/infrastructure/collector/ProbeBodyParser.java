@@ -0,0 +1,10 @@
+package com.apm.platform.infrastructure.collector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ProbeBodyParser<T> {
+
+    T parse(BufferedReader reader) throws IOException;
+}
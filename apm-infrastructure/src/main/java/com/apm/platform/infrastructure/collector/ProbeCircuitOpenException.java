@@ -0,0 +1,15 @@
+package com.apm.platform.infrastructure.collector;
+
+public class ProbeCircuitOpenException extends RuntimeException {
+
+    private final String systemId;
+
+    public ProbeCircuitOpenException(String systemId) {
+        super("Probe circuit is open for system: " + systemId);
+        this.systemId = systemId;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.apm.platform.infrastructure.collector;
+
+import com.apm.platform.domain.valueobject.ProbeTiming;
+
+import java.time.Duration;
+
+public final class ProbeResponse<T> {
+
+    private final int statusCode;
+    private final T body;
+    private final ProbeTiming timing;
+
+    public ProbeResponse(int statusCode, T body, ProbeTiming timing) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.timing = timing;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(timing.getTotalNanos());
+    }
+
+    public ProbeTiming getTiming() {
+        return timing;
+    }
+
+    public boolean is2xxSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public boolean is3xxRedirection() {
+        return statusCode >= 300 && statusCode < 400;
+    }
+}
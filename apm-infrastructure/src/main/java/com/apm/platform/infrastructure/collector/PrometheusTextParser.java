@@ -0,0 +1,128 @@
+package com.apm.platform.infrastructure.collector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PrometheusTextParser implements ProbeBodyParser<Map<String, Double>> {
+
+    private final List<SeriesSelector> selectors;
+
+    public PrometheusTextParser(Collection<String> selectors) {
+        if (selectors == null || selectors.isEmpty()) {
+            throw new IllegalArgumentException("At least one series selector is required");
+        }
+        this.selectors = new ArrayList<>(selectors.size());
+        for (String selector : selectors) {
+            this.selectors.add(SeriesSelector.parse(selector));
+        }
+    }
+
+    @Override
+    public Map<String, Double> parse(BufferedReader reader) throws IOException {
+        Map<String, Double> values = new HashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            for (SeriesSelector selector : selectors) {
+                if (selector.matches(line)) {
+                    double value = parseValue(line, selector.name.length());
+                    if (!Double.isNaN(value)) {
+                        values.merge(selector.key, value, Double::sum);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    private static double parseValue(String line, int nameEnd) {
+        int start = line.charAt(nameEnd) == '{' ? line.lastIndexOf('}') + 1 : nameEnd;
+        while (start < line.length() && line.charAt(start) == ' ') {
+            start++;
+        }
+        int end = line.indexOf(' ', start);
+        if (end < 0) {
+            end = line.length();
+        }
+        if (start >= end) {
+            return Double.NaN;
+        }
+        String token = line.substring(start, end);
+        try {
+            return switch (token) {
+                case "+Inf" -> Double.POSITIVE_INFINITY;
+                case "-Inf" -> Double.NEGATIVE_INFINITY;
+                default -> Double.parseDouble(token);
+            };
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static final class SeriesSelector {
+
+        private final String key;
+        private final String name;
+        private final List<String> labelMatchers;
+
+        private SeriesSelector(String key, String name, List<String> labelMatchers) {
+            this.key = key;
+            this.name = name;
+            this.labelMatchers = labelMatchers;
+        }
+
+        static SeriesSelector parse(String selector) {
+            String trimmed = selector.trim();
+            int brace = trimmed.indexOf('{');
+            if (brace < 0) {
+                return new SeriesSelector(trimmed, trimmed, List.of());
+            }
+            if (!trimmed.endsWith("}")) {
+                throw new IllegalArgumentException("Invalid series selector: " + selector);
+            }
+            List<String> matchers = new ArrayList<>();
+            for (String matcher : trimmed.substring(brace + 1, trimmed.length() - 1).split(",")) {
+                if (!matcher.isBlank()) {
+                    matchers.add(matcher.trim());
+                }
+            }
+            return new SeriesSelector(trimmed, trimmed.substring(0, brace), matchers);
+        }
+
+        boolean matches(String line) {
+            int nameLength = name.length();
+            if (line.length() <= nameLength || !line.startsWith(name)) {
+                return false;
+            }
+            char next = line.charAt(nameLength);
+            if (next != '{' && next != ' ') {
+                return false;
+            }
+            if (labelMatchers.isEmpty()) {
+                return true;
+            }
+            if (next != '{') {
+                return false;
+            }
+            int labelsEnd = line.lastIndexOf('}');
+            for (String matcher : labelMatchers) {
+                int at = line.indexOf(matcher, nameLength);
+                if (at < 0 || at > labelsEnd) {
+                    return false;
+                }
+                char before = line.charAt(at - 1);
+                if (before != '{' && before != ',') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
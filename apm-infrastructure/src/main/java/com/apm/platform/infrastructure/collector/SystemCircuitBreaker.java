@@ -0,0 +1,169 @@
+package com.apm.platform.infrastructure.collector;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.ProbeCircuitBreakerGateway;
+import com.apm.platform.domain.valueobject.ProbeCircuitState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class SystemCircuitBreaker implements ProbeCircuitBreakerGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemCircuitBreaker.class);
+
+    private final HttpProbeClient probeClient;
+    private final int failureThreshold;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+    private final Map<ProbeCircuitState, Counter> transitionCounters = new EnumMap<>(ProbeCircuitState.class);
+
+    public SystemCircuitBreaker(HttpProbeClient probeClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${apm.collector.circuit-breaker.failure-threshold:3}") int failureThreshold,
+                                @Value("${apm.collector.circuit-breaker.initial-backoff-ms:30000}") long initialBackoffMs,
+                                @Value("${apm.collector.circuit-breaker.max-backoff-ms:900000}") long maxBackoffMs) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+        }
+        if (initialBackoffMs < 1 || maxBackoffMs < initialBackoffMs) {
+            throw new IllegalArgumentException("Backoff must be positive and not exceed the maximum backoff");
+        }
+        this.probeClient = probeClient;
+        this.failureThreshold = failureThreshold;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        this.rejectedCounter = Counter.builder("apm.collection.circuit.rejected")
+                .description("Collections skipped because the system's probe circuit was open")
+                .register(meterRegistry);
+        for (ProbeCircuitState state : ProbeCircuitState.values()) {
+            Gauge.builder("apm.collection.circuit.systems", circuits, c -> countInState(state))
+                    .description("Number of systems whose probe circuit is in the given state")
+                    .tag("state", state.name())
+                    .register(meterRegistry);
+            transitionCounters.put(state, Counter.builder("apm.collection.circuit.transitions")
+                    .description("Probe circuit state transitions")
+                    .tag("to", state.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    // The backoff ping runs outside the circuit lock: it is network I/O on a virtual thread. Only the
+    // caller that claimed the trial pings, and only it is let through while the circuit is HALF_OPEN.
+    public void acquire(MonitoredSystem system) {
+        Circuit circuit = circuits.computeIfAbsent(system.getId(), id -> new Circuit());
+        circuit.lock.lock();
+        try {
+            if (circuit.state == ProbeCircuitState.CLOSED) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            // A trial that never reported back is abandoned once its own backoff has passed.
+            if (now < circuit.openUntilMillis || (circuit.trialClaimed && now < circuit.trialExpiresAtMillis)) {
+                rejectedCounter.increment();
+                throw new ProbeCircuitOpenException(system.getId());
+            }
+            circuit.trialClaimed = true;
+            circuit.trialExpiresAtMillis = now + circuit.backoffMillis;
+        } finally {
+            circuit.lock.unlock();
+        }
+
+        boolean reachable = probeClient.ping(system.getBaseUrl());
+
+        circuit.lock.lock();
+        try {
+            if (!reachable) {
+                circuit.trialClaimed = false;
+                circuit.backoffMillis = Math.min(circuit.backoffMillis * 2, maxBackoffMs);
+                circuit.openUntilMillis = System.currentTimeMillis() + circuit.backoffMillis;
+                rejectedCounter.increment();
+                logger.debug("Backoff probe failed for system {}, retrying in {} ms",
+                        system.getName(), circuit.backoffMillis);
+                throw new ProbeCircuitOpenException(system.getId());
+            }
+            if (circuit.state != ProbeCircuitState.HALF_OPEN) {
+                transition(system.getId(), circuit, ProbeCircuitState.HALF_OPEN);
+            }
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    public void recordSuccess(String systemId) {
+        Circuit circuit = circuits.computeIfAbsent(systemId, id -> new Circuit());
+        circuit.lock.lock();
+        try {
+            circuit.consecutiveFailures = 0;
+            circuit.backoffMillis = initialBackoffMs;
+            circuit.trialClaimed = false;
+            if (circuit.state != ProbeCircuitState.CLOSED) {
+                transition(systemId, circuit, ProbeCircuitState.CLOSED);
+            }
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    public void recordFailure(String systemId) {
+        Circuit circuit = circuits.computeIfAbsent(systemId, id -> new Circuit());
+        circuit.lock.lock();
+        try {
+            circuit.consecutiveFailures++;
+            if (circuit.state == ProbeCircuitState.HALF_OPEN) {
+                circuit.trialClaimed = false;
+                circuit.backoffMillis = Math.min(circuit.backoffMillis * 2, maxBackoffMs);
+                open(systemId, circuit);
+            } else if (circuit.state == ProbeCircuitState.CLOSED && circuit.consecutiveFailures >= failureThreshold) {
+                circuit.backoffMillis = initialBackoffMs;
+                open(systemId, circuit);
+            }
+        } finally {
+            circuit.lock.unlock();
+        }
+    }
+
+    @Override
+    public ProbeCircuitState getState(String systemId) {
+        Circuit circuit = circuits.get(systemId);
+        return circuit != null ? circuit.state : ProbeCircuitState.CLOSED;
+    }
+
+    private void open(String systemId, Circuit circuit) {
+        circuit.openUntilMillis = System.currentTimeMillis() + circuit.backoffMillis;
+        transition(systemId, circuit, ProbeCircuitState.OPEN);
+    }
+
+    private void transition(String systemId, Circuit circuit, ProbeCircuitState target) {
+        logger.info("Probe circuit for system {} changed from {} to {} (failures: {}, backoff: {} ms)",
+                systemId, circuit.state, target, circuit.consecutiveFailures, circuit.backoffMillis);
+        circuit.state = target;
+        transitionCounters.get(target).increment();
+    }
+
+    private long countInState(ProbeCircuitState state) {
+        return circuits.values().stream().filter(c -> c.state == state).count();
+    }
+
+    private final class Circuit {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile ProbeCircuitState state = ProbeCircuitState.CLOSED;
+        private boolean trialClaimed;
+        private long trialExpiresAtMillis;
+        private int consecutiveFailures;
+        private long backoffMillis = initialBackoffMs;
+        private long openUntilMillis;
+    }
+}
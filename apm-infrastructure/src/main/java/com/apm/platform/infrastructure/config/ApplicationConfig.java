@@ -2,9 +2,11 @@ package com.apm.platform.infrastructure.config;
 
 import com.apm.platform.application.usecase.*;
 import com.apm.platform.domain.port.outgoing.*;
+import com.apm.platform.domain.service.AlertLifecycleDomainService;
 import com.apm.platform.domain.service.AlertRuleDomainService;
 import com.apm.platform.domain.service.HealthEvaluationDomainService;
 import com.apm.platform.domain.service.UptimeCalculationDomainService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -26,6 +28,11 @@ public class ApplicationConfig {
         return new AlertRuleDomainService();
     }
 
+    @Bean
+    public AlertLifecycleDomainService alertLifecycleDomainService() {
+        return new AlertLifecycleDomainService();
+    }
+
     @Bean
     public RegisterMonitoredSystemUseCase registerMonitoredSystemUseCase(
             MonitoredSystemRepository systemRepository) {
@@ -55,9 +62,10 @@ public class ApplicationConfig {
             MonitoredSystemRepository systemRepository,
             MetricRepository metricRepository,
             MetricCollectorGateway collectorGateway,
-            DomainEventPublisher eventPublisher) {
+            DomainEventPublisher eventPublisher,
+            MetricRollupRepository rollupRepository) {
         return new CollectSystemMetricsUseCase(
-            systemRepository, metricRepository, collectorGateway, eventPublisher);
+            systemRepository, metricRepository, collectorGateway, eventPublisher, rollupRepository);
     }
 
     @Bean
@@ -81,26 +89,41 @@ public class ApplicationConfig {
             systemRepository, alertRuleRepository, alertRepository, notifierGateway, eventPublisher);
     }
 
+    @Bean
+    public TrackAlertLifecycleUseCase trackAlertLifecycleUseCase(
+            AlertRepository alertRepository,
+            TriggerAlertUseCase triggerAlertUseCase,
+            AlertLifecycleDomainService lifecycleService) {
+        return new TrackAlertLifecycleUseCase(alertRepository, triggerAlertUseCase, lifecycleService);
+    }
+
     @Bean
     public QueryHistoricalMetricsUseCase queryHistoricalMetricsUseCase(
             MonitoredSystemRepository systemRepository,
-            MetricRepository metricRepository) {
-        return new QueryHistoricalMetricsUseCase(systemRepository, metricRepository);
+            MetricRepository metricRepository,
+            MetricRollupRepository rollupRepository) {
+        return new QueryHistoricalMetricsUseCase(systemRepository, metricRepository, rollupRepository);
     }
 
     @Bean
     public GenerateUptimeReportUseCase generateUptimeReportUseCase(
             MonitoredSystemRepository systemRepository,
             MetricRepository metricRepository,
-            UptimeCalculationDomainService uptimeService) {
-        return new GenerateUptimeReportUseCase(systemRepository, metricRepository, uptimeService);
+            UptimeCalculationDomainService uptimeService,
+            MetricRollupRepository rollupRepository,
+            @Value("${apm.report.latency-objective.quantile:0.99}") double latencyObjectiveQuantile,
+            @Value("${apm.report.latency-objective.threshold-ms:0}") long latencyObjectiveMs) {
+        return new GenerateUptimeReportUseCase(systemRepository, metricRepository, uptimeService, rollupRepository,
+                latencyObjectiveQuantile, latencyObjectiveMs);
     }
 
     @Bean
     public CreateAlertRuleUseCase createAlertRuleUseCase(
             MonitoredSystemRepository systemRepository,
-            AlertRuleRepository alertRuleRepository) {
-        return new CreateAlertRuleUseCase(systemRepository, alertRuleRepository);
+            AlertRuleRepository alertRuleRepository,
+            @Value("${apm.alert.evaluation.mode:polling}") String evaluationMode) {
+        return new CreateAlertRuleUseCase(systemRepository, alertRuleRepository,
+                "streaming".equals(evaluationMode));
     }
 
     @Bean
@@ -110,4 +133,11 @@ public class ApplicationConfig {
             UptimeCalculationDomainService uptimeService) {
         return new CalculateSystemUptimeUseCase(systemRepository, metricRepository, uptimeService);
     }
+
+    @Bean
+    public ManageRetentionPolicyUseCase manageRetentionPolicyUseCase(
+            MonitoredSystemRepository systemRepository,
+            RetentionPolicyRepository policyRepository) {
+        return new ManageRetentionPolicyUseCase(systemRepository, policyRepository);
+    }
 }
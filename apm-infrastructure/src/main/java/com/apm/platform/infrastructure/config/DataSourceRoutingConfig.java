@@ -0,0 +1,101 @@
+package com.apm.platform.infrastructure.config;
+
+import com.apm.platform.infrastructure.persistence.datasource.DataSourceRoute;
+import com.apm.platform.infrastructure.persistence.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "apm.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfig.class);
+
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("apm-write");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                           @Value("${apm.datasource.read.url:}") String url,
+                                           @Value("${apm.datasource.read.username:}") String username,
+                                           @Value("${apm.datasource.read.password:}") String password,
+                                           @Value("${apm.datasource.read.maximum-pool-size:10}") int maximumPoolSize,
+                                           @Value("${apm.datasource.read.minimum-idle:2}") int minimumIdle,
+                                           @Value("${apm.datasource.read.connection-timeout-ms:5000}") long connectionTimeoutMs) {
+        HikariConfig config = new HikariConfig();
+        writeDataSource.copyStateTo(config);
+        config.setPoolName("apm-read");
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+        config.setConnectionTimeout(connectionTimeoutMs);
+        if (url.isBlank()) {
+            logger.info("No read replica configured, read-only work uses a separate pool on the primary");
+        } else {
+            config.setJdbcUrl(url);
+            if (!username.isBlank()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            logger.info("Routing read-only work to replica {}", url);
+        }
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("readDataSource") HikariDataSource readDataSource,
+                                 MeterRegistry meterRegistry) {
+        registerPoolGauges(DataSourceRoute.WRITE, writeDataSource, meterRegistry);
+        registerPoolGauges(DataSourceRoute.READ, readDataSource, meterRegistry);
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(writeDataSource, readDataSource, meterRegistry));
+    }
+
+    private static void registerPoolGauges(DataSourceRoute route, HikariDataSource dataSource,
+                                           MeterRegistry meterRegistry) {
+        Gauge.builder("apm.datasource.pool.saturation", dataSource, DataSourceRoutingConfig::saturation)
+                .description("Share of the route's pool connections currently in use")
+                .tag("route", route.getTag())
+                .register(meterRegistry);
+        Gauge.builder("apm.datasource.pool.pending", dataSource,
+                        ds -> pool(ds) == null ? 0 : pool(ds).getThreadsAwaitingConnection())
+                .description("Threads waiting for a connection from the route's pool")
+                .tag("route", route.getTag())
+                .register(meterRegistry);
+    }
+
+    static double saturation(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = pool(dataSource);
+        if (pool == null || dataSource.getMaximumPoolSize() == 0) {
+            return 0.0;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+
+    private static HikariPoolMXBean pool(HikariDataSource dataSource) {
+        return dataSource.isRunning() ? dataSource.getHikariPoolMXBean() : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.apm.platform.infrastructure.event;
+
+import com.apm.platform.application.usecase.TrackAlertLifecycleUseCase;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AlertLifecycleRecoveryListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertLifecycleRecoveryListener.class);
+
+    private final TrackAlertLifecycleUseCase lifecycleUseCase;
+    private final ClusterTaskGuard taskGuard;
+
+    private volatile long recoveredMembershipVersion = -1;
+
+    public AlertLifecycleRecoveryListener(TrackAlertLifecycleUseCase lifecycleUseCase, ClusterTaskGuard taskGuard) {
+        this.lifecycleUseCase = lifecycleUseCase;
+        this.taskGuard = taskGuard;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOpenAlerts() {
+        recover();
+    }
+
+    // Episodes live in the evaluating node's memory. When ownership moves, the new owner adopts the open
+    // alerts of the systems it gained and the old owner drops the ones it lost. Unpartitioned, any node may
+    // evaluate a cycle, so every node re-syncs each interval to drop episodes another node has resolved.
+    @Scheduled(fixedDelayString = "${apm.cluster.heartbeat-interval-ms:5000}",
+               initialDelayString = "${apm.cluster.heartbeat-interval-ms:5000}")
+    public void recoverOnMembershipChange() {
+        if (!taskGuard.isPartitioned() || taskGuard.membershipVersion() != recoveredMembershipVersion) {
+            recover();
+        }
+    }
+
+    private synchronized void recover() {
+        long membershipVersion = taskGuard.membershipVersion();
+        try {
+            int recovered = lifecycleUseCase.recover(taskGuard::owns);
+            if (membershipVersion != recoveredMembershipVersion) {
+                logger.info("Recovered {} firing alert episodes from open alerts (membership version {})",
+                        recovered, membershipVersion);
+            }
+            recoveredMembershipVersion = membershipVersion;
+        } catch (DataAccessException e) {
+            logger.warn("Could not recover alert episodes, open alerts will be adopted as rules fire: {}",
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.apm.platform.infrastructure.event;
+
+import com.apm.platform.application.usecase.TrackAlertLifecycleUseCase;
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.event.MetricCollectedEvent;
+import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
+import com.apm.platform.domain.service.AlertRuleDomainService;
+import com.apm.platform.domain.valueobject.AlertTransition;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "apm.alert.evaluation.mode", havingValue = "streaming")
+public class StreamingAlertEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingAlertEvaluator.class);
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final AlertRuleDomainService alertRuleService;
+    private final TrackAlertLifecycleUseCase lifecycleUseCase;
+    private final ClusterTaskGuard taskGuard;
+    private final Counter evaluatedCounter;
+    private final Counter triggeredCounter;
+    private final Counter resolvedCounter;
+    private final SystemEvaluationLanes lanes;
+
+    private final Set<String> evaluatedRuleIds = ConcurrentHashMap.newKeySet();
+
+    public StreamingAlertEvaluator(AlertRuleRepository alertRuleRepository,
+                                   AlertRuleDomainService alertRuleService,
+                                   TrackAlertLifecycleUseCase lifecycleUseCase,
+                                   ClusterTaskGuard taskGuard,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${apm.alert.evaluation.lanes:4}") int laneCount,
+                                   @Value("${apm.alert.evaluation.lane-capacity:1000}") int laneCapacity) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.alertRuleService = alertRuleService;
+        this.lifecycleUseCase = lifecycleUseCase;
+        this.taskGuard = taskGuard;
+        this.evaluatedCounter = Counter.builder("apm.alert.streaming.evaluations")
+                .description("Rule evaluations performed on collected metrics")
+                .register(meterRegistry);
+        this.triggeredCounter = Counter.builder("apm.alert.streaming.triggered")
+                .description("Alerts triggered by streaming evaluation")
+                .register(meterRegistry);
+        this.resolvedCounter = Counter.builder("apm.alert.streaming.resolved")
+                .description("Alerts auto-resolved by streaming evaluation")
+                .register(meterRegistry);
+        this.lanes = new SystemEvaluationLanes(laneCount, laneCapacity);
+        Gauge.builder("apm.alert.streaming.pending", lanes, SystemEvaluationLanes::pending)
+                .description("Collected metrics waiting for alert evaluation")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.close();
+    }
+
+    @Scheduled(fixedDelayString = "${apm.alert.evaluation.history-prune-ms:30000}")
+    public void pruneViolationHistory() {
+        List<AlertRule> activeRules = alertRuleRepository.findAll().stream()
+                .filter(AlertRule::isEnabled)
+                .collect(Collectors.toList());
+        Set<String> activeRuleIds = activeRules.stream()
+                .map(AlertRule::getId)
+                .collect(Collectors.toSet());
+
+        evaluatedRuleIds.removeIf(ruleId -> {
+            if (activeRuleIds.contains(ruleId)) {
+                return false;
+            }
+            alertRuleService.clearViolationHistory(ruleId);
+            return true;
+        });
+        alertRuleService.retainWindows(activeRules);
+        alertRuleService.advanceWindows(Instant.now());
+        lifecycleUseCase.retireInactiveRules(activeRuleIds);
+    }
+
+    // Lanes keep each system's metrics in probe order while alert and notification I/O stays off the writers.
+    @EventListener
+    public void onMetricCollected(MetricCollectedEvent event) {
+        lanes.submit(event.getSystemId(), () -> evaluate(event));
+    }
+
+    void evaluate(MetricCollectedEvent event) {
+        List<AlertRule> rules = alertRuleRepository.findEnabledBySystemId(event.getSystemId());
+        if (rules.isEmpty() || !taskGuard.owns(event.getSystemId())) {
+            return;
+        }
+
+        Metric metric = toMetric(event);
+        alertRuleService.recordInWindows(rules, metric);
+        for (AlertRule rule : rules) {
+            try {
+                evaluatedCounter.increment();
+                evaluatedRuleIds.add(rule.getId());
+                boolean conditionMet = alertRuleService.evaluateIncrementally(rule, metric);
+                boolean violated = alertRuleService.checkViolation(rule, metric);
+                AlertTransition transition = lifecycleUseCase.execute(rule, violated, conditionMet);
+
+                if (transition.isFire()) {
+                    triggeredCounter.increment();
+                    logger.warn("Alert triggered for rule '{}' on system {}", rule.getName(), rule.getSystemId());
+                } else if (transition.isResolve()) {
+                    resolvedCounter.increment();
+                    logger.info("Alert resolved for rule '{}' on system {}", rule.getName(), rule.getSystemId());
+                }
+            } catch (Exception e) {
+                logger.error("Failed to evaluate alert rule: {}", rule.getName(), e);
+            }
+        }
+    }
+
+    private static Metric toMetric(MetricCollectedEvent event) {
+        return Metric.reconstitute(event.getMetricId(), event.getSystemId(), event.getLatencyMs(),
+                event.getStatusCode(), event.hasError(), event.getCpuUsagePercent(),
+                event.getMemoryUsagePercent(), Map.of(), event.getCollectedAt());
+    }
+}
@@ -0,0 +1,64 @@
+package com.apm.platform.infrastructure.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Fixed set of single-threaded lanes. Work for one system always lands on the same lane, so it runs in
+// submission order; a full lane blocks the submitter instead of dropping or reordering work.
+class SystemEvaluationLanes implements AutoCloseable {
+
+    private final List<ThreadPoolExecutor> lanes = new ArrayList<>();
+
+    SystemEvaluationLanes(int laneCount, int laneCapacity) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be at least 1");
+        }
+        if (laneCapacity < 1) {
+            throw new IllegalArgumentException("Lane capacity must be at least 1");
+        }
+        for (int i = 0; i < laneCount; i++) {
+            String name = "alert-evaluator-" + i;
+            lanes.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity),
+                    runnable -> Thread.ofPlatform().name(name).daemon().unstarted(runnable),
+                    SystemEvaluationLanes::waitForSpace));
+        }
+    }
+
+    void submit(String systemId, Runnable task) {
+        lanes.get(Math.floorMod(systemId.hashCode(), lanes.size())).execute(task);
+    }
+
+    int pending() {
+        return lanes.stream().mapToInt(lane -> lane.getQueue().size()).sum();
+    }
+
+    @Override
+    public void close() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                lane.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void waitForSpace(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Alert evaluation lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for alert evaluation lane", e);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.apm.platform.infrastructure.ingestion;
+
+import com.apm.platform.application.usecase.CollectSystemMetricsUseCase;
+import com.apm.platform.domain.entity.Metric;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MetricIngestionPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricIngestionPipeline.class);
+
+    private static final long IDLE_POLL_MILLIS = 500;
+
+    public enum OverflowPolicy { BLOCK, DROP_NEWEST, DROP_OLDEST }
+
+    private final CollectSystemMetricsUseCase collectMetricsUseCase;
+    // One queue per writer, chosen by system, so a system's metrics are persisted and published in order.
+    private final List<BlockingQueue<Metric>> queues = new ArrayList<>();
+    private final int batchSize;
+    private final long maxBatchWaitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final List<Thread> writers = new ArrayList<>();
+    private final int writerCount;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer writeTimer;
+    private final Timer enqueueBlockedTimer;
+    private final Counter droppedCounter;
+    private final Counter writeFailedCounter;
+    private final Counter rollupFailedCounter;
+
+    private volatile boolean running;
+
+    public MetricIngestionPipeline(CollectSystemMetricsUseCase collectMetricsUseCase,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${apm.ingestion.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${apm.ingestion.batch-size:500}") int batchSize,
+                                   @Value("${apm.ingestion.max-batch-wait-ms:200}") long maxBatchWaitMs,
+                                   @Value("${apm.ingestion.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                   @Value("${apm.ingestion.block-timeout-ms:1000}") long blockTimeoutMs,
+                                   @Value("${apm.ingestion.writer-threads:1}") int writerCount) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (writerCount < 1) {
+            throw new IllegalArgumentException("Writer thread count must be at least 1");
+        }
+        this.collectMetricsUseCase = collectMetricsUseCase;
+        int writerCapacity = Math.max(1, queueCapacity / writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(writerCapacity));
+        }
+        this.batchSize = batchSize;
+        this.maxBatchWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchWaitMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.writerCount = writerCount;
+
+        Gauge.builder("apm.ingestion.queue.depth", this, MetricIngestionPipeline::depth)
+                .description("Collected metrics waiting to be persisted")
+                .register(meterRegistry);
+        Gauge.builder("apm.ingestion.queue.remaining", queues,
+                        q -> q.stream().mapToInt(BlockingQueue::remainingCapacity).sum())
+                .description("Free slots in the ingestion queue")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("apm.ingestion.batch.size")
+                .description("Number of metrics persisted per batch")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("apm.ingestion.batch.write")
+                .description("Time to persist a batch and publish its events")
+                .register(meterRegistry);
+        this.enqueueBlockedTimer = Timer.builder("apm.ingestion.enqueue.blocked")
+                .description("Time collectors spent waiting for space in the ingestion queue")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("apm.ingestion.dropped")
+                .description("Metrics discarded because the ingestion queue was full")
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+        this.writeFailedCounter = Counter.builder("apm.ingestion.write.failed")
+                .description("Metrics lost because their batch could not be persisted")
+                .register(meterRegistry);
+        this.rollupFailedCounter = Counter.builder("apm.ingestion.rollup.failed")
+                .description("Stored metrics whose rollup buckets could not be updated")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            BlockingQueue<Metric> queue = queues.get(i);
+            writers.add(Thread.ofPlatform()
+                    .name("metric-writer-" + i)
+                    .daemon()
+                    .start(() -> drainLoop(queue)));
+        }
+        logger.info("Metric ingestion pipeline started: capacity={}, batchSize={}, policy={}, writers={}",
+                queues.get(0).remainingCapacity() * writerCount, batchSize, overflowPolicy, writerCount);
+    }
+
+    public boolean submit(Metric metric) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+        if (!running) {
+            throw new IllegalStateException("Metric ingestion pipeline is not running");
+        }
+
+        BlockingQueue<Metric> queue = queues.get(Math.floorMod(metric.getSystemId().hashCode(), queues.size()));
+        return switch (overflowPolicy) {
+            case BLOCK -> enqueueBlocking(queue, metric);
+            case DROP_OLDEST -> enqueueDroppingOldest(queue, metric);
+            case DROP_NEWEST -> enqueueDroppingNewest(queue, metric);
+        };
+    }
+
+    public int depth() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    @Override
+    @PreDestroy
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread writer : writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        writers.clear();
+
+        int flushed = 0;
+        for (BlockingQueue<Metric> queue : queues) {
+            List<Metric> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+            }
+            flushed += remaining.size();
+        }
+        logger.info("Metric ingestion pipeline stopped, flushed {} pending metrics", flushed);
+    }
+
+    private boolean enqueueBlocking(BlockingQueue<Metric> queue, Metric metric) {
+        if (queue.offer(metric)) {
+            return true;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            if (queue.offer(metric, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            droppedCounter.increment();
+            logger.warn("Ingestion queue full for {} ms, dropping metric for system {}",
+                    blockTimeoutMs, metric.getSystemId());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+            return false;
+        } finally {
+            enqueueBlockedTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean enqueueDroppingOldest(BlockingQueue<Metric> queue, Metric metric) {
+        while (!queue.offer(metric)) {
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean enqueueDroppingNewest(BlockingQueue<Metric> queue, Metric metric) {
+        if (queue.offer(metric)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    private void drainLoop(BlockingQueue<Metric> queue) {
+        List<Metric> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Metric first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(queue, batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(BlockingQueue<Metric> queue, List<Metric> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxBatchWaitNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Metric next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Metric> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<Metric> saved;
+        try {
+            saved = collectMetricsUseCase.persistAll(List.copyOf(batch));
+            batchSizeSummary.record(batch.size());
+        } catch (RuntimeException e) {
+            writeFailedCounter.increment(batch.size());
+            logger.error("Failed to persist batch of {} metrics", batch.size(), e);
+            return;
+        } finally {
+            writeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        try {
+            collectMetricsUseCase.accumulateRollups(saved);
+        } catch (RuntimeException e) {
+            rollupFailedCounter.increment(saved.size());
+            logger.error("Stored {} metrics but failed to update their rollups", saved.size(), e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.apm.platform.domain.valueobject.AlertSeverity;
 import com.apm.platform.infrastructure.persistence.entity.AlertEntity;
 import com.apm.platform.infrastructure.persistence.repository.AlertJpaRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -56,6 +57,7 @@ public class AlertRepositoryAdapter implements AlertRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Alert> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime) {
         return jpaRepository.findBySystemIdAndTriggeredAtBetween(systemId, startTime, endTime).stream()
                 .map(this::toDomain)
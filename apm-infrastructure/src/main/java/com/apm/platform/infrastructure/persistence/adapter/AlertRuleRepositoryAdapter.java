@@ -5,6 +5,7 @@ import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
 import com.apm.platform.domain.valueobject.AlertSeverity;
 import com.apm.platform.infrastructure.persistence.entity.AlertRuleEntity;
 import com.apm.platform.infrastructure.persistence.repository.AlertRuleJpaRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Qualifier("alertRuleStore")
 public class AlertRuleRepositoryAdapter implements AlertRuleRepository {
 
     private final AlertRuleJpaRepository jpaRepository;
@@ -67,6 +69,8 @@ public class AlertRuleRepositoryAdapter implements AlertRuleRepository {
         entity.setSeverity(AlertRuleEntity.AlertSeverity.valueOf(domain.getSeverity().name()));
         entity.setThresholdValue(domain.getThresholdValue());
         entity.setConsecutiveViolations(domain.getConsecutiveViolations());
+        entity.setWindowSeconds(domain.getWindowSeconds());
+        entity.setExpression(domain.getExpression());
         entity.setEnabled(domain.isEnabled());
         entity.setCreatedAt(domain.getCreatedAt());
         entity.setUpdatedAt(domain.getUpdatedAt());
@@ -82,6 +86,8 @@ public class AlertRuleRepositoryAdapter implements AlertRuleRepository {
             AlertSeverity.valueOf(entity.getSeverity().name()),
             entity.getThresholdValue(),
             entity.getConsecutiveViolations(),
+            entity.getWindowSeconds(),
+            entity.getExpression(),
             entity.isEnabled(),
             entity.getCreatedAt(),
             entity.getUpdatedAt()
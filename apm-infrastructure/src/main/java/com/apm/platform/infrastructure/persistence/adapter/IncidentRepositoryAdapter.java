@@ -6,6 +6,7 @@ import com.apm.platform.domain.valueobject.SystemStatus;
 import com.apm.platform.infrastructure.persistence.entity.IncidentEntity;
 import com.apm.platform.infrastructure.persistence.repository.IncidentJpaRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -48,6 +49,7 @@ public class IncidentRepositoryAdapter implements IncidentRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Incident> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime) {
         return jpaRepository.findBySystemIdAndStartedAtBetween(systemId, startTime, endTime).stream()
                 .map(this::toDomain)
@@ -2,41 +2,86 @@ package com.apm.platform.infrastructure.persistence.adapter;
 
 import com.apm.platform.domain.entity.Metric;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import com.apm.platform.domain.valueobject.ProbeTiming;
 import com.apm.platform.infrastructure.persistence.entity.MetricEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.apm.platform.infrastructure.persistence.jdbc.MetricJdbcWriter;
+import com.apm.platform.infrastructure.persistence.jdbc.MetricPartitionManager;
+import com.apm.platform.infrastructure.persistence.jdbc.MetricSummaryQuery;
+import com.apm.platform.infrastructure.persistence.jdbc.RetentionBatchDeleter;
 import com.apm.platform.infrastructure.persistence.repository.MetricJpaRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
+@Qualifier("metricStore")
+@ConditionalOnProperty(name = "apm.persistence.metrics.store", havingValue = "jdbc", matchIfMissing = true)
 public class MetricRepositoryAdapter implements MetricRepository {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> ADDITIONAL_DATA_TYPE = new TypeReference<>() {};
+
     private final MetricJpaRepository jpaRepository;
+    private final MetricJdbcWriter jdbcWriter;
+    private final MetricPartitionManager partitionManager;
+    private final MetricSummaryQuery summaryQuery;
+    private final RetentionBatchDeleter batchDeleter;
 
-    public MetricRepositoryAdapter(MetricJpaRepository jpaRepository) {
+    public MetricRepositoryAdapter(MetricJpaRepository jpaRepository,
+                                   MetricJdbcWriter jdbcWriter,
+                                   MetricPartitionManager partitionManager,
+                                   MetricSummaryQuery summaryQuery,
+                                   RetentionBatchDeleter batchDeleter) {
         this.jpaRepository = jpaRepository;
+        this.jdbcWriter = jdbcWriter;
+        this.partitionManager = partitionManager;
+        this.summaryQuery = summaryQuery;
+        this.batchDeleter = batchDeleter;
     }
 
     @Override
+    @Transactional
     public Metric save(Metric metric) {
-        MetricEntity entity = toEntity(metric);
-        MetricEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        jdbcWriter.insertAll(List.of(toEntity(metric)));
+        return metric;
+    }
+
+    @Override
+    @Transactional
+    public List<Metric> saveAll(List<Metric> metrics) {
+        if (metrics.isEmpty()) {
+            return List.of();
+        }
+        List<MetricEntity> entities = metrics.stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList());
+        jdbcWriter.insertAll(entities);
+        return List.copyOf(metrics);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Metric> findById(String metricId) {
         return jpaRepository.findById(metricId).map(this::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Metric> findBySystemId(String systemId) {
         return jpaRepository.findBySystemIdOrderByCollectedAtDesc(systemId).stream()
                 .map(this::toDomain)
@@ -44,12 +89,15 @@ public class MetricRepositoryAdapter implements MetricRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Metric> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime) {
         return jpaRepository.findBySystemIdAndCollectedAtBetween(systemId, startTime, endTime).stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
     }
 
+    // Stays on the primary on purpose: alert and health evaluation read the metric that was just written, which a
+    // lagging replica may not have yet. The collecting node answers most of these from its recent-metrics cache.
     @Override
     public List<Metric> findRecentBySystemId(String systemId, int limit) {
         return jpaRepository.findRecentBySystemId(systemId, PageRequest.of(0, limit)).stream()
@@ -58,14 +106,49 @@ public class MetricRepositoryAdapter implements MetricRepository {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Metric> findPageBySystemId(String systemId, Instant startTime, Instant endTime,
+                                           MetricCursor before, int limit) {
+        List<MetricEntity> page = before == null
+                ? jpaRepository.findFirstPage(systemId, startTime, endTime, PageRequest.of(0, limit))
+                : jpaRepository.findPageBefore(systemId, startTime, endTime,
+                        before.getCollectedAt(), before.getMetricId(), PageRequest.of(0, limit));
+        return page.stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Metric> findNewerThan(String systemId, MetricCursor since, int limit) {
+        return jpaRepository.findNewerThan(systemId, since.getCollectedAt(), since.getMetricId(),
+                        PageRequest.of(0, limit)).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MetricSummary> summarize(String systemId, Instant startTime, Instant endTime, Duration step) {
+        return summaryQuery.summarize(systemId, startTime, endTime, step);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public long countBySystemId(String systemId) {
         return jpaRepository.countBySystemId(systemId);
     }
 
     @Override
-    @Transactional
+    // Partition detach and drop commit one by one; DETACH ... CONCURRENTLY cannot run inside a transaction.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteOlderThan(Instant timestamp) {
-        jpaRepository.deleteByCollectedAtBefore(timestamp);
+        partitionManager.dropPartitionsBefore(MetricPartitionManager.utcDay(timestamp));
+    }
+
+    @Override
+    public int deleteBySystemIdOlderThan(String systemId, Instant timestamp, int limit) {
+        return batchDeleter.deleteMetrics(systemId, timestamp, limit);
     }
 
     private MetricEntity toEntity(Metric domain) {
@@ -78,19 +161,22 @@ public class MetricRepositoryAdapter implements MetricRepository {
         entity.setCpuUsagePercent(domain.getCpuUsagePercent());
         entity.setMemoryUsagePercent(domain.getMemoryUsagePercent());
         
-        Map<String, String> additionalDataAsString = new HashMap<>();
-        domain.getAdditionalData().forEach((key, value) -> 
-            additionalDataAsString.put(key, value != null ? value.toString() : null)
-        );
-        entity.setAdditionalData(additionalDataAsString);
-        
+        entity.setAdditionalData(encodeAdditionalData(domain.getAdditionalData()));
         entity.setCollectedAt(domain.getCollectedAt());
+
+        ProbeTiming timing = domain.getTiming();
+        if (timing != null) {
+            entity.setProbeTotalMicros(toMicrosColumn(timing.getTotalMicros()));
+            entity.setProbeDnsMicros(toMicrosColumn(timing.getDnsMicros()));
+            entity.setProbeFirstByteMicros(toMicrosColumn(timing.getFirstByteMicros()));
+            entity.setProbeDownloadMicros(toMicrosColumn(timing.getDownloadMicros()));
+        }
         return entity;
     }
 
     private Metric toDomain(MetricEntity entity) {
-        Map<String, Object> additionalData = new HashMap<>(entity.getAdditionalData());
-        
+        String additionalDataJson = entity.getAdditionalData();
+
         return Metric.reconstitute(
             entity.getId(),
             entity.getSystemId(),
@@ -99,8 +185,51 @@ public class MetricRepositoryAdapter implements MetricRepository {
             entity.isHasError(),
             entity.getCpuUsagePercent(),
             entity.getMemoryUsagePercent(),
-            additionalData,
-            entity.getCollectedAt()
+            () -> decodeAdditionalData(additionalDataJson),
+            entity.getCollectedAt(),
+            toTiming(entity)
+        );
+    }
+
+    private ProbeTiming toTiming(MetricEntity entity) {
+        if (entity.getProbeTotalMicros() == null) {
+            return null;
+        }
+        return ProbeTiming.ofMicros(
+            entity.getProbeTotalMicros(),
+            valueOrZero(entity.getProbeDnsMicros()),
+            valueOrZero(entity.getProbeFirstByteMicros()),
+            valueOrZero(entity.getProbeDownloadMicros())
         );
     }
+
+    private static String encodeAdditionalData(Map<String, Object> additionalData) {
+        if (additionalData.isEmpty()) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(additionalData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metric additional data is not serializable as JSON", e);
+        }
+    }
+
+    private static Map<String, Object> decodeAdditionalData(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, ADDITIONAL_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored metric additional data is not valid JSON", e);
+        }
+    }
+
+    private static Integer toMicrosColumn(long micros) {
+        return (int) Math.min(micros, Integer.MAX_VALUE);
+    }
+
+    private static long valueOrZero(Integer value) {
+        return value != null ? value : 0L;
+    }
 }
@@ -0,0 +1,230 @@
+package com.apm.platform.infrastructure.persistence.adapter;
+
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
+import com.apm.platform.domain.valueobject.LatencySketch;
+import com.apm.platform.domain.valueobject.MetricRollup;
+import com.apm.platform.domain.valueobject.RollupResolution;
+import com.apm.platform.infrastructure.persistence.jdbc.RetentionBatchDeleter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+@Component
+public class MetricRollupRepositoryAdapter implements MetricRollupRepository {
+
+    static final int ROWS_PER_UPSERT = 1000;
+
+    private static final String COLUMNS = "system_id, resolution, bucket_start, sample_count, error_count, " +
+            "min_latency_ms, max_latency_ms, sum_latency_ms, sum_cpu_usage_percent, sum_memory_usage_percent, " +
+            "status_2xx_count, status_3xx_count, status_4xx_count, status_5xx_count, latency_sketch";
+    private static final int COLUMN_COUNT = 15;
+    private static final String ON_CONFLICT = " ON CONFLICT (system_id, resolution, bucket_start) DO UPDATE SET " +
+            "sample_count = metric_rollups.sample_count + EXCLUDED.sample_count, " +
+            "error_count = metric_rollups.error_count + EXCLUDED.error_count, " +
+            "min_latency_ms = LEAST(metric_rollups.min_latency_ms, EXCLUDED.min_latency_ms), " +
+            "max_latency_ms = GREATEST(metric_rollups.max_latency_ms, EXCLUDED.max_latency_ms), " +
+            "sum_latency_ms = metric_rollups.sum_latency_ms + EXCLUDED.sum_latency_ms, " +
+            "sum_cpu_usage_percent = metric_rollups.sum_cpu_usage_percent + EXCLUDED.sum_cpu_usage_percent, " +
+            "sum_memory_usage_percent = metric_rollups.sum_memory_usage_percent + EXCLUDED.sum_memory_usage_percent, " +
+            "status_2xx_count = metric_rollups.status_2xx_count + EXCLUDED.status_2xx_count, " +
+            "status_3xx_count = metric_rollups.status_3xx_count + EXCLUDED.status_3xx_count, " +
+            "status_4xx_count = metric_rollups.status_4xx_count + EXCLUDED.status_4xx_count, " +
+            "status_5xx_count = metric_rollups.status_5xx_count + EXCLUDED.status_5xx_count, " +
+            "latency_sketch = EXCLUDED.latency_sketch";
+    private static final String SELECT_RANGE_SQL = "SELECT " + COLUMNS + " FROM metric_rollups " +
+            "WHERE system_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start <= ? " +
+            "ORDER BY bucket_start";
+    private static final String SELECT_SKETCHES_SQL = "SELECT resolution, bucket_start, latency_sketch " +
+            "FROM metric_rollups WHERE system_id = ? AND bucket_start >= ? AND bucket_start <= ? " +
+            "AND latency_sketch IS NOT NULL";
+    private static final String LOCK_SYSTEM_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('metric_rollups'), hashtext(?))";
+    private static final String DELETE_SQL = "DELETE FROM metric_rollups WHERE resolution = ? AND bucket_start < ?";
+
+    // Writer threads upsert in a consistent key order so concurrent batches cannot deadlock on row locks.
+    private static final Comparator<MetricRollup> KEY_ORDER = Comparator
+            .comparing(MetricRollup::getSystemId)
+            .thenComparing(MetricRollup::getResolution)
+            .thenComparing(MetricRollup::getBucketStart);
+
+    private static final RowMapper<MetricRollup> ROW_MAPPER = (rs, rowNum) -> MetricRollup.reconstitute(
+            rs.getString("system_id"),
+            RollupResolution.fromCode(rs.getString("resolution")),
+            rs.getTimestamp("bucket_start", utc()).toInstant(),
+            rs.getLong("sample_count"),
+            rs.getLong("error_count"),
+            rs.getLong("min_latency_ms"),
+            rs.getLong("max_latency_ms"),
+            rs.getLong("sum_latency_ms"),
+            rs.getDouble("sum_cpu_usage_percent"),
+            rs.getDouble("sum_memory_usage_percent"),
+            rs.getLong("status_2xx_count"),
+            rs.getLong("status_3xx_count"),
+            rs.getLong("status_4xx_count"),
+            rs.getLong("status_5xx_count"),
+            toSketch(rs.getBytes("latency_sketch")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionBatchDeleter batchDeleter;
+
+    public MetricRollupRepositoryAdapter(JdbcTemplate jdbcTemplate, RetentionBatchDeleter batchDeleter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchDeleter = batchDeleter;
+    }
+
+    @Override
+    @Transactional
+    public void accumulate(Collection<MetricRollup> rollups) {
+        List<MetricRollup> sorted = new ArrayList<>(rollups);
+        sorted.sort(KEY_ORDER);
+        List<MetricRollup> merged = mergeStoredSketches(sorted);
+        for (int from = 0; from < merged.size(); from += ROWS_PER_UPSERT) {
+            List<MetricRollup> chunk = merged.subList(from, Math.min(merged.size(), from + ROWS_PER_UPSERT));
+            jdbcTemplate.update(upsertSql(chunk.size()), ps -> bindRollups(ps, chunk));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MetricRollup> findBySystemIdAndTimeRange(String systemId, RollupResolution resolution,
+                                                         Instant startTime, Instant endTime) {
+        return jdbcTemplate.query(SELECT_RANGE_SQL, ps -> {
+            ps.setString(1, systemId);
+            ps.setString(2, resolution.getCode());
+            ps.setTimestamp(3, Timestamp.from(startTime), utc());
+            ps.setTimestamp(4, Timestamp.from(endTime), utc());
+        }, ROW_MAPPER);
+    }
+
+    @Override
+    @Transactional
+    public void deleteOlderThan(RollupResolution resolution, Instant timestamp) {
+        jdbcTemplate.update(DELETE_SQL, ps -> {
+            ps.setString(1, resolution.getCode());
+            ps.setTimestamp(2, Timestamp.from(timestamp), utc());
+        });
+    }
+
+    @Override
+    public int deleteBySystemIdOlderThan(String systemId, RollupResolution resolution, Instant timestamp,
+                                         int limit) {
+        return batchDeleter.deleteRollups(systemId, resolution, timestamp, limit);
+    }
+
+    // Sketches cannot be merged in SQL, so each system's stored sketches are read and merged here while an
+    // advisory lock serializes concurrent writers of that system until the transaction commits.
+    private List<MetricRollup> mergeStoredSketches(List<MetricRollup> sorted) {
+        Map<String, List<MetricRollup>> bySystem = new TreeMap<>();
+        for (MetricRollup rollup : sorted) {
+            bySystem.computeIfAbsent(rollup.getSystemId(), id -> new ArrayList<>()).add(rollup);
+        }
+
+        List<MetricRollup> merged = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, List<MetricRollup>> entry : bySystem.entrySet()) {
+            jdbcTemplate.query(LOCK_SYSTEM_SQL, ps -> ps.setString(1, entry.getKey()), rs -> { });
+            Map<String, LatencySketch> stored = loadSketches(entry.getKey(), entry.getValue());
+            for (MetricRollup rollup : entry.getValue()) {
+                LatencySketch existing = stored.get(sketchKey(rollup.getResolution(), rollup.getBucketStart()));
+                merged.add(existing == null ? rollup : withSketch(rollup, existing.merge(rollup.getLatencySketch())));
+            }
+        }
+        return merged;
+    }
+
+    private Map<String, LatencySketch> loadSketches(String systemId, List<MetricRollup> rollups) {
+        Instant earliest = rollups.get(0).getBucketStart();
+        Instant latest = earliest;
+        for (MetricRollup rollup : rollups) {
+            earliest = rollup.getBucketStart().isBefore(earliest) ? rollup.getBucketStart() : earliest;
+            latest = rollup.getBucketStart().isAfter(latest) ? rollup.getBucketStart() : latest;
+        }
+        Instant from = earliest;
+        Instant to = latest;
+
+        Map<String, LatencySketch> sketches = new HashMap<>();
+        jdbcTemplate.query(SELECT_SKETCHES_SQL, ps -> {
+            ps.setString(1, systemId);
+            ps.setTimestamp(2, Timestamp.from(from), utc());
+            ps.setTimestamp(3, Timestamp.from(to), utc());
+        }, rs -> {
+            sketches.put(sketchKey(RollupResolution.fromCode(rs.getString("resolution")),
+                    rs.getTimestamp("bucket_start", utc()).toInstant()),
+                    toSketch(rs.getBytes("latency_sketch")));
+        });
+        return sketches;
+    }
+
+    private static MetricRollup withSketch(MetricRollup rollup, LatencySketch sketch) {
+        return MetricRollup.reconstitute(rollup.getSystemId(), rollup.getResolution(), rollup.getBucketStart(),
+                rollup.getSampleCount(), rollup.getErrorCount(), rollup.getMinLatencyMs(), rollup.getMaxLatencyMs(),
+                rollup.getSumLatencyMs(), rollup.getSumCpuUsagePercent(), rollup.getSumMemoryUsagePercent(),
+                rollup.getStatus2xxCount(), rollup.getStatus3xxCount(), rollup.getStatus4xxCount(),
+                rollup.getStatus5xxCount(), sketch);
+    }
+
+    private static String sketchKey(RollupResolution resolution, Instant bucketStart) {
+        return resolution.getCode() + '|' + bucketStart.toEpochMilli();
+    }
+
+    private static LatencySketch toSketch(byte[] bytes) {
+        return bytes == null ? LatencySketch.empty() : LatencySketch.fromBytes(bytes);
+    }
+
+    static String upsertSql(int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder("INSERT INTO metric_rollups (").append(COLUMNS).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.append(ON_CONFLICT).toString();
+    }
+
+    private static void bindRollups(PreparedStatement ps, List<MetricRollup> chunk) throws SQLException {
+        Calendar utc = utc();
+        int index = 1;
+        for (MetricRollup rollup : chunk) {
+            ps.setString(index++, rollup.getSystemId());
+            ps.setString(index++, rollup.getResolution().getCode());
+            ps.setTimestamp(index++, Timestamp.from(rollup.getBucketStart()), utc);
+            ps.setLong(index++, rollup.getSampleCount());
+            ps.setLong(index++, rollup.getErrorCount());
+            ps.setLong(index++, rollup.getMinLatencyMs());
+            ps.setLong(index++, rollup.getMaxLatencyMs());
+            ps.setLong(index++, rollup.getSumLatencyMs());
+            ps.setDouble(index++, rollup.getSumCpuUsagePercent());
+            ps.setDouble(index++, rollup.getSumMemoryUsagePercent());
+            ps.setLong(index++, rollup.getStatus2xxCount());
+            ps.setLong(index++, rollup.getStatus3xxCount());
+            ps.setLong(index++, rollup.getStatus4xxCount());
+            ps.setLong(index++, rollup.getStatus5xxCount());
+            ps.setBytes(index++, rollup.getLatencySketch().toBytes());
+        }
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
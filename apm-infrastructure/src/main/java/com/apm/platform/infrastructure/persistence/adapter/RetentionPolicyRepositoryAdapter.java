@@ -0,0 +1,99 @@
+package com.apm.platform.infrastructure.persistence.adapter;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class RetentionPolicyRepositoryAdapter implements RetentionPolicyRepository {
+
+    private static final String COLUMNS = "system_id, raw_days, one_minute_days, five_minute_days, one_hour_days";
+    private static final String SELECT_ALL_SQL = "SELECT " + COLUMNS + " FROM system_retention_policies";
+    private static final String SELECT_ONE_SQL = SELECT_ALL_SQL + " WHERE system_id = ?";
+    private static final String UPSERT_SQL = "INSERT INTO system_retention_policies (" + COLUMNS + ") " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (system_id) DO UPDATE SET " +
+            "raw_days = EXCLUDED.raw_days, one_minute_days = EXCLUDED.one_minute_days, " +
+            "five_minute_days = EXCLUDED.five_minute_days, one_hour_days = EXCLUDED.one_hour_days, " +
+            "updated_at = now() AT TIME ZONE 'UTC'";
+    private static final String DELETE_SQL = "DELETE FROM system_retention_policies WHERE system_id = ?";
+
+    private static final RowMapper<RetentionPolicy> ROW_MAPPER = (rs, rowNum) -> RetentionPolicy.ofDays(
+            rs.getInt("raw_days"),
+            rs.getInt("one_minute_days"),
+            rs.getInt("five_minute_days"),
+            rs.getInt("one_hour_days"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<MonitoredSystem.Environment, RetentionPolicy> defaults =
+            new EnumMap<>(MonitoredSystem.Environment.class);
+
+    public RetentionPolicyRepositoryAdapter(JdbcTemplate jdbcTemplate, PropertyResolver properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (MonitoredSystem.Environment environment : MonitoredSystem.Environment.values()) {
+            defaults.put(environment, resolveDefault(properties, environment));
+        }
+    }
+
+    // Environment-specific settings fall back to the global cleanup settings that predate per-system retention.
+    static RetentionPolicy resolveDefault(PropertyResolver properties, MonitoredSystem.Environment environment) {
+        String prefix = "apm.retention." + environment.name().toLowerCase(Locale.ROOT) + ".";
+        return RetentionPolicy.ofDays(
+                days(properties, prefix + "raw-days", "apm.scheduler.metric-cleanup.retention-days", 30),
+                days(properties, prefix + "one-minute-days",
+                        "apm.scheduler.metric-cleanup.rollup-retention-days.one-minute", 7),
+                days(properties, prefix + "five-minute-days",
+                        "apm.scheduler.metric-cleanup.rollup-retention-days.five-minutes", 30),
+                days(properties, prefix + "one-hour-days",
+                        "apm.scheduler.metric-cleanup.rollup-retention-days.one-hour", 365));
+    }
+
+    private static int days(PropertyResolver properties, String key, String fallbackKey, int fallback) {
+        Integer value = properties.getProperty(key, Integer.class);
+        return value != null ? value : properties.getProperty(fallbackKey, Integer.class, fallback);
+    }
+
+    @Override
+    public Optional<RetentionPolicy> findBySystemId(String systemId) {
+        List<RetentionPolicy> policies = jdbcTemplate.query(SELECT_ONE_SQL, ROW_MAPPER, systemId);
+        return policies.stream().findFirst();
+    }
+
+    @Override
+    public Map<String, RetentionPolicy> findAllOverrides() {
+        Map<String, RetentionPolicy> overrides = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            overrides.put(rs.getString("system_id"), ROW_MAPPER.mapRow(rs, 0));
+        });
+        return overrides;
+    }
+
+    @Override
+    public RetentionPolicy findDefault(MonitoredSystem.Environment environment) {
+        return defaults.get(environment);
+    }
+
+    @Override
+    @Transactional
+    public void save(String systemId, RetentionPolicy policy) {
+        jdbcTemplate.update(UPSERT_SQL, systemId, policy.getRawDays(), policy.getOneMinuteDays(),
+                policy.getFiveMinuteDays(), policy.getOneHourDays());
+    }
+
+    @Override
+    @Transactional
+    public void deleteBySystemId(String systemId) {
+        jdbcTemplate.update(DELETE_SQL, systemId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.AlertRule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Immutable; changes build a new snapshot so readers never see a partial update.
+final class AlertRuleIndex {
+
+    static final AlertRuleIndex EMPTY = new AlertRuleIndex(Map.of());
+
+    private final Map<String, AlertRule> rulesById;
+    private final Map<String, List<AlertRule>> rulesBySystem;
+    private final Map<String, List<AlertRule>> enabledRulesBySystem;
+    private final List<AlertRule> allRules;
+
+    private AlertRuleIndex(Map<String, AlertRule> rulesById) {
+        this.rulesById = rulesById;
+        Map<String, List<AlertRule>> bySystem = new HashMap<>();
+        Map<String, List<AlertRule>> enabledBySystem = new HashMap<>();
+        for (AlertRule rule : rulesById.values()) {
+            bySystem.computeIfAbsent(rule.getSystemId(), k -> new ArrayList<>()).add(rule);
+            if (rule.isEnabled()) {
+                enabledBySystem.computeIfAbsent(rule.getSystemId(), k -> new ArrayList<>()).add(rule);
+            }
+        }
+        this.rulesBySystem = freeze(bySystem);
+        this.enabledRulesBySystem = freeze(enabledBySystem);
+        this.allRules = List.copyOf(rulesById.values());
+    }
+
+    static AlertRuleIndex of(Collection<AlertRule> rules) {
+        Map<String, AlertRule> byId = new LinkedHashMap<>();
+        for (AlertRule rule : rules) {
+            byId.put(rule.getId(), rule);
+        }
+        return new AlertRuleIndex(byId);
+    }
+
+    private static Map<String, List<AlertRule>> freeze(Map<String, List<AlertRule>> grouped) {
+        Map<String, List<AlertRule>> frozen = new HashMap<>();
+        grouped.forEach((systemId, rules) -> frozen.put(systemId, List.copyOf(rules)));
+        return Map.copyOf(frozen);
+    }
+
+    AlertRuleIndex with(AlertRule rule) {
+        Map<String, AlertRule> byId = new LinkedHashMap<>(rulesById);
+        byId.put(rule.getId(), rule);
+        return new AlertRuleIndex(byId);
+    }
+
+    AlertRuleIndex without(String ruleId) {
+        if (!rulesById.containsKey(ruleId)) {
+            return this;
+        }
+        Map<String, AlertRule> byId = new LinkedHashMap<>(rulesById);
+        byId.remove(ruleId);
+        return new AlertRuleIndex(byId);
+    }
+
+    Optional<AlertRule> findById(String ruleId) {
+        return Optional.ofNullable(rulesById.get(ruleId));
+    }
+
+    List<AlertRule> findBySystemId(String systemId) {
+        return rulesBySystem.getOrDefault(systemId, List.of());
+    }
+
+    List<AlertRule> findEnabledBySystemId(String systemId) {
+        return enabledRulesBySystem.getOrDefault(systemId, List.of());
+    }
+
+    List<AlertRule> findAll() {
+        return allRules;
+    }
+
+    int size() {
+        return rulesById.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+// Until the first load completes, reads fall through to the database.
+@Primary
+@Component
+public class IndexedAlertRuleRepository implements AlertRuleRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexedAlertRuleRepository.class);
+
+    private final AlertRuleRepository delegate;
+    private final boolean enabled;
+    private final Object writeLock = new Object();
+
+    private volatile AlertRuleIndex index;
+    private long version;
+
+    public IndexedAlertRuleRepository(@Qualifier("alertRuleStore") AlertRuleRepository delegate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${apm.alert.rule-index.enabled:true}") boolean enabled) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        Gauge.builder("apm.alert.rule-index.rules", this, r -> r.index == null ? 0 : r.index.size())
+                .description("Alert rules held in the in-memory rule index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${apm.alert.rule-index.reconcile-ms:30000}",
+               initialDelayString = "${apm.alert.rule-index.reconcile-ms:30000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long observedVersion;
+        synchronized (writeLock) {
+            observedVersion = version;
+        }
+        List<AlertRule> rules;
+        try {
+            rules = delegate.findAll();
+        } catch (DataAccessException e) {
+            logger.warn("Alert rule index reconcile failed, keeping current snapshot: {}", e.getMessage());
+            return;
+        }
+        synchronized (writeLock) {
+            // A local write landed while loading; its snapshot is newer than what was read, so retry later.
+            if (version != observedVersion) {
+                logger.debug("Alert rule index changed during reconcile, deferring to next run");
+                return;
+            }
+            index = AlertRuleIndex.of(rules);
+            version++;
+        }
+        logger.debug("Alert rule index reconciled with {} rules", rules.size());
+    }
+
+    @Override
+    public AlertRule save(AlertRule rule) {
+        AlertRule saved = delegate.save(rule);
+        synchronized (writeLock) {
+            if (index != null) {
+                index = index.with(copyOf(saved));
+            }
+            version++;
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<AlertRule> findById(String ruleId) {
+        AlertRuleIndex current = index;
+        if (current == null) {
+            return delegate.findById(ruleId);
+        }
+        // Callers load a rule to change it, so never hand out the instance shared by the index.
+        return current.findById(ruleId).map(IndexedAlertRuleRepository::copyOf);
+    }
+
+    @Override
+    public List<AlertRule> findBySystemId(String systemId) {
+        AlertRuleIndex current = index;
+        return current == null ? delegate.findBySystemId(systemId) : current.findBySystemId(systemId);
+    }
+
+    @Override
+    public List<AlertRule> findEnabledBySystemId(String systemId) {
+        AlertRuleIndex current = index;
+        return current == null ? delegate.findEnabledBySystemId(systemId) : current.findEnabledBySystemId(systemId);
+    }
+
+    @Override
+    public List<AlertRule> findAll() {
+        AlertRuleIndex current = index;
+        return current == null ? delegate.findAll() : current.findAll();
+    }
+
+    @Override
+    public void deleteById(String ruleId) {
+        delegate.deleteById(ruleId);
+        synchronized (writeLock) {
+            if (index != null) {
+                index = index.without(ruleId);
+            }
+            version++;
+        }
+    }
+
+    private static AlertRule copyOf(AlertRule rule) {
+        return AlertRule.reconstitute(rule.getId(), rule.getSystemId(), rule.getName(), rule.getType(),
+                rule.getSeverity(), rule.getThresholdValue(), rule.getConsecutiveViolations(),
+                rule.getWindowSeconds(), rule.getExpression(), rule.isEnabled(), rule.getCreatedAt(),
+                rule.getUpdatedAt());
+    }
+}
@@ -0,0 +1,113 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.Metric;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+final class RecentMetricsBuffer {
+
+    private static final Comparator<Metric> NEWEST_FIRST =
+            Comparator.comparing(Metric::getCollectedAt).reversed();
+
+    private final Metric[] slots;
+    private int head = -1;
+    private int size;
+    private boolean loaded;
+
+    RecentMetricsBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.slots = new Metric[capacity];
+    }
+
+    // Merges the stored history with anything appended while it was being read, then marks the buffer usable.
+    synchronized void fill(List<Metric> newestFirst) {
+        for (int i = Math.min(newestFirst.size(), slots.length) - 1; i >= 0; i--) {
+            add(newestFirst.get(i));
+        }
+        loaded = true;
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized void add(Metric metric) {
+        if (contains(metric.getId())) {
+            return;
+        }
+        if (size == 0 || !metric.getCollectedAt().isBefore(slots[head].getCollectedAt())) {
+            head = (head + 1) % slots.length;
+            slots[head] = metric;
+            size = Math.min(size + 1, slots.length);
+            return;
+        }
+
+        List<Metric> ordered = snapshot(size);
+        ordered.add(metric);
+        ordered.sort(NEWEST_FIRST);
+        refill(ordered);
+    }
+
+    synchronized List<Metric> recent(int limit) {
+        return snapshot(Math.min(limit, size));
+    }
+
+    synchronized void pruneBefore(Instant threshold) {
+        while (size > 0 && slots[oldestIndex()].getCollectedAt().isBefore(threshold)) {
+            slots[oldestIndex()] = null;
+            size--;
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    private boolean contains(String metricId) {
+        for (int i = 0; i < size; i++) {
+            if (slots[index(i)].getId().equals(metricId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Metric> snapshot(int count) {
+        List<Metric> result = new ArrayList<>(count + 1);
+        for (int i = 0; i < count; i++) {
+            result.add(slots[index(i)]);
+        }
+        return result;
+    }
+
+    private void refill(List<Metric> newestFirst) {
+        List<Metric> kept = newestFirst.subList(0, Math.min(newestFirst.size(), slots.length));
+        List<Metric> oldestFirst = new ArrayList<>(kept);
+        Collections.reverse(oldestFirst);
+        Arrays.fill(slots, null);
+        for (int i = 0; i < oldestFirst.size(); i++) {
+            slots[i] = oldestFirst.get(i);
+        }
+        size = oldestFirst.size();
+        head = size - 1;
+    }
+
+    private int index(int offsetFromNewest) {
+        return Math.floorMod(head - offsetFromNewest, slots.length);
+    }
+
+    private int oldestIndex() {
+        return index(size - 1);
+    }
+}
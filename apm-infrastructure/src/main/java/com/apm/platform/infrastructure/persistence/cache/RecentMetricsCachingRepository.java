@@ -0,0 +1,228 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Primary
+@Component
+public class RecentMetricsCachingRepository implements MetricRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentMetricsCachingRepository.class);
+
+    private final MetricRepository delegate;
+    private final MonitoredSystemRepository systemRepository;
+    private final ClusterTaskGuard taskGuard;
+    private final boolean enabled;
+    private final int capacity;
+    private final Map<String, RecentMetricsBuffer> buffers = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile long collectionVersion;
+
+    public RecentMetricsCachingRepository(@Qualifier("metricStore") MetricRepository delegate,
+                                          MonitoredSystemRepository systemRepository,
+                                          ClusterTaskGuard taskGuard,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${apm.metrics.recent-cache.enabled:true}") boolean enabled,
+                                          @Value("${apm.metrics.recent-cache.capacity:32}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Recent metrics cache capacity must be at least 1");
+        }
+        this.delegate = delegate;
+        this.systemRepository = systemRepository;
+        this.taskGuard = taskGuard;
+        this.enabled = enabled;
+        this.capacity = capacity;
+
+        this.hits = Counter.builder("apm.metrics.recent-cache.requests")
+                .tag("result", "hit")
+                .description("Recent-metric lookups answered from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("apm.metrics.recent-cache.requests")
+                .tag("result", "miss")
+                .description("Recent-metric lookups that went to the database")
+                .register(meterRegistry);
+        Gauge.builder("apm.metrics.recent-cache.hit-ratio", this, RecentMetricsCachingRepository::hitRatio)
+                .description("Share of recent-metric lookups answered from memory")
+                .register(meterRegistry);
+        Gauge.builder("apm.metrics.recent-cache.systems", buffers, Map::size)
+                .description("Systems with a warm recent-metrics buffer")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        syncWithCollection();
+        int warmed = 0;
+        try {
+            for (MonitoredSystem system : systemRepository.findAllActive()) {
+                if (taskGuard.isCollecting(system.getId())) {
+                    load(system.getId());
+                    warmed++;
+                }
+            }
+            logger.info("Warmed recent metrics cache for {} systems", warmed);
+        } catch (DataAccessException e) {
+            logger.warn("Recent metrics cache warm-up stopped after {} systems: {}", warmed, e.getMessage());
+        }
+    }
+
+    @Override
+    public Metric save(Metric metric) {
+        Metric saved = delegate.save(metric);
+        remember(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Metric> saveAll(List<Metric> metrics) {
+        List<Metric> saved = delegate.saveAll(metrics);
+        remember(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Metric> findById(String metricId) {
+        return delegate.findById(metricId);
+    }
+
+    @Override
+    public List<Metric> findBySystemId(String systemId) {
+        return delegate.findBySystemId(systemId);
+    }
+
+    @Override
+    public List<Metric> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime) {
+        return delegate.findBySystemIdAndTimeRange(systemId, startTime, endTime);
+    }
+
+    @Override
+    public List<Metric> findRecentBySystemId(String systemId, int limit) {
+        // Only the node collecting a system sees all of its writes; any other node reads the database.
+        if (!enabled || limit > capacity || !taskGuard.isCollecting(systemId)) {
+            misses.increment();
+            return delegate.findRecentBySystemId(systemId, limit);
+        }
+        syncWithCollection();
+
+        RecentMetricsBuffer buffer = buffers.get(systemId);
+        if (buffer != null && buffer.isLoaded()) {
+            hits.increment();
+            return buffer.recent(limit);
+        }
+        misses.increment();
+        buffer = load(systemId);
+        // Another reader is still loading this system; read through rather than wait for it.
+        return buffer != null ? buffer.recent(limit) : delegate.findRecentBySystemId(systemId, limit);
+    }
+
+    @Override
+    public List<Metric> findPageBySystemId(String systemId, Instant startTime, Instant endTime,
+                                           MetricCursor before, int limit) {
+        return delegate.findPageBySystemId(systemId, startTime, endTime, before, limit);
+    }
+
+    @Override
+    public List<Metric> findNewerThan(String systemId, MetricCursor since, int limit) {
+        return delegate.findNewerThan(systemId, since, limit);
+    }
+
+    @Override
+    public List<MetricSummary> summarize(String systemId, Instant startTime, Instant endTime, Duration step) {
+        return delegate.summarize(systemId, startTime, endTime, step);
+    }
+
+    @Override
+    public long countBySystemId(String systemId) {
+        return delegate.countBySystemId(systemId);
+    }
+
+    @Override
+    public void deleteOlderThan(Instant timestamp) {
+        delegate.deleteOlderThan(timestamp);
+        buffers.values().forEach(buffer -> buffer.pruneBefore(timestamp));
+    }
+
+    @Override
+    public int deleteBySystemIdOlderThan(String systemId, Instant timestamp, int limit) {
+        int deleted = delegate.deleteBySystemIdOlderThan(systemId, timestamp, limit);
+        RecentMetricsBuffer buffer = buffers.get(systemId);
+        if (buffer != null) {
+            buffer.pruneBefore(timestamp);
+        }
+        return deleted;
+    }
+
+    private void remember(List<Metric> saved) {
+        if (!enabled) {
+            return;
+        }
+        for (Metric metric : saved) {
+            // Only systems that were already loaded are appended to; an absent buffer is filled from the
+            // database on first read, which already includes this write.
+            buffers.computeIfPresent(metric.getSystemId(), (systemId, buffer) -> {
+                buffer.add(metric);
+                return buffer;
+            });
+        }
+    }
+
+    // The query runs outside the map so a slow load never blocks other systems. The empty buffer is
+    // published first so that writes racing with the query are appended to it rather than lost.
+    private RecentMetricsBuffer load(String systemId) {
+        RecentMetricsBuffer buffer = new RecentMetricsBuffer(capacity);
+        RecentMetricsBuffer existing = buffers.putIfAbsent(systemId, buffer);
+        if (existing != null) {
+            return existing.isLoaded() ? existing : null;
+        }
+        try {
+            buffer.fill(delegate.findRecentBySystemId(systemId, capacity));
+        } catch (RuntimeException e) {
+            buffers.remove(systemId, buffer);
+            throw e;
+        }
+        return buffer;
+    }
+
+    private void syncWithCollection() {
+        long current = taskGuard.collectionVersion();
+        if (current != collectionVersion) {
+            // Systems may have been collected by another node while this one was not collecting them.
+            buffers.clear();
+            collectionVersion = current;
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,16 @@
+package com.apm.platform.infrastructure.persistence.datasource;
+
+public enum DataSourceRoute {
+    WRITE("write"),
+    READ("read");
+
+    private final String tag;
+
+    DataSourceRoute(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
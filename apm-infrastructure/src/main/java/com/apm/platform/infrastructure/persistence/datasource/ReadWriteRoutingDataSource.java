@@ -0,0 +1,78 @@
+package com.apm.platform.infrastructure.persistence.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Must sit behind LazyConnectionDataSourceProxy so the route is chosen after the read-only flag is bound.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource writeDataSource;
+    private final Map<DataSourceRoute, Counter> routedCounters = new EnumMap<>(DataSourceRoute.class);
+    private final Counter fallbackCounter;
+
+    public ReadWriteRoutingDataSource(DataSource writeDataSource, DataSource readDataSource,
+                                      MeterRegistry meterRegistry) {
+        if (writeDataSource == null || readDataSource == null) {
+            throw new IllegalArgumentException("Write and read data sources cannot be null");
+        }
+        this.writeDataSource = writeDataSource;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRoute.WRITE, writeDataSource);
+        targets.put(DataSourceRoute.READ, readDataSource);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(writeDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        for (DataSourceRoute route : DataSourceRoute.values()) {
+            routedCounters.put(route, Counter.builder("apm.datasource.connections")
+                    .description("Connections handed out per data source route")
+                    .tag("route", route.getTag())
+                    .register(meterRegistry));
+        }
+        this.fallbackCounter = Counter.builder("apm.datasource.read.fallbacks")
+                .description("Read-only connections served by the write pool because the read pool failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSourceRoute route = currentRoute();
+        routedCounters.get(route).increment();
+        if (route == DataSourceRoute.WRITE) {
+            return writeDataSource.getConnection();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            fallbackCounter.increment();
+            logger.warn("Read pool unavailable, falling back to the write pool: {}", e.getMessage());
+            return writeDataSource.getConnection();
+        }
+    }
+
+    static DataSourceRoute currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceRoute.READ
+                : DataSourceRoute.WRITE;
+    }
+}
@@ -34,6 +34,12 @@ public class AlertRuleEntity {
     @Column(name = "consecutive_violations", nullable = false)
     private int consecutiveViolations;
 
+    @Column(name = "window_seconds", nullable = false)
+    private int windowSeconds;
+
+    @Column(name = "expression", length = 500)
+    private String expression;
+
     @Column(name = "enabled", nullable = false)
     private boolean enabled;
 
@@ -117,6 +123,22 @@ public class AlertRuleEntity {
         this.consecutiveViolations = consecutiveViolations;
     }
 
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -142,7 +164,9 @@ public class AlertRuleEntity {
     }
 
     public enum AlertRuleType {
-        LATENCY_MS, ERROR_RATE_PERCENT, CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, STATUS_CODE
+        LATENCY_MS, ERROR_RATE_PERCENT, CPU_USAGE_PERCENT, MEMORY_USAGE_PERCENT, STATUS_CODE,
+        WINDOW_ERROR_RATE_PERCENT, WINDOW_LATENCY_P95_MS, WINDOW_LATENCY_P99_MS,
+        EXPRESSION
     }
 
     public enum AlertSeverity {
@@ -1,13 +1,13 @@
 package com.apm.platform.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 
 @Entity
 @Table(name = "metrics", indexes = {
-    @Index(name = "idx_metric_system_id", columnList = "system_id"),
     @Index(name = "idx_metric_collected_at", columnList = "collected_at"),
     @Index(name = "idx_metric_system_time", columnList = "system_id,collected_at")
 })
@@ -35,15 +35,25 @@ public class MetricEntity {
     @Column(name = "memory_usage_percent", nullable = false)
     private double memoryUsagePercent;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "metric_additional_data", joinColumns = @JoinColumn(name = "metric_id"))
-    @MapKeyColumn(name = "data_key")
-    @Column(name = "data_value")
-    private Map<String, String> additionalData = new HashMap<>();
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "additional_data", columnDefinition = "jsonb")
+    private String additionalData;
 
     @Column(name = "collected_at", nullable = false)
     private Instant collectedAt;
 
+    @Column(name = "probe_total_us")
+    private Integer probeTotalMicros;
+
+    @Column(name = "probe_dns_us")
+    private Integer probeDnsMicros;
+
+    @Column(name = "probe_first_byte_us")
+    private Integer probeFirstByteMicros;
+
+    @Column(name = "probe_download_us")
+    private Integer probeDownloadMicros;
+
     public MetricEntity() {
     }
 
@@ -103,11 +113,11 @@ public class MetricEntity {
         this.memoryUsagePercent = memoryUsagePercent;
     }
 
-    public Map<String, String> getAdditionalData() {
+    public String getAdditionalData() {
         return additionalData;
     }
 
-    public void setAdditionalData(Map<String, String> additionalData) {
+    public void setAdditionalData(String additionalData) {
         this.additionalData = additionalData;
     }
 
@@ -118,4 +128,36 @@ public class MetricEntity {
     public void setCollectedAt(Instant collectedAt) {
         this.collectedAt = collectedAt;
     }
+
+    public Integer getProbeTotalMicros() {
+        return probeTotalMicros;
+    }
+
+    public void setProbeTotalMicros(Integer probeTotalMicros) {
+        this.probeTotalMicros = probeTotalMicros;
+    }
+
+    public Integer getProbeDnsMicros() {
+        return probeDnsMicros;
+    }
+
+    public void setProbeDnsMicros(Integer probeDnsMicros) {
+        this.probeDnsMicros = probeDnsMicros;
+    }
+
+    public Integer getProbeFirstByteMicros() {
+        return probeFirstByteMicros;
+    }
+
+    public void setProbeFirstByteMicros(Integer probeFirstByteMicros) {
+        this.probeFirstByteMicros = probeFirstByteMicros;
+    }
+
+    public Integer getProbeDownloadMicros() {
+        return probeDownloadMicros;
+    }
+
+    public void setProbeDownloadMicros(Integer probeDownloadMicros) {
+        this.probeDownloadMicros = probeDownloadMicros;
+    }
 }
@@ -0,0 +1,84 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import com.apm.platform.infrastructure.persistence.entity.MetricEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+@Component
+public class MetricJdbcWriter {
+
+    static final String METRIC_COLUMNS = "id, system_id, latency_ms, status_code, has_error, cpu_usage_percent, " +
+            "memory_usage_percent, collected_at, probe_total_us, probe_dns_us, probe_first_byte_us, probe_download_us, " +
+            "additional_data";
+    static final int METRIC_COLUMN_COUNT = 13;
+
+    private static final int MAX_BIND_PARAMETERS = 32_767;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    public MetricJdbcWriter(JdbcTemplate jdbcTemplate,
+                            @Value("${apm.persistence.metrics.rows-per-insert:1000}") int rowsPerStatement) {
+        if (rowsPerStatement < 1 || rowsPerStatement * METRIC_COLUMN_COUNT > MAX_BIND_PARAMETERS) {
+            throw new IllegalArgumentException("Rows per insert must be between 1 and "
+                    + MAX_BIND_PARAMETERS / METRIC_COLUMN_COUNT);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    public void insertAll(List<MetricEntity> metrics) {
+        for (int from = 0; from < metrics.size(); from += rowsPerStatement) {
+            List<MetricEntity> chunk = metrics.subList(from, Math.min(metrics.size(), from + rowsPerStatement));
+            jdbcTemplate.update(insertSql("metrics", METRIC_COLUMNS, METRIC_COLUMN_COUNT, chunk.size()),
+                    ps -> bindMetrics(ps, chunk));
+        }
+    }
+
+    static String insertSql(String table, String columns, int columnCount, int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columnCount; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+                .append(table).append(" (").append(columns).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    private static void bindMetrics(PreparedStatement ps, List<MetricEntity> chunk) throws SQLException {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        int index = 1;
+        for (MetricEntity metric : chunk) {
+            ps.setString(index++, metric.getId());
+            ps.setString(index++, metric.getSystemId());
+            ps.setLong(index++, metric.getLatencyMs());
+            ps.setInt(index++, metric.getStatusCode());
+            ps.setBoolean(index++, metric.isHasError());
+            ps.setDouble(index++, metric.getCpuUsagePercent());
+            ps.setDouble(index++, metric.getMemoryUsagePercent());
+            ps.setTimestamp(index++, Timestamp.from(metric.getCollectedAt()), utc);
+            ps.setObject(index++, metric.getProbeTotalMicros(), Types.INTEGER);
+            ps.setObject(index++, metric.getProbeDnsMicros(), Types.INTEGER);
+            ps.setObject(index++, metric.getProbeFirstByteMicros(), Types.INTEGER);
+            ps.setObject(index++, metric.getProbeDownloadMicros(), Types.INTEGER);
+            ps.setObject(index++, metric.getAdditionalData(), Types.OTHER);
+        }
+    }
+}
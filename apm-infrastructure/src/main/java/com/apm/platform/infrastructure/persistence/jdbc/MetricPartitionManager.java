@@ -0,0 +1,134 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class MetricPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricPartitionManager.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("metrics");
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE parent.relname = ?";
+    // Rows that landed in the default partition for a day would make CREATE ... PARTITION OF fail, so they
+    // are moved into a standalone table that is then attached. One DO block keeps it a single transaction,
+    // and the lock stops new rows reaching the default partition before the attach validates it.
+    private static final String MOVE_FROM_DEFAULT_SQL =
+            "DO $$ BEGIN " +
+            "LOCK TABLE %2$s_default IN EXCLUSIVE MODE; " +
+            "CREATE TABLE %1$s (LIKE %2$s INCLUDING DEFAULTS INCLUDING CONSTRAINTS); " +
+            "WITH moved AS (DELETE FROM %2$s_default WHERE collected_at >= '%3$s' AND collected_at < '%4$s' " +
+            "RETURNING *) INSERT INTO %1$s SELECT * FROM moved; " +
+            "ALTER TABLE %2$s ATTACH PARTITION %1$s FOR VALUES FROM ('%3$s') TO ('%4$s'); " +
+            "END $$";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MetricPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int createPartitions(LocalDate fromDay, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Days must be at least 1");
+        }
+        int created = 0;
+        for (String table : PARTITIONED_TABLES) {
+            Set<String> existing = new HashSet<>(listPartitions(table));
+            for (LocalDate day = fromDay; day.isBefore(fromDay.plusDays(days)); day = day.plusDays(1)) {
+                String partition = partitionName(table, day);
+                if (existing.contains(partition)) {
+                    continue;
+                }
+                if (existing.contains(table + "_default") && hasDefaultRows(table, day)) {
+                    jdbcTemplate.execute(String.format(MOVE_FROM_DEFAULT_SQL, partition, table, day, day.plusDays(1)));
+                    logger.info("Moved rows for {} out of {}_default into new partition {}", day, table, partition);
+                } else {
+                    jdbcTemplate.execute(String.format(
+                            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                            partition, table, day, day.plusDays(1)));
+                }
+                created++;
+            }
+        }
+        if (created > 0) {
+            logger.info("Created {} metric partitions covering {} to {}", created, fromDay, fromDay.plusDays(days - 1));
+        }
+        return created;
+    }
+
+    public List<String> dropPartitionsBefore(LocalDate cutoffDay) {
+        List<String> dropped = new ArrayList<>();
+        for (String table : PARTITIONED_TABLES) {
+            List<String> partitions = listPartitions(table);
+            // Only the metadata-only detach touches the parent; the drop then locks just the old table.
+            // Postgres refuses DETACH ... CONCURRENTLY while the table has a default partition.
+            String detach = partitions.contains(table + "_default")
+                    ? "ALTER TABLE %s DETACH PARTITION %s"
+                    : "ALTER TABLE %s DETACH PARTITION %s CONCURRENTLY";
+            for (String partition : partitions) {
+                LocalDate day = partitionDay(table, partition);
+                if (day != null && day.plusDays(1).compareTo(cutoffDay) <= 0) {
+                    jdbcTemplate.execute(String.format(detach, table, partition));
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                    dropped.add(partition);
+                }
+            }
+            jdbcTemplate.update("DELETE FROM " + table + "_default WHERE collected_at < ?",
+                    Timestamp.valueOf(cutoffDay.atStartOfDay()));
+        }
+        Collections.sort(dropped);
+        return dropped;
+    }
+
+    private boolean hasDefaultRows(String table, LocalDate day) {
+        Boolean found = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + table + "_default WHERE collected_at >= ? AND collected_at < ?)",
+                Boolean.class, Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        return Boolean.TRUE.equals(found);
+    }
+
+    public List<String> listPartitions(String table) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+    }
+
+    static String partitionName(String table, LocalDate day) {
+        return table + "_p" + day.format(SUFFIX_FORMAT);
+    }
+
+    static LocalDate partitionDay(String table, String partition) {
+        String prefix = table + "_p";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(prefix.length()), SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public static LocalDate utcDay(Instant instant) {
+        return instant.atZone(ZoneOffset.UTC).toLocalDate();
+    }
+}
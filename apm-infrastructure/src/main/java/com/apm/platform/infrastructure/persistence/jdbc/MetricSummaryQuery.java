@@ -0,0 +1,62 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import com.apm.platform.domain.valueobject.MetricSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+@Component
+public class MetricSummaryQuery {
+
+    static final String SUMMARY_SQL =
+            "SELECT floor((extract(epoch FROM collected_at) - CAST(? AS double precision)) / CAST(? AS double precision)) AS bucket, " +
+            "COUNT(*) AS sample_count, " +
+            "COUNT(*) FILTER (WHERE has_error) AS error_count, " +
+            "AVG(latency_ms) AS avg_latency, " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY latency_ms) AS p50_latency, " +
+            "percentile_cont(0.95) WITHIN GROUP (ORDER BY latency_ms) AS p95_latency, " +
+            "percentile_cont(0.99) WITHIN GROUP (ORDER BY latency_ms) AS p99_latency, " +
+            "MAX(latency_ms) AS max_latency, " +
+            "COUNT(*) FILTER (WHERE status_code BETWEEN 200 AND 299) AS status_2xx, " +
+            "COUNT(*) FILTER (WHERE status_code BETWEEN 300 AND 399) AS status_3xx, " +
+            "COUNT(*) FILTER (WHERE status_code BETWEEN 400 AND 499) AS status_4xx, " +
+            "COUNT(*) FILTER (WHERE status_code BETWEEN 500 AND 599) AS status_5xx " +
+            "FROM metrics WHERE system_id = ? AND collected_at >= ? AND collected_at < ? " +
+            "GROUP BY bucket ORDER BY bucket";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MetricSummaryQuery(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<MetricSummary> summarize(String systemId, Instant startTime, Instant endTime, Duration step) {
+        double stepSeconds = step.toNanos() / 1_000_000_000.0;
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        return jdbcTemplate.query(SUMMARY_SQL, ps -> {
+            ps.setDouble(1, startTime.getEpochSecond() + startTime.getNano() / 1_000_000_000.0);
+            ps.setDouble(2, stepSeconds);
+            ps.setString(3, systemId);
+            ps.setTimestamp(4, Timestamp.from(startTime), utc);
+            ps.setTimestamp(5, Timestamp.from(endTime), utc);
+        }, (rs, rowNum) -> MetricSummary.create(
+                startTime.plus(step.multipliedBy(rs.getLong("bucket"))),
+                rs.getLong("sample_count"),
+                rs.getLong("error_count"),
+                rs.getDouble("avg_latency"),
+                rs.getDouble("p50_latency"),
+                rs.getDouble("p95_latency"),
+                rs.getDouble("p99_latency"),
+                rs.getLong("max_latency"),
+                rs.getLong("status_2xx"),
+                rs.getLong("status_3xx"),
+                rs.getLong("status_4xx"),
+                rs.getLong("status_5xx")));
+    }
+}
@@ -0,0 +1,68 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import com.apm.platform.domain.valueobject.RollupResolution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+// Each batch is its own transaction with a short lock timeout, so it fails fast behind ingestion.
+@Component
+public class RetentionBatchDeleter {
+
+    private static final String DELETE_METRICS_SQL = "DELETE FROM metrics WHERE (id, collected_at) IN (" +
+            "SELECT id, collected_at FROM metrics WHERE system_id = ? AND collected_at < ? " +
+            "ORDER BY collected_at LIMIT ?)";
+    private static final String DELETE_ROLLUPS_SQL = "DELETE FROM metric_rollups " +
+            "WHERE system_id = ? AND resolution = ? AND bucket_start IN (" +
+            "SELECT bucket_start FROM metric_rollups WHERE system_id = ? AND resolution = ? AND bucket_start < ? " +
+            "ORDER BY bucket_start LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long lockTimeoutMs;
+
+    public RetentionBatchDeleter(JdbcTemplate jdbcTemplate,
+                                 @Value("${apm.retention.compactor.lock-timeout-ms:500}") long lockTimeoutMs) {
+        if (lockTimeoutMs < 1) {
+            throw new IllegalArgumentException("Lock timeout must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @Transactional
+    public int deleteMetrics(String systemId, Instant before, int limit) {
+        applyLockTimeout();
+        return jdbcTemplate.update(DELETE_METRICS_SQL, ps -> {
+            ps.setString(1, systemId);
+            ps.setTimestamp(2, Timestamp.from(before), utc());
+            ps.setInt(3, limit);
+        });
+    }
+
+    @Transactional
+    public int deleteRollups(String systemId, RollupResolution resolution, Instant before, int limit) {
+        applyLockTimeout();
+        return jdbcTemplate.update(DELETE_ROLLUPS_SQL, ps -> {
+            ps.setString(1, systemId);
+            ps.setString(2, resolution.getCode());
+            ps.setString(3, systemId);
+            ps.setString(4, resolution.getCode());
+            ps.setTimestamp(5, Timestamp.from(before), utc());
+            ps.setInt(6, limit);
+        });
+    }
+
+    private void applyLockTimeout() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+    }
+
+    private static Calendar utc() {
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
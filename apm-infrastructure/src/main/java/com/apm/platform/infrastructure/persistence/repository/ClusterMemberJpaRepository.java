@@ -0,0 +1,35 @@
+package com.apm.platform.infrastructure.persistence.repository;
+
+import com.apm.platform.infrastructure.persistence.entity.ClusterMemberEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ClusterMemberJpaRepository extends JpaRepository<ClusterMemberEntity, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO cluster_members (node_id, host_name, joined_at, last_heartbeat) " +
+                   "VALUES (:nodeId, :hostName, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (node_id) DO UPDATE SET last_heartbeat = CURRENT_TIMESTAMP, host_name = EXCLUDED.host_name",
+           nativeQuery = true)
+    void heartbeat(@Param("nodeId") String nodeId, @Param("hostName") String hostName);
+
+    @Query(value = "SELECT node_id FROM cluster_members " +
+                   "WHERE last_heartbeat > CURRENT_TIMESTAMP - make_interval(secs => :ttlSeconds)",
+           nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("ttlSeconds") double ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM cluster_members " +
+                   "WHERE last_heartbeat < CURRENT_TIMESTAMP - make_interval(secs => :ttlSeconds)",
+           nativeQuery = true)
+    int deleteExpired(@Param("ttlSeconds") double ttlSeconds);
+}
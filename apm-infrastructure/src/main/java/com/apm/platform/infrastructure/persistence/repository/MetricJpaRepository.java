@@ -3,7 +3,6 @@ package com.apm.platform.infrastructure.persistence.repository;
 import com.apm.platform.infrastructure.persistence.entity.MetricEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,9 +21,18 @@ public interface MetricJpaRepository extends JpaRepository<MetricEntity, String>
     @Query("SELECT m FROM MetricEntity m WHERE m.systemId = :systemId ORDER BY m.collectedAt DESC")
     List<MetricEntity> findRecentBySystemId(@Param("systemId") String systemId, Pageable pageable);
 
-    long countBySystemId(String systemId);
+    @Query("SELECT m FROM MetricEntity m WHERE m.systemId = :systemId AND m.collectedAt BETWEEN :startTime AND :endTime ORDER BY m.collectedAt DESC, m.id DESC")
+    List<MetricEntity> findFirstPage(@Param("systemId") String systemId, @Param("startTime") Instant startTime, @Param("endTime") Instant endTime, Pageable pageable);
+
+    @Query("SELECT m FROM MetricEntity m WHERE m.systemId = :systemId AND m.collectedAt BETWEEN :startTime AND :endTime " +
+           "AND (m.collectedAt < :cursorTime OR (m.collectedAt = :cursorTime AND m.id < :cursorId)) ORDER BY m.collectedAt DESC, m.id DESC")
+    List<MetricEntity> findPageBefore(@Param("systemId") String systemId, @Param("startTime") Instant startTime, @Param("endTime") Instant endTime,
+                                      @Param("cursorTime") Instant cursorTime, @Param("cursorId") String cursorId, Pageable pageable);
 
-    @Modifying
-    @Query("DELETE FROM MetricEntity m WHERE m.collectedAt < :timestamp")
-    void deleteByCollectedAtBefore(@Param("timestamp") Instant timestamp);
+    @Query("SELECT m FROM MetricEntity m WHERE m.systemId = :systemId " +
+           "AND (m.collectedAt > :cursorTime OR (m.collectedAt = :cursorTime AND m.id > :cursorId)) ORDER BY m.collectedAt ASC, m.id ASC")
+    List<MetricEntity> findNewerThan(@Param("systemId") String systemId, @Param("cursorTime") Instant cursorTime,
+                                     @Param("cursorId") String cursorId, Pageable pageable);
+
+    long countBySystemId(String systemId);
 }
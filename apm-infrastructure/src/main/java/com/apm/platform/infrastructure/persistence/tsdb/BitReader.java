@@ -0,0 +1,42 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import java.nio.ByteBuffer;
+
+final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int base;
+    private final long bitLimit;
+    private long position;
+
+    BitReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.base = buffer.position();
+        this.bitLimit = (long) buffer.remaining() * 8;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int bits) {
+        if (position + bits > bitLimit) {
+            throw new IllegalStateException("Unexpected end of segment data");
+        }
+        long value = 0;
+        for (int i = 0; i < bits; i++) {
+            int current = buffer.get(base + (int) (position >>> 3)) & 0xFF;
+            value = (value << 1) | ((current >>> (7 - (position & 7))) & 1);
+            position++;
+        }
+        return value;
+    }
+
+    byte[] readBytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) readBits(8);
+        }
+        return bytes;
+    }
+}
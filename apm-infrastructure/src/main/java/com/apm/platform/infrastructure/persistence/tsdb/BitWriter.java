@@ -0,0 +1,56 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import java.util.Arrays;
+
+final class BitWriter {
+
+    private byte[] buffer;
+    private long bitLength;
+
+    BitWriter(int initialBytes) {
+        this.buffer = new byte[Math.max(16, initialBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    void writeBits(long value, int bits) {
+        if (bits < 0 || bits > 64) {
+            throw new IllegalArgumentException("Bit count must be between 0 and 64");
+        }
+        ensureCapacity(bitLength + bits);
+        for (int i = bits - 1; i >= 0; i--) {
+            if (((value >>> i) & 1L) != 0) {
+                int byteIndex = (int) (bitLength >>> 3);
+                buffer[byteIndex] |= (byte) (0x80 >>> (bitLength & 7));
+            }
+            bitLength++;
+        }
+    }
+
+    void writeBytes(byte[] bytes) {
+        for (byte b : bytes) {
+            writeBits(b & 0xFF, 8);
+        }
+    }
+
+    long bitLength() {
+        return bitLength;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bitLength + 7) >>> 3));
+    }
+
+    private void ensureCapacity(long bits) {
+        long requiredBytes = (bits + 7) >>> 3;
+        if (requiredBytes > buffer.length) {
+            long grown = Math.max(requiredBytes, (long) buffer.length * 2);
+            if (grown > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Segment exceeds maximum encodable size");
+            }
+            buffer = Arrays.copyOf(buffer, (int) grown);
+        }
+    }
+}
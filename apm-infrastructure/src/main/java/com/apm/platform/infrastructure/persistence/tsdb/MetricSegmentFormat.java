@@ -0,0 +1,268 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.ProbeTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Column-by-column layout shared by sealed segment files and WAL records.
+final class MetricSegmentFormat {
+
+    static final int MAGIC = 0x41504D53;
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + 1 + Integer.BYTES + Long.BYTES * 2 + Integer.BYTES;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> ADDITIONAL_DATA_TYPE = new TypeReference<>() {};
+
+    private MetricSegmentFormat() {
+    }
+
+    static final class Header {
+        private final int count;
+        private final long minMicros;
+        private final long maxMicros;
+        private final int payloadBytes;
+
+        Header(int count, long minMicros, long maxMicros, int payloadBytes) {
+            this.count = count;
+            this.minMicros = minMicros;
+            this.maxMicros = maxMicros;
+            this.payloadBytes = payloadBytes;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        long getMinMicros() {
+            return minMicros;
+        }
+
+        long getMaxMicros() {
+            return maxMicros;
+        }
+
+        int getPayloadBytes() {
+            return payloadBytes;
+        }
+    }
+
+    static byte[] encode(List<Metric> oldestFirst) {
+        int count = oldestFirst.size();
+        if (count == 0) {
+            throw new IllegalArgumentException("Segment must contain at least one metric");
+        }
+        long[] timestamps = new long[count];
+        long[] latencies = new long[count];
+        long[] statusCodes = new long[count];
+        double[] cpu = new double[count];
+        double[] memory = new double[count];
+        long[][] timings = new long[4][count];
+        for (int i = 0; i < count; i++) {
+            Metric metric = oldestFirst.get(i);
+            timestamps[i] = toMicros(metric.getCollectedAt());
+            latencies[i] = metric.getLatencyMs();
+            statusCodes[i] = metric.getStatusCode();
+            cpu[i] = metric.getCpuUsagePercent();
+            memory[i] = metric.getMemoryUsagePercent();
+            ProbeTiming timing = metric.getTiming();
+            if (timing != null) {
+                timings[0][i] = timing.getTotalMicros();
+                timings[1][i] = timing.getDnsMicros();
+                timings[2][i] = timing.getFirstByteMicros();
+                timings[3][i] = timing.getDownloadMicros();
+            }
+        }
+
+        BitWriter out = new BitWriter(count * 24);
+        SeriesCodec.writeDeltaOfDelta(out, timestamps);
+        SeriesCodec.writeDeltaOfDelta(out, latencies);
+        SeriesCodec.writeDeltaOfDelta(out, statusCodes);
+        for (Metric metric : oldestFirst) {
+            out.writeBit(metric.hasError());
+        }
+        SeriesCodec.writeXor(out, cpu);
+        SeriesCodec.writeXor(out, memory);
+        for (Metric metric : oldestFirst) {
+            out.writeBit(metric.getTiming() != null);
+        }
+        for (long[] phase : timings) {
+            SeriesCodec.writeDeltaOfDelta(out, phase);
+        }
+        for (Metric metric : oldestFirst) {
+            writeId(out, metric.getId());
+        }
+        for (Metric metric : oldestFirst) {
+            writeAdditionalData(out, metric.getAdditionalData());
+        }
+
+        byte[] payload = out.toByteArray();
+        ByteBuffer segment = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        segment.putInt(MAGIC)
+                .put(VERSION)
+                .putInt(count)
+                .putLong(min(timestamps))
+                .putLong(max(timestamps))
+                .putInt(payload.length)
+                .put(payload);
+        return segment.array();
+    }
+
+    static Header readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a metric segment");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported metric segment version " + version);
+        }
+        Header header = new Header(buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getInt());
+        if (header.getPayloadBytes() > buffer.remaining()) {
+            throw new IllegalStateException("Truncated metric segment");
+        }
+        return header;
+    }
+
+    static List<Metric> decode(String systemId, ByteBuffer buffer) {
+        Header header = readHeader(buffer);
+        int count = header.getCount();
+        ByteBuffer payload = buffer.slice(buffer.position(), header.getPayloadBytes());
+        buffer.position(buffer.position() + header.getPayloadBytes());
+
+        BitReader in = new BitReader(payload);
+        long[] timestamps = SeriesCodec.readDeltaOfDelta(in, count);
+        long[] latencies = SeriesCodec.readDeltaOfDelta(in, count);
+        long[] statusCodes = SeriesCodec.readDeltaOfDelta(in, count);
+        boolean[] errors = readFlags(in, count);
+        double[] cpu = SeriesCodec.readXor(in, count);
+        double[] memory = SeriesCodec.readXor(in, count);
+        boolean[] timed = readFlags(in, count);
+        long[][] timings = new long[4][];
+        for (int phase = 0; phase < timings.length; phase++) {
+            timings[phase] = SeriesCodec.readDeltaOfDelta(in, count);
+        }
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = readId(in);
+        }
+
+        List<Metric> metrics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String additionalDataJson = readAdditionalData(in);
+            ProbeTiming timing = timed[i]
+                    ? ProbeTiming.ofMicros(timings[0][i], timings[1][i], timings[2][i], timings[3][i])
+                    : null;
+            metrics.add(Metric.reconstitute(ids[i], systemId, latencies[i], (int) statusCodes[i], errors[i],
+                    cpu[i], memory[i], () -> decodeAdditionalData(additionalDataJson),
+                    fromMicros(timestamps[i]), timing));
+        }
+        return metrics;
+    }
+
+    static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static boolean[] readFlags(BitReader in, int count) {
+        boolean[] flags = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            flags[i] = in.readBit();
+        }
+        return flags;
+    }
+
+    private static void writeId(BitWriter out, String id) {
+        UUID uuid = parseCanonicalUuid(id);
+        out.writeBit(uuid != null);
+        if (uuid != null) {
+            out.writeBits(uuid.getMostSignificantBits(), 64);
+            out.writeBits(uuid.getLeastSignificantBits(), 64);
+        } else {
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            out.writeBits(bytes.length, 16);
+            out.writeBytes(bytes);
+        }
+    }
+
+    private static String readId(BitReader in) {
+        if (in.readBit()) {
+            return new UUID(in.readBits(64), in.readBits(64)).toString();
+        }
+        return new String(in.readBytes((int) in.readBits(16)), StandardCharsets.UTF_8);
+    }
+
+    private static UUID parseCanonicalUuid(String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeAdditionalData(BitWriter out, Map<String, Object> additionalData) {
+        boolean present = additionalData != null && !additionalData.isEmpty();
+        out.writeBit(present);
+        if (!present) {
+            return;
+        }
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(additionalData);
+            out.writeBits(json.length, 32);
+            out.writeBytes(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metric additional data is not serializable as JSON", e);
+        }
+    }
+
+    private static String readAdditionalData(BitReader in) {
+        if (!in.readBit()) {
+            return null;
+        }
+        return new String(in.readBytes((int) in.readBits(32)), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> decodeAdditionalData(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, ADDITIONAL_DATA_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored metric additional data is not valid JSON", e);
+        }
+    }
+
+    private static long min(long[] values) {
+        long min = Long.MAX_VALUE;
+        for (long value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static long max(long[] values) {
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,743 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+// Writes go to a WAL and a per-system head, which is sealed into a compressed segment when its bucket closes.
+@Component
+@Qualifier("metricStore")
+@ConditionalOnProperty(name = "apm.persistence.metrics.store", havingValue = "segment")
+public class SegmentMetricRepository implements MetricRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentMetricRepository.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String WAL_FILE = "head.wal";
+    private static final Pattern SYSTEM_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final Comparator<Metric> NEWEST_FIRST =
+            Comparator.comparing(Metric::getCollectedAt).reversed();
+
+    private static final Comparator<Metric> KEYSET_NEWEST_FIRST = Comparator
+            .comparing(Metric::getCollectedAt)
+            .thenComparing(Metric::getId)
+            .reversed();
+
+    private final Path dataDir;
+    private final long bucketMs;
+    private final long sealGraceMs;
+    private final int maxPointsPerSegment;
+    private final boolean walFsync;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, NavigableMap<Long, List<Metric>>> heads = new HashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Long, List<SegmentRef>>> index = new ConcurrentHashMap<>();
+    private FileChannel wal;
+
+    public SegmentMetricRepository(MeterRegistry meterRegistry,
+                                   @Value("${apm.persistence.metrics.segment.data-dir:./data/metric-segments}") String dataDir,
+                                   @Value("${apm.persistence.metrics.segment.bucket-ms:3600000}") long bucketMs,
+                                   @Value("${apm.persistence.metrics.segment.seal-grace-ms:60000}") long sealGraceMs,
+                                   @Value("${apm.persistence.metrics.segment.max-points-per-segment:10000}") int maxPointsPerSegment,
+                                   @Value("${apm.persistence.metrics.segment.wal-fsync:false}") boolean walFsync) {
+        if (bucketMs < 1000) {
+            throw new IllegalArgumentException("Segment bucket must be at least one second");
+        }
+        if (sealGraceMs < 0) {
+            throw new IllegalArgumentException("Seal grace period cannot be negative");
+        }
+        if (maxPointsPerSegment < 1) {
+            throw new IllegalArgumentException("Max points per segment must be at least 1");
+        }
+        this.dataDir = Paths.get(dataDir);
+        this.bucketMs = bucketMs;
+        this.sealGraceMs = sealGraceMs;
+        this.maxPointsPerSegment = maxPointsPerSegment;
+        this.walFsync = walFsync;
+
+        Gauge.builder("apm.metrics.segment-store.segments", this, r -> r.allSegments().size())
+                .description("Sealed metric segment files")
+                .register(meterRegistry);
+        Gauge.builder("apm.metrics.segment-store.bytes", this,
+                        r -> r.allSegments().stream().mapToLong(SegmentRef::getSizeBytes).sum())
+                .description("Bytes of sealed metric segments on disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("apm.metrics.segment-store.head.points", this, SegmentMetricRepository::headPoints)
+                .description("Metrics held in open buckets awaiting sealing")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(dataDir);
+            loadIndex();
+            replayWal();
+            wal = FileChannel.open(dataDir.resolve(WAL_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            logger.info("Opened metric segment store at {} with {} segments and {} unsealed metrics",
+                    dataDir.toAbsolutePath(), allSegments().size(), headPoints());
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to open metric segment store at " + dataDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            sealWhere((bucketStart, points) -> true);
+            if (wal != null) {
+                wal.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close metric write-ahead log: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Metric save(Metric metric) {
+        saveAll(List.of(metric));
+        return metric;
+    }
+
+    @Override
+    public List<Metric> saveAll(List<Metric> metrics) {
+        if (metrics.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Metric>> bySystem = new LinkedHashMap<>();
+        for (Metric metric : metrics) {
+            validateSystemId(metric.getSystemId());
+            bySystem.computeIfAbsent(metric.getSystemId(), id -> new ArrayList<>()).add(metric);
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, List<Metric>> entry : bySystem.entrySet()) {
+                appendToWal(entry.getKey(), entry.getValue());
+            }
+            if (walFsync) {
+                wal.force(false);
+            }
+            for (Map.Entry<String, List<Metric>> entry : bySystem.entrySet()) {
+                addToHead(entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to append metrics to write-ahead log", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return List.copyOf(metrics);
+    }
+
+    @Override
+    public Optional<Metric> findById(String metricId) {
+        for (String systemId : systemIds()) {
+            for (Metric metric : headSnapshot(systemId)) {
+                if (metric.getId().equals(metricId)) {
+                    return Optional.of(metric);
+                }
+            }
+            for (List<SegmentRef> segments : segmentsOf(systemId).values()) {
+                for (SegmentRef segment : segments) {
+                    for (Metric metric : read(systemId, segment)) {
+                        if (metric.getId().equals(metricId)) {
+                            return Optional.of(metric);
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Metric> findBySystemId(String systemId) {
+        return findBySystemIdAndTimeRange(systemId, Instant.MIN, Instant.MAX);
+    }
+
+    @Override
+    public List<Metric> findBySystemIdAndTimeRange(String systemId, Instant startTime, Instant endTime) {
+        List<Metric> result = new ArrayList<>();
+        forEachInRange(systemId, saturatedMicros(startTime), saturatedMicros(endTime), result::add);
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    @Override
+    public List<Metric> findRecentBySystemId(String systemId, int limit) {
+        NavigableMap<Long, List<Metric>> head = headBuckets(systemId);
+        ConcurrentSkipListMap<Long, List<SegmentRef>> segments = segmentsOf(systemId);
+        NavigableSet<Long> buckets = new TreeSet<>(head.keySet());
+        buckets.addAll(segments.keySet());
+
+        List<Metric> result = new ArrayList<>();
+        for (Long bucket : buckets.descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.addAll(head.getOrDefault(bucket, List.of()));
+            for (SegmentRef segment : segments.getOrDefault(bucket, List.of())) {
+                result.addAll(read(systemId, segment));
+            }
+        }
+        result.sort(NEWEST_FIRST);
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    @Override
+    public List<Metric> findPageBySystemId(String systemId, Instant startTime, Instant endTime,
+                                           MetricCursor before, int limit) {
+        Instant pageEnd = before != null && before.getCollectedAt().isBefore(endTime) ? before.getCollectedAt() : endTime;
+        List<Metric> page = new ArrayList<>();
+        for (Metric metric : findBySystemIdAndTimeRange(systemId, startTime, pageEnd)) {
+            if (before == null || before.isAfter(metric)) {
+                page.add(metric);
+            }
+        }
+        page.sort(KEYSET_NEWEST_FIRST);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+
+    @Override
+    public List<Metric> findNewerThan(String systemId, MetricCursor since, int limit) {
+        List<Metric> newer = new ArrayList<>();
+        for (Metric metric : findBySystemIdAndTimeRange(systemId, since.getCollectedAt(), Instant.MAX)) {
+            if (since.isBefore(metric)) {
+                newer.add(metric);
+            }
+        }
+        newer.sort(KEYSET_NEWEST_FIRST.reversed());
+        return newer.size() > limit ? new ArrayList<>(newer.subList(0, limit)) : newer;
+    }
+
+    @Override
+    public List<MetricSummary> summarize(String systemId, Instant startTime, Instant endTime, Duration step) {
+        long startMicros = saturatedMicros(startTime);
+        long stepMicros = step.toNanos() / 1_000;
+        TreeMap<Long, SummaryAccumulator> buckets = new TreeMap<>();
+        forEachInRange(systemId, startMicros, saturatedMicros(endTime) - 1, metric -> {
+            long bucket = (MetricSegmentFormat.toMicros(metric.getCollectedAt()) - startMicros) / stepMicros;
+            buckets.computeIfAbsent(bucket, b -> new SummaryAccumulator(startTime.plus(step.multipliedBy(b))))
+                    .add(metric);
+        });
+        return buckets.values().stream()
+                .map(SummaryAccumulator::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countBySystemId(String systemId) {
+        long count = headSnapshot(systemId).size();
+        for (List<SegmentRef> segments : segmentsOf(systemId).values()) {
+            for (SegmentRef segment : segments) {
+                count += segment.getCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteOlderThan(Instant timestamp) {
+        long cutoffMs = timestamp.toEpochMilli();
+        int deleted = 0;
+        for (ConcurrentSkipListMap<Long, List<SegmentRef>> segments : index.values()) {
+            Iterator<Map.Entry<Long, List<SegmentRef>>> it = segments.headMap(cutoffMs - bucketMs, true)
+                    .entrySet().iterator();
+            while (it.hasNext()) {
+                for (SegmentRef segment : it.next().getValue()) {
+                    deleteQuietly(segment.getPath());
+                    deleted++;
+                }
+                it.remove();
+            }
+        }
+
+        long cutoffMicros = MetricSegmentFormat.toMicros(timestamp);
+        lock.writeLock().lock();
+        try {
+            for (NavigableMap<Long, List<Metric>> head : heads.values()) {
+                head.values().forEach(points ->
+                        points.removeIf(m -> MetricSegmentFormat.toMicros(m.getCollectedAt()) < cutoffMicros));
+                head.values().removeIf(List::isEmpty);
+            }
+            heads.values().removeIf(Map::isEmpty);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Deleted {} metric segments with buckets ending before {}", deleted, timestamp);
+    }
+
+    // Segments are dropped whole once every point in them has expired, so the limit is not applied here.
+    @Override
+    public int deleteBySystemIdOlderThan(String systemId, Instant timestamp, int limit) {
+        long cutoffMicros = MetricSegmentFormat.toMicros(timestamp);
+        int deleted = 0;
+        ConcurrentSkipListMap<Long, List<SegmentRef>> segments = index.get(systemId);
+        if (segments != null) {
+            Iterator<Map.Entry<Long, List<SegmentRef>>> it = segments.headMap(timestamp.toEpochMilli(), true)
+                    .entrySet().iterator();
+            while (it.hasNext()) {
+                List<SegmentRef> bucket = it.next().getValue();
+                if (bucket.stream().allMatch(segment -> segment.getMaxMicros() < cutoffMicros)) {
+                    for (SegmentRef segment : bucket) {
+                        deleteQuietly(segment.getPath());
+                        deleted += segment.getCount();
+                    }
+                    it.remove();
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            NavigableMap<Long, List<Metric>> head = heads.get(systemId);
+            if (head != null) {
+                for (List<Metric> points : head.values()) {
+                    int before = points.size();
+                    points.removeIf(m -> MetricSegmentFormat.toMicros(m.getCollectedAt()) < cutoffMicros);
+                    deleted += before - points.size();
+                }
+                head.values().removeIf(List::isEmpty);
+                if (head.isEmpty()) {
+                    heads.remove(systemId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    @Scheduled(fixedDelayString = "${apm.persistence.metrics.segment.seal-interval-ms:60000}",
+               initialDelayString = "${apm.persistence.metrics.segment.seal-interval-ms:60000}")
+    public void sealClosedBuckets() {
+        long cutoff = System.currentTimeMillis() - sealGraceMs;
+        lock.writeLock().lock();
+        try {
+            int sealed = sealWhere((bucketStart, points) ->
+                    bucketStart + bucketMs <= cutoff || points.size() >= maxPointsPerSegment);
+            if (sealed > 0) {
+                logger.debug("Sealed {} metric segments", sealed);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to seal metric segments", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private interface SealCondition {
+        boolean shouldSeal(long bucketStart, List<Metric> points);
+    }
+
+    private int sealWhere(SealCondition condition) throws IOException {
+        int sealed = 0;
+        for (Iterator<Map.Entry<String, NavigableMap<Long, List<Metric>>>> systems = heads.entrySet().iterator();
+             systems.hasNext(); ) {
+            Map.Entry<String, NavigableMap<Long, List<Metric>>> system = systems.next();
+            for (Iterator<Map.Entry<Long, List<Metric>>> buckets = system.getValue().entrySet().iterator();
+                 buckets.hasNext(); ) {
+                Map.Entry<Long, List<Metric>> bucket = buckets.next();
+                if (condition.shouldSeal(bucket.getKey(), bucket.getValue())) {
+                    writeSegment(system.getKey(), bucket.getKey(), bucket.getValue());
+                    buckets.remove();
+                    sealed++;
+                }
+            }
+            if (system.getValue().isEmpty()) {
+                systems.remove();
+            }
+        }
+        if (sealed > 0) {
+            rewriteWal();
+        }
+        return sealed;
+    }
+
+    private void writeSegment(String systemId, long bucketStart, List<Metric> points) throws IOException {
+        List<Metric> oldestFirst = new ArrayList<>(points);
+        oldestFirst.sort(Comparator.comparing(Metric::getCollectedAt));
+        byte[] bytes = MetricSegmentFormat.encode(oldestFirst);
+
+        Path systemDir = dataDir.resolve(systemId);
+        Files.createDirectories(systemDir);
+        List<SegmentRef> existing = segmentsOf(systemId).getOrDefault(bucketStart, List.of());
+        Path target = systemDir.resolve(bucketStart + "-" + existing.size() + SEGMENT_SUFFIX);
+        writeAtomically(target, ByteBuffer.wrap(bytes));
+
+        MetricSegmentFormat.Header header = MetricSegmentFormat.readHeader(ByteBuffer.wrap(bytes));
+        index.computeIfAbsent(systemId, id -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucketStart, b -> new CopyOnWriteArrayList<>())
+                .add(new SegmentRef(target, header, bytes.length));
+    }
+
+    private void addToHead(String systemId, List<Metric> metrics) {
+        NavigableMap<Long, List<Metric>> head = heads.computeIfAbsent(systemId, id -> new TreeMap<>());
+        for (Metric metric : metrics) {
+            head.computeIfAbsent(bucketStart(metric.getCollectedAt()), b -> new ArrayList<>()).add(metric);
+        }
+    }
+
+    private void appendToWal(String systemId, List<Metric> metrics) throws IOException {
+        ByteBuffer record = walRecord(systemId, metrics);
+        while (record.hasRemaining()) {
+            wal.write(record);
+        }
+    }
+
+    private void rewriteWal() throws IOException {
+        List<ByteBuffer> records = new ArrayList<>();
+        for (Map.Entry<String, NavigableMap<Long, List<Metric>>> system : heads.entrySet()) {
+            for (List<Metric> points : system.getValue().values()) {
+                records.add(walRecord(system.getKey(), points));
+            }
+        }
+        wal.close();
+        writeAtomically(dataDir.resolve(WAL_FILE), records.toArray(new ByteBuffer[0]));
+        wal = FileChannel.open(dataDir.resolve(WAL_FILE), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer walRecord(String systemId, List<Metric> metrics) {
+        byte[] system = systemId.getBytes(StandardCharsets.UTF_8);
+        byte[] segment = MetricSegmentFormat.encode(metrics);
+        CRC32 crc = new CRC32();
+        crc.update(system);
+        crc.update(segment);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 2 + Short.BYTES + system.length + segment.length);
+        record.putInt(Short.BYTES + system.length + segment.length)
+                .putShort((short) system.length)
+                .put(system)
+                .put(segment)
+                .putInt((int) crc.getValue())
+                .flip();
+        return record;
+    }
+
+    private void replayWal() throws IOException {
+        Path walPath = dataDir.resolve(WAL_FILE);
+        if (!Files.exists(walPath)) {
+            return;
+        }
+        long validBytes = 0;
+        int replayed = 0;
+        int alreadySealed = 0;
+        Map<String, Map<Long, Set<String>>> sealedIds = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(walPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length < Short.BYTES || length + Integer.BYTES > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                CRC32 crc = new CRC32();
+                crc.update(body.duplicate().position(Short.BYTES));
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    break;
+                }
+                byte[] system = new byte[body.getShort()];
+                body.get(system);
+                String systemId = new String(system, StandardCharsets.UTF_8);
+                List<Metric> metrics = new ArrayList<>();
+                for (Metric metric : MetricSegmentFormat.decode(systemId, body)) {
+                    if (isSealed(systemId, metric, sealedIds)) {
+                        alreadySealed++;
+                    } else {
+                        metrics.add(metric);
+                    }
+                }
+                addToHead(systemId, metrics);
+                replayed += metrics.size();
+                validBytes = buffer.position();
+            }
+            if (validBytes < channel.size()) {
+                logger.warn("Discarding {} bytes of incomplete metric write-ahead log", channel.size() - validBytes);
+                channel.truncate(validBytes);
+            }
+        } catch (IllegalStateException | BufferUnderflowException e) {
+            logger.warn("Metric write-ahead log is corrupt after {} metrics: {}", replayed, e.getMessage());
+            try (FileChannel channel = FileChannel.open(walPath, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} unsealed metrics from write-ahead log", replayed);
+        }
+        if (alreadySealed > 0) {
+            logger.info("Skipped {} write-ahead log metrics already sealed into segments", alreadySealed);
+        }
+    }
+
+    // A crash after a segment is written but before the WAL is rewritten leaves the sealed points in both,
+    // so replay skips WAL points whose id is already in a segment of the same bucket.
+    private boolean isSealed(String systemId, Metric metric, Map<String, Map<Long, Set<String>>> sealedIds) {
+        long bucket = bucketStart(metric.getCollectedAt());
+        List<SegmentRef> segments = segmentsOf(systemId).get(bucket);
+        if (segments == null) {
+            return false;
+        }
+        Set<String> ids = sealedIds.computeIfAbsent(systemId, id -> new HashMap<>()).computeIfAbsent(bucket, b -> {
+            Set<String> sealed = new HashSet<>();
+            segments.forEach(segment -> read(systemId, segment).forEach(m -> sealed.add(m.getId())));
+            return sealed;
+        });
+        return ids.contains(metric.getId());
+    }
+
+    private void loadIndex() throws IOException {
+        try (DirectoryStream<Path> systems = Files.newDirectoryStream(dataDir, Files::isDirectory)) {
+            for (Path systemDir : systems) {
+                String systemId = systemDir.getFileName().toString();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(systemDir)) {
+                    for (Path file : files) {
+                        loadSegment(systemId, file);
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadSegment(String systemId, Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".tmp")) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        int separator = name.indexOf('-');
+        if (!name.endsWith(SEGMENT_SUFFIX) || separator < 0) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MetricSegmentFormat.Header header = MetricSegmentFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            long bucketStart = Long.parseLong(name.substring(0, separator));
+            index.computeIfAbsent(systemId, id -> new ConcurrentSkipListMap<>())
+                    .computeIfAbsent(bucketStart, b -> new CopyOnWriteArrayList<>())
+                    .add(new SegmentRef(file, header, channel.size()));
+        } catch (IllegalStateException | NumberFormatException e) {
+            logger.warn("Skipping unreadable metric segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private List<Metric> read(String systemId, SegmentRef segment) {
+        try (FileChannel channel = FileChannel.open(segment.getPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return MetricSegmentFormat.decode(systemId, buffer);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to read metric segment " + segment.getPath(), e);
+        }
+    }
+
+    private void writeAtomically(Path target, ByteBuffer... contents) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ByteBuffer content : contents) {
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<Metric> headSnapshot(String systemId) {
+        List<Metric> snapshot = new ArrayList<>();
+        for (List<Metric> points : headBuckets(systemId).values()) {
+            snapshot.addAll(points);
+        }
+        return snapshot;
+    }
+
+    private NavigableMap<Long, List<Metric>> headBuckets(String systemId) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Long, List<Metric>> head = heads.get(systemId);
+            NavigableMap<Long, List<Metric>> copy = new TreeMap<>();
+            if (head != null) {
+                head.forEach((bucket, points) -> copy.put(bucket, new ArrayList<>(points)));
+            }
+            return copy;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ConcurrentSkipListMap<Long, List<SegmentRef>> segmentsOf(String systemId) {
+        return index.getOrDefault(systemId, new ConcurrentSkipListMap<>());
+    }
+
+    private List<String> systemIds() {
+        NavigableSet<String> ids = new TreeSet<>(index.keySet());
+        lock.readLock().lock();
+        try {
+            ids.addAll(heads.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private List<SegmentRef> allSegments() {
+        List<SegmentRef> all = new ArrayList<>();
+        index.values().forEach(segments -> segments.values().forEach(all::addAll));
+        return all;
+    }
+
+    private int headPoints() {
+        lock.readLock().lock();
+        try {
+            return heads.values().stream()
+                    .flatMap(head -> head.values().stream())
+                    .mapToInt(List::size)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long bucketStart(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), bucketMs) * bucketMs;
+    }
+
+    private void forEachInRange(String systemId, long startMicros, long endMicros, Consumer<Metric> action) {
+        for (Metric metric : headSnapshot(systemId)) {
+            acceptIfInRange(metric, startMicros, endMicros, action);
+        }
+        for (List<SegmentRef> segments : segmentsOf(systemId).values()) {
+            for (SegmentRef segment : segments) {
+                if (segment.getMaxMicros() >= startMicros && segment.getMinMicros() <= endMicros) {
+                    for (Metric metric : read(systemId, segment)) {
+                        acceptIfInRange(metric, startMicros, endMicros, action);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void acceptIfInRange(Metric metric, long startMicros, long endMicros, Consumer<Metric> action) {
+        long micros = MetricSegmentFormat.toMicros(metric.getCollectedAt());
+        if (micros >= startMicros && micros <= endMicros) {
+            action.accept(metric);
+        }
+    }
+
+    private static long saturatedMicros(Instant instant) {
+        try {
+            return MetricSegmentFormat.toMicros(instant);
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static void validateSystemId(String systemId) {
+        if (systemId == null || !SYSTEM_ID_PATTERN.matcher(systemId).matches()) {
+            throw new IllegalArgumentException("System ID cannot be used as a segment directory: " + systemId);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete metric segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    static final class SegmentRef {
+        private final Path path;
+        private final int count;
+        private final long minMicros;
+        private final long maxMicros;
+        private final long sizeBytes;
+
+        SegmentRef(Path path, MetricSegmentFormat.Header header, long sizeBytes) {
+            this.path = path;
+            this.count = header.getCount();
+            this.minMicros = header.getMinMicros();
+            this.maxMicros = header.getMaxMicros();
+            this.sizeBytes = sizeBytes;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        long getMinMicros() {
+            return minMicros;
+        }
+
+        long getMaxMicros() {
+            return maxMicros;
+        }
+
+        long getSizeBytes() {
+            return sizeBytes;
+        }
+    }
+}
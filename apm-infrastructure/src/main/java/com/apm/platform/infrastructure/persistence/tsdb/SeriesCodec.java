@@ -0,0 +1,139 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+// Gorilla-style: delta-of-delta for integer series, XOR of consecutive bit patterns for doubles.
+final class SeriesCodec {
+
+    private static final int[] DOD_WIDTHS = {7, 14, 21};
+
+    private SeriesCodec() {
+    }
+
+    static void writeDeltaOfDelta(BitWriter out, long[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        out.writeBits(values[0], 64);
+        if (values.length == 1) {
+            return;
+        }
+        long previousDelta = values[1] - values[0];
+        out.writeBits(previousDelta, 64);
+        for (int i = 2; i < values.length; i++) {
+            long delta = values[i] - values[i - 1];
+            writeDod(out, delta - previousDelta);
+            previousDelta = delta;
+        }
+    }
+
+    static long[] readDeltaOfDelta(BitReader in, int count) {
+        long[] values = new long[count];
+        if (count == 0) {
+            return values;
+        }
+        values[0] = in.readBits(64);
+        if (count == 1) {
+            return values;
+        }
+        long delta = in.readBits(64);
+        values[1] = values[0] + delta;
+        for (int i = 2; i < count; i++) {
+            delta += readDod(in);
+            values[i] = values[i - 1] + delta;
+        }
+        return values;
+    }
+
+    static void writeXor(BitWriter out, double[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        long previous = Double.doubleToRawLongBits(values[0]);
+        out.writeBits(previous, 64);
+        int previousLeading = Integer.MAX_VALUE;
+        int previousTrailing = 0;
+        for (int i = 1; i < values.length; i++) {
+            long current = Double.doubleToRawLongBits(values[i]);
+            long xor = current ^ previous;
+            previous = current;
+            if (xor == 0) {
+                out.writeBit(false);
+                continue;
+            }
+            out.writeBit(true);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading != Integer.MAX_VALUE && leading >= previousLeading && trailing >= previousTrailing) {
+                out.writeBit(false);
+                out.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                out.writeBit(true);
+                out.writeBits(leading, 5);
+                out.writeBits(significant & 63, 6);
+                out.writeBits(xor >>> trailing, significant);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+    }
+
+    static double[] readXor(BitReader in, int count) {
+        double[] values = new double[count];
+        if (count == 0) {
+            return values;
+        }
+        long previous = in.readBits(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.readBits(5);
+                    int significant = (int) in.readBits(6);
+                    if (significant == 0) {
+                        significant = 64;
+                    }
+                    trailing = 64 - leading - significant;
+                }
+                long xor = in.readBits(64 - leading - trailing) << trailing;
+                previous ^= xor;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    private static void writeDod(BitWriter out, long dod) {
+        if (dod == 0) {
+            out.writeBit(false);
+            return;
+        }
+        for (int bucket = 0; bucket < DOD_WIDTHS.length; bucket++) {
+            int width = DOD_WIDTHS[bucket];
+            if (dod >= -(1L << (width - 1)) && dod < (1L << (width - 1))) {
+                out.writeBits((1L << (bucket + 2)) - 2, bucket + 2);
+                out.writeBits(dod & ((1L << width) - 1), width);
+                return;
+            }
+        }
+        out.writeBits(0b1111, 4);
+        out.writeBits(dod, 64);
+    }
+
+    private static long readDod(BitReader in) {
+        int bucket = 0;
+        while (bucket < DOD_WIDTHS.length + 1 && in.readBit()) {
+            bucket++;
+        }
+        if (bucket == 0) {
+            return 0;
+        }
+        if (bucket > DOD_WIDTHS.length) {
+            return in.readBits(64);
+        }
+        int width = DOD_WIDTHS[bucket - 1];
+        long raw = in.readBits(width);
+        return (raw << (64 - width)) >> (64 - width);
+    }
+}
@@ -0,0 +1,46 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.MetricSummary;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+final class SummaryAccumulator {
+
+    private final Instant bucketStart;
+    private long[] latencies = new long[64];
+    private int count;
+    private long errorCount;
+    private long latencySum;
+    private final long[] statusClassCounts = new long[6];
+
+    SummaryAccumulator(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    void add(Metric metric) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = metric.getLatencyMs();
+        latencySum += metric.getLatencyMs();
+        if (metric.hasError()) {
+            errorCount++;
+        }
+        int statusClass = metric.getStatusCode() / 100;
+        if (statusClass >= 2 && statusClass <= 5) {
+            statusClassCounts[statusClass]++;
+        }
+    }
+
+    MetricSummary toSummary() {
+        Arrays.sort(latencies, 0, count);
+        return MetricSummary.create(bucketStart, count, errorCount, (double) latencySum / count,
+                MetricSummary.percentile(latencies, count, 0.5),
+                MetricSummary.percentile(latencies, count, 0.95),
+                MetricSummary.percentile(latencies, count, 0.99),
+                latencies[count - 1],
+                statusClassCounts[2], statusClassCounts[3], statusClassCounts[4], statusClassCounts[5]);
+    }
+}
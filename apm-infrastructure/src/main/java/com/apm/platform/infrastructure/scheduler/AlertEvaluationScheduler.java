@@ -6,72 +6,92 @@ import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
 import com.apm.platform.domain.service.AlertRuleDomainService;
-import com.apm.platform.application.usecase.TriggerAlertUseCase;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import com.apm.platform.domain.valueobject.AlertTransition;
+import com.apm.platform.application.usecase.TrackAlertLifecycleUseCase;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
+@ConditionalOnProperty(name = "apm.alert.evaluation.mode", havingValue = "polling", matchIfMissing = true)
 public class AlertEvaluationScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(AlertEvaluationScheduler.class);
-    private static final int RECENT_METRICS_LIMIT = 10;
-
     private final MonitoredSystemRepository systemRepository;
     private final AlertRuleRepository alertRuleRepository;
     private final MetricRepository metricRepository;
     private final AlertRuleDomainService alertRuleService;
-    private final TriggerAlertUseCase triggerAlertUseCase;
+    private final TrackAlertLifecycleUseCase lifecycleUseCase;
+    private final ClusterTaskGuard taskGuard;
 
     public AlertEvaluationScheduler(MonitoredSystemRepository systemRepository,
                                    AlertRuleRepository alertRuleRepository,
                                    MetricRepository metricRepository,
                                    AlertRuleDomainService alertRuleService,
-                                   TriggerAlertUseCase triggerAlertUseCase) {
+                                   TrackAlertLifecycleUseCase lifecycleUseCase,
+                                   ClusterTaskGuard taskGuard) {
         this.systemRepository = systemRepository;
         this.alertRuleRepository = alertRuleRepository;
         this.metricRepository = metricRepository;
         this.alertRuleService = alertRuleService;
-        this.triggerAlertUseCase = triggerAlertUseCase;
+        this.lifecycleUseCase = lifecycleUseCase;
+        this.taskGuard = taskGuard;
     }
 
     @Scheduled(fixedDelayString = "${apm.scheduler.alert-evaluation.interval-ms:60000}")
-    @SchedulerLock(name = "alertEvaluationScheduler", lockAtMostFor = "5m", lockAtLeastFor = "10s")
     public void evaluateAlerts() {
+        taskGuard.run("alertEvaluationScheduler", Duration.ofMinutes(5), Duration.ofSeconds(10), this::runEvaluation);
+    }
+
+    private void runEvaluation() {
         logger.info("Starting alert evaluation cycle");
 
         List<AlertRule> allRules = alertRuleRepository.findAll();
         int triggeredCount = 0;
+        int resolvedCount = 0;
 
         for (AlertRule rule : allRules) {
-            if (!rule.isEnabled()) {
+            if (!rule.isEnabled() || !taskGuard.owns(rule.getSystemId())) {
                 continue;
             }
 
             try {
+                // Newest first, exactly as many as the rule needs to fire.
                 List<Metric> recentMetrics = metricRepository.findRecentBySystemId(
-                    rule.getSystemId(), RECENT_METRICS_LIMIT
+                    rule.getSystemId(), rule.getConsecutiveViolations()
                 );
 
-                if (alertRuleService.shouldTriggerAlert(rule, recentMetrics)) {
-                    String message = String.format("Alert rule '%s' violated for system. " +
-                        "Threshold: %.2f, Type: %s", 
-                        rule.getName(), rule.getThresholdValue(), rule.getType());
-                    
-                    triggerAlertUseCase.execute(rule.getSystemId(), rule.getId(), message);
+                boolean violated = !recentMetrics.isEmpty()
+                    && alertRuleService.checkViolation(rule, recentMetrics.get(0));
+                boolean conditionMet = alertRuleService.shouldTriggerAlert(rule, recentMetrics);
+                AlertTransition transition = lifecycleUseCase.execute(rule, violated, conditionMet);
+
+                if (transition.isFire()) {
                     triggeredCount++;
-                    
-                    logger.warn("Alert triggered: {}", message);
+                    logger.warn("Alert triggered for rule '{}' on system {}", rule.getName(), rule.getSystemId());
+                } else if (transition.isResolve()) {
+                    resolvedCount++;
+                    logger.info("Alert resolved for rule '{}' on system {}", rule.getName(), rule.getSystemId());
                 }
             } catch (Exception e) {
                 logger.error("Failed to evaluate alert rule: {}", rule.getName(), e);
             }
         }
 
-        logger.info("Alert evaluation completed. Alerts triggered: {}", triggeredCount);
+        Set<String> activeRuleIds = allRules.stream()
+                .filter(AlertRule::isEnabled)
+                .map(AlertRule::getId)
+                .collect(Collectors.toSet());
+        resolvedCount += lifecycleUseCase.retireInactiveRules(activeRuleIds);
+
+        logger.info("Alert evaluation completed. Alerts triggered: {}, resolved: {}", triggeredCount, resolvedCount);
     }
 }
@@ -0,0 +1,229 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class CollectionCycleExecutor implements AutoCloseable {
+
+    public enum Outcome { SUCCESS, FAILURE, MISSED_DEADLINE }
+
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor deadlines;
+    private final Semaphore globalPermits;
+    private final int perHostConcurrency;
+    private final Duration deadline;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public CollectionCycleExecutor(int maxConcurrency, int perHostConcurrency, Duration deadline) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1");
+        }
+        if (perHostConcurrency < 1) {
+            throw new IllegalArgumentException("Per-host concurrency must be at least 1");
+        }
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Cycle deadline must be positive");
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.deadlines = new ScheduledThreadPoolExecutor(1,
+                runnable -> Thread.ofPlatform().name("collection-deadline").daemon().unstarted(runnable));
+        this.deadlines.setRemoveOnCancelPolicy(true);
+        this.globalPermits = new Semaphore(maxConcurrency, true);
+        this.perHostConcurrency = perHostConcurrency;
+        this.deadline = deadline;
+    }
+
+    // Starts the collection without waiting for it. Returns false, and runs nothing, while the system's
+    // previous collection is still in flight so a slow host never overlaps with itself. A collection still
+    // running at the deadline is interrupted and reported as MISSED_DEADLINE once it has actually stopped.
+    public boolean dispatch(String systemId, String host, Runnable action, Consumer<Outcome> onComplete) {
+        if (!running.add(systemId)) {
+            return false;
+        }
+        Probe probe = new Probe();
+        try {
+            executor.execute(() -> {
+                Outcome outcome = Outcome.FAILURE;
+                try {
+                    if (probe.start()) {
+                        outcome = run(host, action);
+                    }
+                } finally {
+                    if (probe.finish()) {
+                        Thread.interrupted();
+                        outcome = Outcome.MISSED_DEADLINE;
+                    }
+                    running.remove(systemId);
+                    onComplete.accept(outcome);
+                }
+            });
+            probe.watch(deadlines.schedule(probe::expire, deadline.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            running.remove(systemId);
+            throw e;
+        }
+        return true;
+    }
+
+    public int inFlightCount() {
+        return running.size();
+    }
+
+    private Outcome run(String host, Runnable action) {
+        try {
+            globalPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILURE;
+        }
+        try {
+            Semaphore hostPermit = hostPermits.computeIfAbsent(host, h -> new Semaphore(perHostConcurrency, true));
+            hostPermit.acquire();
+            try {
+                action.run();
+                return Outcome.SUCCESS;
+            } catch (RuntimeException e) {
+                return Outcome.FAILURE;
+            } finally {
+                hostPermit.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILURE;
+        } finally {
+            globalPermits.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        deadlines.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static final class Probe {
+
+        private Thread worker;
+        private ScheduledFuture<?> expiry;
+        private boolean expired;
+        private boolean finished;
+
+        synchronized boolean start() {
+            worker = Thread.currentThread();
+            return !expired;
+        }
+
+        synchronized void watch(ScheduledFuture<?> expiry) {
+            if (finished) {
+                expiry.cancel(false);
+            } else {
+                this.expiry = expiry;
+            }
+        }
+
+        synchronized void expire() {
+            if (finished) {
+                return;
+            }
+            expired = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+
+        // Returns whether the deadline passed before the probe finished.
+        synchronized boolean finish() {
+            finished = true;
+            worker = null;
+            if (expiry != null) {
+                expiry.cancel(false);
+            }
+            return expired;
+        }
+    }
+
+    // Tallies one tick's dispatched collections and hands itself to the listener once every one of them
+    // has completed, missed the deadline, or been skipped.
+    public static final class CycleSummary {
+
+        private final int dispatchedCount;
+        private final long startedAt = System.nanoTime();
+        private final Consumer<CycleSummary> onFinished;
+        private final List<String> missedSystemIds = new ArrayList<>();
+        private int successCount;
+        private int failureCount;
+        private int skippedCount;
+        private long elapsedNanos;
+
+        public CycleSummary(int dispatchedCount, Consumer<CycleSummary> onFinished) {
+            this.dispatchedCount = dispatchedCount;
+            this.onFinished = onFinished;
+        }
+
+        public void record(String systemId, Outcome outcome) {
+            synchronized (this) {
+                switch (outcome) {
+                    case SUCCESS -> successCount++;
+                    case FAILURE -> failureCount++;
+                    case MISSED_DEADLINE -> missedSystemIds.add(systemId);
+                }
+            }
+            finishIfComplete();
+        }
+
+        public void skip(String systemId) {
+            synchronized (this) {
+                skippedCount++;
+            }
+            finishIfComplete();
+        }
+
+        public synchronized int getDispatchedCount() {
+            return dispatchedCount;
+        }
+
+        public synchronized int getSuccessCount() {
+            return successCount;
+        }
+
+        public synchronized int getFailureCount() {
+            return failureCount;
+        }
+
+        public synchronized int getSkippedCount() {
+            return skippedCount;
+        }
+
+        public synchronized List<String> getMissedSystemIds() {
+            return Collections.unmodifiableList(new ArrayList<>(missedSystemIds));
+        }
+
+        public synchronized Duration getElapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+
+        private void finishIfComplete() {
+            synchronized (this) {
+                if (successCount + failureCount + skippedCount + missedSystemIds.size() != dispatchedCount) {
+                    return;
+                }
+                elapsedNanos = System.nanoTime() - startedAt;
+            }
+            onFinished.accept(this);
+        }
+    }
+}
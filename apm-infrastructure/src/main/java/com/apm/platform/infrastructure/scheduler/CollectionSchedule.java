@@ -0,0 +1,159 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class CollectionSchedule {
+
+    private final Clock clock;
+    private final DelayQueue<ScheduledCollection> queue = new DelayQueue<>();
+    private final Map<String, ScheduledCollection> entries = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+
+    public CollectionSchedule(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+    }
+
+    public synchronized void reconcile(List<MonitoredSystem> activeSystems) {
+        long now = clock.millis();
+        Set<String> activeIds = new HashSet<>();
+
+        for (MonitoredSystem system : activeSystems) {
+            activeIds.add(system.getId());
+            long intervalMillis = TimeUnit.SECONDS.toMillis(system.getCollectionIntervalSeconds());
+            String host = hostOf(system.getBaseUrl());
+            ScheduledCollection current = entries.get(system.getId());
+
+            if (current == null) {
+                inFlight.remove(system.getId());
+                long jitter = ThreadLocalRandom.current().nextLong(intervalMillis);
+                schedule(new ScheduledCollection(system.getId(), host, intervalMillis, now + jitter));
+            } else if (current.getIntervalMillis() != intervalMillis || !current.getHost().equals(host)) {
+                queue.remove(current);
+                long previousRun = current.getDueAtMillis() - current.getIntervalMillis();
+                ScheduledCollection updated = new ScheduledCollection(
+                    system.getId(), host, intervalMillis, previousRun + intervalMillis);
+                entries.put(system.getId(), updated);
+                if (!inFlight.contains(system.getId())) {
+                    queue.add(updated);
+                }
+            }
+        }
+
+        entries.keySet().removeIf(systemId -> {
+            if (activeIds.contains(systemId)) {
+                return false;
+            }
+            queue.remove(entries.get(systemId));
+            return true;
+        });
+    }
+
+    public synchronized List<ScheduledCollection> pollDue() {
+        List<ScheduledCollection> due = new ArrayList<>();
+        queue.drainTo(due);
+        for (ScheduledCollection collection : due) {
+            inFlight.add(collection.getSystemId());
+        }
+        return due;
+    }
+
+    public synchronized void reschedule(ScheduledCollection completed) {
+        if (!inFlight.remove(completed.getSystemId())) {
+            return;
+        }
+        ScheduledCollection current = entries.get(completed.getSystemId());
+        if (current == null) {
+            return;
+        }
+
+        long now = clock.millis();
+        long nextDue = current.getDueAtMillis() + current.getIntervalMillis();
+        if (nextDue <= now) {
+            nextDue = now + current.getIntervalMillis();
+        }
+        schedule(new ScheduledCollection(current.getSystemId(), current.getHost(),
+            current.getIntervalMillis(), nextDue));
+    }
+
+    public long lagMillis(ScheduledCollection collection) {
+        return Math.max(0, clock.millis() - collection.getDueAtMillis());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void schedule(ScheduledCollection collection) {
+        entries.put(collection.getSystemId(), collection);
+        queue.add(collection);
+    }
+
+    static String hostOf(String baseUrl) {
+        try {
+            String host = URI.create(baseUrl).getHost();
+            return host != null ? host : baseUrl;
+        } catch (IllegalArgumentException e) {
+            return baseUrl;
+        }
+    }
+
+    public final class ScheduledCollection implements Delayed {
+
+        private final String systemId;
+        private final String host;
+        private final long intervalMillis;
+        private final long dueAtMillis;
+
+        private ScheduledCollection(String systemId, String host, long intervalMillis, long dueAtMillis) {
+            this.systemId = systemId;
+            this.host = host;
+            this.intervalMillis = intervalMillis;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        public String getSystemId() {
+            return systemId;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public long getDueAtMillis() {
+            return dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof ScheduledCollection that) {
+                return Long.compare(dueAtMillis, that.dueAtMillis);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
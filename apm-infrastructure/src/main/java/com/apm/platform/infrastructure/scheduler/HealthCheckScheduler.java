@@ -4,12 +4,13 @@ import com.apm.platform.application.usecase.EvaluateSystemHealthUseCase;
 import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
 import com.apm.platform.domain.valueobject.SystemStatus;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 
 @Component
@@ -19,16 +20,22 @@ public class HealthCheckScheduler {
 
     private final MonitoredSystemRepository systemRepository;
     private final EvaluateSystemHealthUseCase evaluateHealthUseCase;
+    private final ClusterTaskGuard taskGuard;
 
     public HealthCheckScheduler(MonitoredSystemRepository systemRepository,
-                               EvaluateSystemHealthUseCase evaluateHealthUseCase) {
+                               EvaluateSystemHealthUseCase evaluateHealthUseCase,
+                               ClusterTaskGuard taskGuard) {
         this.systemRepository = systemRepository;
         this.evaluateHealthUseCase = evaluateHealthUseCase;
+        this.taskGuard = taskGuard;
     }
 
     @Scheduled(fixedDelayString = "${apm.scheduler.health-check.interval-ms:60000}")
-    @SchedulerLock(name = "healthCheckScheduler", lockAtMostFor = "5m", lockAtLeastFor = "10s")
     public void evaluateHealth() {
+        taskGuard.run("healthCheckScheduler", Duration.ofMinutes(5), Duration.ofSeconds(10), this::runEvaluation);
+    }
+
+    private void runEvaluation() {
         logger.info("Starting health evaluation cycle");
 
         List<MonitoredSystem> activeSystems = systemRepository.findAllActive();
@@ -38,6 +45,10 @@ public class HealthCheckScheduler {
         int downCount = 0;
 
         for (MonitoredSystem system : activeSystems) {
+            if (!taskGuard.owns(system.getId())) {
+                continue;
+            }
+
             try {
                 SystemStatus status = evaluateHealthUseCase.execute(system.getId());
                 
@@ -1,6 +1,11 @@
 package com.apm.platform.infrastructure.scheduler;
 
+import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import com.apm.platform.infrastructure.persistence.jdbc.MetricPartitionManager;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +14,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class MetricCleanupScheduler {
@@ -17,26 +27,67 @@ public class MetricCleanupScheduler {
     private static final Logger logger = LoggerFactory.getLogger(MetricCleanupScheduler.class);
 
     private final MetricRepository metricRepository;
+    private final MetricPartitionManager partitionManager;
+    private final MonitoredSystemRepository systemRepository;
+    private final RetentionPolicyRepository policyRepository;
 
-    @Value("${apm.scheduler.metric-cleanup.retention-days:30}")
-    private int retentionDays;
+    @Value("${apm.scheduler.metric-partition.days-ahead:7}")
+    private int partitionDaysAhead;
 
-    public MetricCleanupScheduler(MetricRepository metricRepository) {
+    public MetricCleanupScheduler(MetricRepository metricRepository, MetricPartitionManager partitionManager,
+                                  MonitoredSystemRepository systemRepository,
+                                  RetentionPolicyRepository policyRepository) {
         this.metricRepository = metricRepository;
+        this.partitionManager = partitionManager;
+        this.systemRepository = systemRepository;
+        this.policyRepository = policyRepository;
     }
 
+    @Scheduled(fixedDelayString = "${apm.scheduler.metric-partition.interval-ms:3600000}")
+    @SchedulerLock(name = "metricPartitionScheduler", lockAtMostFor = "10m", lockAtLeastFor = "1m")
+    public void createUpcomingPartitions() {
+        try {
+            partitionManager.createPartitions(LocalDate.now(ZoneOffset.UTC), partitionDaysAhead + 1);
+        } catch (Exception e) {
+            logger.error("Failed to create upcoming metric partitions", e);
+        }
+    }
+
+    // Whole partitions can only be dropped once every system's raw retention has passed them; shorter
+    // per-system retention and rollup retention are enforced in small batches by RetentionCompactor.
     @Scheduled(cron = "${apm.scheduler.metric-cleanup.cron:0 0 2 * * ?}")
     @SchedulerLock(name = "metricCleanupScheduler", lockAtMostFor = "10m", lockAtLeastFor = "1m")
     public void cleanupOldMetrics() {
-        logger.info("Starting metric cleanup. Retention: {} days", retentionDays);
-
         try {
+            int retentionDays = longestRawRetentionDays();
+            logger.info("Starting metric partition cleanup. Longest raw retention: {} days", retentionDays);
+
             Instant threshold = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
             metricRepository.deleteOlderThan(threshold);
-            
-            logger.info("Metric cleanup completed successfully. Deleted metrics older than {}", threshold);
+
+            logger.info("Metric cleanup completed successfully. Dropped metric partitions older than {}", threshold);
         } catch (Exception e) {
             logger.error("Failed to cleanup old metrics", e);
         }
     }
+
+    int longestRawRetentionDays() {
+        Map<String, RetentionPolicy> overrides = policyRepository.findAllOverrides();
+        List<MonitoredSystem> systems = systemRepository.findAll();
+        if (systems.isEmpty()) {
+            return Arrays.stream(MonitoredSystem.Environment.values())
+                    .mapToInt(environment -> policyRepository.findDefault(environment).getRawDays())
+                    .max()
+                    .orElseThrow();
+        }
+        int longest = 0;
+        for (MonitoredSystem system : systems) {
+            RetentionPolicy policy = overrides.get(system.getId());
+            if (policy == null) {
+                policy = policyRepository.findDefault(system.getEnvironment());
+            }
+            longest = Math.max(longest, policy.getRawDays());
+        }
+        return longest;
+    }
 }
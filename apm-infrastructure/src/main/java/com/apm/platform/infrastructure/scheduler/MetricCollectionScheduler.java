@@ -1,15 +1,27 @@
 package com.apm.platform.infrastructure.scheduler;
 
 import com.apm.platform.application.usecase.CollectSystemMetricsUseCase;
+import com.apm.platform.domain.entity.Metric;
 import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import com.apm.platform.infrastructure.collector.ProbeCircuitOpenException;
+import com.apm.platform.infrastructure.ingestion.MetricIngestionPipeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class MetricCollectionScheduler {
@@ -18,34 +30,180 @@ public class MetricCollectionScheduler {
 
     private final MonitoredSystemRepository systemRepository;
     private final CollectSystemMetricsUseCase collectMetricsUseCase;
+    private final MetricIngestionPipeline ingestionPipeline;
+    private final boolean pipelined;
+    private final ClusterTaskGuard taskGuard;
+    private final CollectionSchedule schedule;
+    private final Clock clock;
+    private final CollectionCycleExecutor cycleExecutor;
+    private final Timer lagTimer;
+    private final Timer collectionTimer;
+    private final Counter skippedCounter;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter missedDeadlineCounter;
+    private final long reconcileIntervalMs;
+    private final Duration leaderLease;
+
+    private long lastReconcileAt = Long.MIN_VALUE;
+    private long reconciledMembershipVersion = -1;
 
     public MetricCollectionScheduler(MonitoredSystemRepository systemRepository,
-                                    CollectSystemMetricsUseCase collectMetricsUseCase) {
+                                    CollectSystemMetricsUseCase collectMetricsUseCase,
+                                    MetricIngestionPipeline ingestionPipeline,
+                                    ClusterTaskGuard taskGuard,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${apm.ingestion.enabled:true}") boolean pipelined,
+                                    @Value("${apm.scheduler.metric-collection.reconcile-interval-ms:15000}") long reconcileIntervalMs,
+                                    @Value("${apm.scheduler.metric-collection.leader-lease-ms:30000}") long leaderLeaseMs,
+                                    @Value("${apm.scheduler.metric-collection.max-concurrency:64}") int maxConcurrency,
+                                    @Value("${apm.scheduler.metric-collection.per-host-concurrency:4}") int perHostConcurrency,
+                                    @Value("${apm.scheduler.metric-collection.cycle-deadline-ms:20000}") long cycleDeadlineMs) {
         this.systemRepository = systemRepository;
         this.collectMetricsUseCase = collectMetricsUseCase;
+        this.ingestionPipeline = ingestionPipeline;
+        this.pipelined = pipelined;
+        this.taskGuard = taskGuard;
+        this.clock = Clock.systemUTC();
+        this.schedule = new CollectionSchedule(clock);
+        this.reconcileIntervalMs = reconcileIntervalMs;
+        this.leaderLease = Duration.ofMillis(leaderLeaseMs);
+        this.cycleExecutor = new CollectionCycleExecutor(maxConcurrency, perHostConcurrency,
+                Duration.ofMillis(cycleDeadlineMs));
+        this.lagTimer = Timer.builder("apm.collection.schedule.lag")
+                .description("Delay between a system's scheduled collection time and its actual dispatch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.collectionTimer = Timer.builder("apm.collection.duration")
+                .description("Wall-clock time of a single system's metric collection")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("apm.collection.skipped")
+                .description("Collections skipped because the system's previous collection was still running")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("apm.collection.completed")
+                .description("Collections that finished within the cycle deadline")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("apm.collection.failed")
+                .description("Collections that failed within the cycle deadline")
+                .register(meterRegistry);
+        this.missedDeadlineCounter = Counter.builder("apm.collection.deadline.missed")
+                .description("Collections interrupted because they were still running at the cycle deadline")
+                .register(meterRegistry);
+        Gauge.builder("apm.collection.schedule.size", schedule, CollectionSchedule::size)
+                .description("Number of systems currently scheduled for collection")
+                .register(meterRegistry);
+        Gauge.builder("apm.collection.in-flight", cycleExecutor, CollectionCycleExecutor::inFlightCount)
+                .description("Metric collections currently running")
+                .register(meterRegistry);
     }
 
-    @Scheduled(fixedDelayString = "${apm.scheduler.metric-collection.interval-ms:30000}")
-    @SchedulerLock(name = "metricCollectionScheduler", lockAtMostFor = "5m", lockAtLeastFor = "10s")
+    // Per-system schedules live in this node's memory, so they only drive collection for systems this node
+    // collects: its own partition, or every system while it holds the collection lease when unpartitioned.
+    @Scheduled(fixedDelayString = "${apm.scheduler.metric-collection.tick-ms:1000}")
     public void collectMetrics() {
-        logger.info("Starting metric collection cycle");
-
-        List<MonitoredSystem> activeSystems = systemRepository.findAllActive();
-        
-        int successCount = 0;
-        int failureCount = 0;
-
-        for (MonitoredSystem system : activeSystems) {
-            try {
-                collectMetricsUseCase.execute(system.getId());
-                successCount++;
-                logger.debug("Collected metrics for system: {}", system.getName());
-            } catch (Exception e) {
-                failureCount++;
-                logger.error("Failed to collect metrics for system: {}", system.getName(), e);
+        if (taskGuard.isPartitioned() || taskGuard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, leaderLease)) {
+            runCycle();
+            return;
+        }
+        if (schedule.size() > 0) {
+            logger.info("Collection lease held by another node, dropping {} scheduled systems", schedule.size());
+            schedule.reconcile(List.of());
+            lastReconcileAt = Long.MIN_VALUE;
+        }
+    }
+
+    private void runCycle() {
+        reconcileIfStale();
+
+        List<CollectionSchedule.ScheduledCollection> due = schedule.pollDue();
+        if (due.isEmpty()) {
+            return;
+        }
+
+        CollectionCycleExecutor.CycleSummary cycle = new CollectionCycleExecutor.CycleSummary(due.size(),
+                this::report);
+        for (CollectionSchedule.ScheduledCollection collection : due) {
+            lagTimer.record(Duration.ofMillis(schedule.lagMillis(collection)));
+            // The next run is scheduled from completion, so the tick never waits on a slow host.
+            boolean started = cycleExecutor.dispatch(collection.getSystemId(), collection.getHost(),
+                    () -> collectTimed(collection.getSystemId()), outcome -> {
+                        schedule.reschedule(collection);
+                        cycle.record(collection.getSystemId(), outcome);
+                    });
+            if (!started) {
+                schedule.reschedule(collection);
+                cycle.skip(collection.getSystemId());
             }
         }
+    }
+
+    private void report(CollectionCycleExecutor.CycleSummary cycle) {
+        completedCounter.increment(cycle.getSuccessCount());
+        failedCounter.increment(cycle.getFailureCount());
+        skippedCounter.increment(cycle.getSkippedCount());
+        missedDeadlineCounter.increment(cycle.getMissedSystemIds().size());
+
+        if (cycle.getSkippedCount() > 0 || !cycle.getMissedSystemIds().isEmpty()) {
+            logger.warn("Collection cycle of {} systems took {} ms: {} completed, {} failed, {} skipped still in "
+                            + "flight, {} missed the deadline {}", cycle.getDispatchedCount(),
+                    cycle.getElapsed().toMillis(), cycle.getSuccessCount(), cycle.getFailureCount(),
+                    cycle.getSkippedCount(), cycle.getMissedSystemIds().size(), cycle.getMissedSystemIds());
+        } else {
+            logger.debug("Collection cycle of {} systems took {} ms: {} completed, {} failed",
+                    cycle.getDispatchedCount(), cycle.getElapsed().toMillis(), cycle.getSuccessCount(),
+                    cycle.getFailureCount());
+        }
+    }
+
+    private void collectTimed(String systemId) {
+        long startedAt = System.nanoTime();
+        try {
+            collect(systemId);
+        } catch (ProbeCircuitOpenException e) {
+            logger.debug("Skipped collection for system {}: probe circuit open", systemId);
+        } catch (RuntimeException e) {
+            logger.error("Failed to collect metrics for system: {}", systemId, e);
+            throw e;
+        } finally {
+            collectionTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+    }
+
+    private void collect(String systemId) {
+        if (!pipelined) {
+            collectMetricsUseCase.execute(systemId);
+            logger.debug("Collected metrics for system: {}", systemId);
+            return;
+        }
+        Metric metric = collectMetricsUseCase.collect(systemId);
+        if (ingestionPipeline.submit(metric)) {
+            logger.debug("Collected metrics for system: {}, queued for persistence", systemId);
+        } else {
+            logger.debug("Collected metrics for system: {}, dropped by full ingestion queue", systemId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cycleExecutor.close();
+    }
 
-        logger.info("Metric collection cycle completed. Success: {}, Failures: {}", successCount, failureCount);
+    private void reconcileIfStale() {
+        long now = clock.millis();
+        long membershipVersion = taskGuard.membershipVersion();
+        if (lastReconcileAt != Long.MIN_VALUE && now - lastReconcileAt < reconcileIntervalMs
+                && membershipVersion == reconciledMembershipVersion) {
+            return;
+        }
+        try {
+            List<MonitoredSystem> owned = systemRepository.findAllActive().stream()
+                    .filter(system -> taskGuard.owns(system.getId()))
+                    .collect(Collectors.toList());
+            schedule.reconcile(owned);
+            lastReconcileAt = now;
+            reconciledMembershipVersion = membershipVersion;
+        } catch (Exception e) {
+            logger.error("Failed to reconcile collection schedule", e);
+        }
     }
 }
@@ -0,0 +1,247 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import com.apm.platform.domain.valueobject.RollupResolution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+// Systems that do not finish within the per-run time budget are resumed on the next run.
+@Component
+public class RetentionCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionCompactor.class);
+
+    static final String RAW_TIER = "raw";
+
+    private final MonitoredSystemRepository systemRepository;
+    private final RetentionPolicyRepository policyRepository;
+    private final MetricRepository metricRepository;
+    private final MetricRollupRepository rollupRepository;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxRowsPerSecond;
+    private final long maxRunMs;
+
+    private final Map<String, Counter> deletedCounters;
+    private final Counter skippedBatchCounter;
+
+    private volatile double lastRowsPerSecond;
+    private volatile int pendingSystems;
+    private String resumeAfterSystemId;
+
+    public RetentionCompactor(MonitoredSystemRepository systemRepository,
+                              RetentionPolicyRepository policyRepository,
+                              MetricRepository metricRepository,
+                              MetricRollupRepository rollupRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${apm.retention.compactor.enabled:true}") boolean enabled,
+                              @Value("${apm.retention.compactor.batch-size:5000}") int batchSize,
+                              @Value("${apm.retention.compactor.max-rows-per-second:20000}") int maxRowsPerSecond,
+                              @Value("${apm.retention.compactor.max-run-ms:50000}") long maxRunMs) {
+        this(systemRepository, policyRepository, metricRepository, rollupRepository, meterRegistry,
+                Clock.systemUTC(), enabled, batchSize, maxRowsPerSecond, maxRunMs);
+    }
+
+    RetentionCompactor(MonitoredSystemRepository systemRepository,
+                       RetentionPolicyRepository policyRepository,
+                       MetricRepository metricRepository,
+                       MetricRollupRepository rollupRepository,
+                       MeterRegistry meterRegistry,
+                       Clock clock,
+                       boolean enabled,
+                       int batchSize,
+                       int maxRowsPerSecond,
+                       long maxRunMs) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (maxRowsPerSecond < 1) {
+            throw new IllegalArgumentException("Max rows per second must be at least 1");
+        }
+        if (maxRunMs < 1) {
+            throw new IllegalArgumentException("Max run time must be positive");
+        }
+        this.systemRepository = systemRepository;
+        this.policyRepository = policyRepository;
+        this.metricRepository = metricRepository;
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxRunMs = maxRunMs;
+
+        this.deletedCounters = new HashMap<>();
+        deletedCounters.put(RAW_TIER, deletedCounter(meterRegistry, RAW_TIER));
+        for (RollupResolution resolution : RollupResolution.values()) {
+            deletedCounters.put(resolution.getCode(), deletedCounter(meterRegistry, resolution.getCode()));
+        }
+        this.skippedBatchCounter = Counter.builder("apm.retention.compactor.skipped-batches")
+                .description("Retention batches abandoned because they could not acquire locks in time")
+                .register(meterRegistry);
+        Gauge.builder("apm.retention.compactor.rows-per-second", this, c -> c.lastRowsPerSecond)
+                .description("Delete throughput of the last retention compaction run")
+                .register(meterRegistry);
+        Gauge.builder("apm.retention.compactor.pending-systems", this, c -> c.pendingSystems)
+                .description("Systems left unfinished by the last retention compaction run")
+                .register(meterRegistry);
+    }
+
+    private static Counter deletedCounter(MeterRegistry meterRegistry, String tier) {
+        return Counter.builder("apm.retention.compactor.rows")
+                .description("Rows removed by retention compaction")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${apm.retention.compactor.interval-ms:60000}",
+               initialDelayString = "${apm.retention.compactor.initial-delay-ms:60000}")
+    @SchedulerLock(name = "retentionCompactor", lockAtMostFor = "5m", lockAtLeastFor = "10s")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = clock.millis();
+        long deadline = startedAt + maxRunMs;
+        Instant now = clock.instant();
+
+        List<MonitoredSystem> systems = systemRepository.findAll().stream()
+                .sorted(Comparator.comparing(MonitoredSystem::getId))
+                .collect(Collectors.toList());
+        Map<String, RetentionPolicy> overrides = policyRepository.findAllOverrides();
+        Map<String, Long> deletedByTier = new TreeMap<>();
+
+        int start = resumeIndex(systems);
+        int finished = 0;
+        for (int i = 0; i < systems.size(); i++) {
+            MonitoredSystem system = systems.get((start + i) % systems.size());
+            RetentionPolicy policy = overrides.get(system.getId());
+            if (policy == null) {
+                policy = policyRepository.findDefault(system.getEnvironment());
+            }
+            if (!compactSystem(system.getId(), policy, now, deadline, deletedByTier)) {
+                resumeAfterSystemId = previousId(systems, (start + i) % systems.size());
+                break;
+            }
+            finished++;
+        }
+        if (finished == systems.size()) {
+            resumeAfterSystemId = null;
+        }
+
+        long total = deletedByTier.values().stream().mapToLong(Long::longValue).sum();
+        long elapsedMs = Math.max(1, clock.millis() - startedAt);
+        lastRowsPerSecond = total * 1000.0 / elapsedMs;
+        pendingSystems = systems.size() - finished;
+        if (total > 0 || pendingSystems > 0) {
+            logger.info("Retention compaction removed {} rows {} in {} ms ({} rows/s), {}/{} systems done",
+                    total, deletedByTier, elapsedMs, Math.round(lastRowsPerSecond), finished, systems.size());
+        }
+    }
+
+    private boolean compactSystem(String systemId, RetentionPolicy policy, Instant now, long deadline,
+                                  Map<String, Long> deletedByTier) {
+        if (!drain(systemId, RAW_TIER, deadline, deletedByTier,
+                () -> metricRepository.deleteBySystemIdOlderThan(systemId, policy.rawCutoff(now), batchSize))) {
+            return false;
+        }
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Instant cutoff = policy.rollupCutoff(resolution, now);
+            if (!drain(systemId, resolution.getCode(), deadline, deletedByTier,
+                    () -> rollupRepository.deleteBySystemIdOlderThan(systemId, resolution, cutoff, batchSize))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns false when the run's time budget ran out before the tier was fully drained.
+    private boolean drain(String systemId, String tier, long deadline, Map<String, Long> deletedByTier,
+                          IntSupplier batch) {
+        while (true) {
+            if (clock.millis() >= deadline) {
+                return false;
+            }
+            long batchStartedAt = clock.millis();
+            int deleted;
+            try {
+                deleted = batch.getAsInt();
+            } catch (DataAccessException e) {
+                skippedBatchCounter.increment();
+                logger.debug("Skipping {} retention for system {} this run: {}", tier, systemId, e.getMessage());
+                return true;
+            }
+            if (deleted > 0) {
+                deletedCounters.get(tier).increment(deleted);
+                deletedByTier.merge(tier, (long) deleted, Long::sum);
+            }
+            if (deleted < batchSize) {
+                return true;
+            }
+            throttle(deleted, clock.millis() - batchStartedAt);
+        }
+    }
+
+    private void throttle(int deleted, long elapsedMs) {
+        long minimumMs = deleted * 1000L / maxRowsPerSecond;
+        if (minimumMs > elapsedMs) {
+            try {
+                pause(minimumMs - elapsedMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void pause(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    private int resumeIndex(List<MonitoredSystem> systems) {
+        if (resumeAfterSystemId == null) {
+            return 0;
+        }
+        for (int i = 0; i < systems.size(); i++) {
+            if (systems.get(i).getId().compareTo(resumeAfterSystemId) > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String previousId(List<MonitoredSystem> systems, int index) {
+        return index == 0 ? "" : systems.get(index - 1).getId();
+    }
+
+    double getLastRowsPerSecond() {
+        return lastRowsPerSecond;
+    }
+
+    int getPendingSystems() {
+        return pendingSystems;
+    }
+}
@@ -0,0 +1,13 @@
+ALTER TABLE metrics ADD COLUMN additional_data JSONB;
+
+UPDATE metrics m
+SET additional_data = d.data
+FROM (
+    SELECT metric_id, collected_at, jsonb_object_agg(data_key, data_value) AS data
+    FROM metric_additional_data
+    GROUP BY metric_id, collected_at
+) d
+WHERE m.id = d.metric_id
+  AND m.collected_at = d.collected_at;
+
+DROP TABLE metric_additional_data;
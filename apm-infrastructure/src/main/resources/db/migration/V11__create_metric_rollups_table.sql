@@ -0,0 +1,37 @@
+CREATE TABLE metric_rollups (
+    system_id VARCHAR(36) NOT NULL,
+    resolution VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    sample_count BIGINT NOT NULL,
+    error_count BIGINT NOT NULL,
+    min_latency_ms BIGINT NOT NULL,
+    max_latency_ms BIGINT NOT NULL,
+    sum_latency_ms BIGINT NOT NULL,
+    sum_cpu_usage_percent DOUBLE PRECISION NOT NULL,
+    sum_memory_usage_percent DOUBLE PRECISION NOT NULL,
+    status_2xx_count BIGINT NOT NULL,
+    status_3xx_count BIGINT NOT NULL,
+    status_4xx_count BIGINT NOT NULL,
+    status_5xx_count BIGINT NOT NULL,
+    PRIMARY KEY (system_id, resolution, bucket_start),
+    FOREIGN KEY (system_id) REFERENCES monitored_systems(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_metric_rollups_resolution_bucket ON metric_rollups(resolution, bucket_start);
+
+INSERT INTO metric_rollups
+SELECT system_id, r.code, to_timestamp(floor(extract(epoch FROM collected_at) / r.seconds) * r.seconds) AT TIME ZONE 'UTC',
+       COUNT(*),
+       COUNT(*) FILTER (WHERE has_error),
+       MIN(latency_ms),
+       MAX(latency_ms),
+       SUM(latency_ms),
+       SUM(cpu_usage_percent),
+       SUM(memory_usage_percent),
+       COUNT(*) FILTER (WHERE status_code BETWEEN 200 AND 299),
+       COUNT(*) FILTER (WHERE status_code BETWEEN 300 AND 399),
+       COUNT(*) FILTER (WHERE status_code BETWEEN 400 AND 499),
+       COUNT(*) FILTER (WHERE status_code BETWEEN 500 AND 599)
+FROM metrics
+CROSS JOIN (VALUES ('1m', 60), ('5m', 300), ('1h', 3600)) AS r(code, seconds)
+GROUP BY 1, 2, 3;
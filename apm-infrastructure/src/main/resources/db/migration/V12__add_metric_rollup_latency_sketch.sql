@@ -0,0 +1,3 @@
+-- Serialized LatencySketch per rollup bucket. Buckets written before this column existed stay NULL
+-- and only gain a sketch for samples accumulated from now on.
+ALTER TABLE metric_rollups ADD COLUMN latency_sketch BYTEA;
@@ -0,0 +1,9 @@
+CREATE TABLE system_retention_policies (
+    system_id VARCHAR(36) PRIMARY KEY,
+    raw_days INTEGER NOT NULL,
+    one_minute_days INTEGER NOT NULL,
+    five_minute_days INTEGER NOT NULL,
+    one_hour_days INTEGER NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT (now() AT TIME ZONE 'UTC'),
+    FOREIGN KEY (system_id) REFERENCES monitored_systems(id) ON DELETE CASCADE
+);
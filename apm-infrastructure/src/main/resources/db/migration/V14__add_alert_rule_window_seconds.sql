@@ -0,0 +1,2 @@
+-- Length of the sliding window evaluated by WINDOW_* rule types. Zero for per-metric rules.
+ALTER TABLE alert_rules ADD COLUMN window_seconds INTEGER NOT NULL DEFAULT 0;
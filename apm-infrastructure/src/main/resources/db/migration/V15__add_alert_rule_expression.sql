@@ -0,0 +1,2 @@
+-- Condition source of EXPRESSION rules, compiled when the rule is loaded. NULL for single-comparison rules.
+ALTER TABLE alert_rules ADD COLUMN expression VARCHAR(500);
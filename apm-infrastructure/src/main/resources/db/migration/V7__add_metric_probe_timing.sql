@@ -0,0 +1,4 @@
+ALTER TABLE metrics ADD COLUMN probe_total_us INTEGER;
+ALTER TABLE metrics ADD COLUMN probe_dns_us INTEGER;
+ALTER TABLE metrics ADD COLUMN probe_first_byte_us INTEGER;
+ALTER TABLE metrics ADD COLUMN probe_download_us INTEGER;
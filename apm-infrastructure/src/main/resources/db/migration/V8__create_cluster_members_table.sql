@@ -0,0 +1,8 @@
+CREATE TABLE cluster_members (
+    node_id VARCHAR(128) PRIMARY KEY,
+    host_name VARCHAR(255) NOT NULL,
+    joined_at TIMESTAMP NOT NULL,
+    last_heartbeat TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_cluster_members_heartbeat ON cluster_members(last_heartbeat);
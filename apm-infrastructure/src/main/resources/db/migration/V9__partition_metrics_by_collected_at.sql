@@ -0,0 +1,68 @@
+ALTER TABLE metric_additional_data RENAME TO metric_additional_data_legacy;
+ALTER TABLE metrics RENAME TO metrics_legacy;
+ALTER INDEX idx_metric_system_id RENAME TO idx_metric_legacy_system_id;
+ALTER INDEX idx_metric_collected_at RENAME TO idx_metric_legacy_collected_at;
+ALTER INDEX idx_metric_system_time RENAME TO idx_metric_legacy_system_time;
+
+CREATE TABLE metrics (
+    id VARCHAR(36) NOT NULL,
+    system_id VARCHAR(36) NOT NULL,
+    latency_ms BIGINT NOT NULL,
+    status_code INTEGER NOT NULL,
+    has_error BOOLEAN NOT NULL,
+    cpu_usage_percent DOUBLE PRECISION NOT NULL,
+    memory_usage_percent DOUBLE PRECISION NOT NULL,
+    collected_at TIMESTAMP NOT NULL,
+    probe_total_us INTEGER,
+    probe_dns_us INTEGER,
+    probe_first_byte_us INTEGER,
+    probe_download_us INTEGER,
+    PRIMARY KEY (id, collected_at),
+    FOREIGN KEY (system_id) REFERENCES monitored_systems(id) ON DELETE CASCADE
+) PARTITION BY RANGE (collected_at);
+
+CREATE INDEX idx_metric_collected_at ON metrics(collected_at);
+CREATE INDEX idx_metric_system_time ON metrics(system_id, collected_at);
+
+-- Rows are written together with their metric and dropped with the matching
+-- metrics partition, so no foreign key back to the partitioned parent is needed.
+CREATE TABLE metric_additional_data (
+    metric_id VARCHAR(36) NOT NULL,
+    collected_at TIMESTAMP NOT NULL,
+    data_key VARCHAR(255) NOT NULL,
+    data_value TEXT,
+    PRIMARY KEY (metric_id, collected_at, data_key)
+) PARTITION BY RANGE (collected_at);
+
+CREATE INDEX idx_metric_additional_data_metric ON metric_additional_data(metric_id);
+
+CREATE TABLE metrics_default PARTITION OF metrics DEFAULT;
+CREATE TABLE metric_additional_data_default PARTITION OF metric_additional_data DEFAULT;
+
+DO $$
+DECLARE
+    first_day DATE := LEAST(
+        COALESCE((SELECT MIN(collected_at)::date FROM metrics_legacy), CURRENT_DATE),
+        CURRENT_DATE);
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(first_day, CURRENT_DATE + 7, INTERVAL '1 day')::date LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF metrics FOR VALUES FROM (%L) TO (%L)',
+                       'metrics_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+        EXECUTE format('CREATE TABLE %I PARTITION OF metric_additional_data FOR VALUES FROM (%L) TO (%L)',
+                       'metric_additional_data_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO metrics
+SELECT id, system_id, latency_ms, status_code, has_error, cpu_usage_percent, memory_usage_percent,
+       collected_at, probe_total_us, probe_dns_us, probe_first_byte_us, probe_download_us
+FROM metrics_legacy;
+
+INSERT INTO metric_additional_data (metric_id, collected_at, data_key, data_value)
+SELECT d.metric_id, m.collected_at, d.data_key, d.data_value
+FROM metric_additional_data_legacy d
+JOIN metrics_legacy m ON m.id = d.metric_id;
+
+DROP TABLE metric_additional_data_legacy;
+DROP TABLE metrics_legacy;
@@ -0,0 +1,116 @@
+package com.apm.platform.infrastructure.cluster;
+
+import com.apm.platform.infrastructure.persistence.repository.ClusterMemberJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+class ClusterMembershipTest {
+
+    private ClusterMemberJpaRepository memberRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(ClusterMemberJpaRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldOwnEverythingWhenNotPartitioned() {
+        ClusterMembership membership = membership(false, 15_000);
+
+        membership.heartbeat();
+
+        assertTrue(membership.owns("system-1"));
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    void shouldOwnNothingBeforeFirstHeartbeat() {
+        ClusterMembership membership = membership(true, 15_000);
+
+        assertFalse(membership.owns("system-1"));
+    }
+
+    @Test
+    void shouldOwnEverythingAsOnlyLiveMember() {
+        ClusterMembership membership = membership(true, 15_000);
+        when(memberRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("node-a"));
+
+        membership.heartbeat();
+
+        assertTrue(membership.owns("system-1"));
+        assertTrue(membership.owns("system-2"));
+        verify(memberRepository).heartbeat(eq("node-a"), anyString());
+    }
+
+    @Test
+    void shouldShareSystemsWithOtherLiveMembers() {
+        ClusterMembership membership = membership(true, 15_000);
+        when(memberRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("node-a", "node-b", "node-c"));
+
+        membership.heartbeat();
+
+        ConsistentHashRing expected = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c"), 128);
+        for (int i = 0; i < 100; i++) {
+            String systemId = "system-" + i;
+            assertEquals("node-a".equals(expected.ownerOf(systemId)), membership.owns(systemId));
+        }
+    }
+
+    @Test
+    void shouldBumpVersionOnlyWhenMembershipChanges() {
+        ClusterMembership membership = membership(true, 15_000);
+        when(memberRepository.findLiveNodeIds(anyDouble()))
+            .thenReturn(List.of("node-a", "node-b"))
+            .thenReturn(List.of("node-a", "node-b"))
+            .thenReturn(List.of("node-a"));
+
+        membership.heartbeat();
+        long afterJoin = membership.getVersion();
+        membership.heartbeat();
+        long unchanged = membership.getVersion();
+        membership.heartbeat();
+
+        assertEquals(afterJoin, unchanged);
+        assertTrue(membership.getVersion() > unchanged);
+        assertEquals(2.0, meterRegistry.get("apm.cluster.rebalances").counter().count());
+        assertEquals(1.0, meterRegistry.get("apm.cluster.members").gauge().value());
+    }
+
+    @Test
+    void shouldStopOwningWhenHeartbeatsGoStale() throws InterruptedException {
+        ClusterMembership membership = membership(true, 50);
+        when(memberRepository.findLiveNodeIds(anyDouble())).thenReturn(List.of("node-a"));
+        membership.heartbeat();
+        assertTrue(membership.owns("system-1"));
+
+        doThrow(new DataAccessResourceFailureException("database down"))
+            .when(memberRepository).heartbeat(anyString(), anyString());
+        Thread.sleep(80);
+        membership.heartbeat();
+
+        assertFalse(membership.owns("system-1"));
+    }
+
+    @Test
+    void shouldDeregisterOnLeave() {
+        ClusterMembership membership = membership(true, 15_000);
+
+        membership.leave();
+
+        verify(memberRepository).deleteById("node-a");
+    }
+
+    private ClusterMembership membership(boolean partitioned, long ttlMs) {
+        return new ClusterMembership(memberRepository, meterRegistry, partitioned, "node-a", 128, ttlMs);
+    }
+}
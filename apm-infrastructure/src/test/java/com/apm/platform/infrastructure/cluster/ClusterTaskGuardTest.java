@@ -0,0 +1,112 @@
+package com.apm.platform.infrastructure.cluster;
+
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClusterTaskGuardTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+
+    private ClusterMembership membership;
+    private LockProvider lockProvider;
+    private SimpleLock lock;
+    private Clock clock;
+    private ClusterTaskGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        membership = mock(ClusterMembership.class);
+        lockProvider = mock(LockProvider.class);
+        lock = mock(SimpleLock.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+        guard = new ClusterTaskGuard(membership, lockProvider, clock);
+    }
+
+    @Test
+    void shouldKeepLeaseWithoutRelockingUntilRenewalIsDue() {
+        when(lockProvider.lock(any(LockConfiguration.class))).thenReturn(Optional.of(lock));
+
+        assertTrue(guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE));
+        when(clock.instant()).thenReturn(START.plusSeconds(5));
+        assertTrue(guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE));
+
+        verify(lockProvider, times(1)).lock(any(LockConfiguration.class));
+        verify(lock, never()).extend(any(Duration.class), any(Duration.class));
+        assertTrue(guard.isCollecting("system-1"));
+        assertEquals(1, guard.collectionVersion());
+    }
+
+    @Test
+    void shouldRenewLeaseAfterAThirdOfIt() {
+        SimpleLock renewed = mock(SimpleLock.class);
+        when(lockProvider.lock(any(LockConfiguration.class))).thenReturn(Optional.of(lock));
+        when(lock.extend(LEASE, Duration.ZERO)).thenReturn(Optional.of(renewed));
+
+        guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE);
+        when(clock.instant()).thenReturn(START.plusSeconds(11));
+
+        assertTrue(guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE));
+        verify(lock).extend(LEASE, Duration.ZERO);
+
+        when(clock.instant()).thenReturn(START.plusSeconds(35));
+        assertTrue(guard.holdsLease(ClusterTaskGuard.COLLECTION_LEASE));
+    }
+
+    @Test
+    void shouldDropLeaseWhenRenewalFailsAndAnotherNodeHoldsTheLock() {
+        when(lockProvider.lock(any(LockConfiguration.class))).thenReturn(Optional.of(lock), Optional.empty());
+        when(lock.extend(LEASE, Duration.ZERO)).thenReturn(Optional.empty());
+
+        guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE);
+        when(clock.instant()).thenReturn(START.plusSeconds(11));
+
+        assertFalse(guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE));
+        assertFalse(guard.holdsLease(ClusterTaskGuard.COLLECTION_LEASE));
+        assertFalse(guard.isCollecting("system-1"));
+    }
+
+    @Test
+    void shouldTreatLeaseAsLostOnceItExpires() {
+        when(lockProvider.lock(any(LockConfiguration.class))).thenReturn(Optional.of(lock));
+
+        guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE);
+        when(clock.instant()).thenReturn(START.plusSeconds(31));
+
+        assertFalse(guard.holdsLease(ClusterTaskGuard.COLLECTION_LEASE));
+    }
+
+    @Test
+    void shouldUsePartitionOwnershipWhenPartitioned() {
+        when(membership.isPartitioned()).thenReturn(true);
+        when(membership.owns("system-1")).thenReturn(true);
+
+        assertTrue(guard.isCollecting("system-1"));
+        assertFalse(guard.isCollecting("system-2"));
+        verifyNoInteractions(lockProvider);
+    }
+
+    @Test
+    void shouldReleaseHeldLeasesOnShutdown() {
+        when(lockProvider.lock(any(LockConfiguration.class))).thenReturn(Optional.of(lock));
+        guard.holdLease(ClusterTaskGuard.COLLECTION_LEASE, LEASE);
+
+        guard.releaseLeases();
+
+        verify(lock).unlock();
+        assertFalse(guard.holdsLease(ClusterTaskGuard.COLLECTION_LEASE));
+    }
+}
@@ -0,0 +1,75 @@
+package com.apm.platform.infrastructure.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void shouldReturnNullOwnerForEmptyRing() {
+        assertNull(ConsistentHashRing.empty().ownerOf("system-1"));
+        assertTrue(ConsistentHashRing.empty().isEmpty());
+    }
+
+    @Test
+    void shouldAssignEveryKeyToSingleNode() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of("node-a"), 16);
+
+        assertEquals("node-a", ring.ownerOf("system-1"));
+        assertEquals("node-a", ring.ownerOf("system-2"));
+    }
+
+    @Test
+    void shouldAgreeOnOwnershipRegardlessOfMemberOrder() {
+        ConsistentHashRing first = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing second = ConsistentHashRing.of(List.of("node-c", "node-a", "node-b"), 128);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.ownerOf("system-" + i), second.ownerOf("system-" + i));
+        }
+    }
+
+    @Test
+    void shouldSpreadKeysEvenlyAcrossNodes() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("system-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 3 * 0.75, "Unbalanced share: " + counts));
+    }
+
+    @Test
+    void shouldOnlyMoveKeysToJoiningNode() {
+        ConsistentHashRing before = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing after = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "system-" + i;
+            String previousOwner = before.ownerOf(key);
+            String newOwner = after.ownerOf(key);
+            if (!previousOwner.equals(newOwner)) {
+                assertEquals("node-d", newOwner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved < KEYS / 3, "Too many keys moved: " + moved);
+    }
+
+    @Test
+    void shouldRejectInvalidVirtualNodeCount() {
+        assertThrows(IllegalArgumentException.class, () -> ConsistentHashRing.of(List.of("node-a"), 0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.apm.platform.infrastructure.collector;
+
+import com.apm.platform.domain.valueobject.ProbeTiming;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpProbeClientTest {
+
+    private HttpServer server;
+    private HttpProbeClient client;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/health", exchange -> respond(exchange, 200, "{\"status\":\"UP\"}"));
+        server.createContext("/broken", exchange -> respond(exchange, 500, "error"));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        client = new HttpProbeClient(1_000, 300, HttpClient.Version.HTTP_1_1, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReturnStatusAndBody() {
+        ProbeResponse<String> response = client.get(baseUrl + "/health");
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals("{\"status\":\"UP\"}", response.getBody());
+        assertTrue(response.is2xxSuccessful());
+        assertFalse(response.getElapsed().isNegative());
+    }
+
+    @Test
+    void shouldBreakDownProbeTimingByPhase() {
+        ProbeResponse<String> response = client.get(baseUrl + "/health");
+        ProbeTiming timing = response.getTiming();
+
+        assertTrue(timing.getTotalNanos() > 0);
+        assertTrue(timing.getFirstByteNanos() > 0);
+        assertEquals(timing.getTotalNanos(),
+            timing.getDnsNanos() + timing.getFirstByteNanos() + timing.getDownloadNanos());
+    }
+
+    @Test
+    void shouldStreamBodyThroughParser() {
+        ProbeResponse<Integer> response = client.get(baseUrl + "/health", reader -> reader.readLine().length());
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(15, response.getBody());
+    }
+
+    @Test
+    void shouldSkipParserForErrorStatus() {
+        ProbeResponse<Integer> response = client.get(baseUrl + "/broken", reader -> {
+            throw new AssertionError("parser must not run for error responses");
+        });
+
+        assertEquals(500, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void shouldReturnErrorStatusWithoutThrowing() {
+        ProbeResponse<String> response = client.get(baseUrl + "/broken");
+
+        assertEquals(500, response.getStatusCode());
+        assertFalse(response.is2xxSuccessful());
+    }
+
+    @Test
+    void shouldFailWhenReadTimeoutExpires() {
+        HttpProbeFailedException exception = assertThrows(HttpProbeFailedException.class, () ->
+            client.get(baseUrl + "/slow")
+        );
+
+        assertTrue(exception.getElapsed().toMillis() < 2_000);
+    }
+
+    @Test
+    void shouldPingReachableHostRegardlessOfStatus() {
+        assertTrue(client.ping(baseUrl + "/broken"));
+    }
+
+    @Test
+    void shouldFailPingForClosedPort() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        assertFalse(client.ping("http://127.0.0.1:" + closedPort));
+    }
+
+    @Test
+    void shouldFailForMalformedUrl() {
+        assertThrows(HttpProbeFailedException.class, () -> client.get("not a url"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
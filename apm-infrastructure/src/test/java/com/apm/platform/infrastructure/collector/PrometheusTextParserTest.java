@@ -0,0 +1,85 @@
+package com.apm.platform.infrastructure.collector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusTextParserTest {
+
+    private static final String EXPOSITION = """
+        # HELP system_cpu_usage The "recent cpu usage" of the system
+        # TYPE system_cpu_usage gauge
+        system_cpu_usage 0.25
+        # TYPE system_cpu_count gauge
+        system_cpu_count 8.0
+        # TYPE jvm_memory_used_bytes gauge
+        jvm_memory_used_bytes{area="heap",id="G1 Eden Space"} 1.048576E7
+        jvm_memory_used_bytes{area="heap",id="G1 Old Gen"} 2.097152E7
+        jvm_memory_used_bytes{area="nonheap",id="Metaspace"} 5.0E7
+        jvm_memory_max_bytes{area="heap",id="G1 Old Gen"} 1.2E8
+        jvm_threads_live_threads 42.0 1700000000000
+        http_server_requests_seconds_count{method="GET",status="200",uri="/a"} 10.0
+        http_server_requests_seconds_count{method="GET",status="500",uri="/b"} 5.0
+        broken_series NaN
+        """;
+
+    @Test
+    void shouldExtractPlainSeries() throws IOException {
+        Map<String, Double> values = parse(List.of("system_cpu_usage", "jvm_threads_live_threads"));
+
+        assertEquals(0.25, values.get("system_cpu_usage"));
+        assertEquals(42.0, values.get("jvm_threads_live_threads"));
+    }
+
+    @Test
+    void shouldNotMatchSeriesSharingAPrefix() throws IOException {
+        Map<String, Double> values = parse(List.of("system_cpu"));
+
+        assertTrue(values.isEmpty());
+    }
+
+    @Test
+    void shouldSumAcrossLabelSets() throws IOException {
+        Map<String, Double> values = parse(List.of("http_server_requests_seconds_count"));
+
+        assertEquals(15.0, values.get("http_server_requests_seconds_count"));
+    }
+
+    @Test
+    void shouldFilterByLabelMatcher() throws IOException {
+        Map<String, Double> values = parse(List.of("jvm_memory_used_bytes{area=\"heap\"}"));
+
+        assertEquals(3.145728E7, values.get("jvm_memory_used_bytes{area=\"heap\"}"));
+    }
+
+    @Test
+    void shouldSkipNaNAndMissingSeries() throws IOException {
+        Map<String, Double> values = parse(List.of("broken_series", "absent_series"));
+
+        assertFalse(values.containsKey("broken_series"));
+        assertFalse(values.containsKey("absent_series"));
+    }
+
+    @Test
+    void shouldRejectEmptySelectors() {
+        assertThrows(IllegalArgumentException.class, () -> new PrometheusTextParser(List.of()));
+    }
+
+    @Test
+    void shouldRejectMalformedSelector() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new PrometheusTextParser(List.of("jvm_memory_used_bytes{area=\"heap\""))
+        );
+    }
+
+    private Map<String, Double> parse(List<String> selectors) throws IOException {
+        PrometheusTextParser parser = new PrometheusTextParser(selectors);
+        return parser.parse(new BufferedReader(new StringReader(EXPOSITION)));
+    }
+}
@@ -0,0 +1,177 @@
+package com.apm.platform.infrastructure.collector;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.valueobject.ProbeCircuitState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SystemCircuitBreakerTest {
+
+    private HttpProbeClient probeClient;
+    private SimpleMeterRegistry meterRegistry;
+    private SystemCircuitBreaker circuitBreaker;
+    private MonitoredSystem system;
+
+    @BeforeEach
+    void setUp() {
+        probeClient = mock(HttpProbeClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new SystemCircuitBreaker(probeClient, meterRegistry, 3, 50, 200);
+        system = MonitoredSystem.create("Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60);
+    }
+
+    @Test
+    void shouldStayClosedBelowFailureThreshold() {
+        circuitBreaker.recordFailure(system.getId());
+        circuitBreaker.recordFailure(system.getId());
+
+        assertEquals(ProbeCircuitState.CLOSED, circuitBreaker.getState(system.getId()));
+        assertDoesNotThrow(() -> circuitBreaker.acquire(system));
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        openCircuit();
+
+        assertEquals(ProbeCircuitState.OPEN, circuitBreaker.getState(system.getId()));
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+        verify(probeClient, never()).ping(any());
+        assertEquals(1.0, meterRegistry.get("apm.collection.circuit.rejected").counter().count());
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        circuitBreaker.recordFailure(system.getId());
+        circuitBreaker.recordFailure(system.getId());
+        circuitBreaker.recordSuccess(system.getId());
+        circuitBreaker.recordFailure(system.getId());
+
+        assertEquals(ProbeCircuitState.CLOSED, circuitBreaker.getState(system.getId()));
+    }
+
+    @Test
+    void shouldHalfOpenWhenBackoffProbeSucceeds() throws InterruptedException {
+        openCircuit();
+        when(probeClient.ping(system.getBaseUrl())).thenReturn(true);
+        Thread.sleep(60);
+
+        circuitBreaker.acquire(system);
+
+        assertEquals(ProbeCircuitState.HALF_OPEN, circuitBreaker.getState(system.getId()));
+
+        circuitBreaker.recordSuccess(system.getId());
+
+        assertEquals(ProbeCircuitState.CLOSED, circuitBreaker.getState(system.getId()));
+    }
+
+    @Test
+    void shouldReopenWhenTrialCollectionFails() throws InterruptedException {
+        openCircuit();
+        when(probeClient.ping(system.getBaseUrl())).thenReturn(true);
+        Thread.sleep(60);
+        circuitBreaker.acquire(system);
+
+        circuitBreaker.recordFailure(system.getId());
+
+        assertEquals(ProbeCircuitState.OPEN, circuitBreaker.getState(system.getId()));
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+    }
+
+    @Test
+    void shouldStayOpenWhenBackoffProbeFails() throws InterruptedException {
+        openCircuit();
+        when(probeClient.ping(system.getBaseUrl())).thenReturn(false);
+        Thread.sleep(60);
+
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+        assertEquals(ProbeCircuitState.OPEN, circuitBreaker.getState(system.getId()));
+
+        Thread.sleep(60);
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+        verify(probeClient, times(1)).ping(system.getBaseUrl());
+    }
+
+    @Test
+    void shouldLetExactlyOneTrialThroughWhenHalfOpen() throws InterruptedException {
+        openCircuit();
+        when(probeClient.ping(system.getBaseUrl())).thenReturn(true);
+        Thread.sleep(60);
+
+        circuitBreaker.acquire(system);
+
+        assertEquals(ProbeCircuitState.HALF_OPEN, circuitBreaker.getState(system.getId()));
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+        verify(probeClient, times(1)).ping(system.getBaseUrl());
+    }
+
+    @Test
+    void shouldPingOutsideLockAndRejectOthersMeanwhile() throws Exception {
+        openCircuit();
+        CountDownLatch pinging = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(probeClient.ping(system.getBaseUrl())).thenAnswer(invocation -> {
+            pinging.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        Thread.sleep(60);
+
+        Thread trial = Thread.ofVirtual().start(() -> circuitBreaker.acquire(system));
+        assertTrue(pinging.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ProbeCircuitOpenException.class, () -> circuitBreaker.acquire(system));
+
+        release.countDown();
+        trial.join(5_000);
+        assertEquals(ProbeCircuitState.HALF_OPEN, circuitBreaker.getState(system.getId()));
+        verify(probeClient, times(1)).ping(system.getBaseUrl());
+    }
+
+    @Test
+    void shouldAllowNewTrialWhenPreviousOneNeverReported() throws InterruptedException {
+        openCircuit();
+        when(probeClient.ping(system.getBaseUrl())).thenReturn(true);
+        Thread.sleep(60);
+        circuitBreaker.acquire(system);
+
+        Thread.sleep(60);
+
+        assertDoesNotThrow(() -> circuitBreaker.acquire(system));
+    }
+
+    @Test
+    void shouldReportClosedForUnknownSystem() {
+        assertEquals(ProbeCircuitState.CLOSED, circuitBreaker.getState("unknown"));
+    }
+
+    @Test
+    void shouldExposeStateGauges() {
+        openCircuit();
+
+        assertEquals(1.0, meterRegistry.get("apm.collection.circuit.systems").tag("state", "OPEN").gauge().value());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new SystemCircuitBreaker(probeClient, meterRegistry, 0, 50, 200)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            new SystemCircuitBreaker(probeClient, meterRegistry, 3, 500, 200)
+        );
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(system.getId());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.apm.platform.infrastructure.event;
+
+import com.apm.platform.application.usecase.TrackAlertLifecycleUseCase;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AlertLifecycleRecoveryListenerTest {
+
+    private TrackAlertLifecycleUseCase lifecycleUseCase;
+    private ClusterTaskGuard taskGuard;
+    private AlertLifecycleRecoveryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        lifecycleUseCase = mock(TrackAlertLifecycleUseCase.class);
+        taskGuard = mock(ClusterTaskGuard.class);
+        when(taskGuard.isPartitioned()).thenReturn(true);
+        listener = new AlertLifecycleRecoveryListener(lifecycleUseCase, taskGuard);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldRecoverOnlyWhenMembershipVersionChanges() {
+        when(taskGuard.membershipVersion()).thenReturn(1L);
+        listener.recoverOpenAlerts();
+        listener.recoverOnMembershipChange();
+        verify(lifecycleUseCase, times(1)).recover(any(Predicate.class));
+
+        when(taskGuard.membershipVersion()).thenReturn(2L);
+        listener.recoverOnMembershipChange();
+        listener.recoverOnMembershipChange();
+        verify(lifecycleUseCase, times(2)).recover(any(Predicate.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldResyncEveryIntervalWhenNotPartitioned() {
+        when(taskGuard.isPartitioned()).thenReturn(false);
+
+        listener.recoverOnMembershipChange();
+        listener.recoverOnMembershipChange();
+
+        verify(lifecycleUseCase, times(2)).recover(any(Predicate.class));
+    }
+}
@@ -0,0 +1,203 @@
+package com.apm.platform.infrastructure.event;
+
+import com.apm.platform.application.usecase.TrackAlertLifecycleUseCase;
+import com.apm.platform.application.usecase.TriggerAlertUseCase;
+import com.apm.platform.domain.entity.Alert;
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.event.MetricCollectedEvent;
+import com.apm.platform.domain.port.outgoing.AlertRepository;
+import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
+import com.apm.platform.domain.service.AlertLifecycleDomainService;
+import com.apm.platform.domain.service.AlertRuleDomainService;
+import com.apm.platform.domain.valueobject.AlertSeverity;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StreamingAlertEvaluatorTest {
+
+    private AlertRuleRepository alertRuleRepository;
+    private AlertRuleDomainService alertRuleService;
+    private AlertRepository alertRepository;
+    private TriggerAlertUseCase triggerAlertUseCase;
+    private ClusterTaskGuard taskGuard;
+    private SimpleMeterRegistry meterRegistry;
+    private StreamingAlertEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        alertRuleRepository = mock(AlertRuleRepository.class);
+        alertRuleService = new AlertRuleDomainService();
+        alertRepository = mock(AlertRepository.class);
+        triggerAlertUseCase = mock(TriggerAlertUseCase.class);
+        taskGuard = mock(ClusterTaskGuard.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(taskGuard.owns(anyString())).thenReturn(true);
+        when(triggerAlertUseCase.execute(anyString(), anyString(), anyString())).thenAnswer(invocation ->
+                Alert.trigger(invocation.getArgument(0), invocation.getArgument(1), AlertSeverity.WARNING,
+                        invocation.getArgument(2)));
+        when(alertRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(Alert.reconstitute(
+                invocation.getArgument(0), "system-1", "rule", AlertSeverity.WARNING, "violated", Instant.EPOCH,
+                false, null, null)));
+        TrackAlertLifecycleUseCase lifecycleUseCase = new TrackAlertLifecycleUseCase(alertRepository,
+                triggerAlertUseCase, new AlertLifecycleDomainService());
+        evaluator = new StreamingAlertEvaluator(alertRuleRepository, alertRuleService, lifecycleUseCase,
+                taskGuard, meterRegistry, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+    }
+
+    @Test
+    void shouldEvaluateCollectedMetricsOffThePublishingThread() {
+        AlertRule latency = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 1);
+        indexRules(latency);
+
+        evaluator.onMetricCollected(latencyEvent("system-1", 1500));
+
+        verify(triggerAlertUseCase, timeout(2_000)).execute(eq("system-1"), eq(latency.getId()), anyString());
+    }
+
+    @Test
+    void shouldTriggerOnceWhenConsecutiveViolationsAreReached() {
+        AlertRule latency = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 2);
+        indexRules(latency);
+
+        evaluator.evaluate(latencyEvent("system-1", 1500));
+        verify(triggerAlertUseCase, never()).execute(anyString(), anyString(), anyString());
+
+        evaluator.evaluate(latencyEvent("system-1", 1500));
+        evaluator.evaluate(latencyEvent("system-1", 1700));
+
+        verify(triggerAlertUseCase, times(1)).execute(eq("system-1"), eq(latency.getId()), anyString());
+        assertEquals(3.0, meterRegistry.get("apm.alert.streaming.evaluations").counter().count());
+        assertEquals(1.0, meterRegistry.get("apm.alert.streaming.triggered").counter().count());
+    }
+
+    @Test
+    void shouldResolveAlertWhenRuleRecovers() {
+        AlertRule latency = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 1);
+        indexRules(latency);
+        evaluator.evaluate(latencyEvent("system-1", 1500));
+        Alert open = Alert.trigger("system-1", latency.getId(), AlertSeverity.WARNING, "violated");
+        when(alertRepository.findById(anyString())).thenReturn(Optional.of(open));
+
+        evaluator.evaluate(latencyEvent("system-1", 200));
+
+        assertTrue(open.isResolved());
+        verify(alertRepository).save(open);
+        assertEquals(1.0, meterRegistry.get("apm.alert.streaming.resolved").counter().count());
+    }
+
+    @Test
+    void shouldOnlyEvaluateRulesOfTheEventsSystem() {
+        AlertRule cpu = rule("system-1", AlertRule.AlertRuleType.CPU_USAGE_PERCENT, 80, 1);
+        AlertRule other = rule("system-2", AlertRule.AlertRuleType.CPU_USAGE_PERCENT, 80, 1);
+        indexRules(cpu, other);
+
+        evaluator.evaluate(MetricCollectedEvent.create("m-1", "system-1", 100, 200, false, 95.0, 40.0));
+
+        verify(triggerAlertUseCase).execute(eq("system-1"), eq(cpu.getId()), anyString());
+        verify(triggerAlertUseCase, never()).execute(eq("system-2"), anyString(), anyString());
+        verify(alertRuleRepository).findEnabledBySystemId("system-1");
+        verifyNoMoreInteractions(alertRuleRepository);
+    }
+
+    @Test
+    void shouldIgnoreDisabledRulesAndSystemsOwnedByOtherNodes() {
+        AlertRule disabled = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 1);
+        disabled.disable();
+        AlertRule foreign = rule("system-2", AlertRule.AlertRuleType.LATENCY_MS, 1000, 1);
+        indexRules(disabled, foreign);
+        when(taskGuard.owns("system-2")).thenReturn(false);
+
+        evaluator.evaluate(latencyEvent("system-1", 5000));
+        evaluator.evaluate(latencyEvent("system-2", 5000));
+
+        verifyNoInteractions(triggerAlertUseCase);
+    }
+
+    @Test
+    void shouldDropViolationHistoryOfRulesNoLongerIndexed() {
+        AlertRule latency = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 3);
+        indexRules(latency);
+        evaluator.evaluate(latencyEvent("system-1", 1500));
+        evaluator.evaluate(latencyEvent("system-1", 1500));
+        assertEquals(2, alertRuleService.getConsecutiveViolationCount(latency.getId()));
+
+        evaluator.pruneViolationHistory();
+        assertEquals(2, alertRuleService.getConsecutiveViolationCount(latency.getId()));
+
+        indexRules();
+        evaluator.pruneViolationHistory();
+
+        assertEquals(0, alertRuleService.getConsecutiveViolationCount(latency.getId()));
+    }
+
+    @Test
+    void shouldPlaceMetricsInWindowsByCollectionTime() {
+        AlertRule errorRate = AlertRule.create("system-1", "error rate", AlertRule.AlertRuleType.WINDOW_ERROR_RATE_PERCENT,
+                AlertSeverity.WARNING, 40, 1, 60);
+        indexRules(errorRate);
+        Instant now = Instant.now();
+
+        for (int i = 0; i < 3; i++) {
+            evaluator.evaluate(MetricCollectedEvent.create("ok-" + i, "system-1", 100, 200, false, 0.0, 0.0, now));
+        }
+        // Published now, but collected long before the window: these must not count as current failures.
+        for (int i = 0; i < 3; i++) {
+            evaluator.evaluate(MetricCollectedEvent.create("late-" + i, "system-1", 100, 503, true, 0.0, 0.0,
+                    now.minus(Duration.ofMinutes(10))));
+        }
+
+        verifyNoInteractions(triggerAlertUseCase);
+    }
+
+    @Test
+    void shouldKeepEvaluatingRemainingRulesWhenTriggeringFails() {
+        AlertRule first = rule("system-1", AlertRule.AlertRuleType.LATENCY_MS, 1000, 1);
+        AlertRule second = rule("system-1", AlertRule.AlertRuleType.STATUS_CODE, 500, 1);
+        indexRules(first, second);
+        doThrow(new IllegalArgumentException("Alert rule not found: " + first.getId()))
+                .when(triggerAlertUseCase).execute(anyString(), eq(first.getId()), anyString());
+
+        evaluator.evaluate(MetricCollectedEvent.create("m-1", "system-1", 2000, 503, true));
+
+        verify(triggerAlertUseCase).execute(eq("system-1"), eq(second.getId()), anyString());
+    }
+
+    private void indexRules(AlertRule... rules) {
+        when(alertRuleRepository.findAll()).thenReturn(List.of(rules));
+        when(alertRuleRepository.findEnabledBySystemId(anyString())).thenReturn(List.of());
+        Arrays.stream(rules)
+                .filter(AlertRule::isEnabled)
+                .collect(Collectors.groupingBy(AlertRule::getSystemId))
+                .forEach((systemId, enabled) ->
+                        when(alertRuleRepository.findEnabledBySystemId(systemId)).thenReturn(enabled));
+    }
+
+    private static AlertRule rule(String systemId, AlertRule.AlertRuleType type, double threshold,
+                                  int consecutiveViolations) {
+        return AlertRule.create(systemId, type.name() + " rule", type, AlertSeverity.WARNING, threshold,
+                consecutiveViolations);
+    }
+
+    private static MetricCollectedEvent latencyEvent(String systemId, long latencyMs) {
+        return MetricCollectedEvent.create("metric-" + latencyMs, systemId, latencyMs, 200, false);
+    }
+}
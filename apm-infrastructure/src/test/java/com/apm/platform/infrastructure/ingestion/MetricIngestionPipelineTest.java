@@ -0,0 +1,231 @@
+package com.apm.platform.infrastructure.ingestion;
+
+import com.apm.platform.application.usecase.CollectSystemMetricsUseCase;
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.MetricSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MetricIngestionPipelineTest {
+
+    private CollectSystemMetricsUseCase useCase;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Metric> persisted;
+    private MetricIngestionPipeline pipeline;
+    private CountDownLatch writerEntered;
+
+    @BeforeEach
+    void setUp() {
+        useCase = mock(CollectSystemMetricsUseCase.class);
+        meterRegistry = new SimpleMeterRegistry();
+        persisted = Collections.synchronizedList(new ArrayList<>());
+        when(useCase.persistAll(anyList())).thenAnswer(invocation -> {
+            List<Metric> batch = invocation.getArgument(0);
+            persisted.addAll(batch);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void shouldPersistSubmittedMetricsInBatches() throws InterruptedException {
+        pipeline = pipeline(100, 10, 50, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+        pipeline.start();
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(pipeline.submit(metric("system-" + i)));
+        }
+        awaitPersisted(25);
+
+        verify(useCase, atLeast(3)).persistAll(anyList());
+        assertEquals(25.0, meterRegistry.get("apm.ingestion.batch.size").summary().totalAmount());
+        assertTrue(meterRegistry.get("apm.ingestion.batch.size").summary().max() <= 10);
+    }
+
+    @Test
+    void shouldFlushPendingMetricsOnClose() {
+        pipeline = pipeline(100, 500, 10_000, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+        pipeline.start();
+
+        pipeline.submit(metric("system-1"));
+        pipeline.submit(metric("system-2"));
+        pipeline.close();
+
+        assertEquals(2, persisted.size());
+    }
+
+    @Test
+    void shouldDropNewestWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = blockWriter();
+        pipeline = pipeline(1, 1, 0, MetricIngestionPipeline.OverflowPolicy.DROP_NEWEST);
+        pipeline.start();
+
+        Metric inFlight = metric("system-1");
+        Metric queued = metric("system-2");
+        Metric rejected = metric("system-3");
+        submitAndAwaitWriter(inFlight);
+
+        assertTrue(pipeline.submit(queued));
+        assertFalse(pipeline.submit(rejected));
+        release.countDown();
+        pipeline.close();
+
+        assertEquals(List.of(inFlight, queued), persisted);
+        assertEquals(1.0, meterRegistry.get("apm.ingestion.dropped").counter().count());
+    }
+
+    @Test
+    void shouldDropOldestWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = blockWriter();
+        pipeline = pipeline(1, 1, 0, MetricIngestionPipeline.OverflowPolicy.DROP_OLDEST);
+        pipeline.start();
+
+        Metric inFlight = metric("system-1");
+        Metric evicted = metric("system-2");
+        Metric newest = metric("system-3");
+        submitAndAwaitWriter(inFlight);
+
+        assertTrue(pipeline.submit(evicted));
+        assertTrue(pipeline.submit(newest));
+        release.countDown();
+        pipeline.close();
+
+        assertEquals(List.of(inFlight, newest), persisted);
+        assertEquals(1.0, meterRegistry.get("apm.ingestion.dropped").counter().count());
+    }
+
+    @Test
+    void shouldGiveUpAfterBlockTimeout() throws InterruptedException {
+        CountDownLatch release = blockWriter();
+        pipeline = pipeline(1, 1, 0, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+        pipeline.start();
+
+        submitAndAwaitWriter(metric("system-1"));
+        assertTrue(pipeline.submit(metric("system-2")));
+
+        assertFalse(pipeline.submit(metric("system-3")));
+        assertEquals(1.0, meterRegistry.get("apm.ingestion.dropped").counter().count());
+        assertEquals(1, meterRegistry.get("apm.ingestion.enqueue.blocked").timer().count());
+        release.countDown();
+    }
+
+    @Test
+    void shouldCountMetricsLostToFailedWrites() {
+        when(useCase.persistAll(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+        pipeline = pipeline(100, 500, 10_000, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+        pipeline.start();
+
+        pipeline.submit(metric("system-1"));
+        pipeline.submit(metric("system-2"));
+        pipeline.close();
+
+        assertEquals(2.0, meterRegistry.get("apm.ingestion.write.failed").counter().count());
+    }
+
+    @Test
+    void shouldCountRollupFailuresSeparatelyFromWrites() {
+        doThrow(new IllegalStateException("rollup table locked")).when(useCase).accumulateRollups(anyList());
+        pipeline = pipeline(100, 500, 10_000, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+        pipeline.start();
+
+        pipeline.submit(metric("system-1"));
+        pipeline.submit(metric("system-2"));
+        pipeline.close();
+
+        assertEquals(2, persisted.size());
+        assertEquals(0.0, meterRegistry.get("apm.ingestion.write.failed").counter().count());
+        assertEquals(2.0, meterRegistry.get("apm.ingestion.rollup.failed").counter().count());
+    }
+
+    @Test
+    void shouldKeepEachSystemOnOneWriter() throws InterruptedException {
+        List<String> writers = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<Metric> batch = invocation.getArgument(0);
+            batch.forEach(metric -> writers.add(metric.getSystemId() + "@" + Thread.currentThread().getName()));
+            persisted.addAll(batch);
+            return batch;
+        }).when(useCase).persistAll(anyList());
+        pipeline = new MetricIngestionPipeline(useCase, meterRegistry, 100, 1, 0,
+            MetricIngestionPipeline.OverflowPolicy.BLOCK, 50, 2);
+        pipeline.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(pipeline.submit(metric("system-" + (i % 4))));
+        }
+        awaitPersisted(20);
+
+        assertEquals(4, writers.stream().distinct().count());
+    }
+
+    @Test
+    void shouldRejectSubmissionsWhenNotRunning() {
+        pipeline = pipeline(10, 1, 0, MetricIngestionPipeline.OverflowPolicy.BLOCK);
+
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(metric("system-1")));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () ->
+            pipeline(0, 1, 0, MetricIngestionPipeline.OverflowPolicy.BLOCK)
+        );
+        assertThrows(IllegalArgumentException.class, () ->
+            pipeline(10, 0, 0, MetricIngestionPipeline.OverflowPolicy.BLOCK)
+        );
+    }
+
+    private MetricIngestionPipeline pipeline(int capacity, int batchSize, long maxBatchWaitMs,
+                                             MetricIngestionPipeline.OverflowPolicy policy) {
+        return new MetricIngestionPipeline(useCase, meterRegistry, capacity, batchSize, maxBatchWaitMs,
+            policy, 50, 1);
+    }
+
+    private CountDownLatch blockWriter() {
+        CountDownLatch release = new CountDownLatch(1);
+        writerEntered = new CountDownLatch(1);
+        when(useCase.persistAll(anyList())).thenAnswer(invocation -> {
+            writerEntered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<Metric> batch = invocation.getArgument(0);
+            persisted.addAll(batch);
+            return batch;
+        });
+        return release;
+    }
+
+    private void submitAndAwaitWriter(Metric metric) throws InterruptedException {
+        assertTrue(pipeline.submit(metric));
+        assertTrue(writerEntered.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitPersisted(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (persisted.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, persisted.size());
+    }
+
+    private static Metric metric(String systemId) {
+        return Metric.fromSnapshot(systemId, MetricSnapshot.create(100, 10.0, 20.0, 200, false));
+    }
+}
@@ -0,0 +1,126 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.AlertRule;
+import com.apm.platform.domain.port.outgoing.AlertRuleRepository;
+import com.apm.platform.domain.valueobject.AlertSeverity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IndexedAlertRuleRepositoryTest {
+
+    private AlertRuleRepository delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private IndexedAlertRuleRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AlertRuleRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegate.save(any(AlertRule.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        repository = new IndexedAlertRuleRepository(delegate, meterRegistry, true);
+    }
+
+    @Test
+    void shouldServeReadsFromIndexAfterWarmUp() {
+        AlertRule latency = rule("system-1", 2);
+        AlertRule disabled = rule("system-1", 1);
+        disabled.disable();
+        AlertRule other = rule("system-2", 1);
+        when(delegate.findAll()).thenReturn(List.of(latency, disabled, other));
+
+        repository.warmUp();
+
+        assertEquals(List.of(latency), repository.findEnabledBySystemId("system-1"));
+        assertEquals(2, repository.findBySystemId("system-1").size());
+        assertEquals(List.of(), repository.findEnabledBySystemId("system-3"));
+        assertEquals(3, repository.findAll().size());
+        assertEquals(latency.getId(), repository.findById(latency.getId()).orElseThrow().getId());
+        verify(delegate, times(1)).findAll();
+        verifyNoMoreInteractions(delegate);
+        assertEquals(3.0, meterRegistry.get("apm.alert.rule-index.rules").gauge().value());
+    }
+
+    @Test
+    void shouldFallThroughToDatabaseUntilLoaded() {
+        AlertRule latency = rule("system-1", 2);
+        when(delegate.findEnabledBySystemId("system-1")).thenReturn(List.of(latency));
+
+        assertEquals(List.of(latency), repository.findEnabledBySystemId("system-1"));
+        verify(delegate).findEnabledBySystemId("system-1");
+    }
+
+    @Test
+    void shouldApplyLocalWritesToIndex() {
+        when(delegate.findAll()).thenReturn(List.of());
+        repository.warmUp();
+
+        AlertRule created = repository.save(rule("system-1", 3));
+        assertEquals(1, repository.findEnabledBySystemId("system-1").size());
+
+        AlertRule loaded = repository.findById(created.getId()).orElseThrow();
+        loaded.disable();
+        assertEquals(1, repository.findEnabledBySystemId("system-1").size());
+
+        repository.save(loaded);
+        assertEquals(List.of(), repository.findEnabledBySystemId("system-1"));
+        assertEquals(1, repository.findBySystemId("system-1").size());
+
+        repository.deleteById(created.getId());
+        assertTrue(repository.findById(created.getId()).isEmpty());
+        verify(delegate).deleteById(created.getId());
+    }
+
+    @Test
+    void shouldPickUpRemoteChangesOnReconcile() {
+        AlertRule first = rule("system-1", 1);
+        AlertRule second = rule("system-1", 1);
+        when(delegate.findAll()).thenReturn(List.of(first));
+        repository.warmUp();
+
+        when(delegate.findAll()).thenReturn(List.of(first, second));
+        repository.reconcile();
+
+        assertEquals(2, repository.findEnabledBySystemId("system-1").size());
+    }
+
+    @Test
+    void shouldDeferReconcileWhenLocalWriteRacesTheLoad() {
+        AlertRule existing = rule("system-1", 1);
+        AlertRule created = rule("system-1", 1);
+        when(delegate.findAll()).thenReturn(List.of(existing));
+        repository.warmUp();
+
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            repository.save(created);
+            return List.of(existing);
+        });
+        repository.reconcile();
+
+        assertTrue(repository.findById(created.getId()).isPresent());
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenReconcileFails() {
+        AlertRule existing = rule("system-1", 1);
+        when(delegate.findAll()).thenReturn(List.of(existing));
+        repository.warmUp();
+
+        when(delegate.findAll()).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        repository.reconcile();
+
+        assertEquals(List.of(existing), repository.findEnabledBySystemId("system-1"));
+    }
+
+    private static AlertRule rule(String systemId, int consecutiveViolations) {
+        return AlertRule.create(systemId, "High Latency", AlertRule.AlertRuleType.LATENCY_MS,
+                AlertSeverity.WARNING, 1000, consecutiveViolations);
+    }
+}
@@ -0,0 +1,177 @@
+package com.apm.platform.infrastructure.persistence.cache;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RecentMetricsCachingRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private MetricRepository delegate;
+    private MonitoredSystemRepository systemRepository;
+    private ClusterTaskGuard taskGuard;
+    private SimpleMeterRegistry meterRegistry;
+    private RecentMetricsCachingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MetricRepository.class);
+        systemRepository = mock(MonitoredSystemRepository.class);
+        taskGuard = mock(ClusterTaskGuard.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(taskGuard.isCollecting(anyString())).thenReturn(true);
+        when(delegate.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        repository = new RecentMetricsCachingRepository(delegate, systemRepository, taskGuard, meterRegistry, true, 5);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenReturn(List.of(metric("system-1", 2), metric("system-1", 1)));
+
+        repository.findRecentBySystemId("system-1", 5);
+        List<Metric> recent = repository.findRecentBySystemId("system-1", 2);
+
+        assertEquals(List.of(metric("system-1", 2), metric("system-1", 1)), recent);
+        verify(delegate, times(1)).findRecentBySystemId("system-1", 5);
+        assertEquals(0.5, meterRegistry.get("apm.metrics.recent-cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void shouldAppendSavedMetricsAndEvictOldest() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenReturn(List.of());
+        repository.findRecentBySystemId("system-1", 5);
+
+        List<Metric> batch = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            batch.add(metric("system-1", i));
+        }
+        repository.saveAll(batch);
+
+        List<Metric> recent = repository.findRecentBySystemId("system-1", 5);
+        assertEquals(List.of(metric("system-1", 7), metric("system-1", 6), metric("system-1", 5),
+            metric("system-1", 4), metric("system-1", 3)), recent);
+        verify(delegate, times(1)).findRecentBySystemId("system-1", 5);
+    }
+
+    @Test
+    void shouldKeepNewestFirstWhenMetricsArriveOutOfOrder() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenReturn(List.of(metric("system-1", 3)));
+        repository.findRecentBySystemId("system-1", 5);
+
+        repository.saveAll(List.of(metric("system-1", 5), metric("system-1", 1), metric("system-1", 4)));
+        repository.saveAll(List.of(metric("system-1", 3)));
+
+        assertEquals(List.of(metric("system-1", 5), metric("system-1", 4), metric("system-1", 3), metric("system-1", 1)),
+            repository.findRecentBySystemId("system-1", 5));
+    }
+
+    @Test
+    void shouldWarmOwnedActiveSystemsOnStartup() {
+        MonitoredSystem system = MonitoredSystem.create("Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 60);
+        when(systemRepository.findAllActive()).thenReturn(List.of(system));
+        when(delegate.findRecentBySystemId(system.getId(), 5)).thenReturn(List.of(metric(system.getId(), 1)));
+
+        repository.warmUp();
+        repository.findRecentBySystemId(system.getId(), 3);
+
+        verify(delegate, times(1)).findRecentBySystemId(system.getId(), 5);
+        assertEquals(1.0, meterRegistry.get("apm.metrics.recent-cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void shouldBypassCacheForLargerLimitsAndUnownedSystems() {
+        when(taskGuard.isCollecting("system-2")).thenReturn(false);
+
+        repository.findRecentBySystemId("system-1", 10);
+        repository.findRecentBySystemId("system-2", 3);
+        repository.findRecentBySystemId("system-2", 3);
+
+        verify(delegate).findRecentBySystemId("system-1", 10);
+        verify(delegate, times(2)).findRecentBySystemId("system-2", 3);
+    }
+
+    @Test
+    void shouldReloadAfterCollectionChangesHands() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenReturn(List.of(metric("system-1", 1)));
+        repository.findRecentBySystemId("system-1", 5);
+
+        when(taskGuard.collectionVersion()).thenReturn(1L);
+        repository.findRecentBySystemId("system-1", 5);
+
+        verify(delegate, times(2)).findRecentBySystemId("system-1", 5);
+    }
+
+    @Test
+    void shouldReadThroughOnReplicaThatIsNotCollecting() {
+        when(taskGuard.isCollecting("system-1")).thenReturn(false);
+        when(delegate.findRecentBySystemId("system-1", 5))
+            .thenReturn(List.of(metric("system-1", 1)))
+            .thenReturn(List.of(metric("system-1", 2), metric("system-1", 1)));
+
+        repository.findRecentBySystemId("system-1", 5);
+        // Written by the collecting node, so this replica's saveAll never sees it.
+        List<Metric> recent = repository.findRecentBySystemId("system-1", 5);
+
+        assertEquals(List.of(metric("system-1", 2), metric("system-1", 1)), recent);
+        verify(delegate, times(2)).findRecentBySystemId("system-1", 5);
+        assertEquals(0.0, meterRegistry.get("apm.metrics.recent-cache.systems").gauge().value());
+    }
+
+    @Test
+    void shouldPruneBuffersWithRetention() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenReturn(List.of(metric("system-1", 2), metric("system-1", 1)));
+        repository.findRecentBySystemId("system-1", 5);
+
+        repository.deleteOlderThan(BASE.plusSeconds(2));
+
+        assertEquals(List.of(metric("system-1", 2)), repository.findRecentBySystemId("system-1", 5));
+        verify(delegate).deleteOlderThan(BASE.plusSeconds(2));
+    }
+
+    @Test
+    void shouldKeepWritesThatRaceWithTheInitialLoad() {
+        when(delegate.findRecentBySystemId("system-1", 5)).thenAnswer(invocation -> {
+            // A writer commits after the query read its snapshot but before the load finished.
+            repository.saveAll(List.of(metric("system-1", 3)));
+            return List.of(metric("system-1", 2), metric("system-1", 1));
+        });
+
+        repository.findRecentBySystemId("system-1", 5);
+
+        assertEquals(List.of(metric("system-1", 3), metric("system-1", 2), metric("system-1", 1)),
+            repository.findRecentBySystemId("system-1", 5));
+        verify(delegate, times(1)).findRecentBySystemId("system-1", 5);
+    }
+
+    @Test
+    void shouldRetryLoadAfterFailure() {
+        when(delegate.findRecentBySystemId("system-1", 5))
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenReturn(List.of(metric("system-1", 1)));
+
+        assertThrows(IllegalStateException.class, () -> repository.findRecentBySystemId("system-1", 5));
+
+        assertEquals(List.of(metric("system-1", 1)), repository.findRecentBySystemId("system-1", 5));
+    }
+
+    private static Metric metric(String systemId, int second) {
+        return Metric.reconstitute(systemId + "-" + second, systemId, 100, 200, false, 10.0, 20.0,
+            Map.of(), BASE.plusSeconds(second));
+    }
+}
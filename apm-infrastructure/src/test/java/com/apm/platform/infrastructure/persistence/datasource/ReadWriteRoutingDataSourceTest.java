@@ -0,0 +1,67 @@
+package com.apm.platform.infrastructure.persistence.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource writeDataSource;
+    private DataSource readDataSource;
+    private Connection writeConnection;
+    private Connection readConnection;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        writeDataSource = mock(DataSource.class);
+        readDataSource = mock(DataSource.class);
+        writeConnection = mock(Connection.class);
+        readConnection = mock(Connection.class);
+        when(writeDataSource.getConnection()).thenReturn(writeConnection);
+        when(readDataSource.getConnection()).thenReturn(readConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadWriteRoutingDataSource(writeDataSource, readDataSource, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void shouldRouteToWritePoolOutsideReadOnlyTransactions() throws SQLException {
+        assertSame(writeConnection, routingDataSource.getConnection());
+        verifyNoInteractions(readDataSource);
+        assertEquals(1.0, meterRegistry.get("apm.datasource.connections").tag("route", "write").counter().count());
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReadPool() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(readConnection, routingDataSource.getConnection());
+        verify(writeDataSource, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("apm.datasource.connections").tag("route", "read").counter().count());
+    }
+
+    @Test
+    void shouldFallBackToWritePoolWhenReadPoolFails() throws SQLException {
+        when(readDataSource.getConnection()).thenThrow(new SQLTransientConnectionException("replica down"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(writeConnection, routingDataSource.getConnection());
+        assertEquals(1.0, meterRegistry.get("apm.datasource.read.fallbacks").counter().count());
+    }
+}
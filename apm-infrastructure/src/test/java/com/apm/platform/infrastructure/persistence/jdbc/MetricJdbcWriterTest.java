@@ -0,0 +1,92 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import com.apm.platform.infrastructure.persistence.entity.MetricEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MetricJdbcWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void shouldBuildMultiRowInsert() {
+        String sql = MetricJdbcWriter.insertSql("metric_additional_data", "metric_id, data_key, data_value", 3, 2);
+
+        assertEquals("INSERT INTO metric_additional_data (metric_id, data_key, data_value) " +
+            "VALUES (?, ?, ?), (?, ?, ?)", sql);
+    }
+
+    @Test
+    void shouldInsertBatchInSingleStatement() throws SQLException {
+        MetricJdbcWriter writer = new MetricJdbcWriter(jdbcTemplate, 1000);
+        List<MetricEntity> metrics = List.of(
+            metric("m-1", "{\"jvm_threads_live_threads\":42.0}"),
+            metric("m-2", null)
+        );
+
+        writer.insertAll(metrics);
+
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO metrics ("), setter.capture());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps);
+        verify(ps).setString(1, "m-1");
+        verify(ps).setString(1 + MetricJdbcWriter.METRIC_COLUMN_COUNT, "m-2");
+        verify(ps).setObject(MetricJdbcWriter.METRIC_COLUMN_COUNT, "{\"jvm_threads_live_threads\":42.0}", Types.OTHER);
+        verify(ps).setObject(2 * MetricJdbcWriter.METRIC_COLUMN_COUNT, null, Types.OTHER);
+        verify(ps, times(8)).setObject(anyInt(), isNull(), eq(Types.INTEGER));
+    }
+
+    @Test
+    void shouldSplitLargeBatchesIntoChunks() {
+        MetricJdbcWriter writer = new MetricJdbcWriter(jdbcTemplate, 2);
+        List<MetricEntity> metrics = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            metrics.add(metric("m-" + i, null));
+        }
+
+        writer.insertAll(metrics);
+
+        verify(jdbcTemplate, times(3)).update(startsWith("INSERT INTO metrics"), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void shouldRejectChunkSizeBeyondBindParameterLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new MetricJdbcWriter(jdbcTemplate, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MetricJdbcWriter(jdbcTemplate, 10_000));
+    }
+
+    private static MetricEntity metric(String id, String additionalData) {
+        MetricEntity entity = new MetricEntity();
+        entity.setId(id);
+        entity.setSystemId("system-1");
+        entity.setLatencyMs(120);
+        entity.setStatusCode(200);
+        entity.setHasError(false);
+        entity.setCpuUsagePercent(10.0);
+        entity.setMemoryUsagePercent(20.0);
+        entity.setCollectedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        entity.setAdditionalData(additionalData);
+        return entity;
+    }
+}
@@ -0,0 +1,107 @@
+package com.apm.platform.infrastructure.persistence.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MetricPartitionManagerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private MetricPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        partitionManager = new MetricPartitionManager(jdbcTemplate);
+    }
+
+    @Test
+    void shouldCreateMissingDailyPartitions() {
+        stubPartitions("metrics", "metrics_default", "metrics_p20240101");
+
+        int created = partitionManager.createPartitions(LocalDate.of(2024, 1, 1), 2);
+
+        assertEquals(1, created);
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS metrics_p20240102 PARTITION OF metrics " +
+            "FOR VALUES FROM ('2024-01-02') TO ('2024-01-03')");
+    }
+
+    @Test
+    void shouldDropOnlyPartitionsEntirelyBeforeCutoff() {
+        stubPartitions("metrics", "metrics_default", "metrics_p20240101", "metrics_p20240102", "metrics_p20240103");
+
+        List<String> dropped = partitionManager.dropPartitionsBefore(LocalDate.of(2024, 1, 3));
+
+        assertEquals(List.of("metrics_p20240101", "metrics_p20240102"), dropped);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE metrics DETACH PARTITION metrics_p20240101");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE IF EXISTS metrics_p20240101");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS metrics_p20240103");
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS metrics_default");
+        verify(jdbcTemplate).update(eq("DELETE FROM metrics_default WHERE collected_at < ?"),
+            eq(Timestamp.valueOf("2024-01-03 00:00:00")));
+    }
+
+    @Test
+    void shouldDetachConcurrentlyWithoutDefaultPartition() {
+        stubPartitions("metrics", "metrics_p20240101");
+
+        partitionManager.dropPartitionsBefore(LocalDate.of(2024, 1, 2));
+
+        verify(jdbcTemplate).execute("ALTER TABLE metrics DETACH PARTITION metrics_p20240101 CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS metrics_p20240101");
+    }
+
+    @Test
+    void shouldMoveDefaultPartitionRowsIntoNewPartition() {
+        stubPartitions("metrics", "metrics_default");
+        when(jdbcTemplate.queryForObject(contains("FROM metrics_default"), eq(Boolean.class),
+            eq(Timestamp.valueOf("2024-01-01 00:00:00")), eq(Timestamp.valueOf("2024-01-02 00:00:00"))))
+            .thenReturn(true);
+
+        int created = partitionManager.createPartitions(LocalDate.of(2024, 1, 1), 1);
+
+        assertEquals(1, created);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).execute(sql.capture());
+        assertTrue(sql.getValue().contains("LOCK TABLE metrics_default"));
+        assertTrue(sql.getValue().contains("DELETE FROM metrics_default WHERE collected_at >= '2024-01-01'"));
+        assertTrue(sql.getValue().contains(
+            "ALTER TABLE metrics ATTACH PARTITION metrics_p20240101 FOR VALUES FROM ('2024-01-01') TO ('2024-01-02')"));
+        verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+
+    @Test
+    void shouldParsePartitionDayFromName() {
+        assertEquals(LocalDate.of(2024, 2, 29), MetricPartitionManager.partitionDay("metrics", "metrics_p20240229"));
+        assertNull(MetricPartitionManager.partitionDay("metrics", "metrics_default"));
+        assertNull(MetricPartitionManager.partitionDay("metrics", "metrics_p2024"));
+    }
+
+    @Test
+    void shouldResolveUtcDay() {
+        assertEquals(LocalDate.of(2024, 1, 1), MetricPartitionManager.utcDay(Instant.parse("2024-01-01T23:59:59Z")));
+    }
+
+    @Test
+    void shouldRejectNonPositiveDayCount() {
+        assertThrows(IllegalArgumentException.class, () ->
+            partitionManager.createPartitions(LocalDate.of(2024, 1, 1), 0)
+        );
+    }
+
+    private void stubPartitions(String table, String... partitions) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(table))).thenReturn(List.of(partitions));
+    }
+}
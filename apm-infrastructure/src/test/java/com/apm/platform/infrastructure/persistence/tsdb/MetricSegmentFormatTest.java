@@ -0,0 +1,73 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.ProbeTiming;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricSegmentFormatTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00.123456Z");
+
+    @Test
+    void shouldRoundTripEveryColumn() {
+        List<Metric> metrics = List.of(
+            Metric.reconstitute(UUID.randomUUID().toString(), "system-1", 120, 200, false, 12.5, 40.25,
+                Map.of("region", "eu-west-1"), BASE, ProbeTiming.ofMicros(120_000, 1_500, 90_000, 28_500)),
+            Metric.reconstitute("legacy-id", "system-1", 4_500, 503, true, 99.9, 0.0,
+                Map.of(), BASE.plusSeconds(61), null),
+            Metric.reconstitute(UUID.randomUUID().toString(), "system-1", 0, 0, true, 0.0, 100.0,
+                Map.of(), BASE.plusSeconds(59).plusNanos(1_000), null)
+        );
+
+        List<Metric> decoded = MetricSegmentFormat.decode("system-1",
+            ByteBuffer.wrap(MetricSegmentFormat.encode(metrics)));
+
+        assertEquals(metrics.size(), decoded.size());
+        for (int i = 0; i < metrics.size(); i++) {
+            Metric expected = metrics.get(i);
+            Metric actual = decoded.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getSystemId(), actual.getSystemId());
+            assertEquals(expected.getLatencyMs(), actual.getLatencyMs());
+            assertEquals(expected.getStatusCode(), actual.getStatusCode());
+            assertEquals(expected.hasError(), actual.hasError());
+            assertEquals(expected.getCpuUsagePercent(), actual.getCpuUsagePercent());
+            assertEquals(expected.getMemoryUsagePercent(), actual.getMemoryUsagePercent());
+            assertEquals(expected.getCollectedAt(), actual.getCollectedAt());
+            assertEquals(expected.getTiming(), actual.getTiming());
+            assertEquals(expected.getAdditionalData(), actual.getAdditionalData());
+        }
+    }
+
+    @Test
+    void shouldCompressRegularSeriesWellBelowRowSize() {
+        Random random = new Random(42);
+        List<Metric> metrics = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            metrics.add(Metric.reconstitute(UUID.randomUUID().toString(), "system-1", 100 + random.nextInt(20),
+                200, false, 35.0, 60.0, Map.of(), BASE.plusSeconds(60L * i).plusMillis(random.nextInt(5)), null));
+        }
+
+        byte[] encoded = MetricSegmentFormat.encode(metrics);
+
+        assertTrue(encoded.length < metrics.size() * 24, "encoded " + encoded.length + " bytes");
+        assertEquals(1_000, MetricSegmentFormat.readHeader(ByteBuffer.wrap(encoded)).getCount());
+    }
+
+    @Test
+    void shouldRejectForeignData() {
+        assertThrows(IllegalStateException.class, () ->
+            MetricSegmentFormat.readHeader(ByteBuffer.wrap(new byte[64]))
+        );
+    }
+}
@@ -0,0 +1,198 @@
+package com.apm.platform.infrastructure.persistence.tsdb;
+
+import com.apm.platform.domain.entity.Metric;
+import com.apm.platform.domain.valueobject.MetricCursor;
+import com.apm.platform.domain.valueobject.MetricSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentMetricRepositoryTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path dataDir;
+
+    private SegmentMetricRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldQueryAcrossHeadAndSealedSegments() {
+        repository = open();
+        repository.saveAll(List.of(metric("system-1", 0), metric("system-1", 60), metric("system-2", 30)));
+        repository.sealClosedBuckets();
+        repository.saveAll(List.of(metric("system-1", 7_200)));
+
+        List<Metric> range = repository.findBySystemIdAndTimeRange("system-1", BASE, BASE.plusSeconds(7_200));
+
+        assertEquals(List.of(BASE.plusSeconds(7_200), BASE.plusSeconds(60), BASE),
+            range.stream().map(Metric::getCollectedAt).toList());
+        assertEquals(3, repository.countBySystemId("system-1"));
+        assertEquals(1, repository.findBySystemId("system-2").size());
+        assertEquals(2, countSegmentFiles());
+    }
+
+    @Test
+    void shouldReturnNewestMetricsFirst() {
+        repository = open();
+        for (int i = 0; i < 5; i++) {
+            repository.save(metric("system-1", i * 1_800L));
+        }
+        repository.sealClosedBuckets();
+
+        List<Metric> recent = repository.findRecentBySystemId("system-1", 2);
+
+        assertEquals(List.of(BASE.plusSeconds(7_200), BASE.plusSeconds(5_400)),
+            recent.stream().map(Metric::getCollectedAt).toList());
+    }
+
+    @Test
+    void shouldRecoverUnsealedMetricsFromWriteAheadLog() {
+        repository = open();
+        Metric metric = metric("system-1", 0);
+        repository.save(metric);
+        repository = open();
+
+        assertEquals(metric.getId(), repository.findById(metric.getId()).orElseThrow().getId());
+        assertEquals(0, countSegmentFiles());
+    }
+
+    @Test
+    void shouldNotDuplicateSealedMetricsWhenWalRewriteWasLost() throws IOException {
+        repository = open();
+        repository.saveAll(List.of(metric("system-1", 0), metric("system-1", 60)));
+        byte[] walBeforeSeal = Files.readAllBytes(dataDir.resolve("head.wal"));
+        repository.sealClosedBuckets();
+        repository.save(metric("system-1", 120));
+
+        // Crash between writing the segment and rewriting the WAL: the sealed points are still logged.
+        byte[] walAfterSeal = Files.readAllBytes(dataDir.resolve("head.wal"));
+        byte[] crashedWal = new byte[walBeforeSeal.length + walAfterSeal.length];
+        System.arraycopy(walBeforeSeal, 0, crashedWal, 0, walBeforeSeal.length);
+        System.arraycopy(walAfterSeal, 0, crashedWal, walBeforeSeal.length, walAfterSeal.length);
+        Files.write(dataDir.resolve("head.wal"), crashedWal);
+        repository = open();
+
+        assertEquals(3, repository.countBySystemId("system-1"));
+        assertEquals(3, repository.findBySystemId("system-1").stream().map(Metric::getId).distinct().count());
+        assertEquals(1, countSegmentFiles());
+    }
+
+    @Test
+    void shouldSealOpenBucketsOnClose() {
+        repository = open();
+        repository.save(metric("system-1", 0));
+        repository.close();
+
+        repository = open();
+
+        assertEquals(1, countSegmentFiles());
+        assertEquals(1, repository.countBySystemId("system-1"));
+    }
+
+    @Test
+    void shouldDropWholeBucketsOlderThanRetention() {
+        repository = open();
+        repository.saveAll(List.of(metric("system-1", 0), metric("system-1", 3_600), metric("system-1", 7_300)));
+        repository.sealClosedBuckets();
+
+        repository.deleteOlderThan(BASE.plusSeconds(7_200));
+
+        assertEquals(List.of(BASE.plusSeconds(7_300)),
+            repository.findBySystemId("system-1").stream().map(Metric::getCollectedAt).toList());
+    }
+
+    @Test
+    void shouldPageByKeysetAndPollNewerMetrics() {
+        repository = open();
+        for (int i = 0; i < 5; i++) {
+            repository.save(metric("system-1", i * 1_000L));
+        }
+        repository.sealClosedBuckets();
+
+        List<Metric> firstPage = repository.findPageBySystemId("system-1", BASE, BASE.plusSeconds(10_000), null, 2);
+        List<Metric> secondPage = repository.findPageBySystemId("system-1", BASE, BASE.plusSeconds(10_000),
+            MetricCursor.of(firstPage.get(1)), 2);
+        List<Metric> newer = repository.findNewerThan("system-1", MetricCursor.of(secondPage.get(1)), 10);
+
+        assertEquals(List.of(BASE.plusSeconds(4_000), BASE.plusSeconds(3_000)),
+            firstPage.stream().map(Metric::getCollectedAt).toList());
+        assertEquals(List.of(BASE.plusSeconds(2_000), BASE.plusSeconds(1_000)),
+            secondPage.stream().map(Metric::getCollectedAt).toList());
+        assertEquals(List.of(BASE.plusSeconds(2_000), BASE.plusSeconds(3_000), BASE.plusSeconds(4_000)),
+            newer.stream().map(Metric::getCollectedAt).toList());
+    }
+
+    @Test
+    void shouldSummarizeLatencyAndStatusPerStep() {
+        repository = open();
+        repository.saveAll(List.of(
+            metric("system-1", 0, 100, 200), metric("system-1", 60, 300, 500),
+            metric("system-1", 3_600, 50, 200), metric("system-1", 7_200, 999, 200)));
+        repository.sealClosedBuckets();
+
+        List<MetricSummary> summaries = repository.summarize("system-1", BASE, BASE.plusSeconds(7_200),
+            Duration.ofHours(1));
+
+        assertEquals(2, summaries.size());
+        MetricSummary first = summaries.get(0);
+        assertEquals(BASE, first.getBucketStart());
+        assertEquals(2, first.getCount());
+        assertEquals(200.0, first.getAvgLatencyMs());
+        assertEquals(200.0, first.getP50LatencyMs());
+        assertEquals(300, first.getMaxLatencyMs());
+        assertEquals(1, first.getStatus5xxCount());
+        assertEquals(BASE.plusSeconds(3_600), summaries.get(1).getBucketStart());
+    }
+
+    @Test
+    void shouldRejectSystemIdsThatAreNotSafeDirectoryNames() {
+        repository = open();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.save(metric("../etc", 0)));
+    }
+
+    private SegmentMetricRepository open() {
+        SegmentMetricRepository store = new SegmentMetricRepository(new SimpleMeterRegistry(),
+            dataDir.toString(), 3_600_000, 0, 10_000, false);
+        store.open();
+        return store;
+    }
+
+    private long countSegmentFiles() {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Metric metric(String systemId, long secondsAfterBase) {
+        return metric(systemId, secondsAfterBase, 100, 200);
+    }
+
+    private static Metric metric(String systemId, long secondsAfterBase, long latencyMs, int statusCode) {
+        return Metric.reconstitute(UUID.randomUUID().toString(), systemId, latencyMs, statusCode, statusCode >= 500,
+            10.0, 20.0, Map.of(), BASE.plusSeconds(secondsAfterBase));
+    }
+}
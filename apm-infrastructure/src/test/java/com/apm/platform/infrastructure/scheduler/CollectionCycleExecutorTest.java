@@ -0,0 +1,173 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectionCycleExecutorTest {
+
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    private CollectionCycleExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    void shouldDispatchWithoutWaitingForCollections() throws InterruptedException {
+        executor = new CollectionCycleExecutor(16, 16, DEADLINE);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(8);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            assertTrue(executor.dispatch("system-" + i, "api.test.com", () -> await(release),
+                outcome -> done.countDown()));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 1_000);
+        assertEquals(8, executor.inFlightCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldReportOutcomeOnCompletion() throws InterruptedException {
+        executor = new CollectionCycleExecutor(4, 4, DEADLINE);
+        List<CollectionCycleExecutor.Outcome> outcomes = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        executor.dispatch("ok", "api.test.com", () -> { }, outcome -> {
+            outcomes.add(outcome);
+            done.countDown();
+        });
+        executor.dispatch("failing", "api.test.com", () -> {
+            throw new IllegalStateException("probe failed");
+        }, outcome -> {
+            outcomes.add(outcome);
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(outcomes.contains(CollectionCycleExecutor.Outcome.SUCCESS));
+        assertTrue(outcomes.contains(CollectionCycleExecutor.Outcome.FAILURE));
+    }
+
+    @Test
+    void shouldSkipSystemWhosePreviousRunIsInFlight() throws InterruptedException {
+        executor = new CollectionCycleExecutor(4, 4, DEADLINE);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(executor.dispatch("slow", "slow.test.com", () -> {
+            runs.incrementAndGet();
+            await(release);
+        }, outcome -> done.countDown()));
+        assertFalse(executor.dispatch("slow", "slow.test.com", runs::incrementAndGet, outcome -> { }));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertTrue(executor.dispatch("slow", "slow.test.com", () -> { }, outcome -> { }));
+    }
+
+    @Test
+    void shouldLimitConcurrencyPerHost() throws InterruptedException {
+        executor = new CollectionCycleExecutor(16, 2, DEADLINE);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+
+        for (int i = 0; i < 6; i++) {
+            executor.dispatch("system-" + i, "same-host.test.com", () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+            }, outcome -> done.countDown());
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void shouldInterruptCollectionStillRunningAtDeadline() throws InterruptedException {
+        executor = new CollectionCycleExecutor(4, 4, Duration.ofMillis(100));
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicReference<CollectionCycleExecutor.Outcome> outcome = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.dispatch("hung", "hung.test.com", () -> await(never), result -> {
+            outcome.set(result);
+            done.countDown();
+        });
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(CollectionCycleExecutor.Outcome.MISSED_DEADLINE, outcome.get());
+        assertEquals(0, executor.inFlightCount());
+    }
+
+    @Test
+    void shouldSummarizeCycleOnceEveryCollectionIsAccountedFor() throws InterruptedException {
+        executor = new CollectionCycleExecutor(4, 4, Duration.ofMillis(100));
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicReference<CollectionCycleExecutor.CycleSummary> finished = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        CollectionCycleExecutor.CycleSummary cycle = new CollectionCycleExecutor.CycleSummary(4, summary -> {
+            finished.set(summary);
+            done.countDown();
+        });
+
+        executor.dispatch("ok", "api.test.com", () -> { }, result -> cycle.record("ok", result));
+        executor.dispatch("failing", "api.test.com", () -> {
+            throw new IllegalStateException("probe failed");
+        }, result -> cycle.record("failing", result));
+        executor.dispatch("hung", "hung.test.com", () -> await(never), result -> cycle.record("hung", result));
+        cycle.skip("busy");
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        CollectionCycleExecutor.CycleSummary summary = finished.get();
+        assertEquals(4, summary.getDispatchedCount());
+        assertEquals(1, summary.getSuccessCount());
+        assertEquals(1, summary.getFailureCount());
+        assertEquals(1, summary.getSkippedCount());
+        assertEquals(List.of("hung"), summary.getMissedSystemIds());
+    }
+
+    @Test
+    void shouldRejectInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new CollectionCycleExecutor(0, 1, DEADLINE));
+        assertThrows(IllegalArgumentException.class, () -> new CollectionCycleExecutor(1, 0, DEADLINE));
+        assertThrows(IllegalArgumentException.class, () -> new CollectionCycleExecutor(1, 1, Duration.ZERO));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectionScheduleTest {
+
+    private MutableClock clock;
+    private CollectionSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        schedule = new CollectionSchedule(clock);
+    }
+
+    @Test
+    void shouldDispatchEachSystemWithinItsFirstInterval() {
+        MonitoredSystem fast = system("Fast API", 10);
+        MonitoredSystem slow = system("Slow API", 300);
+
+        schedule.reconcile(List.of(fast, slow));
+        clock.advance(10_000);
+
+        List<CollectionSchedule.ScheduledCollection> due = schedule.pollDue();
+
+        assertTrue(due.stream().anyMatch(c -> c.getSystemId().equals(fast.getId())));
+        assertEquals(2, schedule.size());
+    }
+
+    @Test
+    void shouldRescheduleAtFixedRateFromDueTime() {
+        MonitoredSystem system = system("Test API", 10);
+        schedule.reconcile(List.of(system));
+        clock.advance(10_000);
+
+        CollectionSchedule.ScheduledCollection first = schedule.pollDue().get(0);
+        schedule.reschedule(first);
+
+        clock.set(first.getDueAtMillis() + 9_999);
+        assertTrue(schedule.pollDue().isEmpty());
+
+        clock.set(first.getDueAtMillis() + 10_000);
+        List<CollectionSchedule.ScheduledCollection> due = schedule.pollDue();
+        assertEquals(1, due.size());
+        assertEquals(first.getDueAtMillis() + 10_000, due.get(0).getDueAtMillis());
+    }
+
+    @Test
+    void shouldSkipMissedSlotsWhenOverrun() {
+        MonitoredSystem system = system("Test API", 10);
+        schedule.reconcile(List.of(system));
+        clock.advance(10_000);
+
+        CollectionSchedule.ScheduledCollection first = schedule.pollDue().get(0);
+        clock.advance(35_000);
+        schedule.reschedule(first);
+
+        assertTrue(schedule.pollDue().isEmpty());
+        clock.advance(10_000);
+        assertEquals(1, schedule.pollDue().size());
+    }
+
+    @Test
+    void shouldPickUpIntervalChangeOnReconcile() {
+        MonitoredSystem system = system("Test API", 300);
+        schedule.reconcile(List.of(system));
+        clock.advance(300_000);
+        CollectionSchedule.ScheduledCollection first = schedule.pollDue().get(0);
+        schedule.reschedule(first);
+
+        system.updateDetails(system.getName(), system.getBaseUrl(), system.getType(), system.getEnvironment(), 30);
+        schedule.reconcile(List.of(system));
+
+        clock.set(first.getDueAtMillis() + 30_000);
+        List<CollectionSchedule.ScheduledCollection> due = schedule.pollDue();
+
+        assertEquals(1, due.size());
+        assertEquals(30_000, due.get(0).getIntervalMillis());
+    }
+
+    @Test
+    void shouldDropSystemsNoLongerActive() {
+        MonitoredSystem kept = system("Kept API", 10);
+        MonitoredSystem removed = system("Removed API", 10);
+        schedule.reconcile(List.of(kept, removed));
+
+        schedule.reconcile(List.of(kept));
+        clock.advance(10_000);
+
+        List<CollectionSchedule.ScheduledCollection> due = schedule.pollDue();
+        assertEquals(1, due.size());
+        assertEquals(kept.getId(), due.get(0).getSystemId());
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    void shouldNotRescheduleCollectionForRemovedSystem() {
+        MonitoredSystem system = system("Test API", 10);
+        schedule.reconcile(List.of(system));
+        clock.advance(10_000);
+        CollectionSchedule.ScheduledCollection inFlight = schedule.pollDue().get(0);
+
+        schedule.reconcile(List.of());
+        schedule.reschedule(inFlight);
+
+        assertEquals(0, schedule.size());
+    }
+
+    @Test
+    void shouldReportLagSinceDueTime() {
+        MonitoredSystem system = system("Test API", 10);
+        schedule.reconcile(List.of(system));
+        clock.advance(10_000);
+        CollectionSchedule.ScheduledCollection collection = schedule.pollDue().get(0);
+
+        clock.set(collection.getDueAtMillis() + 250);
+
+        assertEquals(250, schedule.lagMillis(collection));
+    }
+
+    private MonitoredSystem system(String name, int intervalSeconds) {
+        return MonitoredSystem.create(name, "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, intervalSeconds);
+    }
+}
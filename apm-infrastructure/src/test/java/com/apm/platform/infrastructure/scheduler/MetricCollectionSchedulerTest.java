@@ -0,0 +1,88 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import com.apm.platform.application.usecase.CollectSystemMetricsUseCase;
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.infrastructure.cluster.ClusterTaskGuard;
+import com.apm.platform.infrastructure.ingestion.MetricIngestionPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MetricCollectionSchedulerTest {
+
+    private MonitoredSystemRepository systemRepository;
+    private CollectSystemMetricsUseCase collectMetricsUseCase;
+    private ClusterTaskGuard taskGuard;
+    private MetricCollectionScheduler scheduler;
+    private MonitoredSystem system;
+
+    @BeforeEach
+    void setUp() {
+        systemRepository = mock(MonitoredSystemRepository.class);
+        collectMetricsUseCase = mock(CollectSystemMetricsUseCase.class);
+        taskGuard = mock(ClusterTaskGuard.class);
+        system = MonitoredSystem.create("Test API", "https://api.test.com",
+            MonitoredSystem.SystemType.API, MonitoredSystem.Environment.PRODUCTION, 10);
+        when(systemRepository.findAllActive()).thenReturn(List.of(system));
+        when(taskGuard.owns(anyString())).thenReturn(true);
+
+        scheduler = new MetricCollectionScheduler(systemRepository, collectMetricsUseCase,
+            mock(MetricIngestionPipeline.class), taskGuard, new SimpleMeterRegistry(), false, 15_000, 30_000, 8, 4, 20_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldRunScheduleOnLeaseholderWhenNotPartitioned() {
+        when(taskGuard.holdLease(eq(ClusterTaskGuard.COLLECTION_LEASE), any(Duration.class))).thenReturn(true);
+
+        scheduler.collectMetrics();
+
+        verify(taskGuard).holdLease(ClusterTaskGuard.COLLECTION_LEASE, Duration.ofMillis(30_000));
+        verify(systemRepository).findAllActive();
+        verify(taskGuard).owns(system.getId());
+    }
+
+    @Test
+    void shouldNotCollectWithoutLeaseWhenNotPartitioned() {
+        scheduler.collectMetrics();
+
+        verifyNoInteractions(systemRepository, collectMetricsUseCase);
+    }
+
+    @Test
+    void shouldDropScheduleWhenLeaseIsLost() {
+        when(taskGuard.holdLease(eq(ClusterTaskGuard.COLLECTION_LEASE), any(Duration.class))).thenReturn(true, false, true);
+
+        scheduler.collectMetrics();
+        scheduler.collectMetrics();
+        scheduler.collectMetrics();
+
+        // Regaining the lease rebuilds the schedule at once rather than after the reconcile interval.
+        verify(systemRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    void shouldUseOwnScheduleWhenPartitioned() {
+        when(taskGuard.isPartitioned()).thenReturn(true);
+
+        scheduler.collectMetrics();
+
+        verify(taskGuard, never()).holdLease(anyString(), any(Duration.class));
+        verify(systemRepository).findAllActive();
+        verify(taskGuard).owns(system.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package com.apm.platform.infrastructure.scheduler;
+
+import com.apm.platform.domain.entity.MonitoredSystem;
+import com.apm.platform.domain.port.outgoing.MetricRepository;
+import com.apm.platform.domain.port.outgoing.MetricRollupRepository;
+import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.RetentionPolicyRepository;
+import com.apm.platform.domain.valueobject.RetentionPolicy;
+import com.apm.platform.domain.valueobject.RollupResolution;
+import com.apm.platform.domain.valueobject.SystemStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RetentionCompactorTest {
+
+    private static final RetentionPolicy PRODUCTION = RetentionPolicy.ofDays(30, 7, 30, 365);
+    private static final RetentionPolicy DEVELOPMENT = RetentionPolicy.ofDays(3, 3, 7, 30);
+
+    private MonitoredSystemRepository systemRepository;
+    private RetentionPolicyRepository policyRepository;
+    private MetricRepository metricRepository;
+    private MetricRollupRepository rollupRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private List<Long> pauses;
+
+    @BeforeEach
+    void setUp() {
+        systemRepository = mock(MonitoredSystemRepository.class);
+        policyRepository = mock(RetentionPolicyRepository.class);
+        metricRepository = mock(MetricRepository.class);
+        rollupRepository = mock(MetricRollupRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        pauses = new ArrayList<>();
+
+        when(policyRepository.findDefault(MonitoredSystem.Environment.PRODUCTION)).thenReturn(PRODUCTION);
+        when(policyRepository.findDefault(MonitoredSystem.Environment.DEVELOPMENT)).thenReturn(DEVELOPMENT);
+        when(policyRepository.findAllOverrides()).thenReturn(Map.of());
+    }
+
+    @Test
+    void shouldApplyEnvironmentDefaultsAndPerSystemOverrides() {
+        when(systemRepository.findAll()).thenReturn(List.of(
+            system("a-prod", MonitoredSystem.Environment.PRODUCTION),
+            system("b-dev", MonitoredSystem.Environment.DEVELOPMENT),
+            system("c-prod", MonitoredSystem.Environment.PRODUCTION)));
+        when(policyRepository.findAllOverrides()).thenReturn(Map.of("c-prod", RetentionPolicy.ofDays(90, 7, 30, 730)));
+
+        compactor(100, 1_000_000, 60_000).compact();
+
+        Instant now = clock.instant();
+        verify(metricRepository).deleteBySystemIdOlderThan("a-prod", now.minus(30, ChronoUnit.DAYS), 100);
+        verify(metricRepository).deleteBySystemIdOlderThan("b-dev", now.minus(3, ChronoUnit.DAYS), 100);
+        verify(metricRepository).deleteBySystemIdOlderThan("c-prod", now.minus(90, ChronoUnit.DAYS), 100);
+        verify(rollupRepository).deleteBySystemIdOlderThan("b-dev", RollupResolution.ONE_HOUR,
+            now.minus(30, ChronoUnit.DAYS), 100);
+        verify(rollupRepository).deleteBySystemIdOlderThan("c-prod", RollupResolution.ONE_HOUR,
+            now.minus(730, ChronoUnit.DAYS), 100);
+    }
+
+    @Test
+    void shouldDeleteInThrottledBatchesUntilTierIsDrained() {
+        when(systemRepository.findAll()).thenReturn(List.of(system("a-prod", MonitoredSystem.Environment.PRODUCTION)));
+        when(metricRepository.deleteBySystemIdOlderThan(eq("a-prod"), any(), eq(100)))
+            .thenReturn(100, 100, 40);
+
+        RetentionCompactor compactor = compactor(100, 200, 60_000);
+        compactor.compact();
+
+        verify(metricRepository, times(3)).deleteBySystemIdOlderThan(eq("a-prod"), any(), eq(100));
+        assertEquals(List.of(500L, 500L), pauses);
+        assertEquals(240.0, meterRegistry.get("apm.retention.compactor.rows").tag("tier", "raw").counter().count());
+        assertEquals(240.0, compactor.getLastRowsPerSecond());
+        assertEquals(0, compactor.getPendingSystems());
+    }
+
+    @Test
+    void shouldStopAtTimeBudgetAndResumeWithUnfinishedSystem() {
+        when(systemRepository.findAll()).thenReturn(List.of(
+            system("a-prod", MonitoredSystem.Environment.PRODUCTION),
+            system("b-prod", MonitoredSystem.Environment.PRODUCTION)));
+        when(metricRepository.deleteBySystemIdOlderThan(eq("a-prod"), any(), anyInt())).thenReturn(10);
+        when(metricRepository.deleteBySystemIdOlderThan(eq("b-prod"), any(), anyInt())).thenReturn(100, 100, 0);
+
+        RetentionCompactor compactor = compactor(100, 100, 1_500);
+        compactor.compact();
+
+        assertEquals(1, compactor.getPendingSystems());
+        verify(metricRepository, times(2)).deleteBySystemIdOlderThan(eq("b-prod"), any(), anyInt());
+
+        compactor.compact();
+
+        verify(metricRepository, times(3)).deleteBySystemIdOlderThan(eq("b-prod"), any(), anyInt());
+        verify(metricRepository, times(2)).deleteBySystemIdOlderThan(eq("a-prod"), any(), anyInt());
+        assertEquals(0, compactor.getPendingSystems());
+    }
+
+    @Test
+    void shouldSkipTierWhenLocksAreUnavailable() {
+        when(systemRepository.findAll()).thenReturn(List.of(system("a-prod", MonitoredSystem.Environment.PRODUCTION)));
+        when(metricRepository.deleteBySystemIdOlderThan(any(), any(), anyInt()))
+            .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        compactor(100, 1_000, 60_000).compact();
+
+        assertEquals(1.0, meterRegistry.get("apm.retention.compactor.skipped-batches").counter().count());
+        verify(rollupRepository, times(RollupResolution.values().length))
+            .deleteBySystemIdOlderThan(eq("a-prod"), any(), any(), anyInt());
+    }
+
+    private RetentionCompactor compactor(int batchSize, int maxRowsPerSecond, long maxRunMs) {
+        return new RetentionCompactor(systemRepository, policyRepository, metricRepository, rollupRepository,
+                meterRegistry, clock, true, batchSize, maxRowsPerSecond, maxRunMs) {
+            @Override
+            void pause(long millis) {
+                pauses.add(millis);
+                clock.advance(millis);
+            }
+        };
+    }
+
+    private static MonitoredSystem system(String id, MonitoredSystem.Environment environment) {
+        return MonitoredSystem.reconstitute(id, id, "https://" + id + ".example.com", MonitoredSystem.SystemType.API,
+            environment, 60, true, SystemStatus.UP, null, Instant.EPOCH, Instant.EPOCH);
+    }
+}
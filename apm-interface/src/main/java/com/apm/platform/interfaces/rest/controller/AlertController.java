@@ -43,7 +43,9 @@ public class AlertController {
             request.getType(),
             request.getSeverity(),
             request.getThresholdValue(),
-            request.getConsecutiveViolations()
+            request.getConsecutiveViolations(),
+            request.getWindowSeconds(),
+            request.getExpression()
         );
         
         AlertRuleResponse response = createAlertRuleUseCase.execute(requestWithId);
@@ -1,14 +1,16 @@
 package com.apm.platform.interfaces.rest.controller;
 
-import com.apm.platform.application.dto.request.QueryMetricsRequest;
+import com.apm.platform.application.dto.response.MetricPageResponse;
 import com.apm.platform.application.dto.response.MetricResponse;
+import com.apm.platform.application.dto.response.MetricSeriesResponse;
+import com.apm.platform.application.dto.response.MetricSummaryResponse;
 import com.apm.platform.application.usecase.QueryHistoricalMetricsUseCase;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/systems/{systemId}/metrics")
@@ -21,30 +23,54 @@ public class MetricController {
     }
 
     @GetMapping
-    public ResponseEntity<List<MetricResponse>> getMetrics(
+    public ResponseEntity<MetricPageResponse> getMetrics(
             @PathVariable("systemId") String systemId,
             @RequestParam(value = "startTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startTime,
             @RequestParam(value = "endTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime,
-            @RequestParam(value = "limit", defaultValue = "100") int limit) {
-        
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "since", required = false) String since) {
+
+        if (since != null) {
+            return ResponseEntity.ok(queryMetricsUseCase.executeSince(systemId, since, limit));
+        }
+
         Instant start = startTime != null ? startTime : Instant.now().minusSeconds(3600);
         Instant end = endTime != null ? endTime : Instant.now();
-        QueryMetricsRequest request = new QueryMetricsRequest(systemId, start, end);
-        List<MetricResponse> metrics = queryMetricsUseCase.execute(request);
-        
-        return ResponseEntity.ok(metrics.stream().limit(limit).toList());
+
+        return ResponseEntity.ok(queryMetricsUseCase.executePage(systemId, start, end, cursor, limit));
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<MetricSeriesResponse> getMetricSeries(
+            @PathVariable("systemId") String systemId,
+            @RequestParam(value = "startTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startTime,
+            @RequestParam(value = "endTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime,
+            @RequestParam(value = "maxPoints", defaultValue = "500") int maxPoints) {
+
+        Instant start = startTime != null ? startTime : Instant.now().minusSeconds(3600);
+        Instant end = endTime != null ? endTime : Instant.now();
+
+        return ResponseEntity.ok(queryMetricsUseCase.executeSeries(systemId, start, end, maxPoints));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<MetricSummaryResponse> getMetricSummary(
+            @PathVariable("systemId") String systemId,
+            @RequestParam(value = "startTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startTime,
+            @RequestParam(value = "endTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime,
+            @RequestParam(value = "step", required = false) Duration step) {
+
+        Instant start = startTime != null ? startTime : Instant.now().minusSeconds(3600);
+        Instant end = endTime != null ? endTime : Instant.now();
+
+        return ResponseEntity.ok(queryMetricsUseCase.executeSummary(systemId, start, end, step));
     }
 
     @GetMapping("/latest")
     public ResponseEntity<MetricResponse> getLatestMetric(@PathVariable("systemId") String systemId) {
-        QueryMetricsRequest request = new QueryMetricsRequest(systemId, 
-            Instant.now().minusSeconds(3600), Instant.now());
-        List<MetricResponse> metrics = queryMetricsUseCase.execute(request);
-        
-        if (metrics.isEmpty()) {
-            return ResponseEntity.noContent().build();
-        }
-        
-        return ResponseEntity.ok(metrics.get(0));
+        return queryMetricsUseCase.executeLatest(systemId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 }
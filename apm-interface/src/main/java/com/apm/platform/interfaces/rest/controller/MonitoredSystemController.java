@@ -2,12 +2,15 @@ package com.apm.platform.interfaces.rest.controller;
 
 import com.apm.platform.application.dto.request.RegisterMonitoredSystemRequest;
 import com.apm.platform.application.dto.request.UpdateMonitoredSystemRequest;
+import com.apm.platform.application.dto.request.UpdateRetentionPolicyRequest;
 import com.apm.platform.application.dto.response.MonitoredSystemResponse;
+import com.apm.platform.application.dto.response.RetentionPolicyResponse;
 import com.apm.platform.application.usecase.*;
 import com.apm.platform.application.mapper.MonitoredSystemMapper;
 import com.apm.platform.domain.entity.MonitoredSystem;
 import com.apm.platform.domain.exception.MonitoredSystemNotFoundException;
 import com.apm.platform.domain.port.outgoing.MonitoredSystemRepository;
+import com.apm.platform.domain.port.outgoing.ProbeCircuitBreakerGateway;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -27,19 +30,25 @@ public class MonitoredSystemController {
     private final UpdateMonitoredSystemUseCase updateSystemUseCase;
     private final ActivateMonitoredSystemUseCase activateSystemUseCase;
     private final DeactivateMonitoredSystemUseCase deactivateSystemUseCase;
+    private final ManageRetentionPolicyUseCase retentionPolicyUseCase;
     private final MonitoredSystemRepository systemRepository;
+    private final ProbeCircuitBreakerGateway circuitBreaker;
 
     public MonitoredSystemController(
             RegisterMonitoredSystemUseCase registerSystemUseCase,
             UpdateMonitoredSystemUseCase updateSystemUseCase,
             ActivateMonitoredSystemUseCase activateSystemUseCase,
             DeactivateMonitoredSystemUseCase deactivateSystemUseCase,
-            MonitoredSystemRepository systemRepository) {
+            ManageRetentionPolicyUseCase retentionPolicyUseCase,
+            MonitoredSystemRepository systemRepository,
+            ProbeCircuitBreakerGateway circuitBreaker) {
         this.registerSystemUseCase = registerSystemUseCase;
         this.updateSystemUseCase = updateSystemUseCase;
         this.activateSystemUseCase = activateSystemUseCase;
         this.deactivateSystemUseCase = deactivateSystemUseCase;
+        this.retentionPolicyUseCase = retentionPolicyUseCase;
         this.systemRepository = systemRepository;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @PostMapping
@@ -57,7 +66,7 @@ public class MonitoredSystemController {
         MonitoredSystem system = systemRepository.findById(systemId)
             .orElseThrow(() -> new MonitoredSystemNotFoundException(systemId));
         
-        return ResponseEntity.ok(MonitoredSystemMapper.toResponse(system));
+        return ResponseEntity.ok(toResponse(system));
     }
 
     @GetMapping
@@ -75,7 +84,7 @@ public class MonitoredSystemController {
             logger.info("Found {} systems", systems.size());
             
             List<MonitoredSystemResponse> responses = systems.stream()
-                .map(MonitoredSystemMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
             
             return ResponseEntity.ok(responses);
@@ -114,4 +123,25 @@ public class MonitoredSystemController {
         deactivateSystemUseCase.execute(systemId);
         return ResponseEntity.noContent().build();
     }
+
+    @GetMapping("/{systemId}/retention")
+    public ResponseEntity<RetentionPolicyResponse> getRetentionPolicy(@PathVariable("systemId") String systemId) {
+        return ResponseEntity.ok(retentionPolicyUseCase.getEffective(systemId));
+    }
+
+    @PutMapping("/{systemId}/retention")
+    public ResponseEntity<RetentionPolicyResponse> overrideRetentionPolicy(
+            @PathVariable("systemId") String systemId,
+            @RequestBody UpdateRetentionPolicyRequest request) {
+        return ResponseEntity.ok(retentionPolicyUseCase.override(systemId, request));
+    }
+
+    @DeleteMapping("/{systemId}/retention")
+    public ResponseEntity<RetentionPolicyResponse> resetRetentionPolicy(@PathVariable("systemId") String systemId) {
+        return ResponseEntity.ok(retentionPolicyUseCase.reset(systemId));
+    }
+
+    private MonitoredSystemResponse toResponse(MonitoredSystem system) {
+        return MonitoredSystemMapper.toResponse(system, circuitBreaker.getState(system.getId()));
+    }
 }